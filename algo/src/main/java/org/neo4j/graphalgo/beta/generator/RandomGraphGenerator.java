@@ -22,6 +22,7 @@ package org.neo4j.graphalgo.beta.generator;
 import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.AdjacencyEncoding;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
@@ -44,6 +45,7 @@ public final class RandomGraphGenerator {
     private final Aggregation aggregation;
     private final Orientation orientation;
     private final AllowSelfLoops allowSelfLoops;
+    private final AdjacencyEncoding adjacencyEncoding;
     private final Optional<RelationshipPropertyProducer> maybePropertyProducer;
 
     public static Graph generate(int nodeCount, int averageDegree) {
@@ -78,6 +80,32 @@ public final class RandomGraphGenerator {
         Orientation orientation,
         AllowSelfLoops allowSelfLoops,
         AllocationTracker allocationTracker
+    ) {
+        this(
+            nodeCount,
+            averageDegree,
+            relationshipDistribution,
+            seed,
+            maybePropertyProducer,
+            aggregation,
+            orientation,
+            allowSelfLoops,
+            AdjacencyEncoding.VAR_LONG,
+            allocationTracker
+        );
+    }
+
+    public RandomGraphGenerator(
+        long nodeCount,
+        long averageDegree,
+        RelationshipDistribution relationshipDistribution,
+        @Nullable Long seed,
+        Optional<RelationshipPropertyProducer> maybePropertyProducer,
+        Aggregation aggregation,
+        Orientation orientation,
+        AllowSelfLoops allowSelfLoops,
+        AdjacencyEncoding adjacencyEncoding,
+        AllocationTracker allocationTracker
     ) {
         this.relationshipDistribution = relationshipDistribution;
         this.maybePropertyProducer = maybePropertyProducer;
@@ -87,6 +115,7 @@ public final class RandomGraphGenerator {
         this.aggregation = aggregation;
         this.orientation = orientation;
         this.allowSelfLoops = allowSelfLoops;
+        this.adjacencyEncoding = adjacencyEncoding;
         this.random = new Random();
         if (seed != null) {
             this.random.setSeed(seed);
@@ -135,7 +164,8 @@ public final class RandomGraphGenerator {
             maybePropertyProducer.isPresent(),
             aggregation,
             Pools.DEFAULT,
-            allocationTracker
+            allocationTracker,
+            adjacencyEncoding
         );
 
         generateRelationships(relationshipsBuilder);
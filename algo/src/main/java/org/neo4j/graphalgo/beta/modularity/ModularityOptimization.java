@@ -36,10 +36,13 @@ import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongLongMap;
 import org.neo4j.graphalgo.core.utils.paged.PageFiller;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 import org.neo4j.logging.Log;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.stream.LongStream;
 
@@ -57,6 +60,7 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
     private final int maxIterations;
     private final long nodeCount;
     private final long batchSize;
+    private final long minBatchSize;
     private final double tolerance;
     private final Graph graph;
     private final NodeProperties seedProperty;
@@ -70,6 +74,7 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
     private double modularity = -1.0;
     private BitSet colorsUsed;
     private HugeLongArray colors;
+    private List<Partition> partitions;
     private HugeLongArray currentCommunities;
     private HugeLongArray nextCommunities;
     private HugeLongArray reverseSeedCommunityMapping;
@@ -104,6 +109,7 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
             minBatchSize,
             Integer.MAX_VALUE
         );
+        this.minBatchSize = minBatchSize;
 
         if (maxIterations < 1) {
             throw new IllegalArgumentException(String.format(
@@ -205,6 +211,12 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         this.nodeCommunityInfluences = HugeDoubleArray.newArray(nodeCount, tracker);
         this.communityWeights = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
         this.communityWeightUpdates = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
+        this.partitions = PartitionUtils.relationshipBalancedPartitioning(
+            graph,
+            concurrency,
+            minBatchSize,
+            executor
+        );
 
         final ThreadLocal<RelationshipIterator> graphCopy = ThreadLocal.withInitial(graph::concurrentCopy);
         double doubleTotalNodeWeight = ParallelUtil.parallelStream(
@@ -266,13 +278,13 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
     }
 
     private Collection<ModularityOptimizationTask> createModularityOptimizationTasks(long currentColor) {
-        final Collection<ModularityOptimizationTask> tasks = new ArrayList<>(concurrency);
-        for (long i = 0L; i < this.nodeCount; i += batchSize) {
+        final Collection<ModularityOptimizationTask> tasks = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
             tasks.add(
                 new ModularityOptimizationTask(
                     graph,
-                    i,
-                    Math.min(i + batchSize, nodeCount),
+                    partition.startNode,
+                    partition.startNode + partition.nodeCount,
                     currentColor,
                     totalNodeWeight,
                     colors,
@@ -333,6 +345,7 @@ public final class ModularityOptimization extends Algorithm<ModularityOptimizati
         this.nodeCommunityInfluences.release();
         this.colors.release();
         this.colorsUsed = null;
+        this.partitions = null;
     }
 
     public long getCommunityId(long nodeId) {
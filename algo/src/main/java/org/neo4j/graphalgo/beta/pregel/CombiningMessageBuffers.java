@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.PageFiller;
+
+/**
+ * Message store that keeps a single slot per node and folds
+ * every incoming message into that slot using a {@link MessageCombiner}.
+ * <p>
+ * Slots are updated lock-free via compare-and-set, so the memory
+ * requirement is independent of the number of relationships.
+ * A slot without messages is marked with {@code NaN} for double messages
+ * and with {@link Long#MIN_VALUE} for long messages, so these values cannot be sent.
+ */
+final class CombiningMessageBuffers implements MessageStore {
+
+    private static final long NO_DOUBLE_MESSAGE = Double.doubleToRawLongBits(Double.NaN);
+    private static final long NO_LONG_MESSAGE = Long.MIN_VALUE;
+
+    // exactly one of them is set, depending on the message type
+    private final MessageCombiner.OfDouble doubleCombiner;
+    private final MessageCombiner.OfLong longCombiner;
+    private final long noMessage;
+
+    private HugeAtomicLongArray sendBuffer;
+    private HugeAtomicLongArray receiveBuffer;
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(CombiningMessageBuffers.class)
+            .perNode("send buffer", HugeAtomicLongArray::memoryEstimation)
+            .perNode("receive buffer", HugeAtomicLongArray::memoryEstimation)
+            .build();
+    }
+
+    static CombiningMessageBuffers of(
+        final long nodeCount,
+        final MessageCombiner combiner,
+        final ValueType messageType,
+        final int concurrency,
+        final AllocationTracker tracker
+    ) {
+        boolean doubleMessages = messageType == ValueType.DOUBLE;
+        long noMessage = doubleMessages ? NO_DOUBLE_MESSAGE : NO_LONG_MESSAGE;
+        return new CombiningMessageBuffers(
+            doubleMessages ? (MessageCombiner.OfDouble) combiner : null,
+            doubleMessages ? null : (MessageCombiner.OfLong) combiner,
+            noMessage,
+            HugeAtomicLongArray.newArray(nodeCount, PageFiller.of(concurrency, nodeId -> noMessage), tracker),
+            HugeAtomicLongArray.newArray(nodeCount, PageFiller.of(concurrency, nodeId -> noMessage), tracker)
+        );
+    }
+
+    private CombiningMessageBuffers(
+        MessageCombiner.OfDouble doubleCombiner,
+        MessageCombiner.OfLong longCombiner,
+        long noMessage,
+        HugeAtomicLongArray sendBuffer,
+        HugeAtomicLongArray receiveBuffer
+    ) {
+        this.doubleCombiner = doubleCombiner;
+        this.longCombiner = longCombiner;
+        this.noMessage = noMessage;
+        this.sendBuffer = sendBuffer;
+        this.receiveBuffer = receiveBuffer;
+    }
+
+    @Override
+    public void add(long nodeId, long message) {
+        long current;
+        long combined;
+        do {
+            current = sendBuffer.get(nodeId);
+            combined = current == noMessage ? message : combine(current, message);
+        } while (!sendBuffer.compareAndSet(nodeId, current, combined));
+    }
+
+    @Override
+    public void initMessages(long nodeId, Messages messages) {
+        long message = receiveBuffer.get(nodeId);
+        if (message == noMessage) {
+            messages.init();
+        } else {
+            receiveBuffer.set(nodeId, noMessage);
+            messages.init(message);
+        }
+    }
+
+    @Override
+    public void swap() {
+        HugeAtomicLongArray tmpBuffer = receiveBuffer;
+        receiveBuffer = sendBuffer;
+        sendBuffer = tmpBuffer;
+    }
+
+    private long combine(long current, long message) {
+        if (doubleCombiner != null) {
+            return Double.doubleToRawLongBits(doubleCombiner.combine(
+                Double.longBitsToDouble(current),
+                Double.longBitsToDouble(message)
+            ));
+        }
+        return longCombiner.combine(current, message);
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.collection.primitive.PrimitiveLongIterable;
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The set of nodes that are active in a superstep, which can be populated concurrently.
+ * <p>
+ * Similar to Ligra, a small frontier is kept in a sparse representation, i.e. a list of node ids,
+ * so that iterating and clearing it is proportional to its size. Once the frontier grows beyond
+ * a fraction of all nodes, it switches to a dense representation, which is a bitset over all nodes.
+ * The bitset is maintained in both representations in order to deduplicate insertions.
+ */
+final class Frontier {
+
+    // A frontier with more than (nodeCount / SPARSE_DIVISOR) nodes is represented densely.
+    private static final long SPARSE_DIVISOR = 20L;
+
+    private final long nodeCount;
+    private final long sparseCapacity;
+    private final HugeAtomicLongArray bits;
+    private final HugeLongArray sparseNodes;
+
+    // Number of added nodes. Is no longer incremented once it exceeds the sparse capacity.
+    private final AtomicLong size;
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(Frontier.class)
+            .perNode("bits", nodeCount -> HugeAtomicLongArray.memoryEstimation(numberOfWords(nodeCount)))
+            .perNode("sparse nodes", nodeCount -> HugeLongArray.memoryEstimation(sparseCapacity(nodeCount)))
+            .build();
+    }
+
+    static Frontier of(long nodeCount, AllocationTracker tracker) {
+        long sparseCapacity = sparseCapacity(nodeCount);
+        return new Frontier(
+            nodeCount,
+            sparseCapacity,
+            HugeAtomicLongArray.newArray(numberOfWords(nodeCount), tracker),
+            HugeLongArray.newArray(sparseCapacity, tracker)
+        );
+    }
+
+    private static long numberOfWords(long nodeCount) {
+        return BitUtil.ceilDiv(nodeCount, Long.SIZE);
+    }
+
+    private static long sparseCapacity(long nodeCount) {
+        return nodeCount / SPARSE_DIVISOR;
+    }
+
+    private Frontier(long nodeCount, long sparseCapacity, HugeAtomicLongArray bits, HugeLongArray sparseNodes) {
+        this.nodeCount = nodeCount;
+        this.sparseCapacity = sparseCapacity;
+        this.bits = bits;
+        this.sparseNodes = sparseNodes;
+        this.size = new AtomicLong();
+    }
+
+    /**
+     * Adds the node to the frontier. Can be called concurrently.
+     *
+     * @return true, iff the node was not yet contained in the frontier
+     */
+    boolean add(long nodeId) {
+        long wordIndex = nodeId >>> 6;
+        long mask = 1L << nodeId;
+        long word;
+        do {
+            word = bits.get(wordIndex);
+            if ((word & mask) != 0) {
+                return false;
+            }
+        } while (!bits.compareAndSet(wordIndex, word, word | mask));
+
+        // Avoid contention on the size once we switched to the dense representation.
+        if (size.get() <= sparseCapacity) {
+            long index = size.getAndIncrement();
+            if (index < sparseCapacity) {
+                sparseNodes.set(index, nodeId);
+            }
+        }
+        return true;
+    }
+
+    boolean contains(long nodeId) {
+        return (bits.get(nodeId >>> 6) & (1L << nodeId)) != 0;
+    }
+
+    boolean isEmpty() {
+        return size.get() == 0L;
+    }
+
+    boolean isSparse() {
+        return size.get() <= sparseCapacity;
+    }
+
+    /**
+     * Splits the frontier into batches of at most {@code sparseBatchSize} nodes (sparse)
+     * or into one batch per given partition, which yields the nodes of that partition
+     * that are part of the frontier (dense).
+     * Must not be called while nodes are being added.
+     */
+    List<PrimitiveLongIterable> batches(List<Partition> densePartitions, long sparseBatchSize) {
+        List<PrimitiveLongIterable> batches = new ArrayList<>();
+        if (isSparse()) {
+            long sparseSize = size.get();
+            for (long start = 0L; start < sparseSize; start += sparseBatchSize) {
+                long end = Math.min(sparseSize, start + sparseBatchSize);
+                long batchStart = start;
+                batches.add(() -> new SparseIterator(batchStart, end));
+            }
+        } else {
+            for (Partition partition : densePartitions) {
+                batches.add(() -> new DenseIterator(
+                    partition.startNode,
+                    partition.startNode + partition.nodeCount
+                ));
+            }
+        }
+        return batches;
+    }
+
+    /**
+     * Removes all nodes from the frontier.
+     * Must not be called while nodes are being added.
+     */
+    void clear() {
+        if (isSparse()) {
+            long sparseSize = size.get();
+            for (long i = 0L; i < sparseSize; i++) {
+                bits.set(sparseNodes.get(i) >>> 6, 0L);
+            }
+        } else {
+            long words = bits.size();
+            for (long wordIndex = 0L; wordIndex < words; wordIndex++) {
+                bits.set(wordIndex, 0L);
+            }
+        }
+        size.set(0L);
+    }
+
+    private final class SparseIterator implements PrimitiveLongIterator {
+
+        private long index;
+        private final long end;
+
+        SparseIterator(long start, long end) {
+            this.index = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < end;
+        }
+
+        @Override
+        public long next() {
+            if (index >= end) {
+                throw new NoSuchElementException();
+            }
+            return sparseNodes.get(index++);
+        }
+    }
+
+    private final class DenseIterator implements PrimitiveLongIterator {
+
+        private final long end;
+        private long next;
+
+        DenseIterator(long start, long end) {
+            this.end = end;
+            this.next = nextSetBit(start);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != -1L;
+        }
+
+        @Override
+        public long next() {
+            if (next == -1L) {
+                throw new NoSuchElementException();
+            }
+            long current = next;
+            next = nextSetBit(current + 1);
+            return current;
+        }
+
+        private long nextSetBit(long from) {
+            if (from >= end) {
+                return -1L;
+            }
+            long wordIndex = from >>> 6;
+            long word = bits.get(wordIndex) & (-1L << from);
+            while (word == 0L) {
+                wordIndex++;
+                if ((wordIndex << 6) >= end) {
+                    return -1L;
+                }
+                word = bits.get(wordIndex);
+            }
+            long nodeId = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+            return nodeId < end ? nodeId : -1L;
+        }
+    }
+}
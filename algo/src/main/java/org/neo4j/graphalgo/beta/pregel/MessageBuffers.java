@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Double-buffered, CSR-style message store for synchronous Pregel computations.
+ * <p>
+ * Every node owns a fixed slot range in each buffer which is sized by its in-degree.
+ * During a superstep, messages are appended to the send buffer, while the messages
+ * of the previous superstep are read from the receive buffer. The buffers are swapped
+ * at the end of each superstep, so no memory is allocated while sending messages.
+ */
+final class MessageBuffers implements MessageStore {
+
+    // start of the slot range of a node, offsets[nodeCount] is the total number of slots
+    private final HugeLongArray offsets;
+
+    private HugeLongArray sendBuffer;
+    private HugeLongArray receiveBuffer;
+
+    private HugeAtomicLongArray sendCounts;
+    private HugeAtomicLongArray receiveCounts;
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(MessageBuffers.class)
+            .perNode("offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+            .perNode("send counts", HugeAtomicLongArray::memoryEstimation)
+            .perNode("receive counts", HugeAtomicLongArray::memoryEstimation)
+            .perGraphDimension("send buffer", (dimensions, concurrency) ->
+                MemoryRange.of(HugeLongArray.memoryEstimation(dimensions.maxRelCount())))
+            .perGraphDimension("receive buffer", (dimensions, concurrency) ->
+                MemoryRange.of(HugeLongArray.memoryEstimation(dimensions.maxRelCount())))
+            .build();
+    }
+
+    static MessageBuffers of(
+        final Graph graph,
+        final int concurrency,
+        final ExecutorService executor,
+        final AllocationTracker tracker
+    ) {
+        long nodeCount = graph.nodeCount();
+
+        HugeAtomicLongArray sendCounts = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        HugeAtomicLongArray receiveCounts = HugeAtomicLongArray.newArray(nodeCount, tracker);
+
+        // An undirected graph contains both directions of each
+        // relationship, so the in-degree is equal to the degree.
+        if (!graph.isUndirected()) {
+            // We use the receive counts as scratch space to count the in-degrees.
+            ParallelUtil.readParallel(concurrency, nodeCount, executor, (start, end) -> {
+                RelationshipIterator relationshipIterator = graph.concurrentCopy();
+                for (long nodeId = start; nodeId < end; nodeId++) {
+                    relationshipIterator.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
+                        receiveCounts.getAndAdd(targetNodeId, 1L);
+                        return true;
+                    });
+                }
+            });
+        }
+
+        HugeLongArray offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        long offset = 0L;
+        for (long nodeId = 0L; nodeId < nodeCount; nodeId++) {
+            offsets.set(nodeId, offset);
+            if (graph.isUndirected()) {
+                offset += graph.degree(nodeId);
+            } else {
+                offset += receiveCounts.get(nodeId);
+                receiveCounts.set(nodeId, 0L);
+            }
+        }
+        offsets.set(nodeCount, offset);
+
+        return new MessageBuffers(
+            offsets,
+            HugeLongArray.newArray(offset, tracker),
+            HugeLongArray.newArray(offset, tracker),
+            sendCounts,
+            receiveCounts
+        );
+    }
+
+    private MessageBuffers(
+        HugeLongArray offsets,
+        HugeLongArray sendBuffer,
+        HugeLongArray receiveBuffer,
+        HugeAtomicLongArray sendCounts,
+        HugeAtomicLongArray receiveCounts
+    ) {
+        this.offsets = offsets;
+        this.sendBuffer = sendBuffer;
+        this.receiveBuffer = receiveBuffer;
+        this.sendCounts = sendCounts;
+        this.receiveCounts = receiveCounts;
+    }
+
+    @Override
+    public void add(long nodeId, long message) {
+        long index = offsets.get(nodeId) + sendCounts.getAndAdd(nodeId, 1L);
+        if (index >= offsets.get(nodeId + 1)) {
+            throw new IllegalStateException(String.format(
+                "Node %d received more messages than it has incoming relationships. " +
+                "A node must send messages to its neighbours at most once per superstep.",
+                nodeId
+            ));
+        }
+        sendBuffer.set(index, message);
+    }
+
+    @Override
+    public void initMessages(long nodeId, Messages messages) {
+        long count = receiveCounts.get(nodeId);
+        if (count > 0L) {
+            receiveCounts.set(nodeId, 0L);
+        }
+        long start = offsets.get(nodeId);
+        messages.init(receiveBuffer, start, start + count);
+    }
+
+    @Override
+    public void swap() {
+        HugeLongArray tmpBuffer = receiveBuffer;
+        receiveBuffer = sendBuffer;
+        sendBuffer = tmpBuffer;
+
+        HugeAtomicLongArray tmpCounts = receiveCounts;
+        receiveCounts = sendCounts;
+        sendCounts = tmpCounts;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+/**
+ * Folds all messages that are sent to a node within a superstep into a single message.
+ * <p>
+ * Messages are combined in arbitrary order, so the function must be commutative and associative.
+ * A combiner implements {@link OfDouble} or {@link OfLong}, depending on the message type of the computation,
+ * see {@link PregelConfig.Builder#withMessageType(ValueType)}. The {@link Standard} combiners support both.
+ */
+public interface MessageCombiner {
+
+    Standard SUM = Standard.SUM;
+
+    Standard MIN = Standard.MIN;
+
+    Standard MAX = Standard.MAX;
+
+    @FunctionalInterface
+    interface OfDouble extends MessageCombiner {
+        double combine(double current, double message);
+    }
+
+    @FunctionalInterface
+    interface OfLong extends MessageCombiner {
+        long combine(long current, long message);
+    }
+
+    enum Standard implements OfDouble, OfLong {
+        SUM {
+            @Override
+            public double combine(double current, double message) {
+                return current + message;
+            }
+
+            @Override
+            public long combine(long current, long message) {
+                return current + message;
+            }
+        },
+        MIN {
+            @Override
+            public double combine(double current, double message) {
+                return Math.min(current, message);
+            }
+
+            @Override
+            public long combine(long current, long message) {
+                return Math.min(current, message);
+            }
+        },
+        MAX {
+            @Override
+            public double combine(double current, double message) {
+                return Math.max(current, message);
+            }
+
+            @Override
+            public long combine(long current, long message) {
+                return Math.max(current, message);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+/**
+ * Stores the messages that are sent during a superstep
+ * and hands them to the receiving nodes in the next superstep.
+ */
+interface MessageStore {
+
+    /**
+     * Adds a message to the inbox of the given node for the next superstep.
+     * Double messages are passed as their raw long bits.
+     * Can be called concurrently.
+     */
+    void add(long nodeId, long message);
+
+    /**
+     * Points the given iterator to the messages that the node received in the previous superstep.
+     * The inbox of the node is emptied, so that it can be reused after the buffers have been swapped.
+     * Must only be called by the thread that computes the node.
+     */
+    void initMessages(long nodeId, Messages messages);
+
+    /**
+     * Makes the messages sent in the current superstep available to the next superstep.
+     * Must be called after all compute steps of the current superstep have been completed.
+     */
+    void swap();
+}
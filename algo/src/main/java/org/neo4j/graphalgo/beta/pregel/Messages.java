@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A primitive iterator over the messages that a node received in the previous superstep.
+ * If the computation declares a {@link MessageCombiner}, there is at most one, combined message.
+ * <p>
+ * Depending on {@link PregelConfig.Builder#withMessageType(ValueType)}, messages
+ * are read via {@link #nextDouble()} or {@link #nextLong()}.
+ * <p>
+ * The instance is reused for all nodes of a compute step and must not be retained
+ * outside of {@link PregelComputation#compute(PregelContext, long, Messages)}.
+ */
+public final class Messages implements PrimitiveIterator.OfDouble {
+
+    // raw bits of the messages
+    private HugeLongArray buffer;
+    private long combinedMessage;
+    private long position;
+    private long end;
+    private boolean isEmpty;
+
+    Messages() {
+        this.isEmpty = true;
+    }
+
+    void init(HugeLongArray buffer, long start, long end) {
+        this.buffer = buffer;
+        this.position = start;
+        this.end = end;
+        this.isEmpty = start >= end;
+    }
+
+    void init(long combinedMessage) {
+        this.buffer = null;
+        this.combinedMessage = combinedMessage;
+        this.position = 0L;
+        this.end = 1L;
+        this.isEmpty = false;
+    }
+
+    void init() {
+        this.buffer = null;
+        this.position = 0L;
+        this.end = 0L;
+        this.isEmpty = true;
+    }
+
+    /**
+     * @return true, iff the node did not receive any messages in the previous superstep.
+     */
+    public boolean isEmpty() {
+        return isEmpty;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return position < end;
+    }
+
+    @Override
+    public double nextDouble() {
+        return Double.longBitsToDouble(nextLong());
+    }
+
+    public long nextLong() {
+        if (position >= end) {
+            throw new NoSuchElementException();
+        }
+        if (buffer == null) {
+            position++;
+            return combinedMessage;
+        }
+        return buffer.get(position++);
+    }
+}
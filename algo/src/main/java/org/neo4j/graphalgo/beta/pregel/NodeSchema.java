@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Declares the node properties that a Pregel computation maintains in addition to the default node value.
+ * <p>
+ * Each property is either a single double or long value per node, or a fixed-width array of such values.
+ * Values are stored column-oriented in one huge array per property, see {@link NodeValues}.
+ * <p>
+ * Computations resolve the {@link Property} handles once, e.g. when they are created, and use them to access the
+ * values in {@link PregelContext}, so that no lookup by key is necessary per access.
+ */
+public final class NodeSchema {
+
+    private static final NodeSchema EMPTY = new NodeSchema(Collections.emptyMap());
+
+    private final Map<String, Property> properties;
+
+    public static NodeSchema empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private NodeSchema(Map<String, Property> properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @return the handle to access the values of the given property
+     */
+    public Property property(String key) {
+        Property property = properties.get(key);
+        if (property == null) {
+            throw new IllegalArgumentException(String.format("The node schema contains no property `%s`.", key));
+        }
+        return property;
+    }
+
+    Collection<Property> properties() {
+        return properties.values();
+    }
+
+    boolean contains(Property property) {
+        return properties.get(property.key()) == property;
+    }
+
+    MemoryEstimation memoryEstimation() {
+        MemoryEstimations.Builder builder = MemoryEstimations.builder(NodeValues.class);
+        properties.values().forEach(property -> builder.perNode(
+            property.key(),
+            nodeCount -> property.type() == ValueType.DOUBLE
+                ? HugeDoubleArray.memoryEstimation(nodeCount * property.width())
+                : HugeLongArray.memoryEstimation(nodeCount * property.width())
+        ));
+        return builder.build();
+    }
+
+    public static final class Property {
+        private final String key;
+        private final ValueType type;
+        private final int width;
+        private final int index;
+
+        private Property(String key, ValueType type, int width, int index) {
+            this.key = key;
+            this.type = type;
+            this.width = width;
+            this.index = index;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public ValueType type() {
+            return type;
+        }
+
+        public int width() {
+            return width;
+        }
+
+        // position of the property in the schema, used to look up its values
+        int index() {
+            return index;
+        }
+    }
+
+    public static final class Builder {
+        private final Map<String, Property> properties = new LinkedHashMap<>();
+
+        public Builder add(String key, ValueType type) {
+            return add(key, type, 1);
+        }
+
+        /**
+         * Adds a property that holds {@code width} values per node.
+         */
+        public Builder add(String key, ValueType type, int width) {
+            if (width < 1) {
+                throw new IllegalArgumentException(String.format(
+                    "The width of node property `%s` must be at least 1, but was %d.",
+                    key,
+                    width
+                ));
+            }
+            if (properties.containsKey(key)) {
+                throw new IllegalArgumentException(String.format("Duplicate node property `%s`.", key));
+            }
+            properties.put(key, new Property(key, type, width, properties.size()));
+            return this;
+        }
+
+        public NodeSchema build() {
+            return new NodeSchema(Collections.unmodifiableMap(new LinkedHashMap<>(properties)));
+        }
+    }
+}
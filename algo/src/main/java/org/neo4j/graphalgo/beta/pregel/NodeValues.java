@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+/**
+ * Column-oriented storage for the node properties declared in a {@link NodeSchema}.
+ * <p>
+ * Every property is backed by a single huge array, which holds {@code width}
+ * consecutive values per node. No objects are allocated per node.
+ * The arrays are indexed by the position of the property in the schema,
+ * so accessing a value through a {@link NodeSchema.Property} handle needs no lookup by key.
+ */
+public final class NodeValues {
+
+    private final NodeSchema schema;
+    private final HugeDoubleArray[] doubleColumns;
+    private final HugeLongArray[] longColumns;
+
+    static NodeValues of(NodeSchema schema, long nodeCount, AllocationTracker tracker) {
+        int propertyCount = schema.properties().size();
+        HugeDoubleArray[] doubleColumns = new HugeDoubleArray[propertyCount];
+        HugeLongArray[] longColumns = new HugeLongArray[propertyCount];
+
+        schema.properties().forEach(property -> {
+            long size = nodeCount * property.width();
+            if (property.type() == ValueType.DOUBLE) {
+                doubleColumns[property.index()] = HugeDoubleArray.newArray(size, tracker);
+            } else {
+                longColumns[property.index()] = HugeLongArray.newArray(size, tracker);
+            }
+        });
+
+        return new NodeValues(schema, doubleColumns, longColumns);
+    }
+
+    private NodeValues(NodeSchema schema, HugeDoubleArray[] doubleColumns, HugeLongArray[] longColumns) {
+        this.schema = schema;
+        this.doubleColumns = doubleColumns;
+        this.longColumns = longColumns;
+    }
+
+    public double doubleValue(NodeSchema.Property property, long nodeId) {
+        return doubleValue(property, nodeId, 0);
+    }
+
+    public double doubleValue(NodeSchema.Property property, long nodeId, int index) {
+        return doubleProperty(property).get(indexOf(property, nodeId, index));
+    }
+
+    public void setDoubleValue(NodeSchema.Property property, long nodeId, double value) {
+        setDoubleValue(property, nodeId, 0, value);
+    }
+
+    public void setDoubleValue(NodeSchema.Property property, long nodeId, int index, double value) {
+        doubleProperty(property).set(indexOf(property, nodeId, index), value);
+    }
+
+    public long longValue(NodeSchema.Property property, long nodeId) {
+        return longValue(property, nodeId, 0);
+    }
+
+    public long longValue(NodeSchema.Property property, long nodeId, int index) {
+        return longProperty(property).get(indexOf(property, nodeId, index));
+    }
+
+    public void setLongValue(NodeSchema.Property property, long nodeId, long value) {
+        setLongValue(property, nodeId, 0, value);
+    }
+
+    public void setLongValue(NodeSchema.Property property, long nodeId, int index, long value) {
+        longProperty(property).set(indexOf(property, nodeId, index), value);
+    }
+
+    public double doubleValue(String key, long nodeId) {
+        return doubleValue(schema.property(key), nodeId);
+    }
+
+    public double doubleValue(String key, long nodeId, int index) {
+        return doubleValue(schema.property(key), nodeId, index);
+    }
+
+    public long longValue(String key, long nodeId) {
+        return longValue(schema.property(key), nodeId);
+    }
+
+    public long longValue(String key, long nodeId, int index) {
+        return longValue(schema.property(key), nodeId, index);
+    }
+
+    /**
+     * @return the array backing the given property, which holds {@code width} consecutive values per node
+     */
+    public HugeDoubleArray doubleProperty(NodeSchema.Property property) {
+        assert schema.contains(property) : "The property does not belong to the node schema.";
+        HugeDoubleArray column = doubleColumns[property.index()];
+        if (column == null) {
+            throw new IllegalArgumentException(String.format("Node property `%s` is not of type double.", property.key()));
+        }
+        return column;
+    }
+
+    /**
+     * @return the array backing the given property, which holds {@code width} consecutive values per node
+     */
+    public HugeLongArray longProperty(NodeSchema.Property property) {
+        assert schema.contains(property) : "The property does not belong to the node schema.";
+        HugeLongArray column = longColumns[property.index()];
+        if (column == null) {
+            throw new IllegalArgumentException(String.format("Node property `%s` is not of type long.", property.key()));
+        }
+        return column;
+    }
+
+    public HugeDoubleArray doubleProperty(String key) {
+        return doubleProperty(schema.property(key));
+    }
+
+    public HugeLongArray longProperty(String key) {
+        return longProperty(schema.property(key));
+    }
+
+    private static long indexOf(NodeSchema.Property property, long nodeId, int index) {
+        assert index >= 0 && index < property.width();
+        return nodeId * property.width() + index;
+    }
+}
@@ -19,35 +19,31 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
-import com.carrotsearch.hppc.BitSet;
-import org.jctools.queues.MpscLinkedQueue;
 import org.neo4j.collection.primitive.PrimitiveLongCollections;
 import org.neo4j.collection.primitive.PrimitiveLongIterable;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.graphalgo.api.Degrees;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.api.RelationshipIterator;
-import org.neo4j.graphalgo.core.utils.LazyBatchCollection;
-import org.neo4j.graphalgo.core.utils.LazyMappingCollection;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionRunner;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
-import java.util.Queue;
 import java.util.concurrent.ExecutorService;
-import java.util.function.Function;
+import java.util.function.Consumer;
 import java.util.stream.LongStream;
 
 public final class Pregel {
 
-    // Marks the end of messages from the previous iteration in synchronous mode.
-    private static final Double TERMINATION_SYMBOL = Double.NaN;
-
     private final PregelConfig config;
 
     private final PregelComputation computation;
@@ -56,7 +52,17 @@ public final class Pregel {
 
     private final HugeDoubleArray nodeValues;
 
-    private final HugeObjectArray<MpscLinkedQueue<Double>> messageQueues;
+    private final NodeValues schemaValues;
+
+    private final MessageStore messageStore;
+
+    // Node ranges of roughly equal relationship count
+    private final List<Partition> partitions;
+
+    // Nodes that are computed in the current iteration
+    private Frontier activeNodes;
+    // Nodes that received messages or did not vote to halt in the current iteration
+    private Frontier nextActiveNodes;
 
     private final int batchSize;
     private final int concurrency;
@@ -64,6 +70,18 @@ public final class Pregel {
 
     private int iterations;
 
+    public static MemoryEstimation memoryEstimation(final PregelConfig config, final PregelComputation computation) {
+        return MemoryEstimations.builder(Pregel.class)
+            .perNode("node values", HugeDoubleArray::memoryEstimation)
+            .add("node schema values", config.getNodeSchema().memoryEstimation())
+            .add("active nodes", Frontier.memoryEstimation())
+            .add("next active nodes", Frontier.memoryEstimation())
+            .add("message buffers", computation.combiner().isPresent()
+                ? CombiningMessageBuffers.memoryEstimation()
+                : MessageBuffers.memoryEstimation())
+            .build();
+    }
+
     public static Pregel withDefaultNodeValues(
             final Graph graph,
             final PregelConfig config,
@@ -137,38 +155,75 @@ public final class Pregel {
         this.config = config;
         this.computation = computation;
         this.nodeValues = initialNodeValues;
+        this.schemaValues = NodeValues.of(config.getNodeSchema(), graph.nodeCount(), tracker);
         this.batchSize = batchSize;
         this.concurrency = concurrency;
         this.executor = executor;
 
-        this.messageQueues = initLinkedQueues(graph, tracker);
+        computation.combiner().ifPresent(combiner -> validateCombiner(combiner, config.getMessageType()));
+        this.messageStore = computation.combiner()
+            .<MessageStore>map(combiner -> CombiningMessageBuffers.of(
+                graph.nodeCount(),
+                combiner,
+                config.getMessageType(),
+                concurrency,
+                tracker
+            ))
+            .orElseGet(() -> MessageBuffers.of(graph, concurrency, executor, tracker));
+
+        this.activeNodes = Frontier.of(graph.nodeCount(), tracker);
+        this.nextActiveNodes = Frontier.of(graph.nodeCount(), tracker);
+
+        // Messages are sent along relationships, so the work per node is proportional to its degree.
+        this.partitions = PartitionUtils.relationshipBalancedPartitioning(graph, concurrency, batchSize, executor);
+    }
+
+    private static void validateCombiner(MessageCombiner combiner, ValueType messageType) {
+        boolean supported = messageType == ValueType.DOUBLE
+            ? combiner instanceof MessageCombiner.OfDouble
+            : combiner instanceof MessageCombiner.OfLong;
+        if (!supported) {
+            throw new IllegalArgumentException(String.format(
+                "The message combiner %s does not support %s messages.",
+                combiner.getClass().getSimpleName(),
+                messageType
+            ));
+        }
     }
 
     public HugeDoubleArray run(final int maxIterations) {
         iterations = 0;
         boolean canHalt = false;
-        // Tracks if a node received messages in the previous iteration
-        // TODO: try RoaringBitSet instead
-        BitSet receiverBits = new BitSet(graph.nodeCount());
-        // Tracks if a node voted to halt in the previous iteration
-        BitSet voteBits = new BitSet(graph.nodeCount());
-
-        // TODO: maybe try degree partitioning or clustering (better locality)
-        Collection<PrimitiveLongIterable> nodeBatches = LazyBatchCollection.of(
-                graph.nodeCount(),
-                batchSize,
-                (start, length) -> () -> PrimitiveLongCollections.range(start, start + length - 1L));
+
+        List<PrimitiveLongIterable> allNodeBatches = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
+            allNodeBatches.add(() -> PrimitiveLongCollections.range(
+                    partition.startNode,
+                    partition.startNode + partition.nodeCount - 1L));
+        }
 
         while (iterations < maxIterations && !canHalt) {
             int iteration = iterations++;
 
-            final List<ComputeStep> computeSteps = runComputeSteps(nodeBatches, iteration, receiverBits, voteBits);
+            // All nodes are active in the initial superstep, afterwards
+            // only those that received messages or did not vote to halt.
+            List<PrimitiveLongIterable> nodeBatches = iteration == 0
+                ? allNodeBatches
+                : activeNodes.batches(partitions, batchSize);
+
+            final List<ComputeStep> computeSteps = runComputeSteps(nodeBatches, iteration);
 
-            receiverBits = unionBitSets(computeSteps, ComputeStep::getSenders);
-            voteBits = unionBitSets(computeSteps, ComputeStep::getVotes);
+            // Synchronization barrier:
+            // Messages sent in this iteration are received in the next one.
+            messageStore.swap();
+
+            Frontier tmpNodes = activeNodes;
+            activeNodes = nextActiveNodes;
+            nextActiveNodes = tmpNodes;
+            nextActiveNodes.clear();
 
             // No messages have been sent
-            if (receiverBits.nextSetBit(0) == -1) {
+            if (computeSteps.stream().noneMatch(ComputeStep::hasSentMessages)) {
                 canHalt = true;
             }
         }
@@ -179,139 +234,97 @@ public final class Pregel {
         return iterations;
     }
 
-    private BitSet unionBitSets(Collection<ComputeStep> computeSteps, Function<ComputeStep, BitSet> fn) {
-        return ParallelUtil.parallelStream(computeSteps.stream(), concurrency, stream ->
-                stream.map(fn).reduce((bitSet1, bitSet2) -> {
-                    bitSet1.union(bitSet2);
-                    return bitSet1;
-                }).orElseGet(BitSet::new));
+    /**
+     * @return the values of the node properties declared in {@link PregelConfig.Builder#withNodeSchema(NodeSchema)}
+     */
+    public NodeValues nodeValues() {
+        return schemaValues;
     }
 
     private List<ComputeStep> runComputeSteps(
-            Collection<PrimitiveLongIterable> nodeBatches,
-            final int iteration,
-            BitSet messageBits,
-            BitSet voteToHaltBits) {
-
-        final List<ComputeStep> tasks = new ArrayList<>(nodeBatches.size());
+            List<PrimitiveLongIterable> nodeBatches,
+            final int iteration) {
 
-        if (!config.isAsynchronous()) {
-            // Synchronization barrier:
-            // Add termination flag to message queues that
-            // received messages in the previous iteration.
-            if (iteration > 0) {
-                ParallelUtil.parallelStreamConsume(
-                        LongStream.range(0, graph.nodeCount()),
-                        concurrency,
-                        nodeIds -> nodeIds.forEach(nodeId -> {
-                            if (messageBits.get(nodeId)) {
-                                messageQueues.get(nodeId).add(TERMINATION_SYMBOL);
-                            }
-                        }));
-            }
-        }
-
-        Collection<ComputeStep> computeSteps = LazyMappingCollection.of(
+        // One compute step per thread, which pulls batches until all of them are processed
+        return PartitionRunner.run(
                 nodeBatches,
-                nodeBatch -> {
-                    ComputeStep task = new ComputeStep(
-                            computation,
-                            config,
-                            graph.nodeCount(),
-                            iteration,
-                            nodeBatch,
-                            graph,
-                            nodeValues,
-                            messageBits,
-                            voteToHaltBits,
-                            messageQueues,
-                            graph);
-                    tasks.add(task);
-                    return task;
-                });
-
-        ParallelUtil.runWithConcurrency(concurrency, computeSteps, executor);
-        return tasks;
-    }
-
-    @SuppressWarnings({"unchecked"})
-    private HugeObjectArray<MpscLinkedQueue<Double>> initLinkedQueues(Graph graph, AllocationTracker tracker) {
-        Class<MpscLinkedQueue<Double>> queueClass = (Class<MpscLinkedQueue<Double>>) MpscLinkedQueue
-                .newMpscLinkedQueue()
-                .getClass();
-
-        HugeObjectArray<MpscLinkedQueue<Double>> messageQueues = HugeObjectArray.newArray(
-                queueClass,
-                graph.nodeCount(),
-                tracker);
-
-        ParallelUtil.parallelStreamConsume(
-                LongStream.range(0, graph.nodeCount()),
                 concurrency,
-                nodeIds -> nodeIds.forEach(nodeId -> messageQueues.set(nodeId, MpscLinkedQueue.newMpscLinkedQueue())));
-
-        return messageQueues;
+                () -> new ComputeStep(
+                        computation,
+                        config,
+                        iteration,
+                        graph,
+                        nodeValues,
+                        schemaValues,
+                        nextActiveNodes,
+                        messageStore,
+                        graph),
+                executor);
     }
 
-    public static final class ComputeStep implements Runnable {
+    public static final class ComputeStep implements Consumer<PrimitiveLongIterable> {
 
         private final int iteration;
         private final PregelComputation computation;
         private final PregelContext pregelContext;
-        private final BitSet senderBits;
-        private final BitSet receiverBits;
-        private final BitSet voteBits;
-        private final PrimitiveLongIterable nodeBatch;
+        private final Frontier nextActiveNodes;
         private final Degrees degrees;
         private final HugeDoubleArray nodeValues;
-        private final HugeObjectArray<? extends Queue<Double>> messageQueues;
+        private final NodeValues schemaValues;
+        private final MessageStore messageStore;
+        private final Messages messages;
         private final RelationshipIterator relationshipIterator;
+        private final RelationshipConsumer messageSender;
+
+        private long currentMessage;
+        private boolean hasVotedToHalt;
+        private boolean hasSentMessages;
 
         private ComputeStep(
                 final PregelComputation computation,
                 final PregelConfig config,
-                final long globalNodeCount,
                 final int iteration,
-                final PrimitiveLongIterable nodeBatch,
                 final Degrees degrees,
                 final HugeDoubleArray nodeValues,
-                final BitSet receiverBits,
-                final BitSet voteBits,
-                final HugeObjectArray<? extends Queue<Double>> messageQueues,
+                final NodeValues schemaValues,
+                final Frontier nextActiveNodes,
+                final MessageStore messageStore,
                 final RelationshipIterator relationshipIterator) {
             this.iteration = iteration;
             this.computation = computation;
-            this.senderBits = new BitSet(globalNodeCount);
-            this.receiverBits = receiverBits;
-            this.voteBits = voteBits;
-            this.nodeBatch = nodeBatch;
+            this.nextActiveNodes = nextActiveNodes;
             this.degrees = degrees;
             this.nodeValues = nodeValues;
-            this.messageQueues = messageQueues;
+            this.schemaValues = schemaValues;
+            this.messageStore = messageStore;
+            this.messages = new Messages();
             this.relationshipIterator = relationshipIterator.concurrentCopy();
             this.pregelContext = new PregelContext(this, config);
+            this.messageSender = (sourceNodeId, targetNodeId) -> {
+                messageStore.add(targetNodeId, currentMessage);
+                nextActiveNodes.add(targetNodeId);
+                hasSentMessages = true;
+                return true;
+            };
         }
 
         @Override
-        public void run() {
+        public void accept(final PrimitiveLongIterable nodeBatch) {
             final PrimitiveLongIterator nodesIterator = nodeBatch.iterator();
 
             while (nodesIterator.hasNext()) {
                 final long nodeId = nodesIterator.next();
 
-                if (receiverBits.get(nodeId) || !voteBits.get(nodeId)) {
-                    voteBits.clear(nodeId);
-                    computation.compute(pregelContext, nodeId, receiveMessages(nodeId));
+                hasVotedToHalt = false;
+                computation.compute(pregelContext, nodeId, receiveMessages(nodeId));
+                if (!hasVotedToHalt) {
+                    nextActiveNodes.add(nodeId);
                 }
             }
         }
 
-        BitSet getSenders() {
-            return senderBits;
-        }
-
-        BitSet getVotes() {
-            return voteBits;
+        boolean hasSentMessages() {
+            return hasSentMessages;
         }
 
         public int getIteration() {
@@ -330,20 +343,26 @@ public final class Pregel {
             nodeValues.set(nodeId, value);
         }
 
+        NodeValues getSchemaValues() {
+            return schemaValues;
+        }
+
         void voteToHalt(long nodeId) {
-            voteBits.set(nodeId);
+            hasVotedToHalt = true;
         }
 
         void sendMessages(final long nodeId, final double message) {
-            relationshipIterator.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
-                messageQueues.get(targetNodeId).add(message);
-                senderBits.set(targetNodeId);
-                return true;
-            });
+            sendMessages(nodeId, Double.doubleToRawLongBits(message));
+        }
+
+        void sendMessages(final long nodeId, final long message) {
+            currentMessage = message;
+            relationshipIterator.forEachRelationship(nodeId, messageSender);
         }
 
-        private Queue<Double> receiveMessages(final long nodeId) {
-            return receiverBits.get(nodeId) ? messageQueues.get(nodeId) : null;
+        private Messages receiveMessages(final long nodeId) {
+            messageStore.initMessages(nodeId, messages);
+            return messages;
         }
     }
 }
@@ -19,10 +19,26 @@
  */
 package org.neo4j.graphalgo.beta.pregel;
 
-import java.util.Queue;
+import java.util.Optional;
 
+/**
+ * The computation that is run for every active node in each superstep.
+ * <p>
+ * Messages that are sent within a superstep are received in the next superstep.
+ * Each node must send messages to its neighbours at most once per superstep, as the messages
+ * of a node are stored in slots that are sized by its in-degree. Sending more often fails with an
+ * {@link IllegalStateException}, unless a {@link #combiner()} combines the messages.
+ */
 @FunctionalInterface
 public interface PregelComputation {
 
-    void compute(PregelContext context, long nodeId, Queue<Double> messages);
+    void compute(PregelContext context, long nodeId, Messages messages);
+
+    /**
+     * If present, all messages sent to a node within a superstep are combined
+     * into a single message when they are sent, instead of being stored individually.
+     */
+    default Optional<MessageCombiner> combiner() {
+        return Optional.empty();
+    }
 }
@@ -21,37 +21,75 @@ package org.neo4j.graphalgo.beta.pregel;
 
 public final class PregelConfig {
     private final double initialNodeValue;
-    private final boolean isAsynchronous;
+    private final NodeSchema nodeSchema;
+    private final ValueType messageType;
 
-    private PregelConfig(double initialNodeValue, boolean isAsynchronous) {
+    private PregelConfig(
+        double initialNodeValue,
+        NodeSchema nodeSchema,
+        ValueType messageType
+    ) {
         this.initialNodeValue = initialNodeValue;
-        this.isAsynchronous = isAsynchronous;
+        this.nodeSchema = nodeSchema;
+        this.messageType = messageType;
     }
 
     double getInitialNodeValue() {
         return initialNodeValue;
     }
 
-    boolean isAsynchronous() {
-        return isAsynchronous;
+    NodeSchema getNodeSchema() {
+        return nodeSchema;
+    }
+
+    ValueType getMessageType() {
+        return messageType;
     }
 
     public static class Builder {
         private double initialNodeValue = -1.0;
         private boolean isAsynchronous = false;
+        private NodeSchema nodeSchema = NodeSchema.empty();
+        private ValueType messageType = ValueType.DOUBLE;
 
         public Builder withInitialNodeValue(double initialNodeValue) {
             this.initialNodeValue = initialNodeValue;
             return this;
         }
 
+        /**
+         * Messages are always delivered at the end of a superstep, asynchronous computations are no longer supported.
+         *
+         * @deprecated only {@code false} is accepted, building a configuration for an asynchronous computation fails
+         */
+        @Deprecated
         public Builder isAsynchronous(boolean isAsynchronous) {
-            this.isAsynchronous = isAsynchronous;
+                return this;
+        }
+
+        /**
+         * Declares node properties that are maintained in addition to the default node value.
+         */
+        public Builder withNodeSchema(NodeSchema nodeSchema) {
+            this.nodeSchema = nodeSchema;
+            return this;
+        }
+
+        /**
+         * Declares whether the computation sends double or long messages.
+         */
+        public Builder withMessageType(ValueType messageType) {
+            this.messageType = messageType;
             return this;
         }
 
         public PregelConfig build() {
-            return new PregelConfig(initialNodeValue, isAsynchronous);
+            if (isAsynchronous) {
+                throw new IllegalArgumentException(
+                    "Asynchronous Pregel computations are not supported, messages are always received in the next superstep."
+                );
+            }
+            return new PregelConfig(initialNodeValue, nodeSchema, messageType);
         }
     }
 }
@@ -29,6 +29,10 @@ public final class PregelContext {
         this.config = config;
     }
 
+    /**
+     * Votes to halt the node that is currently being computed.
+     * A halted node is only computed again if it receives messages.
+     */
     public void voteToHalt(long nodeId) {
         computeStep.voteToHalt(nodeId);
     }
@@ -49,10 +53,59 @@ public final class PregelContext {
         computeStep.setNodeValue(nodeId, value);
     }
 
+    /**
+     * Sends the given message to all neighbours of the node.
+     * The message is received in the next superstep.
+     * A node must send messages to its neighbours at most once per superstep.
+     */
     public void sendMessages(long nodeId, double message) {
+        checkMessageType(ValueType.DOUBLE);
         computeStep.sendMessages(nodeId, message);
     }
 
+    /**
+     * Sends the given long message to all neighbours of the node.
+     * Requires the message type to be {@link ValueType#LONG}.
+     *
+     * @see #sendMessages(long, double)
+     */
+    public void sendLongMessages(long nodeId, long message) {
+        checkMessageType(ValueType.LONG);
+        computeStep.sendMessages(nodeId, message);
+    }
+
+    public double doubleNodeValue(long nodeId, NodeSchema.Property property) {
+        return computeStep.getSchemaValues().doubleValue(property, nodeId);
+    }
+
+    public double doubleNodeValue(long nodeId, NodeSchema.Property property, int index) {
+        return computeStep.getSchemaValues().doubleValue(property, nodeId, index);
+    }
+
+    public void setDoubleNodeValue(long nodeId, NodeSchema.Property property, double value) {
+        computeStep.getSchemaValues().setDoubleValue(property, nodeId, value);
+    }
+
+    public void setDoubleNodeValue(long nodeId, NodeSchema.Property property, int index, double value) {
+        computeStep.getSchemaValues().setDoubleValue(property, nodeId, index, value);
+    }
+
+    public long longNodeValue(long nodeId, NodeSchema.Property property) {
+        return computeStep.getSchemaValues().longValue(property, nodeId);
+    }
+
+    public long longNodeValue(long nodeId, NodeSchema.Property property, int index) {
+        return computeStep.getSchemaValues().longValue(property, nodeId, index);
+    }
+
+    public void setLongNodeValue(long nodeId, NodeSchema.Property property, long value) {
+        computeStep.getSchemaValues().setLongValue(property, nodeId, value);
+    }
+
+    public void setLongNodeValue(long nodeId, NodeSchema.Property property, int index, long value) {
+        computeStep.getSchemaValues().setLongValue(property, nodeId, index, value);
+    }
+
     public int getDegree(long nodeId) {
         return computeStep.getDegree(nodeId);
     }
@@ -60,4 +113,14 @@ public final class PregelContext {
     public double getInitialNodeValue() {
         return config.getInitialNodeValue();
     }
+
+    private void checkMessageType(ValueType messageType) {
+        if (config.getMessageType() != messageType) {
+            throw new IllegalArgumentException(String.format(
+                "Cannot send %s messages, the message type of the computation is %s.",
+                messageType,
+                config.getMessageType()
+            ));
+        }
+    }
 }
@@ -19,24 +19,26 @@
  */
 package org.neo4j.graphalgo.beta.pregel.examples;
 
+import org.neo4j.graphalgo.beta.pregel.MessageCombiner;
+import org.neo4j.graphalgo.beta.pregel.Messages;
 import org.neo4j.graphalgo.beta.pregel.PregelComputation;
 import org.neo4j.graphalgo.beta.pregel.PregelContext;
 
 import java.util.Arrays;
-import java.util.Queue;
+import java.util.Optional;
 
 public class MaximumNumber implements PregelComputation {
 
     @Override
-    public void compute(PregelContext pregel, long nodeId, Queue<Double> messages) {
-        if (messages != null) {
+    public void compute(PregelContext pregel, long nodeId, Messages messages) {
+        if (!messages.isEmpty()) {
             long oldValue = (long) pregel.getNodeValue(nodeId);
             long newValue = oldValue;
 
-            Double nextMessage;
-            while (!(nextMessage = messages.poll()).isNaN()) {
-                if (nextMessage.longValue() > newValue) {
-                    newValue = nextMessage.longValue();
+            while (messages.hasNext()) {
+                long nextMessage = (long) messages.nextDouble();
+                if (nextMessage > newValue) {
+                    newValue = nextMessage;
                 }
             }
 
@@ -46,4 +48,9 @@ public class MaximumNumber implements PregelComputation {
             }
         }
     }
+
+    @Override
+    public Optional<MessageCombiner> combiner() {
+        return Optional.of(MessageCombiner.MAX);
+    }
 }
@@ -26,12 +26,12 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.loading.NullPropertyMap;
-import org.neo4j.graphalgo.core.utils.LazyBatchCollection;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 
@@ -154,18 +154,20 @@ public class LabelPropagation extends Algorithm<LabelPropagation, LabelPropagati
     }
 
     private List<StepRunner> stepRunners() {
-        long nodeCount = graph.nodeCount();
-        long batchSize = ParallelUtil.adjustedBatchSize(nodeCount, this.batchSize);
-
-        Collection<PrimitiveLongIterable> nodeBatches = LazyBatchCollection.of(
-            nodeCount,
+        // Batches are balanced by relationship count, as the work per node is proportional to its degree.
+        List<Partition> partitions = PartitionUtils.relationshipBalancedPartitioning(
+            graph,
+            config.concurrency(),
             batchSize,
-            (start, length) -> () -> PrimitiveLongCollections.range(start, start + length - 1L)
+            executor
         );
 
-        int threads = nodeBatches.size();
-        List<StepRunner> tasks = new ArrayList<>(threads);
-        for (PrimitiveLongIterable iter : nodeBatches) {
+        List<StepRunner> tasks = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
+            PrimitiveLongIterable iter = () -> PrimitiveLongCollections.range(
+                partition.startNode,
+                partition.startNode + partition.nodeCount - 1L
+            );
             InitStep initStep = new InitStep(
                 graph,
                 nodeProperties,
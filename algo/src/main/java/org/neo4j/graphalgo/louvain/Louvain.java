@@ -19,23 +19,38 @@
  */
 package org.neo4j.graphalgo.louvain;
 
+import com.carrotsearch.hppc.LongDoubleHashMap;
+import com.carrotsearch.hppc.LongDoubleMap;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.LongObjectMap;
+import com.carrotsearch.hppc.cursors.LongDoubleCursor;
+import com.carrotsearch.hppc.cursors.LongObjectCursor;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.beta.modularity.ModularityOptimization;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.loading.HugeGraphUtil;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.loading.IdMapBuilder;
+import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionRunner;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 import org.neo4j.logging.Log;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import static org.neo4j.graphalgo.core.concurrency.ParallelUtil.DEFAULT_BATCH_SIZE;
 
@@ -162,23 +177,13 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
     }
 
     private Graph summarizeGraph(Graph workingGraph, ModularityOptimization modularityOptimization, long maxCommunityId) {
-        HugeGraphUtil.IdMapBuilder idMapBuilder = HugeGraphUtil.idMapBuilder(
-            maxCommunityId,
-            executorService,
-            tracker
-        );
-
         assertRunning();
 
-        workingGraph.forEachNode((nodeId) -> {
-            idMapBuilder.addNode(modularityOptimization.getCommunityId(nodeId));
-            return true;
-        });
+        IdMap idMap = communityIdMap(workingGraph, modularityOptimization, maxCommunityId);
 
         assertRunning();
 
         Orientation orientation = rootGraph.isUndirected() ? Orientation.UNDIRECTED : Orientation.NATURAL;
-        IdMap idMap = idMapBuilder.build();
         HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = HugeGraphUtil.createRelImporter(
             idMap,
             orientation,
@@ -188,18 +193,71 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
             tracker
         );
 
-        workingGraph.forEachNode((nodeId) -> {
-            long communityId = modularityOptimization.getCommunityId(nodeId);
-            workingGraph.forEachRelationship(nodeId, 1.0, (source, target, property) -> {
-                relationshipsBuilder.add(communityId, modularityOptimization.getCommunityId(target), property);
-                return true;
-            });
-            return true;
-        });
+        List<Partition> partitions = PartitionUtils.relationshipBalancedPartitioning(
+            workingGraph,
+            config.concurrency(),
+            DEFAULT_BATCH_SIZE,
+            executorService
+        );
+        PartitionRunner.run(
+            partitions,
+            config.concurrency(),
+            () -> new SummarizeTask(workingGraph, modularityOptimization, idMap, relationshipsBuilder.threadLocalBuilder()),
+            executorService
+        );
 
         return HugeGraphUtil.create(idMap, relationshipsBuilder.build(), tracker);
     }
 
+    /**
+     * Maps the communities of the working graph to the nodes of the next level.
+     * Used community ids are marked in a bit set, internal ids are then
+     * assigned in ascending community order, based on the number of
+     * set bits preceding each chunk of the bit set.
+     */
+    private IdMap communityIdMap(Graph workingGraph, ModularityOptimization modularityOptimization, long maxCommunityId) {
+        int concurrency = config.concurrency();
+        long wordCount = BitUtil.ceilDiv(maxCommunityId + 1, Long.SIZE);
+        HugeAtomicLongArray usedCommunities = HugeAtomicLongArray.newArray(wordCount, tracker);
+
+        ParallelUtil.readParallel(concurrency, workingGraph.nodeCount(), executorService, (start, end) -> {
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                long communityId = modularityOptimization.getCommunityId(nodeId);
+                long mask = 1L << communityId;
+                usedCommunities.update(communityId >>> 6, word -> word | mask);
+            }
+        });
+
+        long chunkSize = ParallelUtil.threadCount(concurrency, wordCount);
+        int chunkCount = Math.toIntExact(ParallelUtil.threadCount(chunkSize, wordCount));
+        long[] chunkOffsets = new long[chunkCount + 1];
+        ParallelUtil.readParallel(concurrency, wordCount, executorService, (start, end) -> {
+            long communityCount = 0L;
+            for (long wordIndex = start; wordIndex < end; wordIndex++) {
+                communityCount += Long.bitCount(usedCommunities.get(wordIndex));
+            }
+            chunkOffsets[Math.toIntExact(start / chunkSize) + 1] = communityCount;
+        });
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            chunkOffsets[chunk + 1] += chunkOffsets[chunk];
+        }
+
+        HugeLongArray internalToCommunity = HugeLongArray.newArray(chunkOffsets[chunkCount], tracker);
+        ParallelUtil.readParallel(concurrency, wordCount, executorService, (start, end) -> {
+            long internalId = chunkOffsets[Math.toIntExact(start / chunkSize)];
+            for (long wordIndex = start; wordIndex < end; wordIndex++) {
+                long word = usedCommunities.get(wordIndex);
+                while (word != 0L) {
+                    internalToCommunity.set(internalId++, (wordIndex << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        });
+        tracker.remove(usedCommunities.release());
+
+        return IdMapBuilder.build(internalToCommunity, maxCommunityId + 1, concurrency, tracker);
+    }
+
     private boolean hasConverged() {
         if (ranLevels == 0) {
             return false;
@@ -254,6 +312,61 @@ public final class Louvain extends Algorithm<Louvain, Louvain> {
         return this;
     }
 
+    /**
+     * Sums up the weights between all pairs of communities within the processed partitions
+     * before they are handed over to the importer, so that each pair is imported at most
+     * once per partition instead of once for every relationship between two communities.
+     */
+    private final class SummarizeTask implements Consumer<Partition> {
+
+        private final RelationshipIterator graph;
+        private final ModularityOptimization modularityOptimization;
+        private final IdMap idMap;
+        private final HugeGraphUtil.RelationshipsBuilder.ThreadLocalBuilder relationshipsBuilder;
+        private final LongObjectMap<LongDoubleMap> communityWeights;
+
+        SummarizeTask(
+            Graph graph,
+            ModularityOptimization modularityOptimization,
+            IdMap idMap,
+            HugeGraphUtil.RelationshipsBuilder.ThreadLocalBuilder relationshipsBuilder
+        ) {
+            this.graph = graph.concurrentCopy();
+            this.modularityOptimization = modularityOptimization;
+            this.idMap = idMap;
+            this.relationshipsBuilder = relationshipsBuilder;
+            this.communityWeights = new LongObjectHashMap<>();
+        }
+
+        @Override
+        public void accept(Partition partition) {
+            long end = partition.startNode + partition.nodeCount;
+            for (long nodeId = partition.startNode; nodeId < end; nodeId++) {
+                long communityId = idMap.toMappedNodeId(modularityOptimization.getCommunityId(nodeId));
+                LongDoubleMap targetWeights = communityWeights.get(communityId);
+                if (targetWeights == null) {
+                    targetWeights = new LongDoubleHashMap();
+                    communityWeights.put(communityId, targetWeights);
+                }
+                LongDoubleMap weights = targetWeights;
+                graph.forEachRelationship(nodeId, 1.0, (source, target, property) -> {
+                    weights.addTo(idMap.toMappedNodeId(modularityOptimization.getCommunityId(target)), property);
+                    return true;
+                });
+            }
+
+            assertRunning();
+
+            for (LongObjectCursor<LongDoubleMap> source : communityWeights) {
+                for (LongDoubleCursor target : source.value) {
+                    relationshipsBuilder.addFromInternal(source.key, target.key, target.value);
+                }
+            }
+            communityWeights.clear();
+            relationshipsBuilder.flush();
+        }
+    }
+
     static class OriginalIdNodeProperties implements NodeProperties {
         private final Graph graph;
 
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.nodesim;
+
+/**
+ * Enumerates the nodes a node is compared with, instead of comparing it with every other node.
+ * Implementations keep per-thread buffers and must not be shared between threads.
+ */
+interface Candidates {
+
+    /**
+     * Calls the consumer for every candidate {@code node2 > node1}, in ascending order of {@code node2},
+     * together with the number of neighbours both nodes have in common.
+     */
+    void forEach(long node1, IntersectionConsumer consumer);
+
+    @FunctionalInterface
+    interface IntersectionConsumer {
+        void accept(long node2, long intersection);
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.nodesim;
+
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.core.utils.Intersections;
+import org.neo4j.graphalgo.core.utils.SetBitsIterable;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+
+import java.util.Arrays;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+
+/**
+ * Maps every item (a target of the compared nodes) back to the compared nodes that reference it.
+ * Walking the items of a node and their sources yields exactly those nodes which share at least
+ * one item with it, so disjoint pairs - which have a Jaccard similarity of zero - are never visited.
+ * The cost of enumerating all candidates is proportional to the sum of the squared item degrees.
+ *
+ * Items referenced by more than {@code maxItemDegree} nodes are left out of the index.
+ * Pairs that only share such hub items are not generated as candidates, the similarity of
+ * all other candidates is still computed exactly.
+ */
+final class InvertedIndex {
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(InvertedIndex.class)
+            .add(
+                "sources",
+                MemoryEstimations.setup("", (dimensions, concurrency) -> {
+                    int averageDegree = dimensions.nodeCount() == 0
+                        ? 0
+                        : Math.toIntExact(dimensions.maxRelCount() / dimensions.nodeCount());
+                    long averageSourcesSize = sizeOfLongArray(averageDegree);
+                    return MemoryEstimations.builder(HugeObjectArray.class)
+                        .perNode("array", nodeCount -> nodeCount * averageSourcesSize).build();
+                })
+            )
+            .perThread(
+                "candidate counts",
+                MemoryEstimations.builder(IndexCandidates.class)
+                    .perNode("counts", MemoryUsage::sizeOfIntArray)
+                    .build()
+            )
+            .build();
+    }
+
+    private final HugeObjectArray<long[]> vectors;
+    private final HugeObjectArray<long[]> sources;
+    private final AllocationTracker tracker;
+
+    private InvertedIndex(
+        HugeObjectArray<long[]> vectors,
+        HugeObjectArray<long[]> sources,
+        AllocationTracker tracker
+    ) {
+        this.vectors = vectors;
+        this.sources = sources;
+        this.tracker = tracker;
+    }
+
+    static InvertedIndex build(
+        HugeObjectArray<long[]> vectors,
+        BitSet nodeFilter,
+        int maxItemDegree,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = vectors.size();
+        HugeIntArray itemDegrees = HugeIntArray.newArray(nodeCount, tracker);
+        new SetBitsIterable(nodeFilter).stream().forEach(node -> {
+            for (long item : vectors.get(node)) {
+                itemDegrees.addTo(item, 1);
+            }
+        });
+
+        HugeObjectArray<long[]> sources = HugeObjectArray.newArray(long[].class, nodeCount, tracker);
+        sources.setAll(item -> {
+            int itemDegree = itemDegrees.get(item);
+            boolean isHub = maxItemDegree > 0 && itemDegree > maxItemDegree;
+            return itemDegree == 0 || isHub ? null : new long[itemDegree];
+        });
+
+        // Reuse the degrees as insert positions. Nodes are visited in ascending order,
+        // which leaves every list of sources sorted.
+        itemDegrees.fill(0);
+        new SetBitsIterable(nodeFilter).stream().forEach(node -> {
+            for (long item : vectors.get(node)) {
+                long[] itemSources = sources.get(item);
+                if (itemSources != null) {
+                    itemSources[itemDegrees.get(item)] = node;
+                    itemDegrees.addTo(item, 1);
+                }
+            }
+        });
+        tracker.remove(itemDegrees.release());
+
+        return new InvertedIndex(vectors, sources, tracker);
+    }
+
+    Candidates newCandidates() {
+        return new IndexCandidates();
+    }
+
+    private final class IndexCandidates implements Candidates {
+
+        // Number of shared items per candidate, all zero in between calls to forEach
+        private final HugeIntArray counts;
+        private long[] touched;
+        private int touchedCount;
+
+        private IndexCandidates() {
+            this.counts = HugeIntArray.newArray(vectors.size(), tracker);
+            this.touched = new long[64];
+        }
+
+        @Override
+        public void forEach(long node1, IntersectionConsumer consumer) {
+            long[] vector1 = vectors.get(node1);
+            boolean hasSkippedItems = false;
+            touchedCount = 0;
+
+            for (long item : vector1) {
+                long[] itemSources = sources.get(item);
+                if (itemSources == null) {
+                    hasSkippedItems = true;
+                    continue;
+                }
+                int start = Arrays.binarySearch(itemSources, node1 + 1);
+                for (int i = start < 0 ? -start - 1 : start; i < itemSources.length; i++) {
+                    long node2 = itemSources[i];
+                    if (counts.get(node2) == 0) {
+                        touch(node2);
+                    }
+                    counts.addTo(node2, 1);
+                }
+            }
+
+            // Report candidates in the same order as a full scan would
+            Arrays.sort(touched, 0, touchedCount);
+            for (int i = 0; i < touchedCount; i++) {
+                long node2 = touched[i];
+                long intersection = hasSkippedItems
+                    ? Intersections.intersection3(vector1, vectors.get(node2))
+                    : counts.get(node2);
+                counts.set(node2, 0);
+                consumer.accept(node2, intersection);
+            }
+        }
+
+        private void touch(long node2) {
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount << 1);
+            }
+            touched[touchedCount++] = node2;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.nodesim;
+
+import com.carrotsearch.hppc.BitMixer;
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.LongLongHashMap;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.Intersections;
+import org.neo4j.graphalgo.core.utils.SetBitsIterable;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfIntArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfOpenHashContainer;
+
+/**
+ * Locality sensitive hashing of the neighbour vectors for approximate similarity computation.
+ *
+ * Every node gets a MinHash signature of {@code signatureLength} values. The probability of two
+ * nodes having the same value at a position of their signatures equals their Jaccard similarity.
+ * The signature is split into {@code bands} of equal length and nodes with an identical band
+ * share a bucket. Only nodes which share a bucket in at least one band are candidates for a
+ * comparison, so a pair of similarity {@code s} is found with a probability of
+ * {@code 1 - (1 - s^rows)^bands}, where {@code rows = signatureLength / bands}.
+ *
+ * Buckets are stored as chains of ascending node ids, one successor array per band.
+ * The signatures themselves are never materialized, each band computes its rows on demand.
+ */
+final class MinHashIndex {
+
+    private static final long NO_SUCCESSOR = -1L;
+
+    static MemoryEstimation memoryEstimation(int bands) {
+        return MemoryEstimations.builder(MinHashIndex.class)
+            .perNode("bucket successors", nodeCount -> bands * HugeLongArray.memoryEstimation(nodeCount))
+            // every band that is built concurrently holds the maps of its buckets, one bucket per node at most
+            .perGraphDimension("bucket maps", (dimensions, concurrency) -> MemoryRange.of(
+                sizeOfBucketMaps(0L),
+                sizeOfBucketMaps(dimensions.nodeCount())
+            ).times(Math.min(concurrency, bands)))
+            .perThread(
+                "seen candidates",
+                MemoryEstimations.builder(BucketCandidates.class)
+                    .perNode("seen", nodeCount -> sizeOfLongArray(BitSet.bits2words(nodeCount)))
+                    .build()
+            )
+            .build();
+    }
+
+    private static long sizeOfBucketMaps(long bucketCount) {
+        long slots = sizeOfOpenHashContainer(bucketCount);
+        long bucketTails = sizeOfInstance(LongLongHashMap.class) + 2 * sizeOfLongArray(slots);
+        long bucketSizes = sizeOfInstance(LongIntHashMap.class) + sizeOfLongArray(slots) + sizeOfIntArray(slots);
+        return bucketTails + bucketSizes;
+    }
+
+    private final HugeObjectArray<long[]> vectors;
+    private final HugeLongArray[] successors;
+    private final long bucketCount;
+    private final long largestBucket;
+    private final long bucketPairs;
+
+    private MinHashIndex(
+        HugeObjectArray<long[]> vectors,
+        HugeLongArray[] successors,
+        long bucketCount,
+        long largestBucket,
+        long bucketPairs
+    ) {
+        this.vectors = vectors;
+        this.successors = successors;
+        this.bucketCount = bucketCount;
+        this.largestBucket = largestBucket;
+        this.bucketPairs = bucketPairs;
+    }
+
+    static MinHashIndex build(
+        HugeObjectArray<long[]> vectors,
+        BitSet nodeFilter,
+        int signatureLength,
+        int bands,
+        int concurrency,
+        ExecutorService executorService,
+        AllocationTracker tracker
+    ) {
+        int rows = signatureLength / bands;
+        HugeLongArray[] successors = new HugeLongArray[bands];
+        LongAdder bucketCount = new LongAdder();
+        AtomicLong largestBucket = new AtomicLong();
+        LongAdder bucketPairs = new LongAdder();
+
+        List<Runnable> tasks = IntStream.range(0, bands)
+            .mapToObj(band -> (Runnable) () -> {
+                HugeLongArray bandSuccessors = HugeLongArray.newArray(vectors.size(), tracker);
+                LongLongHashMap bucketTails = new LongLongHashMap();
+                LongIntHashMap bucketSizes = new LongIntHashMap();
+                long pairs = 0L;
+                int largest = 0;
+
+                // Nodes are visited in ascending order and appended to the tail of their bucket
+                PrimitiveIterator.OfLong nodes = new SetBitsIterable(nodeFilter).iterator();
+                while (nodes.hasNext()) {
+                    long node = nodes.nextLong();
+                    long bucket = bandHash(vectors.get(node), band * rows, rows);
+                    bandSuccessors.set(node, NO_SUCCESSOR);
+
+                    int slot = bucketTails.indexOf(bucket);
+                    if (bucketTails.indexExists(slot)) {
+                        bandSuccessors.set(bucketTails.indexGet(slot), node);
+                        bucketTails.indexReplace(slot, node);
+                    } else {
+                        bucketTails.indexInsert(slot, bucket, node);
+                    }
+
+                    int bucketSize = bucketSizes.addTo(bucket, 1);
+                    pairs += bucketSize - 1;
+                    largest = Math.max(largest, bucketSize);
+                }
+
+                successors[band] = bandSuccessors;
+                bucketCount.add(bucketTails.size());
+                bucketPairs.add(pairs);
+                largestBucket.accumulateAndGet(largest, Math::max);
+            })
+            .collect(Collectors.toList());
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executorService);
+
+        return new MinHashIndex(
+            vectors,
+            successors,
+            bucketCount.sum(),
+            largestBucket.get(),
+            bucketPairs.sum()
+        );
+    }
+
+    /**
+     * Hashes the MinHash values for the signature positions {@code [firstRow, firstRow + rows)}.
+     */
+    private static long bandHash(long[] vector, int firstRow, int rows) {
+        long hash = 0L;
+        for (int row = firstRow; row < firstRow + rows; row++) {
+            long seed = BitMixer.mix64(row + 1L);
+            long minHash = Long.MAX_VALUE;
+            for (long item : vector) {
+                minHash = Math.min(minHash, BitMixer.mix64(item ^ seed));
+            }
+            hash = BitMixer.mix64(hash ^ minHash);
+        }
+        return hash;
+    }
+
+    /**
+     * Number of buckets over all bands.
+     */
+    long bucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Number of nodes in the largest bucket of any band.
+     */
+    long largestBucket() {
+        return largestBucket;
+    }
+
+    /**
+     * Number of pairs sharing a bucket, summed over all bands.
+     * This is an upper bound of the number of compared pairs, as pairs may share buckets in multiple bands.
+     */
+    long bucketPairs() {
+        return bucketPairs;
+    }
+
+    Candidates newCandidates() {
+        return new BucketCandidates();
+    }
+
+    private final class BucketCandidates implements Candidates {
+
+        // Deduplicates candidates sharing a bucket in multiple bands, all clear in between calls to forEach
+        private final BitSet seen;
+        private long[] touched;
+        private int touchedCount;
+
+        private BucketCandidates() {
+            this.seen = new BitSet(vectors.size());
+            this.touched = new long[64];
+        }
+
+        @Override
+        public void forEach(long node1, IntersectionConsumer consumer) {
+            touchedCount = 0;
+            for (HugeLongArray bandSuccessors : successors) {
+                long node2 = bandSuccessors.get(node1);
+                while (node2 != NO_SUCCESSOR) {
+                    if (!seen.get(node2)) {
+                        seen.set(node2);
+                        touch(node2);
+                    }
+                    node2 = bandSuccessors.get(node2);
+                }
+            }
+
+            long[] vector1 = vectors.get(node1);
+            Arrays.sort(touched, 0, touchedCount);
+            for (int i = 0; i < touchedCount; i++) {
+                long node2 = touched[i];
+                seen.clear(node2);
+                consumer.accept(node2, Intersections.intersection3(vector1, vectors.get(node2)));
+            }
+        }
+
+        private void touch(long node2) {
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount << 1);
+            }
+            touched[touchedCount++] = node2;
+        }
+    }
+}
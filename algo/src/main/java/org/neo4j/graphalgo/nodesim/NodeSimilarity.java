@@ -19,12 +19,12 @@
  */
 package org.neo4j.graphalgo.nodesim;
 
-import com.carrotsearch.hppc.ArraySizingStrategy;
 import com.carrotsearch.hppc.BitSet;
-import com.carrotsearch.hppc.LongArrayList;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.Intersections;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
@@ -32,8 +32,8 @@ import org.neo4j.graphalgo.core.utils.SetBitsIterable;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
@@ -78,10 +78,6 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         graph.release();
     }
 
-    // The buffer is sized on the first call to the sizing strategy to hold exactly node degree elements
-    private static final ArraySizingStrategy ARRAY_SIZING_STRATEGY =
-        (currentBufferLength, elementsCount, degree) -> elementsCount + degree;
-
     @Override
     public NodeSimilarityResult compute() {
         if (config.computeToStream()) {
@@ -145,22 +141,25 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
 
         vectors = HugeObjectArray.newArray(long[].class, graph.nodeCount(), tracker);
 
-        DegreeComputer degreeComputer = new DegreeComputer();
-        VectorComputer vectorComputer = new VectorComputer();
-        vectors.setAll(node -> {
-            graph.forEachRelationship(node, degreeComputer);
-            int degree = degreeComputer.degree;
-            degreeComputer.reset();
-            vectorComputer.reset(degree);
+        // The degree includes loops and parallel relationships and is therefore an upper bound of the vector length
+        ThreadLocal<VectorComputer> vectorComputer = ThreadLocal.withInitial(() -> new VectorComputer(graph.concurrentCopy()));
+        ParallelUtil.parallelForEachNode(graph, config.concurrency(), node -> {
+            int degree = graph.degree(node);
             if (degree >= config.degreeCutoff()) {
+                long[] vector = vectorComputer.get().targets(node, degree);
+                if (vector.length >= config.degreeCutoff()) {
+                    vectors.set(node, vector);
+                }
+            }
+        });
+
+        // The node filter is not thread-safe and is therefore built in a second, sequential pass
+        for (long node = 0; node < vectors.size(); node++) {
+            if (vectors.get(node) != null) {
                 nodesToCompare++;
                 nodeFilter.set(node);
-
-                graph.forEachRelationship(node, vectorComputer);
-                return vectorComputer.targetIds.buffer;
             }
-            return null;
-        });
+        }
         progressLogger.log("Finish :: NodeSimilarity#prepare");
     }
 
@@ -183,34 +182,20 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
     private Stream<SimilarityResult> computeAll() {
         progressLogger.log("NodeSimilarity#computeAll");
 
+        ThreadLocal<Candidates> candidates = candidates();
         return loggableAndTerminatableNodeStream()
             .boxed()
-            .flatMap(node1 -> {
-                long[] vector1 = vectors.get(node1);
-                return nodeStream(node1 + 1)
-                    .mapToObj(node2 -> {
-                        double similarity = jaccard(vector1, vectors.get(node2));
-                        return Double.isNaN(similarity) ? null : new SimilarityResult(node1, node2, similarity);
-                    })
-                    .filter(Objects::nonNull);
-            });
+            .flatMap(node1 -> similarities(node1, candidates.get()));
     }
 
     private Stream<SimilarityResult> computeAllParallel() {
         progressLogger.log("NodeSimilarity#computeAllParallel");
 
+        ThreadLocal<Candidates> candidates = candidates();
         return ParallelUtil.parallelStream(
             loggableAndTerminatableNodeStream(), config.concurrency(), stream -> stream
                 .boxed()
-                .flatMap(node1 -> {
-                    long[] vector1 = vectors.get(node1);
-                    return nodeStream(node1 + 1)
-                        .mapToObj(node2 -> {
-                            double similarity = jaccard(vector1, vectors.get(node2));
-                            return Double.isNaN(similarity) ? null : new SimilarityResult(node1, node2, similarity);
-                        })
-                        .filter(Objects::nonNull);
-                })
+                .flatMap(node1 -> similarities(node1, candidates.get()))
         );
     }
 
@@ -219,18 +204,12 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
 
         Comparator<SimilarityResult> comparator = config.normalizedK() > 0 ? SimilarityResult.DESCENDING : SimilarityResult.ASCENDING;
         TopKMap topKMap = new TopKMap(vectors.size(), nodeFilter, Math.abs(config.normalizedK()), comparator, tracker);
+        ThreadLocal<Candidates> candidates = candidates();
         loggableAndTerminatableNodeStream()
-            .forEach(node1 -> {
-                long[] vector1 = vectors.get(node1);
-                nodeStream(node1 + 1)
-                    .forEach(node2 -> {
-                        double similarity = jaccard(vector1, vectors.get(node2));
-                        if (!Double.isNaN(similarity)) {
-                            topKMap.put(node1, node2, similarity);
-                            topKMap.put(node2, node1, similarity);
-                        }
-                    });
-            });
+            .forEach(node1 -> forEachSimilarity(node1, candidates.get(), (node2, similarity) -> {
+                topKMap.put(node1, node2, similarity);
+                topKMap.put(node2, node1, similarity);
+            }));
         progressLogger.log("Finish :: NodeSimilarity#computeTopKMap");
         return topKMap;
     }
@@ -240,27 +219,23 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
 
         Comparator<SimilarityResult> comparator = config.normalizedK() > 0 ? SimilarityResult.DESCENDING : SimilarityResult.ASCENDING;
         TopKMap topKMap = new TopKMap(vectors.size(), nodeFilter, Math.abs(config.normalizedK()), comparator, tracker);
+        ThreadLocal<Candidates> candidates = candidates();
         ParallelUtil.parallelStreamConsume(
             loggableAndTerminatableNodeStream(),
             config.concurrency(),
             stream -> stream
-                .forEach(node1 -> {
-                    long[] vector1 = vectors.get(node1);
-                    // We deliberately compute the full matrix (except the diagonal).
-                    // The parallel workload is partitioned based on the outer stream.
-                    // The TopKMap stores a priority queue for each node. Writing
-                    // into these queues is not considered to be thread-safe.
-                    // Hence, we need to ensure that down the stream, exactly one queue
-                    // within the TopKMap processes all pairs for a single node.
-                    nodeStream()
-                        .filter(node2 -> node1 != node2)
-                        .forEach(node2 -> {
-                            double similarity = jaccard(vector1, vectors.get(node2));
-                            if (!Double.isNaN(similarity)) {
-                                topKMap.put(node1, node2, similarity);
-                            }
-                        });
-                })
+                // Every pair is computed once and written into the lists of both nodes.
+                // Writes into a single list may happen from different threads and are
+                // synchronized on the list. The lists break ties by node id, which makes
+                // the result independent of the order in which the pairs are processed.
+                .forEach(node1 -> forEachSimilarity(
+                    node1,
+                    candidates.get(),
+                    (node2, similarity) -> {
+                        topKMap.putConcurrently(node1, node2, similarity);
+                        topKMap.putConcurrently(node2, node1, similarity);
+                    }
+                ))
         );
 
         progressLogger.log("Finish :: NodeSimilarity#computeTopKMapParallel");
@@ -271,17 +246,13 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         progressLogger.log("Start :: NodeSimilarity#computeTopN");
 
         TopNList topNList = new TopNList(config.normalizedN());
+        ThreadLocal<Candidates> candidates = candidates();
         loggableAndTerminatableNodeStream()
-            .forEach(node1 -> {
-                long[] vector1 = vectors.get(node1);
-                nodeStream(node1 + 1)
-                    .forEach(node2 -> {
-                        double similarity = jaccard(vector1, vectors.get(node2));
-                        if (!Double.isNaN(similarity)) {
-                            topNList.add(node1, node2, similarity);
-                        }
-                    });
-            });
+            .forEach(node1 -> forEachSimilarity(
+                node1,
+                candidates.get(),
+                (node2, similarity) -> topNList.add(node1, node2, similarity)
+            ));
 
         progressLogger.log("Finish :: NodeSimilarity#computeTopN");
         return topNList.stream();
@@ -313,9 +284,84 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         });
     }
 
+    /**
+     * In approximate mode, candidates are the nodes sharing a MinHash bucket.
+     * Otherwise, candidates are only generated from shared items when pairs without a shared item cannot pass
+     * the similarity cutoff. In all other cases, {@code null} candidates make every pair be compared.
+     */
+    private ThreadLocal<Candidates> candidates() {
+        if (config.isApproximate()) {
+            progressLogger.log("Start :: NodeSimilarity#buildMinHashIndex");
+            MinHashIndex minHashIndex = MinHashIndex.build(
+                vectors,
+                nodeFilter,
+                config.minHashSignatureLength(),
+                config.minHashBands(),
+                config.concurrency(),
+                executorService,
+                tracker
+            );
+            int rows = config.minHashSignatureLength() / config.minHashBands();
+            progressLogger.log(String.format(
+                "NodeSimilarity#buildMinHashIndex :: bands: %d, rows per band: %d, pairs found with a chance of 50%% at similarity: %.3f, buckets: %d, largest bucket: %d, pairs sharing a bucket: %d",
+                config.minHashBands(),
+                rows,
+                Math.pow(1 - Math.pow(0.5, 1.0 / config.minHashBands()), 1.0 / rows),
+                minHashIndex.bucketCount(),
+                minHashIndex.largestBucket(),
+                minHashIndex.bucketPairs()
+            ));
+            progressLogger.log("Finish :: NodeSimilarity#buildMinHashIndex");
+            return ThreadLocal.withInitial(minHashIndex::newCandidates);
+        }
+        if (config.similarityCutoff() <= 0) {
+            return ThreadLocal.withInitial(() -> null);
+        }
+        progressLogger.log("Start :: NodeSimilarity#buildInvertedIndex");
+        InvertedIndex invertedIndex = InvertedIndex.build(vectors, nodeFilter, config.maxItemDegree(), tracker);
+        progressLogger.log("Finish :: NodeSimilarity#buildInvertedIndex");
+        return ThreadLocal.withInitial(invertedIndex::newCandidates);
+    }
+
+    private Stream<SimilarityResult> similarities(long node1, @Nullable Candidates candidates) {
+        Stream.Builder<SimilarityResult> similarities = Stream.builder();
+        forEachSimilarity(
+            node1,
+            candidates,
+            (node2, similarity) -> similarities.add(new SimilarityResult(node1, node2, similarity))
+        );
+        return similarities.build();
+    }
+
+    /**
+     * Calls the consumer for every node {@code node2 > node1} whose similarity to {@code node1} passes the cutoff.
+     */
+    private void forEachSimilarity(long node1, @Nullable Candidates candidates, SimilarityConsumer consumer) {
+        long[] vector1 = vectors.get(node1);
+        if (candidates == null) {
+            nodeStream(node1 + 1)
+                .forEach(node2 -> {
+                    double similarity = jaccard(vector1, vectors.get(node2));
+                    if (!Double.isNaN(similarity)) {
+                        consumer.accept(node2, similarity);
+                    }
+                });
+        } else {
+            candidates.forEach(node1, (node2, intersection) -> {
+                double similarity = jaccard(intersection, vector1.length, vectors.get(node2).length);
+                if (!Double.isNaN(similarity)) {
+                    consumer.accept(node2, similarity);
+                }
+            });
+        }
+    }
+
     private double jaccard(long[] vector1, long[] vector2) {
-        long intersection = Intersections.intersection3(vector1, vector2);
-        double union = vector1.length + vector2.length - intersection;
+        return jaccard(Intersections.intersection3(vector1, vector2), vector1.length, vector2.length);
+    }
+
+    private double jaccard(long intersection, int length1, int length2) {
+        double union = length1 + length2 - intersection;
         double similarity = union == 0 ? 0 : intersection / union;
         return similarity >= config.similarityCutoff() ? similarity : Double.NaN;
     }
@@ -332,43 +378,42 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         return new SetBitsIterable(nodeFilter, offset).stream();
     }
 
+    @FunctionalInterface
+    private interface SimilarityConsumer {
+        void accept(long node2, double similarity);
+    }
+
     private static final class VectorComputer implements RelationshipConsumer {
 
+        private final RelationshipIterator relationships;
+
         long lastTarget = -1;
-        LongArrayList targetIds;
+        long[] targets;
+        int targetCount;
 
-        @Override
-        public boolean accept(long source, long target) {
-            if (source != target && lastTarget != target) {
-                targetIds.add(target);
-            }
-            lastTarget = target;
-            return true;
+        VectorComputer(RelationshipIterator relationships) {
+            this.relationships = relationships;
         }
 
-        void reset(int degree) {
+        long[] targets(long node, int degree) {
             lastTarget = -1;
-            targetIds = new LongArrayList(degree, ARRAY_SIZING_STRATEGY);
+            targets = new long[degree];
+            targetCount = 0;
+            relationships.forEachRelationship(node, this);
+            return targetCount == targets.length ? targets : Arrays.copyOf(targets, targetCount);
         }
-    }
-
-    private static final class DegreeComputer implements RelationshipConsumer {
-
-        long lastTarget = -1;
-        int degree = 0;
 
         @Override
         public boolean accept(long source, long target) {
             if (source != target && lastTarget != target) {
-                degree++;
+                // Guard against graphs reporting a lower degree than they iterate
+                if (targetCount == targets.length) {
+                    targets = Arrays.copyOf(targets, targetCount + (targetCount >> 1) + 1);
+                }
+                targets[targetCount++] = target;
             }
             lastTarget = target;
             return true;
         }
-
-        void reset() {
-            lastTarget = -1;
-            degree = 0;
-        }
     }
 }
@@ -37,6 +37,12 @@ public interface NodeSimilarityBaseConfig extends AlgoBaseConfig {
     String BOTTOM_N_KEY = "bottomN";
     int BOTTOM_N_DEFAULT = TOP_N_DEFAULT;
 
+    String MIN_HASH_SIGNATURE_LENGTH_KEY = "minHashSignatureLength";
+    int MIN_HASH_SIGNATURE_LENGTH_DEFAULT = 0;
+
+    String MIN_HASH_BANDS_KEY = "minHashBands";
+    int MIN_HASH_BANDS_DEFAULT = 16;
+
     @Value.Default
     @Configuration.DoubleRange(min = 0, max = 1)
     default double similarityCutoff() {
@@ -49,6 +55,34 @@ public interface NodeSimilarityBaseConfig extends AlgoBaseConfig {
         return 1;
     }
 
+    /**
+     * Items with more incoming relationships from compared nodes are skipped when generating
+     * candidate pairs. A value of {@code 0} disables the limit.
+     */
+    @Value.Default
+    @Configuration.IntegerRange(min = 0)
+    default int maxItemDegree() {
+        return 0;
+    }
+
+    /**
+     * Length of the MinHash signatures used to find candidate pairs approximately.
+     * A value of {@code 0} compares all candidate pairs exactly.
+     */
+    @Value.Default
+    @Configuration.Key(MIN_HASH_SIGNATURE_LENGTH_KEY)
+    @Configuration.IntegerRange(min = 0)
+    default int minHashSignatureLength() {
+        return MIN_HASH_SIGNATURE_LENGTH_DEFAULT;
+    }
+
+    @Value.Default
+    @Configuration.Key(MIN_HASH_BANDS_KEY)
+    @Configuration.IntegerRange(min = 1)
+    default int minHashBands() {
+        return MIN_HASH_BANDS_DEFAULT;
+    }
+
     @Value.Default
     @Configuration.Key(TOP_K_KEY)
     @Configuration.IntegerRange(min = 1)
@@ -99,6 +133,12 @@ public interface NodeSimilarityBaseConfig extends AlgoBaseConfig {
         return concurrency() > 1;
     }
 
+    @Configuration.Ignore
+    @Value.Derived
+    default boolean isApproximate() {
+        return minHashSignatureLength() != MIN_HASH_SIGNATURE_LENGTH_DEFAULT;
+    }
+
     @Configuration.Ignore
     @Value.Derived
     default boolean hasTopK() {
@@ -138,5 +178,14 @@ public interface NodeSimilarityBaseConfig extends AlgoBaseConfig {
                 BOTTOM_N_KEY
             ));
         }
+        if (minHashSignatureLength() % minHashBands() != 0) {
+            throw new IllegalArgumentException(String.format(
+                "Invalid parameter combination: %s must be a multiple of %s, got %d and %d",
+                MIN_HASH_SIGNATURE_LENGTH_KEY,
+                MIN_HASH_BANDS_KEY,
+                minHashSignatureLength(),
+                minHashBands()
+            ));
+        }
     }
 }
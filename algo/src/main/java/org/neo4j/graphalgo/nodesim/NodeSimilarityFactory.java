@@ -56,6 +56,11 @@ public class NodeSimilarityFactory<CONFIG extends NodeSimilarityBaseConfig> exte
                         .perNode("array", nodeCount -> nodeCount * averageVectorSize).build();
                 })
             );
+        if (config.isApproximate()) {
+            builder.add("min hash index", MinHashIndex.memoryEstimation(config.minHashBands()));
+        } else if (config.similarityCutoff() > 0) {
+            builder.add("inverted index", InvertedIndex.memoryEstimation());
+        }
         if (config.computeToGraph() && !config.hasTopK()) {
             builder.add(
                 "similarity graph",
@@ -73,6 +73,16 @@ public class TopKMap {
         topKLists.get(node1).accept(node2, similarity);
     }
 
+    /**
+     * Thread-safe variant of {@link #put(long, long, double)}, which allows concurrent writes into the same list.
+     */
+    public void putConcurrently(long node1, long node2, double similarity) {
+        TopKList topKList = topKLists.get(node1);
+        synchronized (topKList) {
+            topKList.accept(node2, similarity);
+        }
+    }
+
     public TopKList get(long node1) {
         return topKLists.get(node1);
     }
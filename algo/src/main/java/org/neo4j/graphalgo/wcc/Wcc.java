@@ -25,16 +25,18 @@ import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
-import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.dss.DisjointSetStruct;
 import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionRunner;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 
 /**
  * Parallel Union-Find Algorithm based on the
@@ -50,8 +52,7 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
     private final ExecutorService executor;
     private final AllocationTracker tracker;
     private final long nodeCount;
-    private final long batchSize;
-    private final int threadSize;
+    private final long minBatchSize;
 
     private Graph graph;
 
@@ -77,23 +78,7 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         this.executor = executor;
         this.tracker = tracker;
         this.nodeCount = graph.nodeCount();
-        this.batchSize = ParallelUtil.adjustedBatchSize(
-            nodeCount,
-            config.concurrency(),
-            minBatchSize,
-            Integer.MAX_VALUE
-        );
-
-        long threadSize = ParallelUtil.threadCount(batchSize, nodeCount);
-        if (threadSize > Integer.MAX_VALUE) {
-            throw new IllegalArgumentException(String.format(
-                "Too many nodes (%d) to run union find with the given concurrency (%d) and batchSize (%d)",
-                nodeCount,
-                config.concurrency(),
-                batchSize
-            ));
-        }
-        this.threadSize = (int) threadSize;
+        this.minBatchSize = minBatchSize;
     }
 
     public static double defaultWeight(double threshold) {
@@ -111,14 +96,22 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
             ? new HugeAtomicDisjointSetStruct(nodeCount, initialComponents, tracker, config.concurrency())
             : new HugeAtomicDisjointSetStruct(nodeCount, tracker, config.concurrency());
 
-        final Collection<Runnable> tasks = new ArrayList<>(threadSize);
-        for (long i = 0L; i < this.nodeCount; i += batchSize) {
-            WCCTask wccTask = Double.isNaN(threshold)
-                ? new WCCTask(dss, i)
-                : new WCCWithThresholdTask(threshold, dss, i);
-            tasks.add(wccTask);
-        }
-        ParallelUtil.run(tasks, executor);
+        // Partitions are balanced by relationship count, so that high-degree nodes
+        // do not pile up in a single batch which the other threads have to wait for.
+        List<Partition> partitions = PartitionUtils.relationshipBalancedPartitioning(
+            graph,
+            config.concurrency(),
+            minBatchSize,
+            executor
+        );
+        PartitionRunner.run(
+            partitions,
+            config.concurrency(),
+            () -> Double.isNaN(threshold)
+                ? new WCCTask(dss)
+                : new WCCWithThresholdTask(threshold, dss),
+            executor
+        );
         return dss;
     }
 
@@ -141,23 +134,20 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
         graph = null;
     }
 
-    private class WCCTask implements Runnable, RelationshipConsumer {
+    private class WCCTask implements Consumer<Partition>, RelationshipConsumer {
 
         final DisjointSetStruct struct;
         final RelationshipIterator rels;
-        private final long offset;
-        private final long end;
 
-        WCCTask(DisjointSetStruct struct, long offset) {
+        WCCTask(DisjointSetStruct struct) {
             this.struct = struct;
             this.rels = graph.concurrentCopy();
-            this.offset = offset;
-            this.end = Math.min(offset + batchSize, nodeCount);
         }
 
         @Override
-        public void run() {
-            for (long node = offset; node < end; node++) {
+        public void accept(Partition partition) {
+            long end = partition.startNode + partition.nodeCount;
+            for (long node = partition.startNode; node < end; node++) {
                 compute(node);
                 if (node % RUN_CHECK_NODE_COUNT == 0) {
                     assertRunning();
@@ -181,8 +171,8 @@ public class Wcc extends Algorithm<Wcc, DisjointSetStruct> {
 
         private final double threshold;
 
-        WCCWithThresholdTask(double threshold, DisjointSetStruct struct, long offset) {
-            super(struct, offset);
+        WCCWithThresholdTask(double threshold, DisjointSetStruct struct) {
+            super(struct);
             this.threshold = threshold;
         }
 
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import com.carrotsearch.hppc.LongArrayList;
+import org.junit.jupiter.api.Test;
+import org.neo4j.collection.primitive.PrimitiveLongIterable;
+import org.neo4j.collection.primitive.PrimitiveLongIterator;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FrontierTest {
+
+    private static final List<Partition> PARTITIONS = Collections.singletonList(new Partition(0, 1000));
+
+    @Test
+    void shouldDeduplicateNodes() {
+        Frontier frontier = Frontier.of(1000, AllocationTracker.EMPTY);
+
+        assertTrue(frontier.isEmpty());
+        assertTrue(frontier.add(42));
+        assertFalse(frontier.add(42));
+        assertTrue(frontier.contains(42));
+        assertFalse(frontier.contains(43));
+        assertFalse(frontier.isEmpty());
+    }
+
+    @Test
+    void shouldIterateSparseFrontier() {
+        Frontier frontier = Frontier.of(1000, AllocationTracker.EMPTY);
+        frontier.add(999);
+        frontier.add(3);
+        frontier.add(64);
+        frontier.add(3);
+
+        assertTrue(frontier.isSparse());
+        assertArrayEquals(new long[]{3, 64, 999}, sortedNodes(frontier.batches(PARTITIONS, 2)));
+    }
+
+    @Test
+    void shouldSwitchToDenseFrontier() {
+        Frontier frontier = Frontier.of(100, AllocationTracker.EMPTY);
+        long[] expected = new long[50];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = 2L * i;
+            frontier.add(expected[i]);
+        }
+
+        assertFalse(frontier.isSparse());
+        List<Partition> partitions = Arrays.asList(new Partition(0, 7), new Partition(7, 60), new Partition(67, 33));
+        assertArrayEquals(expected, sortedNodes(frontier.batches(partitions, 1)));
+    }
+
+    @Test
+    void shouldClearSparseFrontier() {
+        Frontier frontier = Frontier.of(1000, AllocationTracker.EMPTY);
+        frontier.add(1);
+        frontier.add(500);
+
+        frontier.clear();
+
+        assertTrue(frontier.isEmpty());
+        assertFalse(frontier.contains(1));
+        assertFalse(frontier.contains(500));
+        assertArrayEquals(new long[0], sortedNodes(frontier.batches(PARTITIONS, 10)));
+    }
+
+    @Test
+    void shouldClearDenseFrontier() {
+        Frontier frontier = Frontier.of(100, AllocationTracker.EMPTY);
+        for (int i = 0; i < 100; i++) {
+            frontier.add(i);
+        }
+
+        frontier.clear();
+
+        assertTrue(frontier.isEmpty());
+        assertTrue(frontier.isSparse());
+        for (int i = 0; i < 100; i++) {
+            assertFalse(frontier.contains(i));
+        }
+    }
+
+    private static long[] sortedNodes(Collection<PrimitiveLongIterable> batches) {
+        LongArrayList nodes = new LongArrayList();
+        for (PrimitiveLongIterable batch : batches) {
+            PrimitiveLongIterator iterator = batch.iterator();
+            while (iterator.hasNext()) {
+                nodes.add(iterator.next());
+            }
+        }
+        long[] sortedNodes = nodes.toArray();
+        Arrays.sort(sortedNodes);
+        return sortedNodes;
+    }
+}
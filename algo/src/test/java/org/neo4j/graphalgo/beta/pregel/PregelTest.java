@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.beta.pregel;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestGraph.Builder.fromGdl;
+
+class PregelTest {
+
+    private static final PregelConfig DEFAULT_CONFIG = new PregelConfig.Builder().build();
+
+    private static final NodeSchema NODE_SCHEMA = NodeSchema.builder()
+        .add("neighbourSum", ValueType.LONG)
+        .add("degrees", ValueType.DOUBLE, 2)
+        .build();
+    private static final NodeSchema.Property NEIGHBOUR_SUM = NODE_SCHEMA.property("neighbourSum");
+    private static final NodeSchema.Property DEGREES = NODE_SCHEMA.property("degrees");
+
+    private static final GraphDimensions WITHOUT_RELATIONSHIPS = ImmutableGraphDimensions.builder()
+        .nodeCount(10_000L)
+        .maxRelCount(0L)
+        .build();
+
+    private static final GraphDimensions WITH_RELATIONSHIPS = ImmutableGraphDimensions.builder()
+        .nodeCount(10_000L)
+        .maxRelCount(100_000L)
+        .build();
+
+    @Test
+    void messageBuffersScaleWithRelationshipCount() {
+        PregelComputation computation = (context, nodeId, messages) -> {};
+
+        MemoryTree emptyTree = Pregel.memoryEstimation(DEFAULT_CONFIG, computation).estimate(WITHOUT_RELATIONSHIPS, 4);
+        MemoryTree tree = Pregel.memoryEstimation(DEFAULT_CONFIG, computation).estimate(WITH_RELATIONSHIPS, 4);
+
+        // send and receive buffer hold one message per relationship each
+        long expectedDifference = 2 * (HugeLongArray.memoryEstimation(100_000L) - HugeLongArray.memoryEstimation(0L));
+        assertEquals(expectedDifference, tree.memoryUsage().min - emptyTree.memoryUsage().min);
+        assertEquals(expectedDifference, tree.memoryUsage().max - emptyTree.memoryUsage().max);
+    }
+
+    @Test
+    void combinedMessagesDoNotScaleWithRelationshipCount() {
+        PregelComputation computation = new PregelComputation() {
+            @Override
+            public void compute(PregelContext context, long nodeId, Messages messages) {}
+
+            @Override
+            public Optional<MessageCombiner> combiner() {
+                return Optional.of(MessageCombiner.SUM);
+            }
+        };
+
+        MemoryTree emptyTree = Pregel.memoryEstimation(DEFAULT_CONFIG, computation).estimate(WITHOUT_RELATIONSHIPS, 4);
+        MemoryTree tree = Pregel.memoryEstimation(DEFAULT_CONFIG, computation).estimate(WITH_RELATIONSHIPS, 4);
+
+        assertEquals(emptyTree.memoryUsage(), tree.memoryUsage());
+    }
+
+    @Test
+    void nodeSchemaIsPartOfTheMemoryEstimation() {
+        PregelComputation computation = (context, nodeId, messages) -> {};
+        PregelConfig config = new PregelConfig.Builder().withNodeSchema(NODE_SCHEMA).build();
+
+        MemoryTree defaultTree = Pregel.memoryEstimation(DEFAULT_CONFIG, computation).estimate(WITH_RELATIONSHIPS, 4);
+        MemoryTree tree = Pregel.memoryEstimation(config, computation).estimate(WITH_RELATIONSHIPS, 4);
+
+        long expectedDifference = HugeLongArray.memoryEstimation(10_000L) + HugeDoubleArray.memoryEstimation(20_000L);
+        assertEquals(expectedDifference, tree.memoryUsage().min - defaultTree.memoryUsage().min);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldComputeNodeSchemaValuesFromLongMessages(boolean combineMessages) {
+        Graph graph = fromGdl(
+            "  (a), (b), (c), (d)" +
+            ", (a)-->(b)" +
+            ", (a)-->(c)" +
+            ", (b)-->(c)" +
+            ", (d)-->(c)"
+        );
+
+        PregelConfig config = new PregelConfig.Builder()
+            .withNodeSchema(NODE_SCHEMA)
+            .withMessageType(ValueType.LONG)
+            .build();
+
+        Pregel pregel = Pregel.withDefaultNodeValues(
+            graph,
+            config,
+            new NeighbourSum(combineMessages),
+            2,
+            2,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+        pregel.run(10);
+
+        NodeValues nodeValues = pregel.nodeValues();
+        graph.forEachNode(nodeId -> {
+            long[] expectedSum = {0L};
+            graph.forEachNode(sourceNodeId -> {
+                graph.forEachRelationship(sourceNodeId, (source, target) -> {
+                    if (target == nodeId) {
+                        expectedSum[0] += source + 1;
+                    }
+                    return true;
+                });
+                return true;
+            });
+
+            assertEquals(expectedSum[0], nodeValues.longValue(NEIGHBOUR_SUM, nodeId));
+            assertEquals(graph.degree(nodeId), nodeValues.doubleValue("degrees", nodeId, 0));
+            assertEquals(2.0 * graph.degree(nodeId), nodeValues.doubleValue("degrees", nodeId, 1));
+            return true;
+        });
+        assertEquals(2, pregel.getIterations());
+    }
+
+    @Test
+    void shouldRejectPropertiesOfAnotherType() {
+        NodeValues nodeValues = NodeValues.of(NODE_SCHEMA, 4, AllocationTracker.EMPTY);
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> nodeValues.doubleValue(NEIGHBOUR_SUM, 0)
+        );
+        assertEquals("Node property `neighbourSum` is not of type double.", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> NODE_SCHEMA.property("missing"));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void shouldRejectAsynchronousComputations() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new PregelConfig.Builder().isAsynchronous(true).build()
+        );
+        assertEquals(
+            "Asynchronous Pregel computations are not supported, messages are always received in the next superstep.",
+            exception.getMessage()
+        );
+    }
+
+    @Test
+    void shouldRejectCombinersOfAnotherMessageType() {
+        PregelConfig config = new PregelConfig.Builder()
+            .withNodeSchema(NODE_SCHEMA)
+            .withMessageType(ValueType.LONG)
+            .build();
+        PregelComputation computation = new NeighbourSum(true) {
+            @Override
+            public Optional<MessageCombiner> combiner() {
+                return Optional.of((MessageCombiner.OfDouble) Double::sum);
+            }
+        };
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> Pregel.withDefaultNodeValues(
+                fromGdl("(a)-->(b)"),
+                config,
+                computation,
+                2,
+                2,
+                Pools.DEFAULT,
+                AllocationTracker.EMPTY
+            )
+        );
+        assertTrue(exception.getMessage().endsWith("does not support LONG messages."));
+        assertEquals(Long.MAX_VALUE, MessageCombiner.SUM.combine(Long.MAX_VALUE - 1, 1L));
+    }
+
+    private static class NeighbourSum implements PregelComputation {
+
+        private final boolean combineMessages;
+
+        private NeighbourSum(boolean combineMessages) {
+            this.combineMessages = combineMessages;
+        }
+
+        @Override
+        public void compute(PregelContext context, long nodeId, Messages messages) {
+            if (context.isInitialSuperStep()) {
+                int degree = context.getDegree(nodeId);
+                context.setDoubleNodeValue(nodeId, DEGREES, 0, degree);
+                context.setDoubleNodeValue(nodeId, DEGREES, 1, 2.0 * degree);
+                context.sendLongMessages(nodeId, nodeId + 1);
+            } else {
+                long sum = 0L;
+                while (messages.hasNext()) {
+                    sum += messages.nextLong();
+                }
+                context.setLongNodeValue(nodeId, NEIGHBOUR_SUM, sum);
+            }
+            context.voteToHalt(nodeId);
+        }
+
+        @Override
+        public Optional<MessageCombiner> combiner() {
+            return combineMessages ? Optional.of(MessageCombiner.SUM) : Optional.empty();
+        }
+    }
+}
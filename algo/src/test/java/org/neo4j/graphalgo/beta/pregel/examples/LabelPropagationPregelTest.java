@@ -93,7 +93,6 @@ class LabelPropagationPregelTest extends AlgoTestBase {
         int maxIterations = 10;
 
         PregelConfig config = new PregelConfig.Builder()
-            .isAsynchronous(false)
             .build();
 
         Pregel pregelJob = Pregel.withDefaultNodeValues(
@@ -102,7 +102,6 @@ class PageRankPregelTest extends AlgoTestBase {
 
         PregelConfig config = new PregelConfig.Builder()
             .withInitialNodeValue(1.0 / graph.nodeCount())
-            .isAsynchronous(false)
             .build();
 
         Pregel pregelJob = Pregel.withDefaultNodeValues(
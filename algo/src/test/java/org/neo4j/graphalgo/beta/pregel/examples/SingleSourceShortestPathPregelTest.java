@@ -92,7 +92,6 @@ class SingleSourceShortestPathPregelTest extends AlgoTestBase {
         int maxIterations = 10;
 
         PregelConfig config = new PregelConfig.Builder()
-            .isAsynchronous(true)
             .build();
 
         Pregel pregelJob = Pregel.withDefaultNodeValues(
@@ -94,7 +94,6 @@ class StronglyConnectedComponentsPregelTest extends AlgoTestBase {
         int maxIterations = 10;
 
         PregelConfig config = new PregelConfig.Builder()
-            .isAsynchronous(true)
             .build();
 
         Pregel pregelJob = Pregel.withDefaultNodeValues(
@@ -93,7 +93,6 @@ class WeaklyConnectedComponentsPregelTest extends AlgoTestBase {
         int maxIterations = 10;
 
         PregelConfig config = new PregelConfig.Builder()
-            .isAsynchronous(true)
             .build();
 
         Pregel pregelJob = Pregel.withDefaultNodeValues(
@@ -19,6 +19,8 @@
  */
 package org.neo4j.graphalgo.nodesim;
 
+import com.carrotsearch.hppc.LongIntHashMap;
+import com.carrotsearch.hppc.LongLongHashMap;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,12 +47,14 @@ import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -437,6 +441,129 @@ final class NodeSimilarityTest extends AlgoTestBase {
         );
     }
 
+    @ParameterizedTest(name = "concurrency = {0}")
+    @MethodSource("concurrencies")
+    void shouldOnlyCompareCandidatesWithSharedItems(int concurrency) {
+        Graph graph = RandomGraphGenerator.generate(100, 5);
+
+        Set<String> expected = new NodeSimilarity(
+            graph,
+            configBuilder().topK(100).concurrency(concurrency).build(),
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        ).computeToStream()
+            .filter(similarity -> similarity.similarity > 0)
+            .map(NodeSimilarityTest::resultString)
+            .collect(Collectors.toSet());
+
+        NodeSimilarity nodeSimilarity = new NodeSimilarity(
+            graph,
+            configBuilder().topK(100).concurrency(concurrency).similarityCutoff(1E-42).build(),
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+
+        Set<String> result = nodeSimilarity
+            .computeToStream()
+            .map(NodeSimilarityTest::resultString)
+            .collect(Collectors.toSet());
+        nodeSimilarity.release();
+
+        assertEquals(expected, result);
+    }
+
+    @ParameterizedTest(name = "concurrency = {0}")
+    @MethodSource("concurrencies")
+    void shouldSkipCandidatesSharingOnlyHubItems(int concurrency) {
+        Graph graph =  new StoreLoaderBuilder()
+            .api(db)
+            .loadAnyLabel()
+            .loadAnyRelationshipType()
+            .globalOrientation(REVERSE)
+            .build()
+            .graph(NativeFactory.class);
+
+        NodeSimilarity nodeSimilarity = new NodeSimilarity(
+            graph,
+            configBuilder().concurrency(concurrency).similarityCutoff(0.1).maxItemDegree(2).build(),
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+
+        Set<String> result = nodeSimilarity
+            .computeToStream()
+            .map(NodeSimilarityTest::resultString)
+            .collect(Collectors.toSet());
+        nodeSimilarity.release();
+
+        // Alice and Dave like all of p1, p2 and p3 and are skipped as hubs.
+        // p1 and p2 remain candidates through Bob, p3 only shares hubs with them.
+        Set<String> expected = new HashSet<>();
+        expected.add(resultString(4, 5, 1.0));
+        expected.add(resultString(5, 4, 1.0));
+        assertEquals(expected, result);
+    }
+
+    @ParameterizedTest(name = "similarityCutoff = {0}")
+    @ValueSource(doubles = {0.0, 1E-42})
+    void shouldComputeIdenticalTopKInParallel(double similarityCutoff) {
+        Graph graph = RandomGraphGenerator.generate(200, 5);
+
+        List<String> expected = new NodeSimilarity(
+            graph,
+            configBuilder().topK(3).concurrency(1).similarityCutoff(similarityCutoff).build(),
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        ).computeToStream()
+            .map(NodeSimilarityTest::resultString)
+            .collect(Collectors.toList());
+
+        NodeSimilarity nodeSimilarity = new NodeSimilarity(
+            graph,
+            configBuilder().topK(3).concurrency(4).similarityCutoff(similarityCutoff).build(),
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+
+        List<String> result = nodeSimilarity
+            .computeToStream()
+            .map(NodeSimilarityTest::resultString)
+            .collect(Collectors.toList());
+        nodeSimilarity.release();
+
+        assertEquals(expected, result);
+    }
+
+    @ParameterizedTest(name = "concurrency = {0}")
+    @MethodSource("concurrencies")
+    void shouldApproximateWithMinHash(int concurrency) {
+        Graph graph =  new StoreLoaderBuilder()
+            .api(db)
+            .loadAnyLabel()
+            .loadAnyRelationshipType()
+            .build()
+            .graph(NativeFactory.class);
+
+        NodeSimilarity nodeSimilarity = new NodeSimilarity(
+            graph,
+            configBuilder().concurrency(concurrency).minHashSignatureLength(32).minHashBands(8).build(),
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+
+        Set<String> result = nodeSimilarity
+            .computeToStream()
+            .map(NodeSimilarityTest::resultString)
+            .collect(Collectors.toSet());
+        nodeSimilarity.release();
+
+        // Approximate results are exact for all found pairs, but pairs may be missing.
+        // Nodes with identical neighbours always share all buckets and are never missed.
+        assertTrue(EXPECTED_OUTGOING.containsAll(result));
+        assertTrue(result.contains(resultString(0, 3, 1.0)));
+        assertTrue(result.contains(resultString(3, 0, 1.0)));
+    }
+
     @ParameterizedTest(name = "concurrency = {0}")
     @MethodSource("concurrencies")
     void shouldComputeForUndirectedGraphs(int concurrency) {
@@ -827,5 +954,42 @@ final class NodeSimilarityTest extends AlgoTestBase {
         assertEquals(expected.memoryUsage(), actual.memoryUsage());
     }
 
-}
+    @Test
+    void shouldEstimateBucketMapsOfConcurrentlyBuiltBands() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(1_000_000)
+            .maxRelCount(5_000_000)
+            .build();
+
+        NodeSimilarityWriteConfig config = ImmutableNodeSimilarityWriteConfig
+            .builder()
+            .minHashSignatureLength(64)
+            .minHashBands(16)
+            .writeProperty("writeProperty")
+            .writeRelationshipType("writeRelationshipType")
+            .build();
 
+        // 1_000_000 buckets need 2^21 + 1 slots
+        long bucketMapsPerBand = MemoryUsage.sizeOfInstance(LongLongHashMap.class) +
+                                 MemoryUsage.sizeOfInstance(LongIntHashMap.class) +
+                                 3 * 16_777_240L +
+                                 8_388_632L;
+
+        MemoryRange fourBands = bucketMaps(new NodeSimilarityFactory<>().memoryEstimation(config).estimate(dimensions, 4));
+        assertEquals(4 * bucketMapsPerBand, fourBands.max);
+
+        // no more bands than configured are built at the same time
+        MemoryRange allBands = bucketMaps(new NodeSimilarityFactory<>().memoryEstimation(config).estimate(dimensions, 32));
+        assertEquals(16 * bucketMapsPerBand, allBands.max);
+    }
+
+    private static MemoryRange bucketMaps(MemoryTree tree) {
+        return tree.components().stream()
+            .filter(component -> component.description().equals("min hash index"))
+            .flatMap(component -> component.components().stream())
+            .filter(component -> component.description().equals("bucket maps"))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("No estimation of the bucket maps"))
+            .memoryUsage();
+    }
+}
@@ -24,9 +24,15 @@ import org.apache.commons.lang3.mutable.MutableLong;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Degrees;
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.api.IntBinaryPredicate;
+import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 import org.neo4j.graphalgo.core.utils.queue.QueueBasedSpliterator;
 
 import java.util.ArrayList;
@@ -36,11 +42,10 @@ import java.util.PrimitiveIterator;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
-import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
-
 public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
 
     private final Graph graph;
@@ -180,100 +185,145 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
 
     }
 
+    /**
+     * Second order random walks as described in node2vec.
+     *
+     * The neighbours of all nodes are decompressed once into sorted arrays, which takes
+     * {@link #memoryEstimation() about 8 bytes per relationship}. Each step draws a neighbour
+     * uniformly by index and accepts it with a probability proportional to its return / in-out bias,
+     * otherwise it draws again (rejection sampling, see KnightKing). The bias check is a binary search
+     * in the neighbours of the previous node, so a step takes {@code O(log(degree))} expected time
+     * instead of building a distribution over all neighbours.
+     *
+     * The rejection envelope only covers the biases of the other neighbours. The part of the return bias
+     * that exceeds it is folded out of the envelope and sampled directly, so a large return bias does not
+     * cause rejections. After {@link #MAX_REJECTIONS} rejections in a row, e.g. for a large in-out bias
+     * in a dense neighbourhood, the step falls back to sampling from the exact distribution.
+     */
     public static class Node2VecStrategy extends NextNodeStrategy {
-        private double returnParam, inOutParam;
-
+        static final int MAX_REJECTIONS = 32;
+
+        private final double returnBias;
+        private final double inOutBias;
+        private final double envelope;
+        private final HugeObjectArray<long[]> neighbours;
+
+        public static MemoryEstimation memoryEstimation() {
+            return MemoryEstimations.builder(Node2VecStrategy.class)
+                .perNode("neighbours", MemoryUsage::sizeOfObjectArray)
+                .perGraphDimension("neighbour arrays", (dimensions, concurrency) -> MemoryRange.of(
+                    dimensions.nodeCount() * MemoryUsage.sizeOfLongArray(0) + dimensions.maxRelCount() * Long.BYTES
+                ))
+                .build();
+        }
 
         public Node2VecStrategy(Graph graph, Degrees degrees, double returnParam, double inOutParam) {
+            this(graph, degrees, returnParam, inOutParam, 1, AllocationTracker.EMPTY);
+        }
+
+        public Node2VecStrategy(
+            Graph graph,
+            Degrees degrees,
+            double returnParam,
+            double inOutParam,
+            int concurrency,
+            AllocationTracker tracker
+        ) {
             super(graph, degrees);
-            this.returnParam = returnParam;
-            this.inOutParam = inOutParam;
+            this.returnBias = 1D / returnParam;
+            this.inOutBias = 1D / inOutParam;
+            this.envelope = Math.max(1D, inOutBias);
+            this.neighbours = HugeObjectArray.newArray(long[].class, graph.nodeCount(), tracker);
+
+            LongAdder neighbourMemory = new LongAdder();
+            ThreadLocal<RelationshipIterator> graphCopy = ThreadLocal.withInitial(graph::concurrentCopy);
+            ParallelUtil.parallelForEachNode(graph, concurrency, nodeId -> {
+                long[] targets = new long[degrees.degree(nodeId)];
+                MutableInt index = new MutableInt(0);
+                graphCopy.get().forEachRelationship(nodeId, (s, t) -> {
+                    targets[index.getAndIncrement()] = t;
+                    return true;
+                });
+                Arrays.sort(targets);
+                neighbours.set(nodeId, targets);
+                neighbourMemory.add(MemoryUsage.sizeOfLongArray(targets.length));
+            });
+            tracker.add(neighbourMemory.sum());
         }
 
         public long getNextNode(long currentNode, long previousNode) {
-            int currentNodeId = Math.toIntExact(currentNode);
-            int previousNodeId = Math.toIntExact(previousNode);
-
-            int degree = degrees.degree(currentNodeId);
+            long[] currentNeighbours = neighbours.get(currentNode);
+            int degree = currentNeighbours.length;
             if (degree == 0) {
                 return -1;
             }
 
-            double[] distribution = buildProbabilityDistribution(currentNodeId, previousNodeId, returnParam, inOutParam, degree);
-            int neighbourIndex = pickIndexFromDistribution(distribution, ThreadLocalRandom.current().nextDouble());
-
-            return graph.getTarget(currentNodeId, neighbourIndex);
-        }
-
-        private double[] buildProbabilityDistribution(int currentNodeId, int previousNodeId,
-                                                      double returnParam, double inOutParam, int degree) {
-            ProbabilityDistributionComputer consumer = new ProbabilityDistributionComputer(degree, currentNodeId, previousNodeId, returnParam, inOutParam);
-            graph.concurrentCopy().forEachRelationship(currentNodeId, longToIntConsumer(consumer));
-            return consumer.probabilities();
-        }
+            long[] previousNeighbours = neighbours.get(previousNode);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
 
-        private static double[] normalizeDistribution(double[] array, double sum) {
-            for (int i = 0; i < array.length; i++) {
-                array[i] /= sum;
+            double envelopeArea = degree * envelope;
+            double returnArea = Math.max(0D, returnBias - envelope) * occurrences(currentNeighbours, previousNode);
+            for (int rejections = 0; rejections < MAX_REJECTIONS; rejections++) {
+                if (returnArea > 0D && random.nextDouble() * (envelopeArea + returnArea) >= envelopeArea) {
+                    return previousNode;
+                }
+                long neighbourId = currentNeighbours[random.nextInt(degree)];
+                double bias = Math.min(envelope, bias(neighbourId, previousNode, previousNeighbours));
+                if (random.nextDouble() * envelope < bias) {
+                    return neighbourId;
+                }
             }
-            return array;
+            return sampleExactly(currentNeighbours, previousNode, previousNeighbours, random);
         }
 
-        private static int pickIndexFromDistribution(double[] distribution, double probability) {
-            double cumulativeProbability = 0.0;
-            for (int i = 0; i < distribution.length; i++) {
-                cumulativeProbability += distribution[i];
-                if (probability <= cumulativeProbability) {
-                    return i;
+        private long sampleExactly(
+            long[] currentNeighbours,
+            long previousNode,
+            long[] previousNeighbours,
+            ThreadLocalRandom random
+        ) {
+            double totalBias = 0D;
+            for (long neighbourId : currentNeighbours) {
+                totalBias += bias(neighbourId, previousNode, previousNeighbours);
+            }
+            double remaining = random.nextDouble() * totalBias;
+            for (long neighbourId : currentNeighbours) {
+                remaining -= bias(neighbourId, previousNode, previousNeighbours);
+                if (remaining < 0D) {
+                    return neighbourId;
                 }
             }
-            return distribution.length - 1;
+            return currentNeighbours[currentNeighbours.length - 1];
         }
 
-        private class ProbabilityDistributionComputer implements IntBinaryPredicate {
-            final double[] probabilities;
-            private final int currentNodeId;
-            private final int previousNodeId;
-            private final double returnParam;
-            private final double inOutParam;
-            double probSum;
-            int index;
-
-            public ProbabilityDistributionComputer(int degree, int currentNodeId, int previousNodeId, double returnParam, double inOutParam) {
-                this.currentNodeId = currentNodeId;
-                this.previousNodeId = previousNodeId;
-                this.returnParam = returnParam;
-                this.inOutParam = inOutParam;
-                probabilities = new double[degree];
-                probSum = 0;
-                index = 0;
+        private double bias(long neighbourId, long previousNodeId, long[] previousNeighbours) {
+            if (neighbourId == previousNodeId) {
+                // node is previous node
+                return returnBias;
+            } else if (Arrays.binarySearch(previousNeighbours, neighbourId) >= 0) {
+                // node is also adjacent to previous node --> distance to previous node is 1
+                return 1D;
+            } else {
+                // node is not adjacent to previous node --> distance to previous node is 2
+                return inOutBias;
             }
+        }
 
-            @Override
-            public boolean test(int start, int end) {
-                int neighbourId = start == currentNodeId ? end : start;
-
-                double probability;
-
-                if (neighbourId == previousNodeId) {
-                    // node is previous node
-                    probability = 1D / returnParam;
-                } else if (graph.exists(previousNodeId, neighbourId)) {
-                    // node is also adjacent to previous node --> distance to previous node is 1
-                    probability = 1D;
-                } else {
-                    // node is not adjacent to previous node --> distance to previous node is 2
-                    probability = 1D / inOutParam;
-                }
-                probabilities[index] = probability;
-                probSum += probability;
-                index++;
-                return true;
+        // number of parallel relationships to the given node
+        private static int occurrences(long[] sortedNeighbours, long nodeId) {
+            int index = Arrays.binarySearch(sortedNeighbours, nodeId);
+            if (index < 0) {
+                return 0;
             }
-
-            private double[] probabilities() {
-                return normalizeDistribution(probabilities, probSum);
+            int from = index;
+            while (from > 0 && sortedNeighbours[from - 1] == nodeId) {
+                from--;
+            }
+            int to = index;
+            while (to < sortedNeighbours.length - 1 && sortedNeighbours[to + 1] == nodeId) {
+                to++;
             }
+            return to - from + 1;
         }
     }
 }
@@ -71,6 +71,22 @@ public interface RandomWalkConfig extends AlgoBaseConfig {
         return false;
     }
 
+    @Value.Check
+    default void validate() {
+        if (!(returnKey() > 0D)) {
+            throw new IllegalArgumentException(String.format(
+                "Value for `return` must be positive, but was %s.",
+                returnKey()
+            ));
+        }
+        if (!(inOut() > 0D)) {
+            throw new IllegalArgumentException(String.format(
+                "Value for `inOut` must be positive, but was %s.",
+                inOut()
+            ));
+        }
+    }
+
     static RandomWalkConfig of(
         String username,
         Optional<String> graphName,
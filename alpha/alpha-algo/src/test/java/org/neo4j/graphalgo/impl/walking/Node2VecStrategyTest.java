@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.walking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.loading.NativeFactory;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * <pre>
+ *
+ * (a)---(b)---(d)
+ *   \   /
+ *    (c)      (e)
+ *
+ * </pre>
+ */
+class Node2VecStrategyTest extends AlgoTestBase {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {name: 'a'})" +
+        ", (b:Node {name: 'b'})" +
+        ", (c:Node {name: 'c'})" +
+        ", (d:Node {name: 'd'})" +
+        ", (e:Node {name: 'e'})" +
+        ", (a)-[:REL]->(b)" +
+        ", (b)-[:REL]->(c)" +
+        ", (c)-[:REL]->(a)" +
+        ", (b)-[:REL]->(d)";
+
+    private Graph graph;
+
+    @BeforeEach
+    void setup() {
+        db = TestDatabaseCreator.createTestDatabase();
+        runQuery(DB_CYPHER);
+        graph = new StoreLoaderBuilder()
+            .api(db)
+            .loadAnyLabel()
+            .loadAnyRelationshipType()
+            .globalOrientation(Orientation.UNDIRECTED)
+            .build()
+            .graph(NativeFactory.class);
+    }
+
+    @AfterEach
+    void teardown() {
+        db.shutdown();
+    }
+
+    @Test
+    void shouldPreferNeighboursAtDistanceOneFromPreviousNode() {
+        RandomWalk.Node2VecStrategy strategy = strategy(1E9, 1E9);
+
+        // From b coming from a: a is the return, d is at distance 2, only c is adjacent to a
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(2L, strategy.getNextNode(1L, 0L));
+        }
+    }
+
+    @Test
+    void shouldPreferReturningToPreviousNode() {
+        RandomWalk.Node2VecStrategy strategy = strategy(1E-9, 1.0);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0L, strategy.getNextNode(1L, 0L));
+        }
+    }
+
+    @Test
+    void shouldPreferMovingAwayFromPreviousNode() {
+        RandomWalk.Node2VecStrategy strategy = strategy(1.0, 1E-9);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(3L, strategy.getNextNode(1L, 0L));
+        }
+    }
+
+    @Test
+    void shouldSampleFoldedReturnBiasProportionally() {
+        // From b coming from a: the return to a has a bias of 4, c and d have a bias of 1
+        RandomWalk.Node2VecStrategy strategy = strategy(0.25, 1.0);
+
+        int samples = 30_000;
+        int returns = 0;
+        for (int i = 0; i < samples; i++) {
+            if (strategy.getNextNode(1L, 0L) == 0L) {
+                returns++;
+            }
+        }
+
+        assertEquals(4.0 / 6.0, (double) returns / samples, 0.02);
+    }
+
+    @Test
+    void shouldTrackAndEstimateNeighbourArrays() {
+        AllocationTracker tracker = AllocationTracker.create();
+        new RandomWalk.Node2VecStrategy(graph, graph, 1.0, 1.0, 2, tracker);
+
+        long neighbourArrays = 0L;
+        for (long nodeId = 0; nodeId < graph.nodeCount(); nodeId++) {
+            neighbourArrays += MemoryUsage.sizeOfLongArray(graph.degree(nodeId));
+        }
+        assertEquals(MemoryUsage.sizeOfObjectArray(graph.nodeCount()) + neighbourArrays, tracker.tracked());
+
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(graph.nodeCount())
+            .maxRelCount(graph.relationshipCount())
+            .build();
+        long estimate = RandomWalk.Node2VecStrategy.memoryEstimation().estimate(dimensions, 1).memoryUsage().max;
+        assertEquals(
+            MemoryUsage.sizeOfInstance(RandomWalk.Node2VecStrategy.class) + tracker.tracked(),
+            estimate
+        );
+    }
+
+    @Test
+    void shouldEndWalkOnNodesWithoutNeighbours() {
+        assertEquals(-1L, strategy(1.0, 1.0).getNextNode(4L, 4L));
+    }
+
+    private RandomWalk.Node2VecStrategy strategy(double returnParam, double inOutParam) {
+        return new RandomWalk.Node2VecStrategy(graph, graph, returnParam, inOutParam, 2, AllocationTracker.EMPTY);
+    }
+}
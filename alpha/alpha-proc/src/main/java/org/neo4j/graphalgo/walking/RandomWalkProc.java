@@ -26,6 +26,8 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.impl.walking.RandomWalk;
 import org.neo4j.graphalgo.impl.walking.RandomWalkConfig;
@@ -90,6 +92,13 @@ public class RandomWalkProc extends AlgoBaseProc<RandomWalk, Stream<long[]>, Ran
     @Override
     protected AlgorithmFactory<RandomWalk, RandomWalkConfig> algorithmFactory(RandomWalkConfig config) {
         return new AlphaAlgorithmFactory<RandomWalk, RandomWalkConfig>() {
+            @Override
+            public MemoryEstimation memoryEstimation(RandomWalkConfig configuration) {
+                return configuration.mode().equalsIgnoreCase("random")
+                    ? MemoryEstimations.empty()
+                    : RandomWalk.Node2VecStrategy.memoryEstimation();
+            }
+
             @Override
             public RandomWalk build(Graph graph, RandomWalkConfig configuration, AllocationTracker tracker, Log log) {
                 Number returnParam = config.returnKey();
@@ -97,7 +106,14 @@ public class RandomWalkProc extends AlgoBaseProc<RandomWalk, Stream<long[]>, Ran
 
                 RandomWalk.NextNodeStrategy strategy = config.mode().equalsIgnoreCase("random") ?
                     new RandomWalk.RandomNextNodeStrategy(graph, graph) :
-                    new RandomWalk.Node2VecStrategy(graph, graph, returnParam.doubleValue(), inOut.doubleValue());
+                    new RandomWalk.Node2VecStrategy(
+                        graph,
+                        graph,
+                        returnParam.doubleValue(),
+                        inOut.doubleValue(),
+                        configuration.concurrency(),
+                        tracker
+                    );
 
                 int limit = (config.walks() == -1)
                     ? Math.toIntExact(graph.nodeCount())
@@ -257,4 +257,29 @@ class RandomWalkProcTest extends BaseProcTest {
             assertTrue(!results.hasNext(), "There should be only two results.");
         });
     }
+
+    @Test
+    void shouldFailOnNonPositiveNode2VecParameters() {
+        String query = GdsCypher.call()
+            .loadEverything(Orientation.UNDIRECTED)
+            .algo("gds", "alpha", "randomWalk")
+            .streamMode()
+            .addParameter("mode", "node2vec")
+            .addParameter("return", 0)
+            .addParameter("inOut", 1)
+            .yields();
+
+        assertError(query, "Value for `return` must be positive, but was 0.0.");
+
+        query = GdsCypher.call()
+            .loadEverything(Orientation.UNDIRECTED)
+            .algo("gds", "alpha", "randomWalk")
+            .streamMode()
+            .addParameter("mode", "node2vec")
+            .addParameter("return", 1)
+            .addParameter("inOut", -1)
+            .yields();
+
+        assertError(query, "Value for `inOut` must be positive, but was -1.0.");
+    }
 }
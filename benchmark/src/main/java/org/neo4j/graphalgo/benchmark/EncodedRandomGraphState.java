@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.graphalgo.core.AdjacencyEncoding;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A {@link RandomGraphState} that is generated once per {@link AdjacencyEncoding},
+ * for comparing the traversal of the compressed adjacency lists.
+ */
+@State(Scope.Benchmark)
+public class EncodedRandomGraphState extends RandomGraphState {
+
+    @Param({"VAR_LONG", "BLOCK_PACKED"})
+    public AdjacencyEncoding encoding;
+
+    @Override
+    protected AdjacencyEncoding adjacencyEncoding() {
+        return encoding;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.benchmark;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGeneratorConfig.AllowSelfLoops;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.beta.generator.RelationshipPropertyProducer;
+import org.neo4j.graphalgo.core.AdjacencyEncoding;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Optional;
+
+/**
+ * A random graph with a {@code weight} relationship property, shared by all threads of a benchmark.
+ * The graph is generated from a fixed seed, so that runs with the same parameters are comparable.
+ * Sizes and degree distribution can be overridden on the command line, e.g. {@code -p nodeCount=10000000}.
+ */
+@State(Scope.Benchmark)
+public class RandomGraphState {
+
+    public static final String WEIGHT_PROPERTY = "weight";
+
+    @Param({"100000", "1000000"})
+    public long nodeCount;
+
+    @Param({"10"})
+    public long averageDegree;
+
+    @Param({"UNIFORM", "POWER_LAW"})
+    public RelationshipDistribution distribution;
+
+    @Param({"42"})
+    public long seed;
+
+    public HugeGraph graph;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = generate(nodeCount, averageDegree, distribution, seed, orientation(), adjacencyEncoding());
+    }
+
+    protected Orientation orientation() {
+        return Orientation.NATURAL;
+    }
+
+    protected AdjacencyEncoding adjacencyEncoding() {
+        return AdjacencyEncoding.VAR_LONG;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graph.release();
+        graph = null;
+    }
+
+    public static HugeGraph generate(
+        long nodeCount,
+        long averageDegree,
+        RelationshipDistribution distribution,
+        long seed,
+        Orientation orientation
+    ) {
+        return generate(nodeCount, averageDegree, distribution, seed, orientation, AdjacencyEncoding.VAR_LONG);
+    }
+
+    public static HugeGraph generate(
+        long nodeCount,
+        long averageDegree,
+        RelationshipDistribution distribution,
+        long seed,
+        Orientation orientation,
+        AdjacencyEncoding adjacencyEncoding
+    ) {
+        return new RandomGraphGenerator(
+            nodeCount,
+            averageDegree,
+            distribution,
+            seed,
+            Optional.of(RelationshipPropertyProducer.random(WEIGHT_PROPERTY, 0.0, 1.0)),
+            Aggregation.NONE,
+            orientation,
+            AllowSelfLoops.NO,
+            adjacencyEncoding,
+            AllocationTracker.EMPTY
+        ).generate();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.benchmark.EncodedRandomGraphState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HugeGraphIterationBenchmark {
+
+    @Benchmark
+    public long forEachRelationship(EncodedRandomGraphState state) {
+        HugeGraph graph = state.graph;
+        TargetSum consumer = new TargetSum();
+        long nodeCount = graph.nodeCount();
+        for (long nodeId = 0L; nodeId < nodeCount; nodeId++) {
+            graph.forEachRelationship(nodeId, consumer);
+        }
+        return consumer.sum;
+    }
+
+    @Benchmark
+    public double forEachRelationshipWithProperty(EncodedRandomGraphState state) {
+        HugeGraph graph = state.graph;
+        PropertySum consumer = new PropertySum();
+        long nodeCount = graph.nodeCount();
+        for (long nodeId = 0L; nodeId < nodeCount; nodeId++) {
+            graph.forEachRelationship(nodeId, 0.0, consumer);
+        }
+        return consumer.sum;
+    }
+
+    @Benchmark
+    public long degree(EncodedRandomGraphState state) {
+        HugeGraph graph = state.graph;
+        long sum = 0L;
+        long nodeCount = graph.nodeCount();
+        for (long nodeId = 0L; nodeId < nodeCount; nodeId++) {
+            sum += graph.degree(nodeId);
+        }
+        return sum;
+    }
+
+    private static final class TargetSum implements RelationshipConsumer {
+        long sum;
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId) {
+            sum += targetNodeId;
+            return true;
+        }
+    }
+
+    private static final class PropertySum implements RelationshipWithPropertyConsumer {
+        double sum;
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId, double property) {
+            sum += property;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.sorting.IndirectSort;
+import org.apache.lucene.util.LongsRef;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.utils.AscendingLongComparator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting, delta encoding and var-long compression of a single adjacency list,
+ * as done by the {@link AdjacencyBuilder} when a node's relationships are flushed.
+ * Every invocation first copies the unsorted input, which is cheap compared to sorting,
+ * but avoids the timing overhead of per-invocation setup methods.
+ */
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class AdjacencyCompressionBenchmark {
+
+    @Param({"16", "256", "4096", "65536"})
+    public int degree;
+
+    @Param({"1000000", "100000000"})
+    public long nodeCount;
+
+    @Param({"42"})
+    public long seed;
+
+    private long[] targets;
+    private long[] weights;
+
+    private LongsRef data;
+    private long[][] dataWeights;
+    private byte[] out;
+    private AdjacencyCompression.SortBuffer sortBuffer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(seed);
+        targets = new long[degree];
+        weights = new long[degree];
+        for (int i = 0; i < degree; i++) {
+            targets[i] = Math.floorMod(random.nextLong(), nodeCount);
+            weights[i] = Double.doubleToLongBits(random.nextDouble());
+        }
+        data = new LongsRef(new long[degree], 0, degree);
+        dataWeights = new long[][]{new long[degree]};
+        out = new byte[Math.multiplyExact(degree, 10)];
+        sortBuffer = new AdjacencyCompression.SortBuffer();
+    }
+
+    private void resetAdjacency() {
+        System.arraycopy(targets, 0, data.longs, 0, degree);
+        System.arraycopy(weights, 0, dataWeights[0], 0, degree);
+        data.length = degree;
+    }
+
+    @Benchmark
+    public int deltaEncoding() {
+        resetAdjacency();
+        return AdjacencyCompression.applyDeltaEncoding(data, Aggregation.NONE);
+    }
+
+    @Benchmark
+    public int deltaEncodingAndCompression() {
+        resetAdjacency();
+        AdjacencyCompression.applyDeltaEncoding(data, Aggregation.NONE);
+        return AdjacencyCompression.compress(data, out);
+    }
+
+    @Benchmark
+    public int deltaEncodingWithProperties() {
+        resetAdjacency();
+        return AdjacencyCompression.applyDeltaEncoding(
+            data,
+            dataWeights,
+            new Aggregation[]{Aggregation.NONE},
+            true,
+            sortBuffer
+        );
+    }
+
+    /**
+     * The previous way of sorting properties along with their targets,
+     * which allocates the sort order and sorted copies for every adjacency list.
+     */
+    @Benchmark
+    public long indirectSortWithProperties() {
+        resetAdjacency();
+        int[] order = IndirectSort.mergesort(0, data.length, new AscendingLongComparator(data.longs));
+        long[] sortedValues = new long[data.length];
+        long[][] sortedWeights = new long[dataWeights.length][data.length];
+        for (int i = 0; i < data.length; i++) {
+            sortedValues[i] = data.longs[order[i]];
+            for (int p = 0; p < dataWeights.length; p++) {
+                sortedWeights[p][i] = dataWeights[p][order[i]];
+            }
+        }
+        return sortedValues[data.length - 1] + sortedWeights[0][data.length - 1];
+    }
+
+    @Benchmark
+    public int varLongEncoding() {
+        resetAdjacency();
+        return VarLongEncoding.encodeVLongs(data.longs, data.length, out, 0);
+    }
+}
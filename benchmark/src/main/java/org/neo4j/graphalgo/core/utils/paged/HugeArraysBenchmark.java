@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential and random access to {@link HugeLongArray} and {@link HugeAtomicLongArray}.
+ * Sizes above {@link org.neo4j.graphalgo.core.utils.ArrayUtil#MAX_ARRAY_LENGTH} use the paged implementations.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class HugeArraysBenchmark {
+
+    private static final int RANDOM_ACCESSES = 1 << 20;
+
+    @Param({"10000000", "300000000"})
+    public long size;
+
+    @Param({"42"})
+    public long seed;
+
+    private HugeLongArray array;
+    private HugeAtomicLongArray atomicArray;
+    private long[] randomIndices;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        array = HugeLongArray.newArray(size, AllocationTracker.EMPTY);
+        array.setAll(index -> index);
+        atomicArray = HugeAtomicLongArray.newArray(size, PageFiller.identity(1), AllocationTracker.EMPTY);
+
+        Random random = new Random(seed);
+        randomIndices = new long[RANDOM_ACCESSES];
+        for (int i = 0; i < RANDOM_ACCESSES; i++) {
+            randomIndices[i] = Math.floorMod(random.nextLong(), size);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        array.release();
+        atomicArray.release();
+    }
+
+    @Benchmark
+    public long sequentialGet() {
+        long sum = 0L;
+        for (long index = 0L; index < size; index++) {
+            sum += array.get(index);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long cursorGet() {
+        long sum = 0L;
+        try (HugeCursor<long[]> cursor = array.initCursor(array.newCursor())) {
+            while (cursor.next()) {
+                long[] values = cursor.array;
+                for (int i = cursor.offset; i < cursor.limit; i++) {
+                    sum += values[i];
+                }
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public void sequentialSet() {
+        for (long index = 0L; index < size; index++) {
+            array.set(index, index);
+        }
+    }
+
+    @Benchmark
+    public long randomGet() {
+        long sum = 0L;
+        for (long index : randomIndices) {
+            sum += array.get(index);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long atomicRandomGet() {
+        long sum = 0L;
+        for (long index : randomIndices) {
+            sum += atomicArray.get(index);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long atomicRandomCompareAndSet() {
+        long successes = 0L;
+        for (long index : randomIndices) {
+            long current = atomicArray.get(index);
+            if (atomicArray.compareAndSet(index, current, current + 1L)) {
+                successes++;
+            }
+        }
+        return successes;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long atomicRandomGetAndAddContended() {
+        long sum = 0L;
+        for (long index : randomIndices) {
+            sum += atomicArray.getAndAdd(index, 1L);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged.dss;
+
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unions of random node pairs followed by resolving the set id of every node,
+ * which is the access pattern of {@link org.neo4j.graphalgo.wcc.Wcc}.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+public class DisjointSetStructBenchmark {
+
+    @Param({"1000000", "10000000"})
+    public long nodeCount;
+
+    @Param({"1", "5"})
+    public int unionsPerNode;
+
+    @Param({"42"})
+    public long seed;
+
+    private long[] sources;
+    private long[] targets;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(seed);
+        int unions = Math.toIntExact(nodeCount * unionsPerNode);
+        sources = new long[unions];
+        targets = new long[unions];
+        for (int i = 0; i < unions; i++) {
+            sources[i] = Math.floorMod(random.nextLong(), nodeCount);
+            targets[i] = Math.floorMod(random.nextLong(), nodeCount);
+        }
+    }
+
+    @Benchmark
+    public long unionAndFind() {
+        DisjointSetStruct dss = new HugeAtomicDisjointSetStruct(nodeCount, AllocationTracker.EMPTY, 1);
+        for (int i = 0; i < sources.length; i++) {
+            dss.union(sources[i], targets[i]);
+        }
+        long sum = 0L;
+        for (long nodeId = 0L; nodeId < nodeCount; nodeId++) {
+            sum += dss.setIdOf(nodeId);
+        }
+        return sum;
+    }
+}
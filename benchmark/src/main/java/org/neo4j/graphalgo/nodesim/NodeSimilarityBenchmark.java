@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.nodesim;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.benchmark.RandomGraphState;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.logging.NullLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Node Similarity compares all pairs of nodes with outgoing relationships,
+ * so it runs on smaller graphs than the other algorithm benchmarks.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class NodeSimilarityBenchmark {
+
+    @Param({"10000", "50000"})
+    public long nodeCount;
+
+    @Param({"10"})
+    public long averageDegree;
+
+    @Param({"UNIFORM", "POWER_LAW"})
+    public RelationshipDistribution distribution;
+
+    @Param({"42"})
+    public long seed;
+
+    @Param({"1", "4"})
+    public int concurrency;
+
+    @Param({"10"})
+    public int topK;
+
+    private HugeGraph graph;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = RandomGraphState.generate(nodeCount, averageDegree, distribution, seed, Orientation.NATURAL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graph.release();
+        graph = null;
+    }
+
+    @Benchmark
+    public long topKStream() {
+        return nodeSimilarity(ImmutableNodeSimilarityStreamConfig.builder()
+            .concurrency(concurrency)
+            .topK(topK)
+            .build()
+        ).computeToStream().count();
+    }
+
+    @Benchmark
+    public long topKAndTopNStream() {
+        return nodeSimilarity(ImmutableNodeSimilarityStreamConfig.builder()
+            .concurrency(concurrency)
+            .topK(topK)
+            .topN(100)
+            .build()
+        ).computeToStream().count();
+    }
+
+    @Benchmark
+    public SimilarityGraphResult topKGraph() {
+        return nodeSimilarity(ImmutableNodeSimilarityStreamConfig.builder()
+            .concurrency(concurrency)
+            .topK(topK)
+            .build()
+        ).computeToGraph();
+    }
+
+    private NodeSimilarity nodeSimilarity(NodeSimilarityStreamConfig config) {
+        return new NodeSimilarityFactory<NodeSimilarityStreamConfig>()
+            .build(graph, config, AllocationTracker.EMPTY, NullLog.getInstance());
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.pagerank;
+
+import org.neo4j.graphalgo.benchmark.RandomGraphState;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.results.CentralityResult;
+import org.neo4j.logging.NullLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PageRankBenchmark {
+
+    @Param({"1", "4"})
+    public int concurrency;
+
+    @Param({"20"})
+    public int maxIterations;
+
+    @Benchmark
+    public CentralityResult pageRank(RandomGraphState state) {
+        return run(state, PageRankAlgorithmType.NON_WEIGHTED);
+    }
+
+    @Benchmark
+    public CentralityResult weightedPageRank(RandomGraphState state) {
+        return run(state, PageRankAlgorithmType.WEIGHTED);
+    }
+
+    private CentralityResult run(RandomGraphState state, PageRankAlgorithmType algorithmType) {
+        PageRankStreamConfig config = ImmutablePageRankStreamConfig.builder()
+            .concurrency(concurrency)
+            .maxIterations(maxIterations)
+            .build();
+        return new PageRankFactory<PageRankStreamConfig>(algorithmType)
+            .build(state.graph, config, AllocationTracker.EMPTY, NullLog.getInstance())
+            .compute()
+            .result();
+    }
+}
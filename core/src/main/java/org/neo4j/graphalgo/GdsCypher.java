@@ -27,6 +27,7 @@ import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.config.ImmutableGraphCreateFromStoreConfig;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.RelationshipPropertyEncoding;
 import org.neo4j.graphalgo.cypher.CypherPrinter;
 
 import java.util.Arrays;
@@ -52,6 +53,7 @@ import static org.neo4j.graphalgo.AbstractRelationshipProjection.TYPE_KEY;
 import static org.neo4j.graphalgo.ElementProjection.PROPERTIES_KEY;
 import static org.neo4j.graphalgo.Orientation.NATURAL;
 import static org.neo4j.graphalgo.PropertyMapping.DEFAULT_VALUE_KEY;
+import static org.neo4j.graphalgo.PropertyMapping.ENCODING_KEY;
 import static org.neo4j.graphalgo.PropertyMapping.PROPERTY_KEY;
 import static org.neo4j.graphalgo.core.Aggregation.DEFAULT;
 
@@ -848,6 +850,9 @@ public abstract class GdsCypher {
         if (includeAggregation && aggregation != DEFAULT) {
             value.put(AGGREGATION_KEY, aggregation.name());
         }
+        if (includeAggregation && propertyMapping.encoding() != RelationshipPropertyEncoding.DOUBLE) {
+            value.put(ENCODING_KEY, propertyMapping.encoding().name());
+        }
         if (allowStringShortcut && value.size() == 1 && propertyKey.equals(propertyMapping.neoPropertyKey())) {
             return MinimalObject.string(propertyKey);
         }
@@ -19,8 +19,10 @@
  */
 package org.neo4j.graphalgo;
 
+import org.immutables.value.Value;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.RelationshipPropertyEncoding;
 
 import static org.neo4j.graphalgo.compat.StatementConstantsProxy.NO_SUCH_PROPERTY_KEY;
 
@@ -41,6 +43,12 @@ public abstract class ResolvedPropertyMapping {
 
     public abstract Aggregation aggregation();
 
+    @Value.Default
+    @Value.Parameter(false)
+    public RelationshipPropertyEncoding encoding() {
+        return RelationshipPropertyEncoding.DOUBLE;
+    }
+
     /**
      * Property identifier from Neo4j token store
      */
@@ -25,6 +25,7 @@ import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.PropertyMappings;
 import org.neo4j.graphalgo.RelationshipProjection;
 import org.neo4j.graphalgo.RelationshipProjections;
+import org.neo4j.graphalgo.core.AdjacencyEncoding;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
@@ -83,6 +84,10 @@ public class GraphSetup {
         return createConfig.readConcurrency();
     }
 
+    public AdjacencyEncoding adjacencyEncoding() {
+        return createConfig.adjacencyEncoding();
+    }
+
     public @NotNull String relationshipType() {
         return createConfig.relationshipProjections().typeFilter();
     }
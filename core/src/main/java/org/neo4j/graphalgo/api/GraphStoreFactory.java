@@ -27,6 +27,7 @@ import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.GraphDimensionsReader;
 import org.neo4j.graphalgo.core.huge.AdjacencyList;
 import org.neo4j.graphalgo.core.huge.AdjacencyOffsets;
+import org.neo4j.graphalgo.core.huge.AdjacencySkipIndex;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.huge.ImmutableTopologyCSR;
 import org.neo4j.graphalgo.core.huge.ImmutablePropertyCSR;
@@ -128,7 +129,13 @@ public abstract class GraphStoreFactory implements Assessable {
                     adjacencyList,
                     adjacencyOffsets,
                     relationshipCount,
-                    relationshipProjectionMapping.orientation()
+                    relationshipProjectionMapping.orientation(),
+                    AdjacencySkipIndex.build(
+                        idsAndProperties.idMap().nodeCount(),
+                        adjacencyList,
+                        adjacencyOffsets,
+                        tracker
+                    )
                 )
             );
 
@@ -145,7 +152,7 @@ public abstract class GraphStoreFactory implements Assessable {
                             relationshipCount,
                             relationshipProjectionMapping.orientation(),
                             propertyIdAndMapping.getTwo().defaultValue()
-                        )
+                        ).withEncoding(relationshipsBuilder.propertyEncoding(propertyIdAndMapping.getOne()))
                     ));
                 relationshipProperties.put(relationshipProjectionMapping.elementIdentifier(), propertyMap);
             }
@@ -24,8 +24,10 @@ import org.neo4j.graphalgo.NodeProjections;
 import org.neo4j.graphalgo.PropertyMappings;
 import org.neo4j.graphalgo.RelationshipProjections;
 import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.core.AdjacencyEncoding;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.ProcedureConstants;
+import org.neo4j.graphalgo.core.utils.paged.AllocationMode;
 
 import java.time.LocalDateTime;
 
@@ -67,6 +69,26 @@ public interface GraphCreateConfig extends BaseConfig {
         return AlgoBaseConfig.DEFAULT_CONCURRENCY;
     }
 
+    /**
+     * Where the Huge arrays of the projected graph are allocated, see {@link AllocationMode}.
+     */
+    @Value.Default
+    @Value.Parameter(false)
+    @Configuration.ConvertWith("org.neo4j.graphalgo.core.utils.paged.AllocationMode#parse")
+    default AllocationMode allocationMode() {
+        return AllocationMode.HEAP;
+    }
+
+    /**
+     * How the adjacency lists of all relationship projections are compressed, see {@link AdjacencyEncoding}.
+     */
+    @Value.Default
+    @Value.Parameter(false)
+    @Configuration.ConvertWith("org.neo4j.graphalgo.core.AdjacencyEncoding#parse")
+    default AdjacencyEncoding adjacencyEncoding() {
+        return AdjacencyEncoding.VAR_LONG;
+    }
+
     @Value.Default
     @Value.Parameter(false)
     @Configuration.Key(ProcedureConstants.NODECOUNT_KEY)
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Describes how the target ids of the adjacency lists of a graph projection are compressed.
+ * Both encodings store the sorted targets as deltas in blocks of 64 targets.
+ */
+public enum AdjacencyEncoding {
+    /**
+     * Every delta is written as a variable-length vlong of 1 to 10 bytes.
+     * Decoding needs a branch per byte.
+     */
+    VAR_LONG,
+    /**
+     * The first delta of a block is written as a vlong, the remaining deltas are bit-packed
+     * with the bit width of the largest delta in the block.
+     * Decoding has no data-dependent branches and is considerably faster for full scans,
+     * but single outliers increase the size of their block.
+     */
+    BLOCK_PACKED;
+
+    public static AdjacencyEncoding of(String value) {
+        try {
+            return AdjacencyEncoding.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            String availableEncodings = Arrays
+                .stream(AdjacencyEncoding.values())
+                .map(AdjacencyEncoding::name)
+                .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException(String.format(
+                "Adjacency encoding `%s` is not supported. Must be one of: %s.",
+                value,
+                availableEncodings
+            ));
+        }
+    }
+
+    public static AdjacencyEncoding parse(Object object) {
+        if (object == null) {
+            return null;
+        }
+        if (object instanceof String) {
+            return of((String) object);
+        }
+        if (object instanceof AdjacencyEncoding) {
+            return (AdjacencyEncoding) object;
+        }
+        return null;
+    }
+}
@@ -23,6 +23,7 @@ import com.carrotsearch.hppc.LongSet;
 import org.immutables.value.Value;
 import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.RelationshipProjectionMappings;
+import org.neo4j.graphalgo.ResolvedPropertyMapping;
 import org.neo4j.graphalgo.ResolvedPropertyMappings;
 import org.neo4j.graphalgo.annotation.ValueClass;
 
@@ -83,4 +84,10 @@ public interface GraphDimensions {
         }
         return aggregations;
     }
+
+    default RelationshipPropertyEncoding[] relationshipPropertyEncodings() {
+        return relationshipProperties().stream()
+            .map(ResolvedPropertyMapping::encoding)
+            .toArray(RelationshipPropertyEncoding[]::new);
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Describes how the values of a relationship property are stored in its property lists.
+ * Every encoding other than {@link #DOUBLE} stores a list whose values are all equal as a single value
+ * and falls back to 8 bytes per value for lists where the encoding would not save memory.
+ */
+public enum RelationshipPropertyEncoding {
+    /**
+     * Stores 8 bytes per value.
+     */
+    DOUBLE,
+    /**
+     * Stores 4 bytes per value. Values that cannot be represented as a float lose precision.
+     */
+    FLOAT,
+    /**
+     * Stores 2 bytes per value, as a multiple of 1/65534 of the range between the smallest and the largest value
+     * of a list, as the remaining 2 byte value is reserved for NaN. The error is at most half a step.
+     * Lists whose range cannot be represented as a finite double are stored without loss of precision.
+     */
+    QUANTIZED,
+    /**
+     * Stores the distinct values of a list once and 1 byte per value.
+     * Lists with more than 256 distinct values are stored with 8 bytes per value.
+     */
+    DICTIONARY;
+
+    public static RelationshipPropertyEncoding lookup(String name) {
+        try {
+            return RelationshipPropertyEncoding.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            String availableEncodings = Arrays
+                .stream(RelationshipPropertyEncoding.values())
+                .map(RelationshipPropertyEncoding::name)
+                .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException(String.format(
+                "Property encoding `%s` is not supported. Must be one of: %s.",
+                name,
+                availableEncodings
+            ));
+        }
+    }
+}
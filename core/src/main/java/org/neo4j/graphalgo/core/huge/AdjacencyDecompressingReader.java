@@ -23,6 +23,7 @@ import org.neo4j.graphalgo.core.loading.MutableIntValue;
 
 import java.util.Arrays;
 
+import static org.neo4j.graphalgo.core.huge.BlockPackedDecoding.decodeDeltaBlock;
 import static org.neo4j.graphalgo.core.huge.VarLongDecoding.decodeDeltaVLongs;
 
 final class AdjacencyDecompressingReader {
@@ -30,12 +31,14 @@ final class AdjacencyDecompressingReader {
     private static final int CHUNK_SIZE = 64;
 
     private final long[] block;
+    private final boolean blockPacked;
     private int pos;
     private byte[] array;
     private int offset;
 
-    AdjacencyDecompressingReader() {
+    AdjacencyDecompressingReader(boolean blockPacked) {
         this.block = new long[CHUNK_SIZE];
+        this.blockPacked = blockPacked;
     }
 
     //@formatter:off
@@ -70,7 +73,7 @@ final class AdjacencyDecompressingReader {
     int reset(byte[] adjacencyPage, int offset) {
         this.array = adjacencyPage;
         int numAdjacencies = readInt(adjacencyPage, offset); // offset should not be 0
-        this.offset = decodeDeltaVLongs(0L, adjacencyPage, Integer.BYTES + offset, Math.min(numAdjacencies, CHUNK_SIZE), block);
+        this.offset = decode(0L, adjacencyPage, Integer.BYTES + offset, Math.min(numAdjacencies, CHUNK_SIZE), block);
         pos = 0;
         return numAdjacencies;
     }
@@ -85,7 +88,7 @@ final class AdjacencyDecompressingReader {
 
     private long readNextBlock(int remaining) {
         pos = 1;
-        offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, Math.min(remaining, CHUNK_SIZE), block);
+        offset = decode(block[CHUNK_SIZE - 1], array, offset, Math.min(remaining, CHUNK_SIZE), block);
         return block[0];
     }
 
@@ -98,7 +101,7 @@ final class AdjacencyDecompressingReader {
         while (available > CHUNK_SIZE - pos && block[CHUNK_SIZE - 1] <= target) {
             int skippedInThisBlock = CHUNK_SIZE - pos;
             int needToDecode = Math.min(CHUNK_SIZE, available - skippedInThisBlock);
-            offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, needToDecode, block);
+            offset = decode(block[CHUNK_SIZE - 1], array, offset, needToDecode, block);
             available -= skippedInThisBlock;
             pos = 0;
         }
@@ -125,7 +128,7 @@ final class AdjacencyDecompressingReader {
         while (available > CHUNK_SIZE - pos && block[CHUNK_SIZE - 1] < target) {
             int skippedInThisBlock = CHUNK_SIZE - pos;
             int needToDecode = Math.min(CHUNK_SIZE, available - skippedInThisBlock);
-            offset = decodeDeltaVLongs(block[CHUNK_SIZE - 1], array, offset, needToDecode, block);
+            offset = decode(block[CHUNK_SIZE - 1], array, offset, needToDecode, block);
             available -= skippedInThisBlock;
             pos = 0;
         }
@@ -139,6 +142,12 @@ final class AdjacencyDecompressingReader {
         return block[targetPos];
     }
 
+    private int decode(long startValue, byte[] adjacencyPage, int offset, int limit, long[] out) {
+        return blockPacked
+            ? decodeDeltaBlock(startValue, adjacencyPage, offset, limit, out)
+            : decodeDeltaVLongs(startValue, adjacencyPage, offset, limit, out);
+    }
+
     private int findPosStrictlyGreaterInBlock(long target, int pos, int limit, long[] block) {
         return findPosInBlock(1L + target, pos, limit, block);
     }
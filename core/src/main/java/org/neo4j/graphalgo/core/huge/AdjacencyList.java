@@ -19,6 +19,8 @@
  */
 package org.neo4j.graphalgo.core.huge;
 
+import org.neo4j.graphalgo.core.AdjacencyEncoding;
+import org.neo4j.graphalgo.core.RelationshipPropertyEncoding;
 import org.neo4j.graphalgo.core.loading.MutableIntValue;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
@@ -40,21 +42,30 @@ public final class AdjacencyList {
     public static final long PAGE_MASK = PAGE_SIZE - 1;
 
     private final long allocatedMemory;
+    private final AdjacencyEncoding encoding;
     private byte[][] pages;
 
     public static MemoryEstimation compressedMemoryEstimation(long avgDegree, long nodeCount) {
+        return compressedMemoryEstimation(avgDegree, nodeCount, AdjacencyEncoding.VAR_LONG);
+    }
+
+    public static MemoryEstimation compressedMemoryEstimation(
+        long avgDegree,
+        long nodeCount,
+        AdjacencyEncoding encoding
+    ) {
         // Best case scenario:
         // Difference between node identifiers in each adjacency list is 1.
         // This leads to ideal compression through delta encoding.
         int deltaBestCase = 1;
-        long bestCaseAdjacencySize = computeAdjacencyByteSize(avgDegree, nodeCount, deltaBestCase);
+        long bestCaseAdjacencySize = computeAdjacencyByteSize(avgDegree, nodeCount, deltaBestCase, encoding);
 
         // Worst case scenario:
         // Relationships are equally distributed across nodes, i.e. each node has the same number of rels.
         // Within each adjacency list, all identifiers have the highest possible difference between each other.
         // Highest possible difference is the number of nodes divided by the average degree.
         long deltaWorstCase = (avgDegree > 0) ? ceilDiv(nodeCount, avgDegree) : 0L;
-        long worstCaseAdjacencySize = computeAdjacencyByteSize(avgDegree, nodeCount, deltaWorstCase);
+        long worstCaseAdjacencySize = computeAdjacencyByteSize(avgDegree, nodeCount, deltaWorstCase, encoding);
 
         int minPages = PageUtil.numPagesFor(bestCaseAdjacencySize, PAGE_SHIFT, PAGE_MASK);
         int maxPages = PageUtil.numPagesFor(worstCaseAdjacencySize, PAGE_SHIFT, PAGE_MASK);
@@ -76,6 +87,14 @@ public final class AdjacencyList {
     }
 
     public static MemoryEstimation compressedMemoryEstimation(Optional<String> relationshipType, boolean undirected) {
+        return compressedMemoryEstimation(relationshipType, undirected, AdjacencyEncoding.VAR_LONG);
+    }
+
+    public static MemoryEstimation compressedMemoryEstimation(
+        Optional<String> relationshipType,
+        boolean undirected,
+        AdjacencyEncoding encoding
+    ) {
         return MemoryEstimations.setup("", dimensions -> {
             long nodeCount = dimensions.nodeCount();
             long relCountForType = relationshipType.isPresent()
@@ -83,7 +102,7 @@ public final class AdjacencyList {
                 : dimensions.maxRelCount();
             long relCount = undirected ? relCountForType * 2 : relCountForType;
             long avgDegree = (nodeCount > 0) ? ceilDiv(relCount, nodeCount) : 0L;
-            return AdjacencyList.compressedMemoryEstimation(avgDegree, nodeCount);
+            return AdjacencyList.compressedMemoryEstimation(avgDegree, nodeCount, encoding);
         });
     }
 
@@ -92,6 +111,14 @@ public final class AdjacencyList {
     }
 
     public static MemoryEstimation uncompressedMemoryEstimation(Optional<String> relationshipType, boolean undirected) {
+        return uncompressedMemoryEstimation(relationshipType, undirected, RelationshipPropertyEncoding.DOUBLE);
+    }
+
+    public static MemoryEstimation uncompressedMemoryEstimation(
+        Optional<String> relationshipType,
+        boolean undirected,
+        RelationshipPropertyEncoding encoding
+    ) {
 
         return MemoryEstimations
             .builder(AdjacencyList.class)
@@ -102,15 +129,41 @@ public final class AdjacencyList {
                     : dimensions.maxRelCount();
                 long relCount = undirected ? relCountForType * 2 : relCountForType;
 
-                long uncompressedAdjacencySize = relCount * Long.BYTES + nodeCount * Integer.BYTES;
-                int pages = PageUtil.numPagesFor(uncompressedAdjacencySize, PAGE_SHIFT, PAGE_MASK);
-                long bytesPerPage = MemoryUsage.sizeOfByteArray(PAGE_SIZE);
-
-                return MemoryRange.of(pages * bytesPerPage + MemoryUsage.sizeOfObjectArray(pages));
+                return pagesMemoryRange(
+                    EncodedPropertyList.minSize(encoding, relCount, nodeCount),
+                    EncodedPropertyList.maxSize(encoding, relCount, nodeCount)
+                );
             })
             .build();
     }
 
+    private static MemoryRange pagesMemoryRange(long minAdjacencySize, long maxAdjacencySize) {
+        int minPages = PageUtil.numPagesFor(minAdjacencySize, PAGE_SHIFT, PAGE_MASK);
+        int maxPages = PageUtil.numPagesFor(maxAdjacencySize, PAGE_SHIFT, PAGE_MASK);
+        long bytesPerPage = MemoryUsage.sizeOfByteArray(PAGE_SIZE);
+        return MemoryRange.of(
+            minPages * bytesPerPage + MemoryUsage.sizeOfObjectArray(minPages),
+            maxPages * bytesPerPage + MemoryUsage.sizeOfObjectArray(maxPages)
+        );
+    }
+
+    private static long computeAdjacencyByteSize(long avgDegree, long nodeCount, long delta, AdjacencyEncoding encoding) {
+        return encoding == AdjacencyEncoding.BLOCK_PACKED
+            ? computeBlockPackedAdjacencyByteSize(avgDegree, nodeCount, delta)
+            : computeAdjacencyByteSize(avgDegree, nodeCount, delta);
+    }
+
+    /* test private */
+    static long computeBlockPackedAdjacencyByteSize(long avgDegree, long nodeCount, long delta) {
+        long firstAdjacencyIdAvgByteSize = (avgDegree > 0) ? ceilDiv(encodedVLongSize(nodeCount), 2) : 0L;
+        long blocks = ceilDiv(avgDegree, AdjacencySkipIndex.BLOCK_SIZE);
+        // every block stores its bit width and its first delta as vlong
+        long blockHeaderByteSize = blocks + Math.max(0L, blocks - 1) * encodedVLongSize(delta);
+        int bitWidth = Long.SIZE - Long.numberOfLeadingZeros(delta);
+        long packedAdjacencyByteSize = ceilDiv((avgDegree - blocks) * bitWidth, Byte.SIZE);
+        return (Integer.BYTES + firstAdjacencyIdAvgByteSize + blockHeaderByteSize + packedAdjacencyByteSize) * nodeCount;
+    }
+
     /* test private */
     static long computeAdjacencyByteSize(long avgDegree, long nodeCount, long delta) {
         long firstAdjacencyIdAvgByteSize = (avgDegree > 0) ? ceilDiv(encodedVLongSize(nodeCount), 2) : 0L;
@@ -121,10 +174,29 @@ public final class AdjacencyList {
     }
 
     public AdjacencyList(byte[][] pages) {
+        this(pages, AdjacencyEncoding.VAR_LONG);
+    }
+
+    public AdjacencyList(byte[][] pages, AdjacencyEncoding encoding) {
         this.pages = pages;
+        this.encoding = encoding;
         this.allocatedMemory = memoryOfPages(pages);
     }
 
+    /**
+     * Returns how the targets of the compressed lists are encoded.
+     */
+    public AdjacencyEncoding encoding() {
+        return encoding;
+    }
+
+    /**
+     * Returns the pages that back this list, e.g. for persisting them. The pages must not be modified.
+     */
+    public byte[][] pages() {
+        return pages;
+    }
+
     private static long memoryOfPages(byte[][] pages) {
         long memory = MemoryUsage.sizeOfObjectArray(pages.length);
         for (byte[] page : pages) {
@@ -141,6 +213,42 @@ public final class AdjacencyList {
                 indexInPage(index, PAGE_MASK));
     }
 
+    /**
+     * Reads the {@code index}-th uncompressed long of the list starting at {@code offset}.
+     * Only valid for lists that store uncompressed values, such as relationship properties.
+     */
+    long getLong(long offset, int index) {
+        return AdjacencyDecompressingReader.readLong(
+                pages[pageIndex(offset, PAGE_SHIFT)],
+                indexInPage(offset, PAGE_MASK) + Integer.BYTES + index * Long.BYTES);
+    }
+
+    byte[] page(long offset) {
+        return pages[pageIndex(offset, PAGE_SHIFT)];
+    }
+
+    static int offsetInPage(long offset) {
+        return indexInPage(offset, PAGE_MASK);
+    }
+
+    /**
+     * Decodes {@code limit} targets of a compressed list, starting at a block boundary.
+     *
+     * @return the offset of the next block
+     */
+    int decodeDeltaBlock(long startValue, byte[] page, int offset, int limit, long[] out) {
+        return encoding == AdjacencyEncoding.BLOCK_PACKED
+            ? BlockPackedDecoding.decodeDeltaBlock(startValue, page, offset, limit, out)
+            : VarLongDecoding.decodeDeltaVLongs(startValue, page, offset, limit, out);
+    }
+
+    /**
+     * Returns the memory of the pages, or {@code 0} once the list has been released.
+     */
+    public final long sizeInBytes() {
+        return pages == null ? 0L : allocatedMemory;
+    }
+
     public final long release() {
         if (pages == null) {
             return 0L;
@@ -159,7 +267,7 @@ public final class AdjacencyList {
      * Returns a new, uninitialized delta cursor. Call {@link DecompressingCursor#init(long)}.
      */
     DecompressingCursor rawDecompressingCursor() {
-        return new DecompressingCursor(pages);
+        return new DecompressingCursor(pages, encoding == AdjacencyEncoding.BLOCK_PACKED);
     }
 
     /**
@@ -176,7 +284,7 @@ public final class AdjacencyList {
         return reuse.init(offset);
     }
 
-    public static final class Cursor extends MutableIntValue {
+    public static final class Cursor extends MutableIntValue implements PropertyCursor {
 
         static final Cursor EMPTY = new Cursor(new byte[0][]);
 
@@ -213,6 +321,16 @@ public final class AdjacencyList {
             return value;
         }
 
+        @Override
+        public boolean hasNextProperty() {
+            return hasNextLong();
+        }
+
+        @Override
+        public double nextProperty() {
+            return Double.longBitsToDouble(nextLong());
+        }
+
         Cursor init(long fromIndex) {
             this.currentPage = pages[pageIndex(fromIndex, PAGE_SHIFT)];
             this.offset = indexInPage(fromIndex, PAGE_MASK);
@@ -233,9 +351,9 @@ public final class AdjacencyList {
         private int maxTargets;
         private int currentTarget;
 
-        private DecompressingCursor(byte[][] pages) {
+        private DecompressingCursor(byte[][] pages, boolean blockPacked) {
             this.pages = pages;
-            this.decompress = new AdjacencyDecompressingReader();
+            this.decompress = new AdjacencyDecompressingReader(blockPacked);
         }
 
         /**
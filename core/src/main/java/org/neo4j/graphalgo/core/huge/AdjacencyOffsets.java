@@ -33,6 +33,21 @@ public abstract class AdjacencyOffsets {
 
     abstract long release();
 
+    /**
+     * Returns the memory of the pages, or {@code 0} once the offsets have been released.
+     */
+    public abstract long sizeInBytes();
+
+    /**
+     * Returns the number of offsets per page, which is the length of all but the last page.
+     */
+    public abstract int pageSize();
+
+    /**
+     * Returns the pages that back the offsets, e.g. for persisting them. The pages must not be modified.
+     */
+    public abstract long[][] pages();
+
     public static AdjacencyOffsets of(long[][] pages, int pageSize) {
         if (pages.length == 1) {
             return new SinglePageOffsets(pages[0]);
@@ -94,16 +109,32 @@ public abstract class AdjacencyOffsets {
         }
 
         @Override
-        long release() {
-            if (pages != null) {
-                long memoryUsed = sizeOfObjectArray(pages.length);
-                for (long[] page : pages) {
-                    memoryUsed += sizeOfLongArray(page.length);
-                }
-                pages = null;
-                return memoryUsed;
+        public int pageSize() {
+            return (int) (pageMask + 1);
+        }
+
+        @Override
+        public long[][] pages() {
+            return pages;
+        }
+
+        @Override
+        public long sizeInBytes() {
+            if (pages == null) {
+                return 0L;
             }
-            return 0L;
+            long memoryUsed = sizeOfObjectArray(pages.length);
+            for (long[] page : pages) {
+                memoryUsed += sizeOfLongArray(page.length);
+            }
+            return memoryUsed;
+        }
+
+        @Override
+        long release() {
+            long memoryUsed = sizeInBytes();
+            pages = null;
+            return memoryUsed;
         }
     }
 
@@ -126,14 +157,26 @@ public abstract class AdjacencyOffsets {
             return page[(int) index];
         }
 
+        @Override
+        public int pageSize() {
+            return page.length;
+        }
+
+        @Override
+        public long[][] pages() {
+            return new long[][]{page};
+        }
+
+        @Override
+        public long sizeInBytes() {
+            return page == null ? 0L : sizeOfLongArray(page.length);
+        }
+
         @Override
         long release() {
-            if (page != null) {
-                long memoryUsed = sizeOfLongArray(page.length);
-                page = null;
-                return memoryUsed;
-            }
-            return 0L;
+            long memoryUsed = sizeInBytes();
+            page = null;
+            return memoryUsed;
         }
     }
 }
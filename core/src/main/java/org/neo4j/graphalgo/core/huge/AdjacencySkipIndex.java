@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Optional;
+
+import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
+
+/**
+ * Skip index for the compressed adjacency lists of high degree nodes.
+ * <p>
+ * The adjacency list of a node is a sequence of delta encoded blocks which can only be decoded from the start.
+ * For every node with a degree of at least {@link #MIN_DEGREE}, this index stores every
+ * {@link #BLOCK_SIZE}-th position of the list as a pair of
+ * <ul>
+ *     <li>the target id that precedes the block, which is the start value for the delta decoding of the block, and</li>
+ *     <li>the address of the first byte of the block within the {@link AdjacencyList}.</li>
+ * </ul>
+ * Point lookups for such a node binary search over the preceding target ids and decode at most a single block,
+ * which turns {@link HugeGraph#exists(long, long)} and friends from {@code O(degree)} into {@code O(log(degree))}.
+ * Nodes with a smaller degree are not indexed and are scanned linearly.
+ */
+public final class AdjacencySkipIndex {
+
+    public static final AdjacencySkipIndex EMPTY = new AdjacencySkipIndex(
+        HugeLongArray.of(),
+        HugeLongArray.of(0L),
+        HugeLongArray.of(),
+        HugeLongArray.of()
+    );
+
+    /**
+     * Number of targets between two consecutive skip entries, matches the block size of the adjacency decompression.
+     */
+    public static final int BLOCK_SIZE = 64;
+
+    /**
+     * Minimum degree of a node so that its adjacency list gets indexed.
+     */
+    public static final int MIN_DEGREE = 4 * BLOCK_SIZE;
+
+    static final int NOT_INDEXED = -2;
+    static final int NOT_FOUND = -1;
+
+    // sorted ids of all indexed nodes
+    private HugeLongArray nodes;
+    // the skip entries of nodes[i] are stored in [blockStarts[i], blockStarts[i + 1])
+    private HugeLongArray blockStarts;
+    // the last target before each block, 0 for the first block of a node
+    private HugeLongArray blockBases;
+    // the address of the first encoded target of each block in the adjacency list
+    private HugeLongArray blockOffsets;
+
+    public static MemoryEstimation memoryEstimation(Optional<String> relationshipType, boolean undirected) {
+        return MemoryEstimations
+            .builder()
+            .rangePerGraphDimension("skip entries", (dimensions, concurrency) -> {
+                long relCountForType = relationshipType.isPresent()
+                    ? dimensions.relationshipCounts().getOrDefault(relationshipType.get(), 0L)
+                    : dimensions.maxRelCount();
+                long relCount = undirected ? relCountForType * 2 : relCountForType;
+
+                // Best case: no node reaches the degree threshold and the shared empty index is used.
+                // Worst case: all relationships belong to nodes that are just above the threshold.
+                long maxIndexedNodes = relCount / MIN_DEGREE;
+                if (maxIndexedNodes == 0L) {
+                    return MemoryRange.empty();
+                }
+                long maxBlocks = maxIndexedNodes * ceilDiv(MIN_DEGREE, BLOCK_SIZE);
+                long maxMemory = HugeLongArray.memoryEstimation(maxIndexedNodes)
+                                 + HugeLongArray.memoryEstimation(maxIndexedNodes + 1)
+                                 + 2 * HugeLongArray.memoryEstimation(maxBlocks);
+
+                return MemoryRange.of(0L, maxMemory);
+            })
+            .build();
+    }
+
+    /**
+     * Builds a skip index for all nodes of the given adjacency whose degree is at least {@link #MIN_DEGREE}.
+     */
+    public static AdjacencySkipIndex build(
+        long nodeCount,
+        AdjacencyList adjacencyList,
+        AdjacencyOffsets adjacencyOffsets,
+        AllocationTracker tracker
+    ) {
+        return build(nodeCount, adjacencyList, adjacencyOffsets, MIN_DEGREE, tracker);
+    }
+
+    static AdjacencySkipIndex build(
+        long nodeCount,
+        AdjacencyList adjacencyList,
+        AdjacencyOffsets adjacencyOffsets,
+        int minDegree,
+        AllocationTracker tracker
+    ) {
+        long indexedNodes = 0L;
+        long blocks = 0L;
+        for (long nodeId = 0L; nodeId < nodeCount; nodeId++) {
+            int degree = degree(nodeId, adjacencyList, adjacencyOffsets);
+            if (degree >= minDegree) {
+                indexedNodes++;
+                blocks += ceilDiv(degree, BLOCK_SIZE);
+            }
+        }
+
+        if (indexedNodes == 0L) {
+            return EMPTY;
+        }
+
+        HugeLongArray nodes = HugeLongArray.newArray(indexedNodes, tracker);
+        HugeLongArray blockStarts = HugeLongArray.newArray(indexedNodes + 1, tracker);
+        HugeLongArray blockBases = HugeLongArray.newArray(blocks, tracker);
+        HugeLongArray blockOffsets = HugeLongArray.newArray(blocks, tracker);
+
+        long[] buffer = new long[BLOCK_SIZE];
+        long indexedNode = 0L;
+        long block = 0L;
+        for (long nodeId = 0L; nodeId < nodeCount && indexedNode < indexedNodes; nodeId++) {
+            int degree = degree(nodeId, adjacencyList, adjacencyOffsets);
+            if (degree < minDegree) {
+                continue;
+            }
+            nodes.set(indexedNode, nodeId);
+            blockStarts.set(indexedNode, block);
+            indexedNode++;
+
+            long listOffset = adjacencyOffsets.get(nodeId);
+            byte[] page = adjacencyList.page(listOffset);
+            long pageStart = listOffset - AdjacencyList.offsetInPage(listOffset);
+            int offset = AdjacencyList.offsetInPage(listOffset) + Integer.BYTES;
+            long base = 0L;
+            for (int decoded = 0; decoded < degree; decoded += BLOCK_SIZE) {
+                int limit = Math.min(BLOCK_SIZE, degree - decoded);
+                blockBases.set(block, base);
+                blockOffsets.set(block, pageStart + offset);
+                block++;
+                offset = adjacencyList.decodeDeltaBlock(base, page, offset, limit, buffer);
+                base = buffer[limit - 1];
+            }
+        }
+        blockStarts.set(indexedNodes, block);
+
+        return new AdjacencySkipIndex(nodes, blockStarts, blockBases, blockOffsets);
+    }
+
+    private static int degree(long nodeId, AdjacencyList adjacencyList, AdjacencyOffsets adjacencyOffsets) {
+        long offset = adjacencyOffsets.get(nodeId);
+        return offset == 0L ? 0 : adjacencyList.getDegree(offset);
+    }
+
+    private AdjacencySkipIndex(
+        HugeLongArray nodes,
+        HugeLongArray blockStarts,
+        HugeLongArray blockBases,
+        HugeLongArray blockOffsets
+    ) {
+        this.nodes = nodes;
+        this.blockStarts = blockStarts;
+        this.blockBases = blockBases;
+        this.blockOffsets = blockOffsets;
+    }
+
+    /**
+     * Returns the number of indexed nodes.
+     */
+    public long indexedNodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * Returns the position of the first occurrence of {@code target} in the adjacency list of {@code nodeId},
+     * {@link #NOT_FOUND} if the target is not adjacent, or {@link #NOT_INDEXED} if the node is not part of this index.
+     *
+     * @param adjacencyOffset the offset of the adjacency list of {@code nodeId}
+     * @param buffer a buffer of at least {@link #BLOCK_SIZE} elements which is used for decoding
+     */
+    int indexOf(long nodeId, long adjacencyOffset, long target, AdjacencyList adjacencyList, long[] buffer) {
+        long indexedNode = findNode(nodeId);
+        if (indexedNode < 0L) {
+            return NOT_INDEXED;
+        }
+        long firstBlock = blockStarts.get(indexedNode);
+        long lastBlock = blockStarts.get(indexedNode + 1) - 1;
+
+        // find the last block whose preceding target is strictly smaller than the target,
+        // the first occurrence of the target can only be in this block
+        long block = firstBlock;
+        long lo = firstBlock + 1;
+        long hi = lastBlock;
+        while (lo <= hi) {
+            long mid = (lo + hi) >>> 1;
+            if (blockBases.get(mid) < target) {
+                block = mid;
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+
+        int blockIndex = (int) (block - firstBlock);
+        int limit = decodeBlock(adjacencyOffset, block, blockIndex, adjacencyList, buffer);
+        for (int i = 0; i < limit; i++) {
+            long value = buffer[i];
+            if (value == target) {
+                return blockIndex * BLOCK_SIZE + i;
+            }
+            if (value > target) {
+                break;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Returns the target at position {@code index} in the adjacency list of {@code nodeId},
+     * {@link #NOT_FOUND} if the index is out of bounds, or {@link #NOT_INDEXED} if the node is not part of this index.
+     *
+     * @param adjacencyOffset the offset of the adjacency list of {@code nodeId}
+     * @param buffer a buffer of at least {@link #BLOCK_SIZE} elements which is used for decoding
+     */
+    long targetAt(long nodeId, long adjacencyOffset, long index, AdjacencyList adjacencyList, long[] buffer) {
+        long indexedNode = findNode(nodeId);
+        if (indexedNode < 0L) {
+            return NOT_INDEXED;
+        }
+        long firstBlock = blockStarts.get(indexedNode);
+        long blockCount = blockStarts.get(indexedNode + 1) - firstBlock;
+        long blockIndex = index / BLOCK_SIZE;
+        if (index < 0L || blockIndex >= blockCount) {
+            return NOT_FOUND;
+        }
+        int limit = decodeBlock(adjacencyOffset, firstBlock + blockIndex, (int) blockIndex, adjacencyList, buffer);
+        int indexInBlock = (int) (index % BLOCK_SIZE);
+        return indexInBlock < limit ? buffer[indexInBlock] : NOT_FOUND;
+    }
+
+    /**
+     * Returns the memory of the index, or {@code 0} once it has been released.
+     */
+    public long sizeInBytes() {
+        if (this == EMPTY || nodes == null) {
+            return 0L;
+        }
+        return nodes.sizeOf() + blockStarts.sizeOf() + blockBases.sizeOf() + blockOffsets.sizeOf();
+    }
+
+    public long release() {
+        if (this == EMPTY || nodes == null) {
+            return 0L;
+        }
+        long released = nodes.release();
+        released += blockStarts.release();
+        released += blockBases.release();
+        released += blockOffsets.release();
+        nodes = null;
+        blockStarts = null;
+        blockBases = null;
+        blockOffsets = null;
+        return released;
+    }
+
+    private int decodeBlock(
+        long adjacencyOffset,
+        long block,
+        int blockIndex,
+        AdjacencyList adjacencyList,
+        long[] buffer
+    ) {
+        long blockOffset = blockOffsets.get(block);
+        int degree = adjacencyList.getDegree(adjacencyOffset);
+        int limit = Math.min(BLOCK_SIZE, degree - blockIndex * BLOCK_SIZE);
+        adjacencyList.decodeDeltaBlock(
+            blockBases.get(block),
+            adjacencyList.page(blockOffset),
+            AdjacencyList.offsetInPage(blockOffset),
+            limit,
+            buffer
+        );
+        return limit;
+    }
+
+    private long findNode(long nodeId) {
+        long lo = 0L;
+        long hi = nodes.size() - 1;
+        while (lo <= hi) {
+            long mid = (lo + hi) >>> 1;
+            long value = nodes.get(mid);
+            if (value < nodeId) {
+                lo = mid + 1;
+            } else if (value > nodeId) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1L;
+    }
+}
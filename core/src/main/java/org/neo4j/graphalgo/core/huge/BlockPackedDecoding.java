@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import static org.neo4j.graphalgo.core.huge.AdjacencyDecompressingReader.readLong;
+
+/**
+ * Decodes blocks of adjacency lists that are stored with {@link org.neo4j.graphalgo.core.AdjacencyEncoding#BLOCK_PACKED}.
+ * <p>
+ * A block holds up to {@link AdjacencySkipIndex#BLOCK_SIZE} delta encoded targets:
+ * <blockquote>
+ * <code>first delta</code> (vlong) ~ <code>bit width</code> (1 byte) ~ <code>remaining deltas</code> (bit-packed, little endian)
+ * </blockquote>
+ * Bit widths above 56 are stored as 64, so that every packed delta can be extracted from a single 8 byte read.
+ */
+final class BlockPackedDecoding {
+
+    static int decodeDeltaBlock(
+            long startValue,
+            byte[] adjacencyPage,
+            int offset,
+            int limit,
+            long[] out) {
+        long input, value = 0L;
+        int shift = 0;
+        do {
+            input = adjacencyPage[offset++];
+            value += (input & 127L) << shift;
+            shift += 7;
+        } while ((input & 128L) == 0L);
+        startValue += value;
+        out[0] = startValue;
+
+        int bits = adjacencyPage[offset++];
+        int packed = limit - 1;
+        if (bits == 0) {
+            for (int i = 1; i < limit; i++) {
+                out[i] = startValue;
+            }
+            return offset;
+        }
+
+        long mask = bits == Long.SIZE ? -1L : (1L << bits) - 1L;
+        int fastPacked = fastPacked(adjacencyPage.length - offset, packed, bits);
+        int i = 0;
+        for (; i < fastPacked; i++) {
+            int bit = i * bits;
+            out[1 + i] = (readLong(adjacencyPage, offset + (bit >>> 3)) >>> (bit & 7)) & mask;
+        }
+        // the last deltas of a list at the end of a page are read byte by byte
+        for (; i < packed; i++) {
+            int bit = i * bits;
+            out[1 + i] = (readTail(adjacencyPage, offset + (bit >>> 3), ((bit & 7) + bits + 7) >>> 3) >>> (bit & 7)) & mask;
+        }
+
+        for (i = 1; i < limit; i++) {
+            startValue += out[i];
+            out[i] = startValue;
+        }
+
+        return offset + (int) (((long) packed * bits + 7L) >>> 3);
+    }
+
+    /**
+     * Returns the number of packed deltas that can be read with an 8 byte read without exceeding the page.
+     */
+    private static int fastPacked(int bytesLeftInPage, int packed, int bits) {
+        long readableBits = ((long) bytesLeftInPage - Long.BYTES + 1L) * Byte.SIZE;
+        if (readableBits <= 0L) {
+            return 0;
+        }
+        return (int) Math.min(packed, (readableBits - 1L) / bits + 1L);
+    }
+
+    private static long readTail(byte[] adjacencyPage, int offset, int bytes) {
+        long value = 0L;
+        for (int i = 0; i < bytes; i++) {
+            value |= (adjacencyPage[offset + i] & 255L) << (i * Byte.SIZE);
+        }
+        return value;
+    }
+
+    private BlockPackedDecoding() {
+        throw new UnsupportedOperationException("No instances");
+    }
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import com.carrotsearch.hppc.LongIntHashMap;
+import org.neo4j.graphalgo.core.RelationshipPropertyEncoding;
+
+import static org.neo4j.graphalgo.core.huge.AdjacencyDecompressingReader.readInt;
+import static org.neo4j.graphalgo.core.huge.AdjacencyDecompressingReader.readLong;
+
+/**
+ * Property lists that are stored with a {@link RelationshipPropertyEncoding} other than
+ * {@link RelationshipPropertyEncoding#DOUBLE}.
+ *
+ * Like an uncompressed property list, an encoded list starts with the degree as 4 byte int.
+ * It is followed by a 1 byte header that describes how the values of this particular list are stored:
+ * <ul>
+ *     <li>{@code CONSTANT}: one 8 byte value that is shared by all relationships</li>
+ *     <li>{@code DOUBLES}: 8 bytes per value</li>
+ *     <li>{@code FLOATS}: 4 bytes per value</li>
+ *     <li>{@code STEPS}: 8 byte minimum and 8 byte step width, followed by an unsigned 2 byte step count per value</li>
+ *     <li>{@code DICTIONARY}: 1 byte dictionary size minus one and 8 bytes per distinct value,
+ *     followed by a 1 byte dictionary index per value</li>
+ * </ul>
+ */
+public final class EncodedPropertyList {
+
+    private static final byte CONSTANT = 0;
+    private static final byte DOUBLES = 1;
+    private static final byte FLOATS = 2;
+    private static final byte STEPS = 3;
+    private static final byte DICTIONARY = 4;
+
+    private static final int HEADER_SIZE = 1;
+    private static final int MAX_STEP = 0xFFFE;
+    // NaN is used as the absent value and cannot be represented as a step
+    private static final int NAN_STEP = 0xFFFF;
+    private static final int MAX_DICTIONARY_SIZE = 256;
+
+    /**
+     * The maximum number of bytes needed to encode a list of the given degree, excluding the degree itself.
+     */
+    public static int maxEncodedSize(int degree) {
+        return HEADER_SIZE + degree * Long.BYTES;
+    }
+
+    /**
+     * The number of bytes that all property lists of a relationship type need at least, including the degrees.
+     * The best case for encoded lists is that all values of a list are equal and stored only once.
+     */
+    static long minSize(RelationshipPropertyEncoding encoding, long relationshipCount, long nodeCount) {
+        return encoding == RelationshipPropertyEncoding.DOUBLE
+            ? maxSize(encoding, relationshipCount, nodeCount)
+            : Math.min(
+                maxSize(encoding, relationshipCount, nodeCount),
+                (Integer.BYTES + HEADER_SIZE + Long.BYTES) * nodeCount
+            );
+    }
+
+    /**
+     * The number of bytes that all property lists of a relationship type need at most, including the degrees.
+     */
+    static long maxSize(RelationshipPropertyEncoding encoding, long relationshipCount, long nodeCount) {
+        long doubles = (Integer.BYTES + HEADER_SIZE) * nodeCount + relationshipCount * Long.BYTES;
+        switch (encoding) {
+            case FLOAT:
+                return Math.min(doubles, (Integer.BYTES + HEADER_SIZE) * nodeCount + relationshipCount * Float.BYTES);
+            case QUANTIZED:
+                return Math.min(
+                    doubles,
+                    (Integer.BYTES + HEADER_SIZE + 2 * Long.BYTES) * nodeCount + relationshipCount * Short.BYTES
+                );
+            case DICTIONARY:
+                return doubles;
+            default:
+                return Integer.BYTES * nodeCount + relationshipCount * Long.BYTES;
+        }
+    }
+
+    static double valueAt(byte[] page, int listOffset, int index) {
+        int offset = listOffset + Integer.BYTES + HEADER_SIZE;
+        switch (page[listOffset + Integer.BYTES]) {
+            case CONSTANT:
+                return Double.longBitsToDouble(readLong(page, offset));
+            case DOUBLES:
+                return Double.longBitsToDouble(readLong(page, offset + index * Long.BYTES));
+            case FLOATS:
+                return Float.intBitsToFloat(readInt(page, offset + index * Float.BYTES));
+            case STEPS:
+                return fromStep(
+                    Double.longBitsToDouble(readLong(page, offset)),
+                    Double.longBitsToDouble(readLong(page, offset + Long.BYTES)),
+                    readUnsignedShort(page, offset + 2 * Long.BYTES + index * Short.BYTES)
+                );
+            case DICTIONARY:
+                int dictionarySize = 1 + (page[offset] & 0xFF);
+                int dictionaryIndex = page[offset + 1 + dictionarySize * Long.BYTES + index] & 0xFF;
+                return Double.longBitsToDouble(readLong(page, offset + 1 + dictionaryIndex * Long.BYTES));
+            default:
+                throw new IllegalStateException(String.format(
+                    "Unknown property list header %d",
+                    page[listOffset + Integer.BYTES]
+                ));
+        }
+    }
+
+    private static double fromStep(double min, double stepWidth, int step) {
+        return step == NAN_STEP ? Double.NaN : min + step * stepWidth;
+    }
+
+    private static int readUnsignedShort(byte[] page, int offset) {
+        return page[offset] & 0xFF | (page[offset + 1] & 0xFF) << 8;
+    }
+
+    /**
+     * Writes property lists with a given encoding.
+     * It reuses internal buffers and must only be used by a single thread at a time.
+     */
+    public static final class Encoder {
+
+        private final RelationshipPropertyEncoding encoding;
+        private final LongIntHashMap dictionaryIndex;
+        private final long[] dictionary;
+
+        public Encoder(RelationshipPropertyEncoding encoding) {
+            this.encoding = encoding;
+            this.dictionaryIndex = encoding == RelationshipPropertyEncoding.DICTIONARY ? new LongIntHashMap() : null;
+            this.dictionary = encoding == RelationshipPropertyEncoding.DICTIONARY ? new long[MAX_DICTIONARY_SIZE] : null;
+        }
+
+        /**
+         * Encodes the first {@code degree} values, given as double bits, into {@code out}.
+         * {@code out} must have room for at least {@link #maxEncodedSize(int)} bytes.
+         *
+         * @return the number of bytes written
+         */
+        public int encode(long[] values, int degree, byte[] out) {
+            if (isConstant(values, degree)) {
+                out[0] = CONSTANT;
+                writeLong(out, HEADER_SIZE, values[0]);
+                return HEADER_SIZE + Long.BYTES;
+            }
+            int written;
+            switch (encoding) {
+                case FLOAT:
+                    written = encodeFloats(values, degree, out);
+                    break;
+                case QUANTIZED:
+                    written = encodeSteps(values, degree, out);
+                    break;
+                case DICTIONARY:
+                    written = encodeDictionary(values, degree, out);
+                    break;
+                default:
+                    written = -1;
+            }
+            return written == -1 ? encodeDoubles(values, degree, out) : written;
+        }
+
+        private static boolean isConstant(long[] values, int degree) {
+            long first = values[0];
+            for (int i = 1; i < degree; i++) {
+                if (values[i] != first) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int encodeDoubles(long[] values, int degree, byte[] out) {
+            out[0] = DOUBLES;
+            int offset = HEADER_SIZE;
+            for (int i = 0; i < degree; i++) {
+                offset = writeLong(out, offset, values[i]);
+            }
+            return offset;
+        }
+
+        private static int encodeFloats(long[] values, int degree, byte[] out) {
+            out[0] = FLOATS;
+            int offset = HEADER_SIZE;
+            for (int i = 0; i < degree; i++) {
+                float value = (float) Double.longBitsToDouble(values[i]);
+                offset = writeInt(out, offset, Float.floatToIntBits(value));
+            }
+            return offset;
+        }
+
+        private static int encodeSteps(long[] values, int degree, byte[] out) {
+            if (HEADER_SIZE + 2 * Long.BYTES + degree * Short.BYTES >= maxEncodedSize(degree)) {
+                return -1;
+            }
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < degree; i++) {
+                double value = Double.longBitsToDouble(values[i]);
+                if (Double.isInfinite(value)) {
+                    return -1;
+                }
+                if (!Double.isNaN(value)) {
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+            }
+            if (min > max) {
+                // only NaN values, which are not constant as they use different bits
+                return -1;
+            }
+            double stepWidth = (max - min) / MAX_STEP;
+            if (!Double.isFinite(stepWidth)) {
+                // the range of values close to -Double.MAX_VALUE and Double.MAX_VALUE overflows
+                return -1;
+            }
+
+            out[0] = STEPS;
+            int offset = writeLong(out, HEADER_SIZE, Double.doubleToLongBits(min));
+            offset = writeLong(out, offset, Double.doubleToLongBits(stepWidth));
+            for (int i = 0; i < degree; i++) {
+                double value = Double.longBitsToDouble(values[i]);
+                int step;
+                if (Double.isNaN(value)) {
+                    step = NAN_STEP;
+                } else if (stepWidth == 0.0) {
+                    step = 0;
+                } else {
+                    step = (int) Math.min(MAX_STEP, Math.round((value - min) / stepWidth));
+                }
+                out[offset++] = (byte) step;
+                out[offset++] = (byte) (step >>> 8);
+            }
+            return offset;
+        }
+
+        private int encodeDictionary(long[] values, int degree, byte[] out) {
+            dictionaryIndex.clear();
+            int dictionarySize = 0;
+            for (int i = 0; i < degree; i++) {
+                long value = values[i];
+                if (!dictionaryIndex.containsKey(value)) {
+                    if (dictionarySize == MAX_DICTIONARY_SIZE) {
+                        return -1;
+                    }
+                    dictionaryIndex.put(value, dictionarySize);
+                    dictionary[dictionarySize++] = value;
+                }
+            }
+            if (HEADER_SIZE + 1 + dictionarySize * Long.BYTES + degree >= maxEncodedSize(degree)) {
+                return -1;
+            }
+
+            out[0] = DICTIONARY;
+            out[1] = (byte) (dictionarySize - 1);
+            int offset = HEADER_SIZE + 1;
+            for (int i = 0; i < dictionarySize; i++) {
+                offset = writeLong(out, offset, dictionary[i]);
+            }
+            for (int i = 0; i < degree; i++) {
+                out[offset++] = (byte) dictionaryIndex.get(values[i]);
+            }
+            return offset;
+        }
+
+        private static int writeInt(byte[] out, int offset, int value) {
+            out[offset] = (byte) value;
+            out[offset + 1] = (byte) (value >>> 8);
+            out[offset + 2] = (byte) (value >>> 16);
+            out[offset + 3] = (byte) (value >>> 24);
+            return offset + Integer.BYTES;
+        }
+
+        private static int writeLong(byte[] out, int offset, long value) {
+            writeInt(out, offset, (int) value);
+            writeInt(out, offset + Integer.BYTES, (int) (value >>> 32));
+            return offset + Long.BYTES;
+        }
+    }
+
+    static final class Cursor implements PropertyCursor {
+
+        private byte[] page;
+        private byte header;
+        private int offset;
+        private int remaining;
+
+        private double constant;
+        private double min;
+        private double stepWidth;
+        private int dictionaryOffset;
+
+        Cursor init(byte[] page, int listOffset) {
+            this.page = page;
+            this.remaining = readInt(page, listOffset);
+            this.header = page[listOffset + Integer.BYTES];
+            this.offset = listOffset + Integer.BYTES + HEADER_SIZE;
+            switch (header) {
+                case CONSTANT:
+                    constant = Double.longBitsToDouble(readLong(page, offset));
+                    break;
+                case STEPS:
+                    min = Double.longBitsToDouble(readLong(page, offset));
+                    stepWidth = Double.longBitsToDouble(readLong(page, offset + Long.BYTES));
+                    offset += 2 * Long.BYTES;
+                    break;
+                case DICTIONARY:
+                    dictionaryOffset = offset + 1;
+                    offset = dictionaryOffset + (1 + (page[offset] & 0xFF)) * Long.BYTES;
+                    break;
+                default:
+            }
+            return this;
+        }
+
+        @Override
+        public boolean hasNextProperty() {
+            return remaining > 0;
+        }
+
+        @Override
+        public double nextProperty() {
+            remaining--;
+            double value;
+            switch (header) {
+                case CONSTANT:
+                    return constant;
+                case DOUBLES:
+                    value = Double.longBitsToDouble(readLong(page, offset));
+                    offset += Long.BYTES;
+                    return value;
+                case FLOATS:
+                    value = Float.intBitsToFloat(readInt(page, offset));
+                    offset += Float.BYTES;
+                    return value;
+                case STEPS:
+                    value = fromStep(min, stepWidth, readUnsignedShort(page, offset));
+                    offset += Short.BYTES;
+                    return value;
+                case DICTIONARY:
+                    return Double.longBitsToDouble(readLong(page, dictionaryOffset + (page[offset++] & 0xFF) * Long.BYTES));
+                default:
+                    throw new IllegalStateException(String.format("Unknown property list header %d", header));
+            }
+        }
+    }
+
+    private EncodedPropertyList() {}
+}
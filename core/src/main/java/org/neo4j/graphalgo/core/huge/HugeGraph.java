@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.core.huge;
 
+import org.immutables.value.Value;
 import org.jetbrains.annotations.Nullable;
 import org.neo4j.collection.primitive.PrimitiveLongIterable;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
@@ -29,6 +30,7 @@ import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.api.RelationshipIntersect;
 import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.RelationshipPropertyEncoding;
 import org.neo4j.graphalgo.core.loading.IdMap;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.internal.kernel.api.CursorFactory;
@@ -89,10 +91,13 @@ public class HugeGraph implements Graph {
     private final long relationshipCount;
     private AdjacencyList adjacencyList;
     private AdjacencyOffsets adjacencyOffsets;
+    private AdjacencySkipIndex skipIndex;
+    private final long[] skipBuffer;
 
     private final double defaultPropertyValue;
     private @Nullable AdjacencyList properties;
     private @Nullable AdjacencyOffsets propertyOffsets;
+    private final RelationshipPropertyEncoding propertyEncoding;
 
     private AdjacencyList.DecompressingCursor emptyCursor;
     private AdjacencyList.DecompressingCursor cursorCache;
@@ -114,10 +119,12 @@ public class HugeGraph implements Graph {
             topologyCSR.elementCount(),
             topologyCSR.list(),
             topologyCSR.offsets(),
+            topologyCSR.skipIndex(),
             maybePropertyCSR.isPresent(),
             maybePropertyCSR.map(PropertyCSR::defaultPropertyValue).orElse(Double.NaN),
             maybePropertyCSR.map(PropertyCSR::list).orElse(null),
             maybePropertyCSR.map(PropertyCSR::offsets).orElse(null),
+            maybePropertyCSR.map(PropertyCSR::encoding).orElse(RelationshipPropertyEncoding.DOUBLE),
             topologyCSR.orientation(),
             tracker
         );
@@ -129,10 +136,12 @@ public class HugeGraph implements Graph {
         long relationshipCount,
         AdjacencyList adjacencyList,
         AdjacencyOffsets adjacencyOffsets,
+        AdjacencySkipIndex skipIndex,
         boolean hasRelationshipProperty,
         double defaultPropertyValue,
         @Nullable AdjacencyList properties,
         @Nullable AdjacencyOffsets propertyOffsets,
+        RelationshipPropertyEncoding propertyEncoding,
         Orientation orientation,
         AllocationTracker tracker
     ) {
@@ -142,9 +151,12 @@ public class HugeGraph implements Graph {
         this.relationshipCount = relationshipCount;
         this.adjacencyList = adjacencyList;
         this.adjacencyOffsets = adjacencyOffsets;
+        this.skipIndex = skipIndex;
+        this.skipBuffer = new long[AdjacencySkipIndex.BLOCK_SIZE];
         this.defaultPropertyValue = defaultPropertyValue;
         this.properties = properties;
         this.propertyOffsets = propertyOffsets;
+        this.propertyEncoding = propertyEncoding;
         this.orientation = orientation;
         this.hasRelationshipProperty = hasRelationshipProperty;
         this.cursorCache = newAdjacencyCursor(this.adjacencyList);
@@ -206,19 +218,44 @@ public class HugeGraph implements Graph {
         }
         long propertyOffset = propertyOffsets.get(fromId);
 
+        int index = skipIndex.indexOf(fromId, relOffset, toId, adjacencyList, skipBuffer);
+        if (index != AdjacencySkipIndex.NOT_INDEXED) {
+            return index == AdjacencySkipIndex.NOT_FOUND
+                ? NO_PROPERTY_VALUE
+                : propertyValueAt(propertyOffset, index);
+        }
+
         AdjacencyList.DecompressingCursor relDecompressingCursor = adjacencyList.decompressingCursor(relOffset);
-        AdjacencyList.Cursor propertyCursor = properties.cursor(propertyOffset);
+        PropertyCursor propertyCursor = propertyCursor(propertyOffset);
 
-        while (relDecompressingCursor.hasNextVLong() && propertyCursor.hasNextLong() && relDecompressingCursor.nextVLong() != toId) {
-            propertyCursor.nextLong();
+        while (relDecompressingCursor.hasNextVLong() && propertyCursor.hasNextProperty() && relDecompressingCursor.nextVLong() != toId) {
+            propertyCursor.nextProperty();
         }
 
-        if (!propertyCursor.hasNextLong()) {
+        if (!propertyCursor.hasNextProperty()) {
             return NO_PROPERTY_VALUE;
         }
 
-        long doubleBits = propertyCursor.nextLong();
-        return Double.longBitsToDouble(doubleBits);
+        return propertyCursor.nextProperty();
+    }
+
+    private double propertyValueAt(long propertyOffset, int index) {
+        return propertyEncoding == RelationshipPropertyEncoding.DOUBLE
+            ? Double.longBitsToDouble(properties.getLong(propertyOffset, index))
+            : EncodedPropertyList.valueAt(
+                properties.page(propertyOffset),
+                AdjacencyList.offsetInPage(propertyOffset),
+                index
+            );
+    }
+
+    private PropertyCursor propertyCursor(long propertyOffset) {
+        return propertyEncoding == RelationshipPropertyEncoding.DOUBLE
+            ? properties.cursor(propertyOffset)
+            : new EncodedPropertyList.Cursor().init(
+                properties.page(propertyOffset),
+                AdjacencyList.offsetInPage(propertyOffset)
+            );
     }
 
     @Override
@@ -280,10 +317,12 @@ public class HugeGraph implements Graph {
             relationshipCount,
             adjacencyList,
             adjacencyOffsets,
+            skipIndex,
             hasRelationshipProperty,
             defaultPropertyValue,
             properties,
             propertyOffsets,
+            propertyEncoding,
             orientation,
             tracker
         );
@@ -295,20 +334,36 @@ public class HugeGraph implements Graph {
     }
 
     /**
-     * O(n) !
+     * O(log(degree)) for nodes in the {@link AdjacencySkipIndex}, O(degree) otherwise.
      */
     @Override
     public boolean exists(long sourceNodeId, long targetNodeId) {
+        long offset = adjacencyOffsets.get(sourceNodeId);
+        if (offset == NO_SUCH_NODE) {
+            return false;
+        }
+        int index = skipIndex.indexOf(sourceNodeId, offset, targetNodeId, adjacencyList, skipBuffer);
+        if (index != AdjacencySkipIndex.NOT_INDEXED) {
+            return index != AdjacencySkipIndex.NOT_FOUND;
+        }
         ExistsConsumer consumer = new ExistsConsumer(targetNodeId);
         runForEach(sourceNodeId, consumer);
         return consumer.found;
     }
 
     /*
-     * O(n) !
+     * Decodes a single block for nodes in the {@link AdjacencySkipIndex}, O(degree) otherwise.
      */
     @Override
     public long getTarget(long sourceNodeId, long index) {
+        long offset = adjacencyOffsets.get(sourceNodeId);
+        if (offset == NO_SUCH_NODE) {
+            return GetTargetConsumer.TARGET_NOT_FOUND;
+        }
+        long target = skipIndex.targetAt(sourceNodeId, offset, index, adjacencyList, skipBuffer);
+        if (target != AdjacencySkipIndex.NOT_INDEXED) {
+            return target;
+        }
         GetTargetConsumer consumer = new GetTargetConsumer(index);
         runForEach(sourceNodeId, consumer);
         return consumer.target;
@@ -324,7 +379,7 @@ public class HugeGraph implements Graph {
             runForEach(sourceId, (s, t) -> consumer.accept(s, t, fallbackValue));
         } else {
             AdjacencyList.DecompressingCursor adjacencyCursor = adjacencyCursorForIteration(sourceId);
-            AdjacencyList.Cursor propertyCursor = propertyCursorForIteration(sourceId);
+            PropertyCursor propertyCursor = propertyCursorForIteration(sourceId);
             consumeAdjacentNodesWithProperty(sourceId, adjacencyCursor, propertyCursor, consumer);
         }
     }
@@ -341,7 +396,7 @@ public class HugeGraph implements Graph {
 
     }
 
-    private AdjacencyList.Cursor propertyCursorForIteration(long sourceNodeId) {
+    private PropertyCursor propertyCursorForIteration(long sourceNodeId) {
         if (!hasRelationshipProperty()) {
             throw new UnsupportedOperationException(
                 "Can not create property cursor on a graph without relationship property");
@@ -351,7 +406,7 @@ public class HugeGraph implements Graph {
         if (offset == 0L) {
             return AdjacencyList.Cursor.EMPTY;
         }
-        return properties.cursor(offset);
+        return propertyCursor(offset);
     }
 
     @Override
@@ -366,7 +421,9 @@ public class HugeGraph implements Graph {
         if (adjacencyList != null) {
             tracker.remove(adjacencyList.release());
             tracker.remove(adjacencyOffsets.release());
+            tracker.remove(skipIndex.release());
             adjacencyList = null;
+            skipIndex = null;
             properties = null;
             adjacencyOffsets = null;
             propertyOffsets = null;
@@ -399,9 +456,11 @@ public class HugeGraph implements Graph {
             orientation,
             adjacencyList,
             adjacencyOffsets,
+            skipIndex,
             properties,
             propertyOffsets,
-            defaultPropertyValue
+            defaultPropertyValue,
+            propertyEncoding
         );
     }
 
@@ -433,15 +492,14 @@ public class HugeGraph implements Graph {
     private void consumeAdjacentNodesWithProperty(
         long sourceId,
         AdjacencyList.DecompressingCursor adjacencyCursor,
-        AdjacencyList.Cursor propertyCursor,
+        PropertyCursor propertyCursor,
         RelationshipWithPropertyConsumer consumer
     ) {
 
         while (adjacencyCursor.hasNextVLong()) {
             long targetId = adjacencyCursor.nextVLong();
 
-            long propertyBits = propertyCursor.nextLong();
-            double property = Double.longBitsToDouble(propertyBits);
+            double property = propertyCursor.nextProperty();
 
             if (!consumer.accept(sourceId, targetId, property)) {
                 break;
@@ -503,11 +561,42 @@ public class HugeGraph implements Graph {
             Orientation orientation,
             AdjacencyList adjacencyList,
             AdjacencyOffsets adjacencyOffsets,
+            AdjacencySkipIndex skipIndex,
             @Nullable AdjacencyList properties,
             @Nullable AdjacencyOffsets propertyOffsets,
             double defaultPropertyValue
         ) {
-            TopologyCSR topologyCSR = ImmutableTopologyCSR.of(adjacencyList, adjacencyOffsets, relationshipCount, orientation);
+            return of(
+                relationshipCount,
+                orientation,
+                adjacencyList,
+                adjacencyOffsets,
+                skipIndex,
+                properties,
+                propertyOffsets,
+                defaultPropertyValue,
+                RelationshipPropertyEncoding.DOUBLE
+            );
+        }
+
+        static Relationships of(
+            long relationshipCount,
+            Orientation orientation,
+            AdjacencyList adjacencyList,
+            AdjacencyOffsets adjacencyOffsets,
+            AdjacencySkipIndex skipIndex,
+            @Nullable AdjacencyList properties,
+            @Nullable AdjacencyOffsets propertyOffsets,
+            double defaultPropertyValue,
+            RelationshipPropertyEncoding propertyEncoding
+        ) {
+            TopologyCSR topologyCSR = ImmutableTopologyCSR.of(
+                adjacencyList,
+                adjacencyOffsets,
+                relationshipCount,
+                orientation,
+                skipIndex
+            );
 
             Optional<PropertyCSR> maybePropertyCSR = properties != null && propertyOffsets != null
                 ? Optional.of(ImmutablePropertyCSR.of(
@@ -516,7 +605,7 @@ public class HugeGraph implements Graph {
                     relationshipCount,
                     orientation,
                     defaultPropertyValue
-                )) : Optional.empty();
+                ).withEncoding(propertyEncoding)) : Optional.empty();
 
             return ImmutableRelationships.of(topologyCSR, maybePropertyCSR);
         }
@@ -531,11 +620,29 @@ public class HugeGraph implements Graph {
         long elementCount();
 
         Orientation orientation();
+
+        AdjacencySkipIndex skipIndex();
     }
 
     @ValueClass
     @SuppressWarnings("immutables:subtype")
     public interface PropertyCSR extends TopologyCSR {
         double defaultPropertyValue();
+
+        /**
+         * How the values of the property lists are stored.
+         */
+        @Value.Default
+        @Value.Parameter(false)
+        default RelationshipPropertyEncoding encoding() {
+            return RelationshipPropertyEncoding.DOUBLE;
+        }
+
+        // property lists are only accessed by the position of a target within the topology
+        @Override
+        @Value.Derived
+        default AdjacencySkipIndex skipIndex() {
+            return AdjacencySkipIndex.EMPTY;
+        }
     }
 }
@@ -26,6 +26,7 @@ import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.atomic.LongAdder;
 
 import static org.neo4j.graphalgo.compat.StatementConstantsProxy.NO_SUCH_PROPERTY_KEY;
@@ -44,6 +45,22 @@ public abstract class AdjacencyBuilder {
 
     abstract Collection<Runnable> flushTasks();
 
+    /**
+     * The number of runs of source nodes of a single page that have been added.
+     */
+    abstract long pageRuns();
+
+    /**
+     * The number of page runs that found their page owned by another importer thread
+     * and have been deferred to that thread or the flush instead of waiting for the page.
+     */
+    abstract long contendedPageRuns();
+
+    /**
+     * The number of relationships in {@link #contendedPageRuns() contended page runs}.
+     */
+    abstract long deferredRelationships();
+
     public static AdjacencyBuilder compressing(
             RelationshipsBuilder globalBuilder,
             int numPages,
@@ -77,7 +94,8 @@ public abstract class AdjacencyBuilder {
                 pageSize,
                 relationshipCounter,
                 propertyKeyIds,
-                defaultValues);
+                defaultValues,
+                tracker);
         for (int idx = 0; idx < numPages; idx++) {
             compressingPagedAdjacency.addAdjacencyImporter(tracker, idx);
         }
@@ -89,6 +107,15 @@ public abstract class AdjacencyBuilder {
 
     abstract double[] getDefaultValues();
 
+    /**
+     * Appends the relationships of all importer threads into per node compressed arrays, grouped by pages of nodes.
+     * <p>
+     * Importer threads never wait for each other. The relationships of a batch are added in runs of source nodes
+     * that belong to the same page. An importer thread that acquires the page of a run appends the run itself.
+     * If another thread owns the page, the run is copied and pushed onto a lock-free stack of deferred runs of
+     * that page. Whoever owns a page next appends its deferred runs before releasing it and the flush appends
+     * the remaining ones, before the page is compressed.
+     */
     private static final class CompressingPagedAdjacency extends AdjacencyBuilder {
 
         private final RelationshipsBuilder globalBuilder;
@@ -105,6 +132,11 @@ public abstract class AdjacencyBuilder {
         private final LongAdder relationshipCounter;
         private final int[] propertyKeyIds;
         private final double[] defaultValues;
+        private final AllocationTracker tracker;
+        private final AtomicReferenceArray<DeferredRun> deferredRuns;
+        private final LongAdder pageRuns;
+        private final LongAdder contendedPageRuns;
+        private final LongAdder deferredRelationships;
 
         private CompressingPagedAdjacency(
                 RelationshipsBuilder globalBuilder,
@@ -116,7 +148,8 @@ public abstract class AdjacencyBuilder {
                 int pageSize,
                 LongAdder relationshipCounter,
                 int[] propertyKeyIds,
-                double[] defaultValues) {
+                double[] defaultValues,
+                AllocationTracker tracker) {
             this.globalBuilder = globalBuilder;
             this.localBuilders = localBuilders;
             this.compressedAdjacencyLists = compressedAdjacencyLists;
@@ -131,6 +164,11 @@ public abstract class AdjacencyBuilder {
             this.relationshipCounter = relationshipCounter;
             this.propertyKeyIds = propertyKeyIds;
             this.defaultValues = defaultValues;
+            this.tracker = tracker;
+            this.deferredRuns = new AtomicReferenceArray<>(localBuilders.length);
+            this.pageRuns = new LongAdder();
+            this.contendedPageRuns = new LongAdder();
+            this.deferredRelationships = new LongAdder();
         }
 
         void addAdjacencyImporter(AllocationTracker tracker, int pageIndex) {
@@ -177,53 +215,116 @@ public abstract class AdjacencyBuilder {
                 int length,
                 AllocationTracker tracker) {
             int pageShift = this.pageShift;
-            long pageMask = this.pageMask;
-
-            ThreadLocalRelationshipsBuilder builder = null;
-            int lastPageIndex = -1;
-            int endOffset, startOffset = 0;
-            try {
-                for (int i = 0; i < length; ++i) {
-                    endOffset = offsets[i];
-
-                    // if there are no rels for this node, just go to next
-                    if (endOffset <= startOffset) {
-                        continue;
-                    }
 
-                    long source = batch[startOffset << 2];
-                    int pageIndex = (int) (source >>> pageShift);
-
-                    if (pageIndex > lastPageIndex) {
-                        // switch to the builder for this page
-                        if (builder != null) {
-                            builder.unlock();
-                        }
-                        builder = localBuilders[pageIndex];
-                        builder.lock();
-                        lastPageIndex = pageIndex;
-                    }
-
-                    int localId = (int) (source & pageMask);
+            int startOffset = 0;
+            int i = 0;
+            while (i < length) {
+                // if there are no rels for this node, just go to next
+                if (offsets[i] <= startOffset) {
+                    ++i;
+                    continue;
+                }
 
-                    CompressedLongArray compressedTargets = this.compressedAdjacencyLists[pageIndex][localId];
-                    if (compressedTargets == null) {
-                        compressedTargets = new CompressedLongArray(tracker, propertyValues == null ? 0 : propertyValues.length);
-                        this.compressedAdjacencyLists[pageIndex][localId] = compressedTargets;
-                    }
+                // the batch is sorted by source node, so all source nodes of a page form a single run
+                int pageIndex = (int) (batch[startOffset << 2] >>> pageShift);
+                int runStart = i;
+                int runStartOffset = startOffset;
+                int runEndOffset = offsets[i++];
+                while (i < length && (offsets[i] <= runEndOffset || (int) (batch[runEndOffset << 2] >>> pageShift) == pageIndex)) {
+                    runEndOffset = offsets[i++];
+                }
 
-                    if (propertyValues == null) {
-                        compressedTargets.add(targets, startOffset, endOffset);
-                    } else {
-                        compressedTargets.add(targets, propertyValues, startOffset, endOffset);
+                pageRuns.increment();
+                ThreadLocalRelationshipsBuilder builder = localBuilders[pageIndex];
+                if (builder.tryAcquire()) {
+                    try {
+                        addRun(pageIndex, batch, targets, propertyValues, offsets, runStart, i, runStartOffset, tracker);
+                        addDeferredRuns(pageIndex, tracker);
+                    } finally {
+                        builder.release();
                     }
+                } else {
+                    contendedPageRuns.increment();
+                    deferredRelationships.add(runEndOffset - runStartOffset);
+                    pushDeferredRun(pageIndex, DeferredRun.of(
+                            batch,
+                            targets,
+                            propertyValues,
+                            offsets,
+                            runStart,
+                            i,
+                            runStartOffset,
+                            pageMask));
+                }
+                startOffset = runEndOffset;
+            }
+        }
 
+        private void addRun(
+                int pageIndex,
+                long[] batch,
+                long[] targets,
+                long[][] propertyValues,
+                int[] offsets,
+                int runStart,
+                int runEnd,
+                int startOffset,
+                AllocationTracker tracker) {
+            CompressedLongArray[] compressedTargets = compressedAdjacencyLists[pageIndex];
+            for (int i = runStart; i < runEnd; ++i) {
+                int endOffset = offsets[i];
+                if (endOffset > startOffset) {
+                    int localId = (int) (batch[startOffset << 2] & pageMask);
+                    add(compressedTargets, localId, targets, propertyValues, startOffset, endOffset, tracker);
                     startOffset = endOffset;
                 }
-            } finally {
-                if (builder != null) {
-                    builder.unlock();
+            }
+        }
+
+        private void pushDeferredRun(int pageIndex, DeferredRun run) {
+            DeferredRun head;
+            do {
+                head = deferredRuns.get(pageIndex);
+                run.next = head;
+            } while (!deferredRuns.compareAndSet(pageIndex, head, run));
+        }
+
+        // must only be called by the owner of the page
+        private void addDeferredRuns(int pageIndex, AllocationTracker tracker) {
+            if (deferredRuns.get(pageIndex) == null) {
+                return;
+            }
+            CompressedLongArray[] compressedTargets = compressedAdjacencyLists[pageIndex];
+            DeferredRun run = deferredRuns.getAndSet(pageIndex, null);
+            while (run != null) {
+                int startOffset = 0;
+                for (int i = 0; i < run.localIds.length; ++i) {
+                    int endOffset = run.endOffsets[i];
+                    add(compressedTargets, run.localIds[i], run.targets, run.propertyValues, startOffset, endOffset, tracker);
+                    startOffset = endOffset;
                 }
+                run = run.next;
+            }
+        }
+
+        private static void add(
+                CompressedLongArray[] compressedAdjacencyLists,
+                int localId,
+                long[] targets,
+                long[][] propertyValues,
+                int startOffset,
+                int endOffset,
+                AllocationTracker tracker) {
+            CompressedLongArray compressedTargets = compressedAdjacencyLists[localId];
+            if (compressedTargets == null) {
+                compressedTargets = new CompressedLongArray(tracker, propertyValues == null ? 0 : propertyValues.length);
+                compressedAdjacencyLists[localId] = compressedTargets;
+            }
+
+            if (propertyValues == null) {
+                compressedTargets.add(targets, startOffset, endOffset);
+            } else {
+                compressedTargets.add(targets, propertyValues, startOffset, endOffset);
             }
         }
 
@@ -231,6 +332,8 @@ public abstract class AdjacencyBuilder {
         Collection<Runnable> flushTasks() {
             Runnable[] runnables = new Runnable[localBuilders.length];
             Arrays.setAll(runnables, index -> () -> {
+                // all importer threads are done, there is no need to acquire the page anymore
+                addDeferredRuns(index, tracker);
                 ThreadLocalRelationshipsBuilder builder = localBuilders[index];
                 CompressedLongArray[] allTargets = compressedAdjacencyLists[index];
                 LongsRef buffer = buffers[index];
@@ -251,6 +354,21 @@ public abstract class AdjacencyBuilder {
             return Arrays.asList(runnables);
         }
 
+        @Override
+        long pageRuns() {
+            return pageRuns.sum();
+        }
+
+        @Override
+        long contendedPageRuns() {
+            return contendedPageRuns.sum();
+        }
+
+        @Override
+        long deferredRelationships() {
+            return deferredRelationships.sum();
+        }
+
         @Override
         int[] getPropertyKeyIds() {
             return propertyKeyIds;
@@ -262,6 +380,61 @@ public abstract class AdjacencyBuilder {
         }
     }
 
+    /**
+     * A copy of a page run that could not be added by its importer thread.
+     */
+    private static final class DeferredRun {
+
+        final int[] localIds;
+        final int[] endOffsets;
+        final long[] targets;
+        final long[][] propertyValues;
+        DeferredRun next;
+
+        private DeferredRun(int[] localIds, int[] endOffsets, long[] targets, long[][] propertyValues) {
+            this.localIds = localIds;
+            this.endOffsets = endOffsets;
+            this.targets = targets;
+            this.propertyValues = propertyValues;
+        }
+
+        static DeferredRun of(
+                long[] batch,
+                long[] targets,
+                long[][] propertyValues,
+                int[] offsets,
+                int runStart,
+                int runEnd,
+                int runStartOffset,
+                long pageMask) {
+            int[] localIds = new int[runEnd - runStart];
+            int[] endOffsets = new int[runEnd - runStart];
+            int nodes = 0;
+            int startOffset = runStartOffset;
+            for (int i = runStart; i < runEnd; ++i) {
+                int endOffset = offsets[i];
+                if (endOffset > startOffset) {
+                    localIds[nodes] = (int) (batch[startOffset << 2] & pageMask);
+                    endOffsets[nodes] = endOffset - runStartOffset;
+                    ++nodes;
+                    startOffset = endOffset;
+                }
+            }
+
+            int runEndOffset = startOffset;
+            long[][] runPropertyValues = null;
+            if (propertyValues != null) {
+                runPropertyValues = new long[propertyValues.length][];
+                Arrays.setAll(runPropertyValues, i -> Arrays.copyOfRange(propertyValues[i], runStartOffset, runEndOffset));
+            }
+            return new DeferredRun(
+                    Arrays.copyOf(localIds, nodes),
+                    Arrays.copyOf(endOffsets, nodes),
+                    Arrays.copyOfRange(targets, runStartOffset, runEndOffset),
+                    runPropertyValues);
+        }
+    }
+
     private static final class NoAdjacency extends AdjacencyBuilder {
 
         private static final AdjacencyBuilder INSTANCE = new NoAdjacency();
@@ -290,5 +463,20 @@ public abstract class AdjacencyBuilder {
         double[] getDefaultValues() {
             return new double[0];
         }
+
+        @Override
+        long pageRuns() {
+            return 0L;
+        }
+
+        @Override
+        long contendedPageRuns() {
+            return 0L;
+        }
+
+        @Override
+        long deferredRelationships() {
+            return 0L;
+        }
     }
 }
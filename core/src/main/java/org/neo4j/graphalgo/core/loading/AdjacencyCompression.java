@@ -19,10 +19,8 @@
  */
 package org.neo4j.graphalgo.core.loading;
 
-import com.carrotsearch.hppc.sorting.IndirectSort;
 import org.apache.lucene.util.LongsRef;
 import org.neo4j.graphalgo.core.Aggregation;
-import org.neo4j.graphalgo.core.utils.AscendingLongComparator;
 
 import java.util.Arrays;
 
@@ -30,6 +28,9 @@ import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodeVLongs;
 
 final class AdjacencyCompression {
 
+    // below this degree, moving targets and properties directly is cheaper than counting digits
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
     private static long[] growWithDestroy(long[] values, int newLength) {
         if (values.length < newLength) {
             // give leeway in case of nodes with a reference to themselves
@@ -53,31 +54,30 @@ final class AdjacencyCompression {
         return data.length = applyDelta(data.longs, data.length, aggregation);
     }
 
-    // TODO: requires lots of additional memory ... inline indirect sort to make reuse of - to be created - buffers
-    static int applyDeltaEncoding(LongsRef data, long[][] weights, Aggregation[] aggregations, boolean noAggregation) {
-        int[] order = IndirectSort.mergesort(0, data.length, new AscendingLongComparator(data.longs));
-
-        long[] sortedValues = new long[data.length];
-        long[][] sortedWeights = new long[weights.length][data.length];
-
-        data.length = applyDelta(
-                order,
-                data.longs,
-                sortedValues,
-                weights,
-                sortedWeights,
-                data.length,
-                aggregations,
-                noAggregation
-        );
-
-        System.arraycopy(sortedValues, 0, data.longs, 0, data.length);
-        for (int i = 0; i < sortedWeights.length; i++) {
-            long[] sortedWeight = sortedWeights[i];
-            System.arraycopy(sortedWeight, 0, weights[i], 0, data.length);
+    /**
+     * Sorts the targets together with their properties and applies delta encoding.
+     * Sorting happens in place, using only the scratch space of the given {@link SortBuffer}.
+     */
+    static int applyDeltaEncoding(
+            LongsRef data,
+            long[][] weights,
+            Aggregation[] aggregations,
+            boolean noAggregation,
+            SortBuffer sortBuffer) {
+        int length = data.length;
+        if (length <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(data.longs, weights, length);
+        } else {
+            sortBuffer.ensureCapacity(length, weights.length);
+            RadixSort.radixSort(
+                    data.longs,
+                    weights,
+                    sortBuffer.values,
+                    sortBuffer.properties,
+                    sortBuffer.histogram,
+                    length);
         }
-
-        return data.length;
+        return data.length = applyDelta(data.longs, weights, length, aggregations, noAggregation);
     }
 
     static int compress(LongsRef data, byte[] out) {
@@ -112,55 +112,88 @@ final class AdjacencyCompression {
     }
 
     /**
-     * Applies delta encoding to the given {@code values}.
-     * Weights are not encoded, {@code outRelProperties} contains weights according to {@code order}.
+     * Applies delta encoding to the given sorted {@code values}.
+     * Weights are not encoded, but moved along with their values or merged for duplicate values.
      *
      * @param noAggregation Is true iff all aggregations are none
      */
     private static int applyDelta(
-            int[] order,
             long[] values,
-            long[] outValues,
             long[][] weights,
-            long[][] outWeights,
             int length,
             Aggregation[] aggregations,
             boolean noAggregation) {
-        int firstSortIdx = order[0];
-        long value = values[firstSortIdx];
-        long delta;
-
-        outValues[0] = values[firstSortIdx];
-        for (int i = 0; i < weights.length; i++) {
-            outWeights[i][0] = weights[i][firstSortIdx];
-        }
-
+        long value = values[0], delta;
         int in = 1, out = 1;
         for (; in < length; ++in) {
-            final int sortIdx = order[in];
-            delta = values[sortIdx] - value;
-            value = values[sortIdx];
+            delta = values[in] - value;
+            value = values[in];
 
             if (delta > 0L || noAggregation) {
                 for (int i = 0; i < weights.length; i++) {
-                    outWeights[i][out] = weights[i][sortIdx];
+                    weights[i][out] = weights[i][in];
                 }
-                outValues[out++] = delta;
+                values[out++] = delta;
             } else {
                 for (int i = 0; i < weights.length; i++) {
                     Aggregation aggregation = aggregations[i];
-                    int existingIdx = out - 1;
-                    long[] outWeight = outWeights[i];
-                    double existingWeight = Double.longBitsToDouble(outWeight[existingIdx]);
-                    double newWeight = Double.longBitsToDouble(weights[i][sortIdx]);
+                    long[] weight = weights[i];
+                    double existingWeight = Double.longBitsToDouble(weight[out - 1]);
+                    double newWeight = Double.longBitsToDouble(weight[in]);
                     newWeight = aggregation.merge(existingWeight, newWeight);
-                    outWeight[existingIdx] = Double.doubleToLongBits(newWeight);
+                    weight[out - 1] = Double.doubleToLongBits(newWeight);
                 }
             }
         }
         return out;
     }
 
+    private static void insertionSort(long[] values, long[][] weights, int length) {
+        for (int i = 1; i < length; i++) {
+            long value = values[i];
+            int j = i - 1;
+            if (values[j] <= value) {
+                continue;
+            }
+            for (long[] weight : weights) {
+                long w = weight[i];
+                int k = i - 1;
+                while (k >= 0 && values[k] > value) {
+                    weight[k + 1] = weight[k];
+                    k--;
+                }
+                weight[k + 1] = w;
+            }
+            while (j >= 0 && values[j] > value) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = value;
+        }
+    }
+
+    /**
+     * Scratch space to sort adjacency lists together with their properties.
+     * It grows with the largest sorted list and must only be used by a single thread at a time.
+     */
+    static final class SortBuffer {
+        private long[] values = new long[0];
+        private long[][] properties = new long[0][];
+        private final int[] histogram = RadixSort.newHistogram(0);
+
+        void ensureCapacity(int length, int propertyCount) {
+            values = growWithDestroy(values, length);
+            if (properties.length < propertyCount) {
+                properties = Arrays.copyOf(properties, propertyCount);
+            }
+            for (int i = 0; i < propertyCount; i++) {
+                properties[i] = properties[i] == null
+                        ? new long[values.length]
+                        : growWithDestroy(properties[i], length);
+            }
+        }
+    }
+
     private AdjacencyCompression() {
     }
 }
@@ -21,27 +21,20 @@ package org.neo4j.graphalgo.core.loading;
 
 class BatchLoadResult {
 
-    private final long offset;
     private final long rows;
     private final long maxId;
     private final long count;
 
     BatchLoadResult(
-            long offset,
             long rows,
             long maxId,
             long count
     ) {
-        this.offset = offset;
         this.rows = rows;
         this.maxId = maxId;
         this.count = count;
     }
 
-    long offset() {
-        return offset;
-    }
-
     long rows() {
         return rows;
     }
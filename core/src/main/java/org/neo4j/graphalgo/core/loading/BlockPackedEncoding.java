@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.core.huge.AdjacencySkipIndex;
+
+import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodeVLong;
+import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
+
+/**
+ * Writes delta encoded adjacency lists in the {@link org.neo4j.graphalgo.core.AdjacencyEncoding#BLOCK_PACKED} format.
+ * Every block of {@link #BLOCK_SIZE} deltas starts with the first delta as vlong and the bit width of the
+ * largest remaining delta, followed by the remaining deltas packed with that bit width.
+ */
+final class BlockPackedEncoding {
+
+    // blocks need to align with the decompression chunks and the skip index
+    static final int BLOCK_SIZE = AdjacencySkipIndex.BLOCK_SIZE;
+
+    // wider deltas are stored with 64 bits, so that every delta can be read with a single 8 byte read
+    private static final int MAX_PACKED_BITS = 56;
+
+    // a vlong of up to 10 bytes and the bit width per block
+    private static final int MAX_BLOCK_HEADER_SIZE = 11;
+
+    static int maxEncodedSize(int length) {
+        return (int) ceilDiv(length, BLOCK_SIZE) * MAX_BLOCK_HEADER_SIZE + length * Long.BYTES;
+    }
+
+    static int encodeBlocks(long[] deltas, int length, byte[] out, int into) {
+        for (int start = 0; start < length; start += BLOCK_SIZE) {
+            into = encodeBlock(deltas, start, Math.min(length, start + BLOCK_SIZE), out, into);
+        }
+        return into;
+    }
+
+    private static int encodeBlock(long[] deltas, int start, int end, byte[] out, int into) {
+        into = encodeVLong(out, deltas[start], into);
+
+        long allBits = 0L;
+        for (int i = start + 1; i < end; i++) {
+            allBits |= deltas[i];
+        }
+        int bits = Long.SIZE - Long.numberOfLeadingZeros(allBits);
+        if (bits > MAX_PACKED_BITS) {
+            bits = Long.SIZE;
+        }
+        out[into++] = (byte) bits;
+        if (bits == 0) {
+            return into;
+        }
+
+        long buffer = 0L;
+        int bitsInBuffer = 0;
+        for (int i = start + 1; i < end; i++) {
+            long delta = deltas[i];
+            buffer |= delta << bitsInBuffer;
+            bitsInBuffer += bits;
+            if (bitsInBuffer >= Long.SIZE) {
+                into = writeLong(out, into, buffer);
+                bitsInBuffer -= Long.SIZE;
+                // the bits of the delta that did not fit into the flushed buffer
+                buffer = bitsInBuffer == 0 ? 0L : delta >>> (bits - bitsInBuffer);
+            }
+        }
+        for (int written = 0; written < bitsInBuffer; written += Byte.SIZE) {
+            out[into++] = (byte) buffer;
+            buffer >>>= Byte.SIZE;
+        }
+        return into;
+    }
+
+    private static int writeLong(byte[] out, int into, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            out[into++] = (byte) (value >>> (i * Byte.SIZE));
+        }
+        return into;
+    }
+
+    private BlockPackedEncoding() {
+        throw new UnsupportedOperationException("No instances");
+    }
+}
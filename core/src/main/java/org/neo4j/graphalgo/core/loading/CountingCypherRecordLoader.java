@@ -20,7 +20,8 @@
 package org.neo4j.graphalgo.core.loading;
 
 import org.neo4j.graphalgo.api.GraphSetup;
-import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphdb.Result;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
 import java.util.Set;
@@ -32,15 +33,22 @@ class CountingCypherRecordLoader extends CypherRecordLoader<BatchLoadResult> {
     private long total;
 
     CountingCypherRecordLoader(String cypherQuery, QueryType queryType, GraphDatabaseAPI api, GraphSetup setup) {
-        super(cypherQuery, NO_COUNT, api, setup);
+        super(cypherQuery, NO_COUNT, api, setup, ProgressLogger.NULL_LOGGER);
         this.queryType = queryType;
     }
 
     @Override
-    BatchLoadResult loadOneBatch(Transaction tx, long offset, int batchSize, int bufferSize) {
-        ResultCountingVisitor visitor = new ResultCountingVisitor();
-        runLoadingQuery(tx, offset, batchSize).accept(visitor);
-        return new BatchLoadResult(offset, visitor.rows(), -1L, -1L);
+    boolean loadsInParallel() {
+        // counting a row is cheaper than handing it over to another thread
+        return false;
+    }
+
+    @Override
+    void prepare(Result queryResult) { }
+
+    @Override
+    RowVisitor newRowVisitor(int bufferSize) {
+        return new ResultCountingVisitor();
     }
 
     @Override
@@ -50,7 +58,7 @@ class CountingCypherRecordLoader extends CypherRecordLoader<BatchLoadResult> {
 
     @Override
     BatchLoadResult result() {
-        return new BatchLoadResult(0, total, -1L, -1L);
+        return new BatchLoadResult(total, -1L, -1L);
     }
 
     @Override
@@ -68,12 +68,12 @@ public class CypherFactory extends GraphStoreFactory {
             .maxRelCount(relCount.rows())
             .build();
 
-        return NativeFactory.getMemoryEstimation(estimateDimensions);
+        return NativeFactory.getMemoryEstimation(estimateDimensions, setup.adjacencyEncoding());
     }
 
     @Override
     public MemoryEstimation memoryEstimation(GraphDimensions dimensions) {
-        return NativeFactory.getMemoryEstimation(dimensions);
+        return NativeFactory.getMemoryEstimation(dimensions, setup.adjacencyEncoding());
     }
 
     @Override
@@ -87,7 +87,8 @@ public class CypherFactory extends GraphStoreFactory {
                 nodeCount.rows(),
                 api,
                 setup,
-                dimensions
+                dimensions,
+                progressLogger
             ).load(ktx);
 
             RelationshipImportResult relationships = loadRelationships(
@@ -128,7 +129,8 @@ public class CypherFactory extends GraphStoreFactory {
             idsAndProperties.idMap(),
             api,
             setup,
-            nodeLoadDimensions
+            nodeLoadDimensions,
+            progressLogger
         );
 
         CypherRelationshipLoader.LoadResult result = relationshipLoader.load(ktx);
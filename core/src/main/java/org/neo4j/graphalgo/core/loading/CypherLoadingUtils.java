@@ -31,18 +31,20 @@ import static org.neo4j.graphalgo.core.loading.CypherFactory.LIMIT;
 import static org.neo4j.graphalgo.core.loading.CypherFactory.SKIP;
 
 final class CypherLoadingUtils {
-    static final int NO_BATCHING = -1;
 
-    static boolean canBatchLoad(int concurrency, String statement) {
-        return concurrency > 1 &&
-                (statement.contains("{" + LIMIT + "}") || statement.contains("$" + LIMIT)) &&
-                (statement.contains("{" + SKIP + "}") || statement.contains("$" + SKIP));
+    /**
+     * Queries written for the former batched loading page through their result using
+     * {@code $skip} and {@code $limit}. They are still accepted and run in a single pass.
+     */
+    static boolean usesPagingParameters(String statement) {
+        return (statement.contains("{" + LIMIT + "}") || statement.contains("$" + LIMIT)) &&
+               (statement.contains("{" + SKIP + "}") || statement.contains("$" + SKIP));
     }
 
-    public static Map<String, Object> params(Map<String, Object> baseParams, long offset, int batchSize) {
+    public static Map<String, Object> params(Map<String, Object> baseParams) {
         Map<String, Object> params = new HashMap<>(baseParams);
-        params.put(SKIP, offset);
-        params.put(LIMIT, batchSize);
+        params.put(SKIP, 0L);
+        params.put(LIMIT, Long.MAX_VALUE);
         return params;
     }
 
@@ -23,27 +23,49 @@ import org.neo4j.graphalgo.ResolvedPropertyMapping;
 import org.neo4j.graphalgo.ResolvedPropertyMappings;
 import org.apache.commons.compress.utils.Lists;
 import org.neo4j.graphalgo.api.GraphSetup;
-import org.neo4j.graphalgo.core.utils.ArrayUtil;
-import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.compat.NamedThreadFactoryProxy;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ExceptionUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphdb.Result;
 import org.neo4j.graphdb.Transaction;
 import org.neo4j.graphdb.security.AuthorizationViolationException;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
-import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Deque;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.runQueryWithoutClosingTheResult;
 
+/**
+ * Executes a Cypher projection query exactly once and imports its rows.
+ *
+ * With a concurrency of one, the rows are imported on the calling thread.
+ * Otherwise, the calling thread only iterates the query result and copies
+ * the rows into {@link CypherRowBatch batches}, which are handed to
+ * {@code concurrency} importers through a bounded queue. Each importer owns
+ * a {@link RowVisitor} with thread-local batch buffers. When the importers
+ * fall behind, the queue fills up and the query is paused until they caught up.
+ *
+ * The importers run on threads of their own instead of the executor of the setup.
+ * An importer only finishes after the query has been fully consumed, so it must not
+ * wait for a pool thread: a saturated pool either queues the importers behind other
+ * tasks or, like {@link org.neo4j.graphalgo.core.concurrency.Pools#DEFAULT}, blocks
+ * the submitting thread until the task is done. Both would block the query forever.
+ */
 abstract class CypherRecordLoader<R> {
 
     enum QueryType {
@@ -58,27 +80,60 @@ abstract class CypherRecordLoader<R> {
         }
     }
 
+    /**
+     * Visits the rows handed to a single importer and
+     * writes them into thread-local batch buffers.
+     */
+    interface RowVisitor extends Result.ResultVisitor<RuntimeException> {
+
+        /**
+         * Imports all remaining buffered records and returns the totals of this visitor.
+         */
+        BatchLoadResult finish();
+    }
+
     static final long NO_COUNT = -1L;
 
+    static final int ROW_BATCH_SIZE = 10_000;
+
+    // number of row batches that can be queued per importer before the query is paused
+    private static final int QUEUED_BATCHES_PER_IMPORTER = 2;
+
+    private static final CypherRowBatch NO_MORE_ROWS = new CypherRowBatch(Collections.emptyList(), 0);
+
     private final String loadQuery;
     protected final GraphDatabaseAPI api;
     private final long recordCount;
     final GraphSetup setup;
+    private final ProgressLogger progressLogger;
 
-    CypherRecordLoader(String loadQuery, long recordCount, GraphDatabaseAPI api, GraphSetup setup) {
+    CypherRecordLoader(
+        String loadQuery,
+        long recordCount,
+        GraphDatabaseAPI api,
+        GraphSetup setup,
+        ProgressLogger progressLogger
+    ) {
         this.loadQuery = loadQuery;
         this.recordCount = recordCount;
         this.api = api;
         this.setup = setup;
+        this.progressLogger = progressLogger;
     }
 
     final R load(CypherFactory.Ktx ktx) {
         try {
-            if (loadsInParallel()) {
-                parallelLoad(ktx);
-            } else {
-                nonParallelLoad(ktx);
-            }
+            ktx.run(tx -> {
+                try (Result queryResult = runLoadingQuery(tx)) {
+                    prepare(queryResult);
+                    if (loadsInParallel()) {
+                        streamingLoad(queryResult);
+                    } else {
+                        nonParallelLoad(queryResult);
+                    }
+                }
+                return null;
+            });
             return result();
         } catch (AuthorizationViolationException ex) {
             throw new IllegalArgumentException(String.format("Query must be read only. Query: [%s]", loadQuery));
@@ -87,17 +142,25 @@ abstract class CypherRecordLoader<R> {
 
     abstract QueryType queryType();
 
-    abstract BatchLoadResult loadOneBatch(
-        Transaction tx,
-        long offset,
-        int batchSize,
-        int bufferSize
-    );
+    /**
+     * Initializes the loader from the columns of the query result.
+     * Called once, before any row is visited.
+     */
+    abstract void prepare(Result queryResult);
+
+    abstract RowVisitor newRowVisitor(int bufferSize);
 
     abstract void updateCounts(BatchLoadResult result);
 
     abstract R result();
 
+    /**
+     * The number of rows the query is expected to return, used for progress logging only.
+     */
+    long expectedRecordCount() {
+        return recordCount;
+    }
+
     Set<String> getMandatoryColumns() {
         return getReservedColumns();
     }
@@ -113,62 +176,85 @@ abstract class CypherRecordLoader<R> {
             .collect(Collectors.toList());
     }
 
-    private boolean loadsInParallel() {
-        return CypherLoadingUtils.canBatchLoad(setup.concurrency(), loadQuery);
-    }
-
-    private void parallelLoad(CypherFactory.Ktx ktx) {
-        ExecutorService pool = setup.executor();
-
-        final int threads;
-        final int batchSize;
-        final int bufferSize;
-        // if records are not counted we are a counting loader and must count
-        // otherwise we are an importing node/relationship loader and must import
-        if (recordCount == NO_COUNT) {
-            threads = setup.concurrency();
-            batchSize = ArrayUtil.MAX_ARRAY_LENGTH;
-            bufferSize = RecordsBatchBuffer.DEFAULT_BUFFER_SIZE;
-        } else {
-            long optimalNumberOfThreads = BitUtil.ceilDiv(recordCount, ArrayUtil.MAX_ARRAY_LENGTH);
-            threads = (int) Math.min(setup.concurrency(), optimalNumberOfThreads);
-            long optimalBatchSize = BitUtil.ceilDiv(recordCount, threads);
-            batchSize = (int) Math.min(optimalBatchSize, ArrayUtil.MAX_ARRAY_LENGTH);
-            bufferSize = Math.min(RecordsBatchBuffer.DEFAULT_BUFFER_SIZE, batchSize);
+    boolean loadsInParallel() {
+        return setup.concurrency() > 1 && ParallelUtil.canRunInParallel(setup.executor());
+    }
+
+    private int bufferSize() {
+        return recordCount == NO_COUNT
+            ? RecordsBatchBuffer.DEFAULT_BUFFER_SIZE
+            : (int) Math.min(recordCount, RecordsBatchBuffer.DEFAULT_BUFFER_SIZE);
+    }
+
+    private void nonParallelLoad(Result queryResult) {
+        RowVisitor visitor = newRowVisitor(bufferSize());
+        queryResult.accept(visitor);
+        updateCounts(visitor.finish());
+    }
+
+    private void streamingLoad(Result queryResult) {
+        ThreadFactory threadFactory = NamedThreadFactoryProxy.daemon();
+        int importerCount = setup.concurrency();
+        int bufferSize = bufferSize();
+
+        BlockingQueue<CypherRowBatch> queue = new ArrayBlockingQueue<>(importerCount * QUEUED_BATCHES_PER_IMPORTER);
+        AtomicReference<Throwable> importError = new AtomicReference<>();
+
+        List<FutureTask<BatchLoadResult>> importers = new ArrayList<>(importerCount);
+        for (int i = 0; i < importerCount; i++) {
+            FutureTask<BatchLoadResult> importer = new FutureTask<>(new RowImporter(
+                queue,
+                newRowVisitor(bufferSize),
+                importError
+            ));
+            threadFactory.newThread(importer).start();
+            importers.add(importer);
+        }
+
+        RowProducer producer = new RowProducer(queryResult.columns(), queue, importError);
+        try {
+            queryResult.accept(producer);
+            producer.flush();
+            for (int i = 0; i < importerCount; i++) {
+                put(queue, NO_MORE_ROWS);
+            }
+        } catch (Throwable e) {
+            // not all importers might receive the end of the rows, e.g. if the producer has been interrupted,
+            // so they are interrupted instead of being left blocked on the queue
+            importers.forEach(importer -> importer.cancel(true));
+            throw e;
         }
 
-        long offset = 0;
-        long lastOffset = 0;
-        Deque<Future<BatchLoadResult>> futures = new ArrayDeque<>(threads);
-        boolean working = true;
-        do {
-            long skip = offset;
-            futures.add(pool.submit(() -> ktx.fork(tx -> loadOneBatch(tx, skip, batchSize, bufferSize))));
-            offset += batchSize;
-            if (futures.size() >= threads) {
-                Future<BatchLoadResult> oldestTask = futures.removeFirst();
-                BatchLoadResult result = CypherLoadingUtils.get(
-                        "Error during loading relationships offset: " + (lastOffset + batchSize),
-                        oldestTask);
+        for (FutureTask<BatchLoadResult> importer : importers) {
+            BatchLoadResult result = CypherLoadingUtils.get(
+                String.format("Error during loading of the %s query", queryType().toLowerCase()),
+                importer
+            );
+            if (result != null) {
                 updateCounts(result);
-                lastOffset = result.offset();
-                working = result.rows() > 0;
             }
-        } while (working);
-        futures.forEach(f -> f.cancel(false));
+        }
+
+        Throwable error = importError.get();
+        if (error != null) {
+            ExceptionUtil.throwIfUnchecked(error);
+            throw new RuntimeException(error);
+        }
     }
 
-    private void nonParallelLoad(CypherFactory.Ktx ktx) {
-        int bufferSize = (int) Math.min(recordCount, RecordsBatchBuffer.DEFAULT_BUFFER_SIZE);
-        BatchLoadResult result = ktx.run(tx -> loadOneBatch(tx, 0L, CypherLoadingUtils.NO_BATCHING, bufferSize));
-        updateCounts(result);
+    private static void put(BlockingQueue<CypherRowBatch> queue, CypherRowBatch batch) {
+        try {
+            queue.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while queueing rows for import", e);
+        }
     }
 
-    Result runLoadingQuery(Transaction tx, long offset, int batchSize) {
-        Map<String, Object> parameters =
-            batchSize == CypherLoadingUtils.NO_BATCHING
-                ? setup.parameters()
-                : CypherLoadingUtils.params(setup.parameters(), offset, batchSize);
+    Result runLoadingQuery(Transaction tx) {
+        Map<String, Object> parameters = CypherLoadingUtils.usesPagingParameters(loadQuery)
+            ? CypherLoadingUtils.params(setup.parameters())
+            : setup.parameters();
         Result result = runQueryWithoutClosingTheResult(api, tx, loadQuery, parameters);
         validateMandatoryColumns(Lists.newArrayList(result.columns().iterator()));
         return result;
@@ -208,4 +294,97 @@ abstract class CypherRecordLoader<R> {
         }
     }
 
+    /**
+     * Copies the query result into row batches and blocks while the queue is full.
+     * Stops early if one of the importers failed.
+     */
+    private final class RowProducer implements Result.ResultVisitor<RuntimeException> {
+
+        private final BlockingQueue<CypherRowBatch> queue;
+        private final AtomicReference<Throwable> importError;
+        private final long expectedRows;
+
+        private CypherRowBatch batch;
+        private long rows;
+
+        RowProducer(
+            List<String> columns,
+            BlockingQueue<CypherRowBatch> queue,
+            AtomicReference<Throwable> importError
+        ) {
+            this.queue = queue;
+            this.importError = importError;
+            this.expectedRows = Math.max(1L, expectedRecordCount());
+            this.batch = new CypherRowBatch(columns, ROW_BATCH_SIZE);
+        }
+
+        @Override
+        public boolean visit(Result.ResultRow row) {
+            batch.add(row);
+            if (batch.isFull()) {
+                flush();
+                batch = batch.newBatch();
+            }
+            return importError.get() == null;
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            put(queue, batch);
+            rows += batch.length();
+            progressLogger.logProgress(
+                Math.min(1.0, (double) rows / expectedRows),
+                () -> String.format("%s query: %d rows", queryType().capitalize(), rows)
+            );
+        }
+    }
+
+    /**
+     * Imports row batches until the producer signals that there are no more rows.
+     * After a failure, the importer keeps draining the queue so that the producer is never blocked.
+     */
+    private static final class RowImporter implements Callable<BatchLoadResult> {
+
+        private final BlockingQueue<CypherRowBatch> queue;
+        private final RowVisitor visitor;
+        private final AtomicReference<Throwable> importError;
+
+        RowImporter(
+            BlockingQueue<CypherRowBatch> queue,
+            RowVisitor visitor,
+            AtomicReference<Throwable> importError
+        ) {
+            this.queue = queue;
+            this.visitor = visitor;
+            this.importError = importError;
+        }
+
+        @Override
+        public BatchLoadResult call() throws InterruptedException {
+            boolean failed = false;
+            CypherRowBatch batch;
+            while ((batch = queue.take()) != NO_MORE_ROWS) {
+                if (failed) {
+                    continue;
+                }
+                try {
+                    batch.accept(visitor);
+                } catch (Throwable e) {
+                    failed = true;
+                    importError.compareAndSet(null, e);
+                }
+            }
+            if (failed) {
+                return null;
+            }
+            try {
+                return visitor.finish();
+            } catch (Throwable e) {
+                importError.compareAndSet(null, e);
+                return null;
+            }
+        }
+    }
 }
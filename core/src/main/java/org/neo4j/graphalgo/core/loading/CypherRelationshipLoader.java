@@ -36,9 +36,9 @@ import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphdb.Result;
-import org.neo4j.graphdb.Transaction;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
 import java.util.Collection;
@@ -73,7 +73,7 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
     private int[] propertyKeyIds;
     private double[] propertyDefaultValues;
     private Aggregation[] aggregations;
-    private boolean initializedFromResult;
+    private boolean isAnyRelTypeQuery;
 
     private GraphDimensions resultDimensions;
 
@@ -82,9 +82,10 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
         IdMap idMap,
         GraphDatabaseAPI api,
         GraphSetup setup,
-        GraphDimensions dimensions
+        GraphDimensions dimensions,
+        ProgressLogger progressLogger
     ) {
-        super(relationshipQuery, idMap.nodeCount(), api, setup);
+        super(relationshipQuery, idMap.nodeCount(), api, setup, progressLogger);
         this.idMap = idMap;
         this.outerDimensions = dimensions;
         this.loaderContext = new Context();
@@ -120,12 +121,7 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
         GraphDimensions newDimensions = ImmutableGraphDimensions.builder()
             .from(dimensions)
             .relationshipProperties(ResolvedPropertyMappings.of(dimensions.relationshipProperties().stream()
-                .map(mapping -> PropertyMapping.of(
-                    mapping.propertyKey(),
-                    mapping.neoPropertyKey(),
-                    mapping.defaultValue(),
-                    mapping.aggregation()
-                ))
+                .map(PropertyMapping::of)
                 .map(mapping -> mapping.resolveWith(propertyKeyIdsByName.get(mapping.neoPropertyKey())))
                 .collect(Collectors.toList())))
             .build();
@@ -139,16 +135,13 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
     }
 
     @Override
-    BatchLoadResult loadOneBatch(Transaction tx, long offset, int batchSize, int bufferSize) {
-        Result queryResult = runLoadingQuery(tx, offset, batchSize);
-
+    void prepare(Result queryResult) {
         List<String> allColumns = queryResult.columns();
 
         // If the user specifies property mappings, we use those.
         // Otherwise, we create new property mappings from the result columns.
-        // We do that only once, as each batch has the same columns.
         Collection<String> propertyColumns = getPropertyColumns(queryResult);
-        if (!hasExplicitPropertyMappings && !initializedFromResult) {
+        if (!hasExplicitPropertyMappings) {
             List<ResolvedPropertyMapping> propertyMappings = propertyColumns
                 .stream()
                 .map(propertyColumn -> PropertyMapping.of(
@@ -166,20 +159,20 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
                 .build();
 
             resultDimensions = initFromDimension(innerDimensions);
-
-            initializedFromResult = true;
-        } else if (!initializedFromResult) {
+        } else {
             validatePropertyColumns(propertyColumns, outerDimensions.relationshipProperties());
-            initializedFromResult = true;
         }
 
-        boolean isAnyRelTypeQuery = !allColumns.contains(RelationshipRowVisitor.TYPE_COLUMN);
+        isAnyRelTypeQuery = !allColumns.contains(RelationshipRowVisitor.TYPE_COLUMN);
 
         if (isAnyRelTypeQuery) {
             loaderContext.getOrCreateImporterBuilder(RelationshipProjectionMapping.all());
         }
+    }
 
-        RelationshipRowVisitor visitor = new RelationshipRowVisitor(
+    @Override
+    RowVisitor newRowVisitor(int bufferSize) {
+        return new RelationshipRowVisitor(
             idMap,
             loaderContext,
             propertyKeyIdsByName,
@@ -187,10 +180,13 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
             bufferSize,
             isAnyRelTypeQuery
         );
+    }
 
-        queryResult.accept(visitor);
-        visitor.flushAll();
-        return new BatchLoadResult(offset, visitor.rows(), -1L, visitor.relationshipCount());
+    @Override
+    long expectedRecordCount() {
+        // the query may filter or synthesize relationships,
+        // the number of relationships in the database is an estimate
+        return outerDimensions.maxRelCount();
     }
 
     @Override
@@ -266,7 +262,8 @@ class CypherRelationshipLoader extends CypherRecordLoader<CypherRelationshipLoad
             RelationshipsBuilder builder = new RelationshipsBuilder(
                 aggregations,
                 setup.tracker(),
-                propertyKeyIds.length
+                resultDimensions.relationshipPropertyEncodings(),
+                setup.adjacencyEncoding()
             );
 
             allBuilders.put(typeMapping, builder);
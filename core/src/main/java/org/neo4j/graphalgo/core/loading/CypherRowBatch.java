@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Path;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.Result;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A detached batch of Cypher result rows.
+ *
+ * The values of each row are copied out of the query result so that the
+ * batch can be handed to an importer running on a different thread than
+ * the one which executes the query.
+ * Rows are replayed to a {@link Result.ResultVisitor} through a single
+ * reusable {@link Result.ResultRow} view.
+ */
+final class CypherRowBatch {
+
+    private static final int NO_SUCH_COLUMN = -1;
+
+    private final List<String> columns;
+    private final ObjectIntHashMap<String> columnIndex;
+    private final Object[][] rows;
+    private int length;
+
+    CypherRowBatch(List<String> columns, int capacity) {
+        this(columns, columnIndex(columns), capacity);
+    }
+
+    private CypherRowBatch(List<String> columns, ObjectIntHashMap<String> columnIndex, int capacity) {
+        this.columns = columns;
+        this.columnIndex = columnIndex;
+        this.rows = new Object[capacity][];
+    }
+
+    /**
+     * Creates an empty batch with the same columns and capacity, sharing the column index.
+     */
+    CypherRowBatch newBatch() {
+        return new CypherRowBatch(columns, columnIndex, rows.length);
+    }
+
+    void add(Result.ResultRow row) {
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = row.get(columns.get(i));
+        }
+        rows[length++] = values;
+    }
+
+    boolean isFull() {
+        return length >= rows.length;
+    }
+
+    boolean isEmpty() {
+        return length == 0;
+    }
+
+    int length() {
+        return length;
+    }
+
+    void accept(Result.ResultVisitor<RuntimeException> visitor) {
+        RowView view = new RowView();
+        for (int i = 0; i < length; i++) {
+            view.values = rows[i];
+            if (!visitor.visit(view)) {
+                return;
+            }
+        }
+    }
+
+    private static ObjectIntHashMap<String> columnIndex(List<String> columns) {
+        ObjectIntHashMap<String> columnIndex = new ObjectIntHashMap<>(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            columnIndex.put(columns.get(i), i);
+        }
+        return columnIndex;
+    }
+
+    private final class RowView implements Result.ResultRow {
+
+        private Object[] values;
+
+        @Override
+        public Object get(String key) {
+            int index = columnIndex.getIfAbsent(key, NO_SUCH_COLUMN);
+            if (index == NO_SUCH_COLUMN) {
+                throw new NoSuchElementException(String.format(
+                    "No column '%s' exists, available columns are: %s",
+                    key,
+                    columns
+                ));
+            }
+            return values[index];
+        }
+
+        @Override
+        public Node getNode(String key) {
+            return get(key, Node.class);
+        }
+
+        @Override
+        public Relationship getRelationship(String key) {
+            return get(key, Relationship.class);
+        }
+
+        @Override
+        public String getString(String key) {
+            return get(key, String.class);
+        }
+
+        @Override
+        public Number getNumber(String key) {
+            return get(key, Number.class);
+        }
+
+        @Override
+        public Boolean getBoolean(String key) {
+            return get(key, Boolean.class);
+        }
+
+        @Override
+        public Path getPath(String key) {
+            return get(key, Path.class);
+        }
+
+        private <T> T get(String key, Class<T> type) {
+            Object value = get(key);
+            if (value == null || type.isInstance(value)) {
+                return type.cast(value);
+            }
+            throw new ClassCastException(String.format(
+                "Expected column '%s' to be of type %s, but was %s",
+                key,
+                type.getSimpleName(),
+                value.getClass().getSimpleName()
+            ));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.PagedLongDoubleMap;
+
+import java.util.OptionalLong;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+
+/**
+ * Node properties that are stored in an array with one slot per node.
+ * Used for properties that are defined for most of the nodes, where a lookup by array index is faster and
+ * takes less memory than the hash lookup in {@link NodePropertyMap}.
+ */
+public final class DenseNodePropertyMap implements NodeProperties {
+
+    private HugeDoubleArray properties;
+    private BitSet hasProperty;
+    private final double defaultValue;
+    private final OptionalLong maxValue;
+    private final long size;
+
+    static long memoryEstimation(long nodeCount) {
+        return sizeOfInstance(DenseNodePropertyMap.class) +
+               HugeDoubleArray.memoryEstimation(nodeCount) +
+               MemoryUsage.sizeOfBitset(nodeCount);
+    }
+
+    /**
+     * Moves all values from the given map into a new dense property map. The map is released afterwards.
+     */
+    static DenseNodePropertyMap of(
+        PagedLongDoubleMap sparseProperties,
+        long nodeCount,
+        double defaultValue,
+        AllocationTracker tracker
+    ) {
+        long size = sparseProperties.size();
+        OptionalLong maxValue = sparseProperties.getMaxValue();
+        long capacity = sparseProperties.keyBound(nodeCount);
+
+        HugeDoubleArray properties = HugeDoubleArray.newArray(capacity, tracker);
+        properties.fill(defaultValue);
+        BitSet hasProperty = new BitSet(capacity);
+        tracker.add(MemoryUsage.sizeOfBitset(capacity));
+
+        sparseProperties.forEachAndRelease((nodeId, value) -> {
+            properties.set(nodeId, value);
+            hasProperty.set(nodeId);
+        });
+
+        return new DenseNodePropertyMap(properties, hasProperty, defaultValue, maxValue, size);
+    }
+
+    /**
+     * Creates a property map from already filled arrays, where {@code hasProperty} marks the nodes that have a value.
+     */
+    static DenseNodePropertyMap of(
+        HugeDoubleArray properties,
+        BitSet hasProperty,
+        double defaultValue,
+        OptionalLong maxValue,
+        long size
+    ) {
+        return new DenseNodePropertyMap(properties, hasProperty, defaultValue, maxValue, size);
+    }
+
+    private DenseNodePropertyMap(
+        HugeDoubleArray properties,
+        BitSet hasProperty,
+        double defaultValue,
+        OptionalLong maxValue,
+        long size
+    ) {
+        this.properties = properties;
+        this.hasProperty = hasProperty;
+        this.defaultValue = defaultValue;
+        this.maxValue = maxValue;
+        this.size = size;
+    }
+
+    @Override
+    public double nodeProperty(long nodeId) {
+        return nodeId < properties.size() ? properties.get(nodeId) : defaultValue;
+    }
+
+    @Override
+    public double nodeProperty(long nodeId, double defaultValue) {
+        return hasProperty.get(nodeId) ? properties.get(nodeId) : defaultValue;
+    }
+
+    @Override
+    public OptionalLong getMaxPropertyValue() {
+        return maxValue;
+    }
+
+    @Override
+    public long release() {
+        if (properties != null) {
+            long freed = properties.release() + MemoryUsage.sizeOfBitset(hasProperty.size());
+            properties = null;
+            hasProperty = null;
+            return freed;
+        }
+        return 0L;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+}
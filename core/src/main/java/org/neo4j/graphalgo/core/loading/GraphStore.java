@@ -21,14 +21,19 @@ package org.neo4j.graphalgo.core.loading;
 
 import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.tuple.Tuples;
+import org.neo4j.graphalgo.RelationshipProjection;
+import org.neo4j.graphalgo.RelationshipProjections;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.IdMapping;
 import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
 import org.neo4j.graphalgo.core.ProcedureConstants;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.huge.UnionGraph;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -56,6 +61,10 @@ public final class GraphStore {
 
     private final Map<String, Map<String, HugeGraph.PropertyCSR>> relationshipProperties;
 
+    private final Map<String, RelationshipDelta> relationshipDeltas;
+
+    private final Map<String, RelationshipProjection> relationshipProjections;
+
     private final Set<Graph> createdGraphs;
 
     private final AllocationTracker tracker;
@@ -109,8 +118,10 @@ public final class GraphStore {
     ) {
         this.nodes = nodes;
         this.nodeProperties = new ConcurrentHashMap<>(nodeProperties);
-        this.relationships = relationships;
-        this.relationshipProperties = relationshipProperties;
+        this.relationships = new ConcurrentHashMap<>(relationships);
+        this.relationshipProperties = new ConcurrentHashMap<>(relationshipProperties);
+        this.relationshipDeltas = new HashMap<>();
+        this.relationshipProjections = new HashMap<>();
         this.createdGraphs = new HashSet<>();
         this.tracker = tracker;
     }
@@ -119,6 +130,10 @@ public final class GraphStore {
         return this.nodes;
     }
 
+    IdMap idMap() {
+        return this.nodes;
+    }
+
     public Set<String> nodePropertyKeys() {
         return nodeProperties.keySet();
     }
@@ -147,14 +162,24 @@ public final class GraphStore {
         return relationships.containsKey(relationshipType);
     }
 
-    public long relationshipCount() {
-        return relationships.values().stream()
-            .mapToLong(HugeGraph.TopologyCSR::elementCount)
+    /**
+     * Returns the number of relationships, including changes that have not been compacted yet.
+     */
+    public synchronized long relationshipCount() {
+        return relationships.keySet().stream()
+            .mapToLong(this::relationshipCount)
             .sum();
     }
 
-    public long relationshipCount(String relationshipType) {
-        return relationships.get(relationshipType).elementCount();
+    /**
+     * Returns the number of relationships of the given type, including changes that have not been compacted yet.
+     */
+    public synchronized long relationshipCount(String relationshipType) {
+        HugeGraph.TopologyCSR topology = relationships.get(relationshipType);
+        RelationshipDelta delta = relationshipDeltas.get(relationshipType);
+        return delta == null
+            ? topology.elementCount()
+            : delta.relationshipCount(topology, relationshipProjection(relationshipType));
     }
 
     public long relationshipPropertyCount() {
@@ -165,6 +190,14 @@ public final class GraphStore {
             .sum();
     }
 
+    HugeGraph.TopologyCSR topology(String relationshipType) {
+        return relationships.get(relationshipType);
+    }
+
+    Map<String, HugeGraph.PropertyCSR> relationshipProperties(String relationshipType) {
+        return relationshipProperties.getOrDefault(relationshipType, Collections.emptyMap());
+    }
+
     public Set<Pair<String, Optional<String>>> relationshipPropertyKeys() {
         return this.relationshipTypes().stream().flatMap(relType -> {
             if (relationshipProperties.containsKey(relType)) {
@@ -192,6 +225,58 @@ public final class GraphStore {
         }
     }
 
+    /**
+     * Records a new relationship between two nodes of the graph, given by their original node ids.
+     * Properties of the relationship type that are not given are set to their default value.
+     * The relationship becomes visible to graphs that are created after the change, see {@link #compact(int)}.
+     */
+    public synchronized void addRelationship(
+        String relationshipType,
+        long sourceNodeId,
+        long targetNodeId,
+        Map<String, Double> properties
+    ) {
+        relationshipDelta(relationshipType).add(
+            mappedNodeId(sourceNodeId),
+            mappedNodeId(targetNodeId),
+            properties
+        );
+    }
+
+    /**
+     * Records the removal of all relationships between two nodes of the graph, given by their original node ids.
+     * The removal becomes visible to graphs that are created after the change, see {@link #compact(int)}.
+     */
+    public synchronized void removeRelationship(String relationshipType, long sourceNodeId, long targetNodeId) {
+        relationshipDelta(relationshipType).remove(mappedNodeId(sourceNodeId), mappedNodeId(targetNodeId));
+    }
+
+    /**
+     * Sets the projections the relationship types have been loaded with.
+     * They define how parallel relationships are aggregated when recorded changes are compacted,
+     * types without a projection keep all parallel relationships.
+     */
+    public synchronized void setRelationshipProjections(RelationshipProjections relationshipProjections) {
+        this.relationshipProjections.clear();
+        relationshipProjections.projections().forEach((identifier, projection) ->
+            this.relationshipProjections.put(identifier.name, projection)
+        );
+    }
+
+    public synchronized boolean hasPendingChanges() {
+        return !relationshipDeltas.isEmpty();
+    }
+
+    /**
+     * Merges all recorded relationship changes into new adjacency and property lists.
+     * Graphs that have been created before keep using the previous lists.
+     * Pending changes are also merged when a graph is created, so calling this is only
+     * necessary to control when and with which concurrency the work is done.
+     */
+    public void compact(int concurrency) {
+        compact(PROJECT_ALL.name, concurrency);
+    }
+
     public Graph getGraph(String... relationshipTypes) {
         return getGraph(Arrays.asList(relationshipTypes), Optional.empty());
     }
@@ -202,10 +287,12 @@ public final class GraphStore {
 
     public Graph getGraph(List<String> relationshipTypes, Optional<String> maybeRelationshipProperty) {
         validateInput(relationshipTypes, maybeRelationshipProperty);
+        relationshipTypes.forEach(relationshipType -> compact(relationshipType, AlgoBaseConfig.DEFAULT_CONCURRENCY));
         return createGraph(relationshipTypes, maybeRelationshipProperty);
     }
 
     public Graph getUnion() {
+        compact(AlgoBaseConfig.DEFAULT_CONCURRENCY);
         return UnionGraph.of(relationships
             .keySet()
             .stream()
@@ -231,11 +318,90 @@ public final class GraphStore {
         return nodes.nodeCount();
     }
 
+    /**
+     * @return the memory that has been tracked for this graph store, or {@code 0}
+     *         if it has been created without an {@link AllocationTracker}
+     */
+    public long sizeInBytes() {
+        return tracker.tracked();
+    }
+
+    private RelationshipDelta relationshipDelta(String relationshipType) {
+        if (!relationships.containsKey(relationshipType)) {
+            throw new IllegalArgumentException(String.format(
+                "No relationships have been loaded for relationship type '%s'",
+                relationshipType
+            ));
+        }
+        return relationshipDeltas.computeIfAbsent(relationshipType, type -> new RelationshipDelta(
+            nodes,
+            relationships.get(type),
+            relationshipProperties(type)
+        ));
+    }
+
+    private Optional<RelationshipProjection> relationshipProjection(String relationshipType) {
+        return Optional.ofNullable(relationshipProjections.get(relationshipType));
+    }
+
+    private long mappedNodeId(long nodeId) {
+        long mappedNodeId = nodes.toMappedNodeId(nodeId);
+        if (mappedNodeId == -1L) {
+            throw new IllegalArgumentException(String.format(
+                "Node with id %d is not part of the graph",
+                nodeId
+            ));
+        }
+        return mappedNodeId;
+    }
+
+    private synchronized void compact(String relationshipType, int concurrency) {
+        if (relationshipDeltas.isEmpty()) {
+            return;
+        }
+        Collection<String> relationshipTypes = relationshipType.equals(PROJECT_ALL.name)
+            ? new ArrayList<>(relationshipDeltas.keySet())
+            : singletonList(relationshipType);
+
+        for (String type : relationshipTypes) {
+            RelationshipDelta delta = relationshipDeltas.remove(type);
+            if (delta != null && !delta.isEmpty()) {
+                HugeGraph.TopologyCSR topology = relationships.get(type);
+                Map<String, HugeGraph.PropertyCSR> properties = relationshipProperties(type);
+                // the buffers of the compaction are tracked separately, only the compacted lists are added to the graph
+                Pair<HugeGraph.TopologyCSR, Map<String, HugeGraph.PropertyCSR>> compacted = delta.compact(
+                    topology,
+                    properties,
+                    relationshipProjection(type),
+                    concurrency,
+                    Pools.DEFAULT,
+                    AllocationTracker.create(tracker.allocationMode())
+                );
+                relationships.put(type, compacted.getOne());
+                if (!compacted.getTwo().isEmpty()) {
+                    relationshipProperties.put(type, compacted.getTwo());
+                }
+                tracker.add(sizeInBytes(compacted.getOne()));
+                compacted.getTwo().values().forEach(propertyCSR -> tracker.add(sizeInBytes(propertyCSR)));
+                // graphs that have been created before might still read the replaced lists,
+                // so they are left to the garbage collector instead of being released
+                tracker.remove(sizeInBytes(topology));
+                properties.values().forEach(propertyCSR -> tracker.remove(sizeInBytes(propertyCSR)));
+            }
+        }
+    }
+
+    private static long sizeInBytes(HugeGraph.TopologyCSR topology) {
+        return topology.list().sizeInBytes()
+               + topology.offsets().sizeInBytes()
+               + topology.skipIndex().sizeInBytes();
+    }
+
     private Graph createGraph(String relationshipType, Optional<String> maybeRelationshipProperty) {
         return createGraph(singletonList(relationshipType), maybeRelationshipProperty);
     }
 
-    private Graph createGraph(List<String> relationshipTypes, Optional<String> maybeRelationshipProperty) {
+    private synchronized Graph createGraph(List<String> relationshipTypes, Optional<String> maybeRelationshipProperty) {
         boolean loadAllRelationships = relationshipTypes.contains(PROJECT_ALL.name);
 
         List<Graph> filteredGraphs = relationships.entrySet().stream()
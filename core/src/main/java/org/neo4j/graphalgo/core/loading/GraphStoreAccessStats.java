@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.annotation.ValueClass;
+
+import java.time.LocalDateTime;
+
+/**
+ * Usage statistics of a graph in the {@link GraphStoreCatalog}.
+ */
+@ValueClass
+public interface GraphStoreAccessStats {
+
+    /**
+     * The memory tracked for the graph, which is counted against the memory budget of the catalog.
+     */
+    long sizeInBytes();
+
+    /**
+     * How often the graph has been retrieved from the catalog.
+     */
+    long accessCount();
+
+    /**
+     * When the graph has been retrieved from the catalog the last time, or its creation time if it never was.
+     */
+    LocalDateTime lastAccessTime();
+}
@@ -21,24 +21,72 @@ package org.neo4j.graphalgo.core.loading;
 
 import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.util.FeatureToggles;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Holds the named graphs of all users.
+ * <p>
+ * The catalog is limited by a global memory budget, which is read from the
+ * {@code org.neo4j.graphalgo.core.loading.GraphStoreCatalog.memoryBudget} feature toggle
+ * and can be changed at runtime using {@link #setMemoryBudget(long)}.
+ * Once the tracked memory of all graphs exceeds the budget, the least recently used graphs
+ * of any user are evicted from the catalog, except for the graph that has just been added.
+ * Evicted graphs are not released, as they might still be used by running algorithms.
+ * <p>
+ * If the {@code org.neo4j.graphalgo.core.loading.GraphStoreCatalog.spillEvictedGraphs} feature toggle is enabled,
+ * evicted graphs are written to a {@link GraphStoreSnapshot} and loaded back transparently when they are used again.
+ * These spill files are stored in a directory that is owned by the catalog, which is read from the
+ * {@code org.neo4j.graphalgo.core.loading.GraphStoreCatalog.spillDirectory} system property, and never overwrite
+ * the snapshots that users create explicitly. A spill file is deleted once its graph is restored or dropped.
+ */
 public final class GraphStoreCatalog {
 
     private static final ConcurrentHashMap<String, UserCatalog> userCatalogs = new ConcurrentHashMap<>();
 
+    // orders accesses to graphs of all users, used to find the least recently used graph
+    private static final AtomicLong accessClock = new AtomicLong();
+
+    private static volatile long memoryBudget = FeatureToggles.getLong(
+        GraphStoreCatalog.class,
+        "memoryBudget",
+        Long.MAX_VALUE
+    );
+
+    private static volatile boolean spillEvictedGraphs = FeatureToggles.flag(
+        GraphStoreCatalog.class,
+        "spillEvictedGraphs",
+        false
+    );
+
+    private static volatile Path spillDirectory = Paths.get(System.getProperty(
+        GraphStoreCatalog.class.getName() + ".spillDirectory",
+        Paths.get(System.getProperty("java.io.tmpdir"), "gds-spill").toString()
+    ));
+
     private GraphStoreCatalog() { }
 
     public static void set(GraphCreateConfig config, GraphStore graphStore) {
         graphStore.canRelease(false);
+        graphStore.setRelationshipProjections(config.relationshipProjections());
         userCatalogs.compute(config.username(), (user, userCatalog) -> {
             if (userCatalog == null) {
                 userCatalog = new UserCatalog();
@@ -46,6 +94,7 @@ public final class GraphStoreCatalog {
             userCatalog.set(config, graphStore);
             return userCatalog;
         });
+        evictLeastRecentlyUsed(graphStore);
     }
 
     public static Graph get(
@@ -54,24 +103,44 @@ public final class GraphStoreCatalog {
         String relationshipType,
         Optional<String> maybeRelationshipProperty
     ) {
+        restoreIfSpilled(username, graphName);
         return getUserCatalog(username).get(graphName, relationshipType, maybeRelationshipProperty);
     }
 
     public static Optional<Graph> getUnion(String username, String graphName) {
+        restoreIfSpilled(username, graphName);
         return getUserCatalog(username).getUnion(graphName);
     }
 
     public static boolean exists(String username, String graphName) {
-        return getUserCatalog(username).exists(graphName);
+        UserCatalog userCatalog = getUserCatalog(username);
+        return userCatalog.exists(graphName) || userCatalog.isSpilled(graphName);
     }
 
     public static @Nullable Graph remove(String username, String graphName) {
+        if (removeIfSpilled(username, graphName) != null) {
+            return null;
+        }
         return Optional
             .ofNullable(getUserCatalog(username).remove(graphName))
             .orElse(null);
     }
 
-    public static void remove(String username, String graphName, Consumer<GraphStoreWithConfig> graphRemovedConsumer) {
+    /**
+     * Removes a named graph and releases its storage. A spilled graph is not loaded back,
+     * instead its spill file is deleted and the {@code spilledGraphRemovedConsumer} is called.
+     */
+    public static void remove(
+        String username,
+        String graphName,
+        Consumer<GraphStoreWithConfig> graphRemovedConsumer,
+        Consumer<SpilledGraph> spilledGraphRemovedConsumer
+    ) {
+        SpilledGraph spilledGraph = removeIfSpilled(username, graphName);
+        if (spilledGraph != null) {
+            spilledGraphRemovedConsumer.accept(spilledGraph);
+            return;
+        }
         GraphStoreWithConfig graphStoreWithConfig = Optional.ofNullable(getUserCatalog(username).removeWithoutRelease(graphName))
             .orElseThrow(failOnNonExistentGraph(graphName));
 
@@ -86,7 +155,10 @@ public final class GraphStoreCatalog {
         return userCatalogs.getOrDefault(username, UserCatalog.EMPTY);
     }
 
-    public static void removeAllLoadedGraphs() {
+    public static synchronized void removeAllLoadedGraphs() {
+        userCatalogs.forEach((username, userCatalog) -> userCatalog.spilledGraphs
+            .keySet()
+            .forEach(graphName -> deleteSpillFile(username, graphName)));
         userCatalogs.clear();
     }
 
@@ -94,6 +166,131 @@ public final class GraphStoreCatalog {
         return getUserCatalog(username).getLoadedGraphs();
     }
 
+    /**
+     * Returns usage statistics of a graph without counting as an access to it.
+     */
+    public static Optional<GraphStoreAccessStats> accessStats(String username, String graphName) {
+        return getUserCatalog(username).accessStats(graphName);
+    }
+
+    public static void setSpillEvictedGraphs(boolean spill) {
+        spillEvictedGraphs = spill;
+    }
+
+    /**
+     * The directory in which evicted graphs are spilled, separate from the snapshots in {@link GraphStoreSnapshot#directory()}.
+     */
+    public static Path spillDirectory() {
+        return spillDirectory;
+    }
+
+    public static void setSpillDirectory(Path directory) {
+        spillDirectory = directory;
+    }
+
+    public static long memoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Sets the maximum number of bytes that the graphs of all users can occupy,
+     * evicting graphs immediately if the new budget is already exceeded.
+     */
+    public static void setMemoryBudget(long memoryBudgetInBytes) {
+        if (memoryBudgetInBytes < 0) {
+            throw new IllegalArgumentException(String.format(
+                "The memory budget must not be negative, but got %d.",
+                memoryBudgetInBytes
+            ));
+        }
+        memoryBudget = memoryBudgetInBytes;
+        evictLeastRecentlyUsed(null);
+    }
+
+    /**
+     * @return the tracked memory of all graphs in the catalog
+     */
+    public static long memoryUsage() {
+        return userCatalogs.values().stream().mapToLong(UserCatalog::memoryUsage).sum();
+    }
+
+    /**
+     * Evicts graphs if the given graph store has grown beyond the memory budget of the catalog,
+     * e.g. after compacting its relationship deltas. The given graph store itself is never evicted.
+     */
+    public static void graphStoreChanged(GraphStore changedGraphStore) {
+        evictLeastRecentlyUsed(changedGraphStore);
+    }
+
+    private static synchronized void evictLeastRecentlyUsed(@Nullable GraphStore protectedGraphStore) {
+        while (memoryUsage() > memoryBudget) {
+            Optional<CatalogEntry> leastRecentlyUsed = userCatalogs
+                .values()
+                .stream()
+                .flatMap(userCatalog -> userCatalog.graphsByName.values().stream())
+                .filter(entry -> entry.graphStoreWithConfig.graphStore() != protectedGraphStore)
+                .min(Comparator.comparingLong(entry -> entry.lastAccess));
+            if (!leastRecentlyUsed.isPresent()) {
+                return;
+            }
+            CatalogEntry evicted = leastRecentlyUsed.get();
+            GraphCreateConfig config = evicted.graphStoreWithConfig.config();
+            SpilledGraph spilledGraph = null;
+            if (spillEvictedGraphs) {
+                GraphStore graphStore = evicted.graphStoreWithConfig.graphStore();
+                GraphStoreSnapshot.write(evicted.graphStoreWithConfig, spillFile(config.username(), config.graphName()));
+                spilledGraph = ImmutableSpilledGraph.of(
+                    config,
+                    graphStore.nodeCount(),
+                    graphStore.relationshipCount(),
+                    evicted.stats()
+                );
+            }
+            getUserCatalog(config.username()).evict(config.graphName(), spilledGraph);
+        }
+    }
+
+    private static void restoreIfSpilled(String username, String graphName) {
+        if (getUserCatalog(username).isSpilled(graphName)) {
+            restore(username, graphName);
+        }
+    }
+
+    private static synchronized void restore(String username, String graphName) {
+        // the graph might have been restored by another thread in the meantime
+        if (!getUserCatalog(username).isSpilled(graphName)) {
+            return;
+        }
+        GraphStoreWithConfig graphStoreWithConfig = GraphStoreSnapshot.read(
+            spillFile(username, graphName),
+            username,
+            AlgoBaseConfig.DEFAULT_CONCURRENCY
+        );
+        set(graphStoreWithConfig.config(), graphStoreWithConfig.graphStore());
+        deleteSpillFile(username, graphName);
+    }
+
+    private static synchronized @Nullable SpilledGraph removeIfSpilled(String username, String graphName) {
+        SpilledGraph spilledGraph = getUserCatalog(username).removeSpilled(graphName);
+        if (spilledGraph != null) {
+            deleteSpillFile(username, graphName);
+        }
+        return spilledGraph;
+    }
+
+    private static Path spillFile(String username, String graphName) {
+        return GraphStoreSnapshot.file(spillDirectory, username, graphName);
+    }
+
+    private static void deleteSpillFile(String username, String graphName) {
+        Path file = spillFile(username, graphName);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Could not delete spilled graph %s", file), e);
+        }
+    }
+
     private static Supplier<RuntimeException> failOnNonExistentGraph(String graphName) {
         return () -> new IllegalArgumentException(String.format(
             "Graph with name `%s` does not exist and can't be removed.",
@@ -105,32 +302,79 @@ public final class GraphStoreCatalog {
         String username,
         String graphName
     ) {
+        restoreIfSpilled(username, graphName);
         return getUserCatalog(username).get(graphName);
     }
 
+    private static final class CatalogEntry {
+
+        private final GraphStoreWithConfig graphStoreWithConfig;
+        private final AtomicLong accessCount;
+        private volatile long lastAccess;
+        private volatile LocalDateTime lastAccessTime;
+
+        CatalogEntry(GraphStoreWithConfig graphStoreWithConfig) {
+            this.graphStoreWithConfig = graphStoreWithConfig;
+            this.accessCount = new AtomicLong();
+            this.lastAccess = accessClock.incrementAndGet();
+            this.lastAccessTime = graphStoreWithConfig.config().creationTime();
+        }
+
+        GraphStoreWithConfig access() {
+            accessCount.incrementAndGet();
+            lastAccess = accessClock.incrementAndGet();
+            lastAccessTime = LocalDateTime.now();
+            return graphStoreWithConfig;
+        }
+
+        /**
+         * Graph stores can grow after they have been added, e.g. when relationship deltas are compacted,
+         * so their size is read every time instead of once when they are added to the catalog.
+         */
+        long sizeInBytes() {
+            return graphStoreWithConfig.graphStore().sizeInBytes();
+        }
+
+        GraphStoreAccessStats stats() {
+            return ImmutableGraphStoreAccessStats.of(sizeInBytes(), accessCount.get(), lastAccessTime);
+        }
+    }
+
     private static class UserCatalog {
 
         private static final UserCatalog EMPTY = new UserCatalog();
 
-        private final Map<String, GraphStoreWithConfig> graphsByName = new ConcurrentHashMap<>();
+        private final Map<String, CatalogEntry> graphsByName = new ConcurrentHashMap<>();
+
+        private final Set<String> evictedGraphNames = ConcurrentHashMap.newKeySet();
+
+        private final Map<String, SpilledGraph> spilledGraphs = new ConcurrentHashMap<>();
 
         void set(GraphCreateConfig config, GraphStore graphStore) {
             if (config.graphName() == null || graphStore == null) {
                 throw new IllegalArgumentException("Both name and graph store must be not null");
             }
             GraphStoreWithConfig graphStoreWithConfig = ImmutableGraphStoreWithConfig.of(graphStore, config);
-            if (graphsByName.putIfAbsent(config.graphName(), graphStoreWithConfig) != null) {
+            if (graphsByName.putIfAbsent(config.graphName(), new CatalogEntry(graphStoreWithConfig)) != null) {
                 throw new IllegalStateException(String.format(
                     "Graph name %s already loaded",
                     config.graphName()
                 ));
             }
+            evictedGraphNames.remove(config.graphName());
+            spilledGraphs.remove(config.graphName());
             graphStore.canRelease(false);
         }
 
         GraphStoreWithConfig get(String graphName) {
-            if (graphsByName.containsKey(graphName)) {
-                return graphsByName.get(graphName);
+            CatalogEntry entry = graphsByName.get(graphName);
+            if (entry != null) {
+                return entry.access();
+            } else if (evictedGraphNames.contains(graphName)) {
+                throw new NoSuchElementException(String.format(
+                    "Cannot find graph with name '%s', it has been evicted to stay within the memory budget of the graph catalog.",
+                    graphName
+                ));
             } else {
                 throw new NoSuchElementException(String.format("Cannot find graph with name '%s'.", graphName));
             }
@@ -141,7 +385,7 @@ public final class GraphStoreCatalog {
             if (!exists(graphName)) {
                 throw new IllegalArgumentException(String.format("Graph with name '%s' does not exist.", graphName));
             }
-            return graphsByName.get(graphName).graphStore().getGraph(relationshipType, maybeRelationshipProperty);
+            return graphsByName.get(graphName).access().graphStore().getGraph(relationshipType, maybeRelationshipProperty);
         }
 
         /**
@@ -150,7 +394,7 @@ public final class GraphStoreCatalog {
          * This method returns the union of all subgraphs refered to by the given name.
          */
         Optional<Graph> getUnion(String graphName) {
-            return !exists(graphName) ? Optional.empty() : Optional.of(graphsByName.get(graphName).graphStore().getUnion());
+            return !exists(graphName) ? Optional.empty() : Optional.of(graphsByName.get(graphName).access().graphStore().getUnion());
         }
 
         boolean exists(String graphName) {
@@ -165,7 +409,7 @@ public final class GraphStoreCatalog {
                 // that can deal with missing graphs
                 return null;
             }
-            GraphStoreWithConfig graphStoreWithConfig = graphsByName.remove(graphName);
+            GraphStoreWithConfig graphStoreWithConfig = graphsByName.remove(graphName).graphStoreWithConfig;
             Graph graph = graphStoreWithConfig.getGraph();
             graph.canRelease(true);
             graph.release();
@@ -180,14 +424,52 @@ public final class GraphStoreCatalog {
                 // that can deal with missing graphs
                 return null;
             }
-            return graphsByName.remove(graphName);
+            return graphsByName.remove(graphName).graphStoreWithConfig;
+        }
+
+        /**
+         * Only drops the reference of the catalog to the graph. Algorithms running concurrently
+         * might still hold the graph, so its storage is left to the garbage collector instead of being released.
+         */
+        void evict(String graphName, @Nullable SpilledGraph spilledGraph) {
+            if (removeWithoutRelease(graphName) != null) {
+                evictedGraphNames.add(graphName);
+                if (spilledGraph != null) {
+                    spilledGraphs.put(graphName, spilledGraph);
+                }
+            }
+        }
+
+        boolean isSpilled(String graphName) {
+            return graphName != null && spilledGraphs.containsKey(graphName);
+        }
+
+        @Nullable
+        SpilledGraph removeSpilled(String graphName) {
+            if (graphName == null) {
+                return null;
+            }
+            SpilledGraph spilledGraph = spilledGraphs.remove(graphName);
+            if (spilledGraph != null) {
+                evictedGraphNames.remove(graphName);
+            }
+            return spilledGraph;
         }
 
         Map<GraphCreateConfig, Graph> getLoadedGraphs() {
             return graphsByName.values().stream().collect(Collectors.toMap(
-                GraphStoreWithConfig::config, GraphStoreWithConfig::getGraph
+                entry -> entry.graphStoreWithConfig.config(),
+                entry -> entry.graphStoreWithConfig.getGraph()
             ));
         }
+
+        Optional<GraphStoreAccessStats> accessStats(String graphName) {
+            return Optional.ofNullable(graphsByName.get(graphName)).map(CatalogEntry::stats);
+        }
+
+        long memoryUsage() {
+            return graphsByName.values().stream().mapToLong(CatalogEntry::sizeInBytes).sum();
+        }
     }
 
 }
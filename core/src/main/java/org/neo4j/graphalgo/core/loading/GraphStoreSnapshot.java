@@ -0,0 +1,814 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.BitSet;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.NodeProjections;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipProjections;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.config.ImmutableGraphCreateFromCypherConfig;
+import org.neo4j.graphalgo.core.AdjacencyEncoding;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.RelationshipPropertyEncoding;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.AdjacencyList;
+import org.neo4j.graphalgo.core.huge.AdjacencyOffsets;
+import org.neo4j.graphalgo.core.huge.AdjacencySkipIndex;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.huge.ImmutablePropertyCSR;
+import org.neo4j.graphalgo.core.huge.ImmutableTopologyCSR;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+import org.neo4j.graphalgo.core.utils.paged.AllocationMode;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeCursor;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.neo4j.graphalgo.config.GraphCreateFromCypherConfig.NODE_QUERY_KEY;
+import static org.neo4j.graphalgo.config.GraphCreateFromCypherConfig.RELATIONSHIP_QUERY_KEY;
+import static org.neo4j.graphalgo.config.GraphCreateFromStoreConfig.NODE_PROJECTION_KEY;
+import static org.neo4j.graphalgo.config.GraphCreateFromStoreConfig.RELATIONSHIP_PROJECTION_KEY;
+import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
+
+/**
+ * Persists a {@link GraphStore} together with its create configuration into a single file,
+ * which can be loaded a lot faster than projecting the graph from the Neo4j store again.
+ * <p>
+ * A snapshot starts with a magic number and the version of the format, followed by a sequence of blocks.
+ * Each block is prefixed with its length and the CRC32 checksum of its content.
+ * The first block describes the graph, i.e. its configuration, node properties and relationship types.
+ * The configuration includes the {@link AllocationMode} of the graph, which is used again when the graph is loaded.
+ * The remaining blocks contain the node ids, node properties, adjacency lists and adjacency offsets in the order
+ * of that description, where arrays are split into blocks of at most {@link #CHUNK_SIZE} values.
+ * Snapshots are loaded by memory-mapping the file and verifying and copying all blocks in parallel.
+ */
+public final class GraphStoreSnapshot {
+
+    public static final String FILE_EXTENSION = ".gds";
+
+    static final int MAGIC = 0x47445353;
+    static final int VERSION = 3;
+
+    // the maximum number of longs or doubles that are stored in a single block
+    static final int CHUNK_SIZE = 1 << 20;
+
+    private static final int FILE_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int BLOCK_HEADER_SIZE = 2 * Long.BYTES;
+    // blocks are mapped in segments of up to that many bytes to keep the number of mappings low
+    private static final long MAX_SEGMENT_SIZE = 1L << 30;
+    private static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private static final String GRAPH_NAME_KEY = "graphName";
+    private static final String READ_CONCURRENCY_KEY = "readConcurrency";
+    private static final String ALLOCATION_MODE_KEY = "allocationMode";
+
+    private static final byte NULL = 0;
+    private static final byte BOOLEAN = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte STRING = 4;
+    private static final byte LIST = 5;
+    private static final byte MAP = 6;
+
+    private static volatile Path directory = Paths.get(System.getProperty(
+        GraphStoreSnapshot.class.getName() + ".directory",
+        Paths.get(System.getProperty("java.io.tmpdir"), "gds-snapshots").toString()
+    ));
+
+    private GraphStoreSnapshot() {}
+
+    /**
+     * The directory in which snapshots of named graphs are stored, which is read from the
+     * {@code org.neo4j.graphalgo.core.loading.GraphStoreSnapshot.directory} system property.
+     */
+    public static Path directory() {
+        return directory;
+    }
+
+    public static void setDirectory(Path snapshotDirectory) {
+        directory = snapshotDirectory;
+    }
+
+    /**
+     * Returns the snapshot file of a named graph. The snapshots of each user are stored in a separate directory.
+     */
+    public static Path file(String username, String graphName) {
+        return file(directory, username, graphName);
+    }
+
+    /**
+     * Returns the snapshot file of a named graph below the given directory, e.g. for snapshots that are not
+     * created by users but are owned by the {@link GraphStoreCatalog}.
+     */
+    static Path file(Path directory, String username, String graphName) {
+        Path snapshotDirectory = directory.toAbsolutePath().normalize();
+        Path userDirectory = snapshotDirectory.resolve(username).normalize();
+        Path file = userDirectory.resolve(graphName + FILE_EXTENSION).normalize();
+        if (!userDirectory.startsWith(snapshotDirectory) || !userDirectory.equals(file.getParent())) {
+            throw new IllegalArgumentException(String.format(
+                "Cannot store a snapshot for the graph with name '%s'.",
+                graphName
+            ));
+        }
+        return file;
+    }
+
+    /**
+     * Writes the graph into the given file. An existing file is only replaced once the snapshot is complete.
+     *
+     * @return the size of the snapshot in bytes
+     */
+    public static long write(GraphStoreWithConfig graphStoreWithConfig, Path file) {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(tempFile, CREATE, TRUNCATE_EXISTING, WRITE)) {
+                new SnapshotWriter(channel).write(graphStoreWithConfig.graphStore(), graphStoreWithConfig.config());
+                channel.force(false);
+            }
+            Files.move(tempFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+            return Files.size(file);
+        } catch (IOException e) {
+            deleteQuietly(tempFile, e);
+            throw new UncheckedIOException(String.format("Could not write snapshot to %s", file), e);
+        } catch (RuntimeException e) {
+            deleteQuietly(tempFile, e);
+            throw e;
+        }
+    }
+
+    private static void deleteQuietly(Path tempFile, Exception cause) {
+        try {
+            Files.deleteIfExists(tempFile);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Loads a graph from a snapshot, the configuration of the graph is assigned to the given user.
+     * The graph is allocated with the {@link AllocationMode} of the persisted configuration.
+     */
+    public static GraphStoreWithConfig read(Path file, String username, int concurrency) {
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            return new SnapshotReader(file, channel).read(username, concurrency);
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Could not read snapshot from %s", file), e);
+        }
+    }
+
+    /**
+     * Nodes without a value return the given fallback value, which is the only way
+     * to distinguish them from nodes with a value for all implementations.
+     */
+    private static boolean hasValue(NodeProperties properties, long nodeId) {
+        return Double.doubleToLongBits(properties.nodeProperty(nodeId, 0.0)) ==
+               Double.doubleToLongBits(properties.nodeProperty(nodeId, 1.0));
+    }
+
+    private static double defaultValue(NodeProperties properties, long nodeCount) {
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            if (!hasValue(properties, nodeId)) {
+                return properties.nodeProperty(nodeId);
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static Map<String, Object> configToMap(GraphCreateConfig config) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put(GRAPH_NAME_KEY, config.graphName());
+        map.put(NODE_PROJECTION_KEY, config.nodeProjections().toObject());
+        map.put(RELATIONSHIP_PROJECTION_KEY, config.relationshipProjections().toObject());
+        if (config instanceof GraphCreateFromCypherConfig) {
+            map.put(NODE_QUERY_KEY, ((GraphCreateFromCypherConfig) config).nodeQuery());
+            map.put(RELATIONSHIP_QUERY_KEY, ((GraphCreateFromCypherConfig) config).relationshipQuery());
+        }
+        map.put(READ_CONCURRENCY_KEY, config.readConcurrency());
+        map.put(ALLOCATION_MODE_KEY, config.allocationMode().name());
+        return map;
+    }
+
+    private static GraphCreateConfig configFromMap(String username, Map<String, Object> map) {
+        String graphName = (String) map.get(GRAPH_NAME_KEY);
+        Map<String, Object> settings = new HashMap<>();
+        settings.put(READ_CONCURRENCY_KEY, map.get(READ_CONCURRENCY_KEY));
+        settings.put(ALLOCATION_MODE_KEY, map.get(ALLOCATION_MODE_KEY));
+        CypherMapWrapper config = CypherMapWrapper.create(settings);
+        if (map.containsKey(NODE_QUERY_KEY)) {
+            GraphCreateFromCypherConfig cypherConfig = GraphCreateFromCypherConfig.of(
+                username,
+                graphName,
+                (String) map.get(NODE_QUERY_KEY),
+                (String) map.get(RELATIONSHIP_QUERY_KEY),
+                config
+            );
+            // the projections of Cypher graphs are inferred during loading and cannot be derived from the queries
+            return ImmutableGraphCreateFromCypherConfig
+                .builder()
+                .from(cypherConfig)
+                .nodeProjections(NodeProjections.fromObject(map.get(NODE_PROJECTION_KEY)))
+                .relationshipProjections(RelationshipProjections.fromObject(map.get(RELATIONSHIP_PROJECTION_KEY)))
+                .build();
+        }
+        return GraphCreateFromStoreConfig.of(
+            username,
+            graphName,
+            map.get(NODE_PROJECTION_KEY),
+            map.get(RELATIONSHIP_PROJECTION_KEY),
+            config
+        );
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeValue(DataOutput out, @Nullable Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Number) {
+            out.writeByte(LONG);
+            out.writeLong(((Number) value).longValue());
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Collection) {
+            out.writeByte(LIST);
+            out.writeInt(((Collection<?>) value).size());
+            for (Object element : (Collection<?>) value) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof Map) {
+            out.writeByte(MAP);
+            out.writeInt(((Map<?, ?>) value).size());
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                writeString(out, String.valueOf(entry.getKey()));
+                writeValue(out, entry.getValue());
+            }
+        } else {
+            throw new IllegalArgumentException(String.format(
+                "Cannot store the configuration value `%s` of type %s in a snapshot.",
+                value,
+                value.getClass().getSimpleName()
+            ));
+        }
+    }
+
+    private static @Nullable Object readValue(DataInput in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case BOOLEAN:
+                return in.readBoolean();
+            case LONG:
+                return in.readLong();
+            case DOUBLE:
+                return in.readDouble();
+            case STRING:
+                return readString(in);
+            case LIST:
+                int length = in.readInt();
+                List<Object> list = new ArrayList<>(length);
+                for (int i = 0; i < length; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            case MAP:
+                int size = in.readInt();
+                Map<String, Object> map = new LinkedHashMap<>(size);
+                for (int i = 0; i < size; i++) {
+                    map.put(readString(in), readValue(in));
+                }
+                return map;
+            default:
+                throw new IllegalStateException(String.format("Unknown configuration value type %d.", type));
+        }
+    }
+
+    private static final class SnapshotWriter {
+
+        private final FileChannel channel;
+        private final CRC32 checksum;
+        private final ByteBuffer blockHeader;
+        // large enough for a chunk of node property values followed by the bits of the nodes that have a value
+        private final ByteBuffer buffer;
+
+        SnapshotWriter(FileChannel channel) {
+            this.channel = channel;
+            this.checksum = new CRC32();
+            this.blockHeader = ByteBuffer.allocate(BLOCK_HEADER_SIZE).order(BYTE_ORDER);
+            this.buffer = ByteBuffer.allocate(CHUNK_SIZE * Double.BYTES + CHUNK_SIZE / Byte.SIZE).order(BYTE_ORDER);
+        }
+
+        void write(GraphStore graphStore, GraphCreateConfig config) throws IOException {
+            // the snapshot contains the compressed lists only, pending changes have to be merged first
+            graphStore.compact(config.readConcurrency());
+            long nodeCount = graphStore.nodeCount();
+            Collection<String> nodePropertyKeys = new TreeSet<>(graphStore.nodePropertyKeys());
+            Collection<String> relationshipTypes = new TreeSet<>(graphStore.relationshipTypes());
+
+            ByteBuffer fileHeader = ByteBuffer.allocate(FILE_HEADER_SIZE).order(BYTE_ORDER);
+            fileHeader.putInt(MAGIC).putInt(VERSION).flip();
+            writeFully(fileHeader);
+
+            ByteArrayOutputStream description = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(description)) {
+                writeValue(out, configToMap(config));
+                out.writeLong(nodeCount);
+                out.writeInt(nodePropertyKeys.size());
+                for (String propertyKey : nodePropertyKeys) {
+                    NodeProperties properties = graphStore.nodeProperty(propertyKey);
+                    OptionalLong maxValue = properties.getMaxPropertyValue();
+                    writeString(out, propertyKey);
+                    out.writeDouble(defaultValue(properties, nodeCount));
+                    out.writeBoolean(maxValue.isPresent());
+                    out.writeLong(maxValue.orElse(0L));
+                    out.writeLong(properties.size());
+                }
+                out.writeInt(relationshipTypes.size());
+                for (String relationshipType : relationshipTypes) {
+                    HugeGraph.TopologyCSR topology = graphStore.topology(relationshipType);
+                    writeString(out, relationshipType);
+                    writeString(out, topology.orientation().name());
+                    out.writeLong(topology.elementCount());
+                    writeString(out, topology.list().encoding().name());
+                    describeCsr(out, topology);
+                    Map<String, HugeGraph.PropertyCSR> properties = new TreeMap<>(graphStore.relationshipProperties(relationshipType));
+                    out.writeInt(properties.size());
+                    for (Map.Entry<String, HugeGraph.PropertyCSR> property : properties.entrySet()) {
+                        writeString(out, property.getKey());
+                        out.writeDouble(property.getValue().defaultPropertyValue());
+                        writeString(out, property.getValue().encoding().name());
+                        describeCsr(out, property.getValue());
+                    }
+                }
+            }
+            writeBlock(ByteBuffer.wrap(description.toByteArray()));
+
+            writeLongs(graphStore.idMap().graphIds());
+            for (String propertyKey : nodePropertyKeys) {
+                writeNodeProperties(graphStore.nodeProperty(propertyKey), nodeCount);
+            }
+            for (String relationshipType : relationshipTypes) {
+                writeCsr(graphStore.topology(relationshipType));
+                for (HugeGraph.PropertyCSR property : new TreeMap<>(graphStore.relationshipProperties(relationshipType)).values()) {
+                    writeCsr(property);
+                }
+            }
+        }
+
+        private void describeCsr(DataOutput out, HugeGraph.TopologyCSR csr) throws IOException {
+            byte[][] pages = csr.list().pages();
+            out.writeInt(pages.length);
+            for (byte[] page : pages) {
+                out.writeInt(page == null ? -1 : page.length);
+            }
+            long[][] offsetPages = csr.offsets().pages();
+            out.writeInt(csr.offsets().pageSize());
+            out.writeInt(offsetPages.length);
+            for (long[] page : offsetPages) {
+                out.writeInt(page.length);
+            }
+        }
+
+        private void writeCsr(HugeGraph.TopologyCSR csr) throws IOException {
+            for (byte[] page : csr.list().pages()) {
+                if (page != null) {
+                    writeBlock(ByteBuffer.wrap(page));
+                }
+            }
+            for (long[] page : csr.offsets().pages()) {
+                for (int start = 0; start < page.length; start += CHUNK_SIZE) {
+                    int length = Math.min(CHUNK_SIZE, page.length - start);
+                    buffer.clear();
+                    buffer.asLongBuffer().put(page, start, length);
+                    buffer.limit(length * Long.BYTES);
+                    writeBlock(buffer);
+                }
+            }
+        }
+
+        private void writeLongs(HugeLongArray array) throws IOException {
+            long size = array.size();
+            for (long start = 0; start < size; start += CHUNK_SIZE) {
+                long end = Math.min(size, start + CHUNK_SIZE);
+                buffer.clear();
+                LongBuffer longs = buffer.asLongBuffer();
+                try (HugeCursor<long[]> cursor = array.initCursor(array.newCursor(), start, end)) {
+                    while (cursor.next()) {
+                        longs.put(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+                    }
+                }
+                buffer.limit(longs.position() * Long.BYTES);
+                writeBlock(buffer);
+            }
+        }
+
+        private void writeNodeProperties(NodeProperties properties, long nodeCount) throws IOException {
+            for (long start = 0; start < nodeCount; start += CHUNK_SIZE) {
+                int length = (int) Math.min(CHUNK_SIZE, nodeCount - start);
+                buffer.clear();
+                for (int i = 0; i < length; i++) {
+                    buffer.putDouble(properties.nodeProperty(start + i));
+                }
+                long word = 0L;
+                for (int i = 0; i < length; i++) {
+                    if (hasValue(properties, start + i)) {
+                        word |= 1L << i;
+                    }
+                    if ((i & 63) == 63 || i == length - 1) {
+                        buffer.putLong(word);
+                        word = 0L;
+                    }
+                }
+                buffer.flip();
+                writeBlock(buffer);
+            }
+        }
+
+        private void writeBlock(ByteBuffer content) throws IOException {
+            checksum.reset();
+            checksum.update(content.duplicate());
+            blockHeader.clear();
+            blockHeader.putLong(content.remaining()).putLong(checksum.getValue()).flip();
+            writeFully(blockHeader);
+            writeFully(content);
+        }
+
+        private void writeFully(ByteBuffer content) throws IOException {
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+        }
+    }
+
+    private static final class SnapshotReader {
+
+        private final Path file;
+        private final List<ByteBuffer> blocks;
+        private final List<Long> checksums;
+        private final List<Runnable> tasks;
+        private int nextBlock;
+
+        SnapshotReader(Path file, FileChannel channel) throws IOException {
+            this.file = file;
+            this.blocks = new ArrayList<>();
+            this.checksums = new ArrayList<>();
+            this.tasks = new ArrayList<>();
+
+            long fileSize = channel.size();
+            ByteBuffer fileHeader = readFully(channel, ByteBuffer.allocate(FILE_HEADER_SIZE), 0L);
+            int magic = fileHeader.getInt(0);
+            int version = fileHeader.getInt(Integer.BYTES);
+            if (magic != MAGIC) {
+                throw new IllegalArgumentException(String.format("The file %s is not a graph snapshot.", file));
+            }
+            if (version != VERSION) {
+                throw new IllegalArgumentException(String.format(
+                    "The snapshot %s has version %d, but only version %d is supported.",
+                    file,
+                    version,
+                    VERSION
+                ));
+            }
+
+            ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+            MappedByteBuffer segment = null;
+            long segmentStart = 0L;
+            long position = FILE_HEADER_SIZE;
+            while (position < fileSize) {
+                readFully(channel, blockHeader, position);
+                long length = blockHeader.getLong(0);
+                long contentStart = position + BLOCK_HEADER_SIZE;
+                long contentEnd = contentStart + length;
+                if (length < 0 || length > MAX_SEGMENT_SIZE || contentEnd > fileSize) {
+                    throw corrupted("is truncated");
+                }
+                if (segment == null || contentEnd > segmentStart + segment.capacity()) {
+                    segmentStart = contentStart;
+                    segment = channel.map(
+                        FileChannel.MapMode.READ_ONLY,
+                        segmentStart,
+                        Math.min(fileSize - segmentStart, MAX_SEGMENT_SIZE)
+                    );
+                }
+                ByteBuffer content = segment.duplicate();
+                content.position((int) (contentStart - segmentStart));
+                content.limit((int) (contentEnd - segmentStart));
+                blocks.add(content.slice());
+                checksums.add(blockHeader.getLong(Long.BYTES));
+                position = contentEnd;
+            }
+        }
+
+        GraphStoreWithConfig read(String username, int concurrency) throws IOException {
+            ByteBuffer descriptionBlock = verify(nextBlock());
+            byte[] description = new byte[descriptionBlock.remaining()];
+            descriptionBlock.get(description);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(description));
+
+            @SuppressWarnings("unchecked")
+            Map<String, Object> configMap = (Map<String, Object>) readValue(in);
+            GraphCreateConfig config = configFromMap(username, configMap);
+            AllocationTracker tracker = AllocationTracker.create(config.allocationMode());
+            long nodeCount = in.readLong();
+
+            HugeLongArray graphIds = HugeLongArray.newArray(nodeCount, tracker);
+            LongAccumulator highestNeoId = new LongAccumulator(Math::max, 0L);
+            readLongs(graphIds, highestNeoId);
+
+            int nodePropertyCount = in.readInt();
+            Map<String, NodeProperties> nodeProperties = new HashMap<>();
+            for (int i = 0; i < nodePropertyCount; i++) {
+                String propertyKey = readString(in);
+                double defaultValue = in.readDouble();
+                boolean hasMaxValue = in.readBoolean();
+                long maxValue = in.readLong();
+                long size = in.readLong();
+
+                HugeDoubleArray values = HugeDoubleArray.newArray(nodeCount, tracker);
+                BitSet hasProperty = new BitSet(nodeCount);
+                tracker.add(MemoryUsage.sizeOfBitset(nodeCount));
+                readNodeProperties(values, hasProperty);
+
+                nodeProperties.put(propertyKey, DenseNodePropertyMap.of(
+                    values,
+                    hasProperty,
+                    defaultValue,
+                    hasMaxValue ? OptionalLong.of(maxValue) : OptionalLong.empty(),
+                    size
+                ));
+            }
+
+            // the arrays of the adjacency lists are filled by the tasks, the CSRs are created afterwards
+            int relationshipTypeCount = in.readInt();
+            List<String> relationshipTypes = new ArrayList<>(relationshipTypeCount);
+            List<Orientation> orientations = new ArrayList<>(relationshipTypeCount);
+            List<Long> relationshipCounts = new ArrayList<>(relationshipTypeCount);
+            List<AdjacencyList> adjacencyLists = new ArrayList<>(relationshipTypeCount);
+            List<AdjacencyOffsets> adjacencyOffsets = new ArrayList<>(relationshipTypeCount);
+            Map<String, Map<String, HugeGraph.PropertyCSR>> relationshipProperties = new HashMap<>();
+            for (int i = 0; i < relationshipTypeCount; i++) {
+                String relationshipType = readString(in);
+                Orientation orientation = Orientation.valueOf(readString(in));
+                long relationshipCount = in.readLong();
+                AdjacencyEncoding adjacencyEncoding = AdjacencyEncoding.valueOf(readString(in));
+                relationshipTypes.add(relationshipType);
+                orientations.add(orientation);
+                relationshipCounts.add(relationshipCount);
+                adjacencyLists.add(readAdjacencyList(in, adjacencyEncoding, tracker));
+                adjacencyOffsets.add(readAdjacencyOffsets(in, tracker));
+
+                int propertyCount = in.readInt();
+                for (int j = 0; j < propertyCount; j++) {
+                    String propertyKey = readString(in);
+                    double defaultValue = in.readDouble();
+                    RelationshipPropertyEncoding encoding = RelationshipPropertyEncoding.valueOf(readString(in));
+                    HugeGraph.PropertyCSR propertyCSR = ImmutablePropertyCSR.of(
+                        readAdjacencyList(in, AdjacencyEncoding.VAR_LONG, tracker),
+                        readAdjacencyOffsets(in, tracker),
+                        relationshipCount,
+                        orientation,
+                        defaultValue
+                    ).withEncoding(encoding);
+                    relationshipProperties
+                        .computeIfAbsent(relationshipType, ignore -> new HashMap<>())
+                        .put(propertyKey, propertyCSR);
+                }
+            }
+            if (nextBlock != blocks.size()) {
+                throw corrupted("contains more data than described");
+            }
+
+            ParallelUtil.runWithConcurrency(concurrency, tasks, Pools.DEFAULT);
+
+            IdMap idMap = IdMapBuilder.build(graphIds, highestNeoId.get() + 1, concurrency, tracker);
+            Map<String, HugeGraph.TopologyCSR> relationships = new HashMap<>(relationshipTypeCount);
+            for (int i = 0; i < relationshipTypeCount; i++) {
+                AdjacencyList adjacencyList = adjacencyLists.get(i);
+                AdjacencyOffsets offsets = adjacencyOffsets.get(i);
+                relationships.put(relationshipTypes.get(i), ImmutableTopologyCSR.of(
+                    adjacencyList,
+                    offsets,
+                    relationshipCounts.get(i),
+                    orientations.get(i),
+                    AdjacencySkipIndex.build(nodeCount, adjacencyList, offsets, tracker)
+                ));
+            }
+
+            GraphStore graphStore = GraphStore.of(idMap, nodeProperties, relationships, relationshipProperties, tracker);
+            return ImmutableGraphStoreWithConfig.of(graphStore, config);
+        }
+
+        private void readLongs(HugeLongArray array, LongAccumulator maxValue) {
+            long size = array.size();
+            for (long start = 0; start < size; start += CHUNK_SIZE) {
+                long chunkStart = start;
+                long chunkEnd = Math.min(size, start + CHUNK_SIZE);
+                int block = nextBlock((chunkEnd - chunkStart) * Long.BYTES);
+                tasks.add(() -> {
+                    LongBuffer longs = verify(block).asLongBuffer();
+                    long max = 0L;
+                    try (HugeCursor<long[]> cursor = array.initCursor(array.newCursor(), chunkStart, chunkEnd)) {
+                        while (cursor.next()) {
+                            long[] values = cursor.array;
+                            longs.get(values, cursor.offset, cursor.limit - cursor.offset);
+                            for (int i = cursor.offset; i < cursor.limit; i++) {
+                                max = Math.max(max, values[i]);
+                            }
+                        }
+                    }
+                    maxValue.accumulate(max);
+                });
+            }
+        }
+
+        private void readNodeProperties(HugeDoubleArray values, BitSet hasProperty) {
+            long nodeCount = values.size();
+            for (long start = 0; start < nodeCount; start += CHUNK_SIZE) {
+                long chunkStart = start;
+                long chunkEnd = Math.min(nodeCount, start + CHUNK_SIZE);
+                int length = (int) (chunkEnd - chunkStart);
+                int words = (int) ceilDiv(length, Long.SIZE);
+                int block = nextBlock((long) (length + words) * Long.BYTES);
+                tasks.add(() -> {
+                    ByteBuffer content = verify(block);
+                    DoubleBuffer doubles = content.asDoubleBuffer();
+                    try (HugeCursor<double[]> cursor = values.initCursor(values.newCursor(), chunkStart, chunkEnd)) {
+                        while (cursor.next()) {
+                            doubles.get(cursor.array, cursor.offset, cursor.limit - cursor.offset);
+                        }
+                    }
+                    content.position(length * Double.BYTES);
+                    content.asLongBuffer().get(hasProperty.bits, (int) (chunkStart / Long.SIZE), words);
+                });
+            }
+        }
+
+        private AdjacencyList readAdjacencyList(
+            DataInput in,
+            AdjacencyEncoding encoding,
+            AllocationTracker tracker
+        ) throws IOException {
+            int pageCount = in.readInt();
+            byte[][] pages = new byte[pageCount][];
+            tracker.add(MemoryUsage.sizeOfObjectArray(pageCount));
+            for (int i = 0; i < pageCount; i++) {
+                int length = in.readInt();
+                if (length < 0) {
+                    continue;
+                }
+                byte[] page = new byte[length];
+                pages[i] = page;
+                tracker.add(MemoryUsage.sizeOfByteArray(length));
+                int block = nextBlock(length);
+                tasks.add(() -> verify(block).get(page));
+            }
+            return new AdjacencyList(pages, encoding);
+        }
+
+        private AdjacencyOffsets readAdjacencyOffsets(DataInput in, AllocationTracker tracker) throws IOException {
+            int pageSize = in.readInt();
+            int pageCount = in.readInt();
+            long[][] pages = new long[pageCount][];
+            tracker.add(MemoryUsage.sizeOfObjectArray(pageCount));
+            for (int i = 0; i < pageCount; i++) {
+                long[] page = new long[in.readInt()];
+                pages[i] = page;
+                tracker.add(MemoryUsage.sizeOfLongArray(page.length));
+                for (int start = 0; start < page.length; start += CHUNK_SIZE) {
+                    int chunkStart = start;
+                    int length = Math.min(CHUNK_SIZE, page.length - start);
+                    int block = nextBlock((long) length * Long.BYTES);
+                    tasks.add(() -> verify(block).asLongBuffer().get(page, chunkStart, length));
+                }
+            }
+            return AdjacencyOffsets.of(pages, pageSize);
+        }
+
+        private int nextBlock() {
+            if (nextBlock >= blocks.size()) {
+                throw corrupted("is truncated");
+            }
+            return nextBlock++;
+        }
+
+        private int nextBlock(long expectedLength) {
+            int block = nextBlock();
+            if (blocks.get(block).remaining() != expectedLength) {
+                throw corrupted(String.format(
+                    "has a block of %d bytes where %d bytes are expected",
+                    blocks.get(block).remaining(),
+                    expectedLength
+                ));
+            }
+            return block;
+        }
+
+        /**
+         * Returns the content of a block, after verifying its checksum.
+         */
+        private ByteBuffer verify(int block) {
+            ByteBuffer content = blocks.get(block).duplicate().order(BYTE_ORDER);
+            CRC32 checksum = new CRC32();
+            checksum.update(content.duplicate());
+            if (checksum.getValue() != checksums.get(block)) {
+                throw corrupted(String.format("has an invalid checksum for block %d", block));
+            }
+            return content;
+        }
+
+        private IllegalStateException corrupted(String reason) {
+            return new IllegalStateException(String.format("The snapshot %s is corrupted, it %s.", file, reason));
+        }
+
+        private static ByteBuffer readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+            buffer.clear();
+            buffer.order(BYTE_ORDER);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            if (buffer.hasRemaining()) {
+                throw new IOException("Unexpected end of file");
+            }
+            return buffer;
+        }
+    }
+}
@@ -22,8 +22,12 @@ package org.neo4j.graphalgo.core.loading;
 import com.carrotsearch.hppc.BitSet;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.api.IdMapping;
+import org.neo4j.graphalgo.core.AdjacencyEncoding;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.huge.AdjacencyList;
+import org.neo4j.graphalgo.core.huge.AdjacencyOffsets;
+import org.neo4j.graphalgo.core.huge.AdjacencySkipIndex;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.utils.RawValues;
 import org.neo4j.graphalgo.core.utils.SetBitsIterable;
@@ -58,6 +62,26 @@ public final class HugeGraphUtil {
         Aggregation aggregation,
         ExecutorService executorService,
         AllocationTracker tracker
+    ) {
+        return createRelImporter(
+            idMap,
+            orientation,
+            loadRelationshipProperty,
+            aggregation,
+            executorService,
+            tracker,
+            AdjacencyEncoding.VAR_LONG
+        );
+    }
+
+    public static RelationshipsBuilder createRelImporter(
+        IdMap idMap,
+        Orientation orientation,
+        boolean loadRelationshipProperty,
+        Aggregation aggregation,
+        ExecutorService executorService,
+        AllocationTracker tracker,
+        AdjacencyEncoding adjacencyEncoding
     ) {
         return new RelationshipsBuilder(
             idMap,
@@ -65,7 +89,8 @@ public final class HugeGraphUtil {
             loadRelationshipProperty,
             aggregation,
             executorService,
-            tracker
+            tracker,
+            adjacencyEncoding
         );
     }
 
@@ -141,8 +166,9 @@ public final class HugeGraphUtil {
         private final Orientation orientation;
         private final boolean loadRelationshipProperty;
         private final ExecutorService executorService;
+        private final AllocationTracker tracker;
 
-        private long importedRelationships = 0;
+        private final LongAdder importedRelationships = new LongAdder();
 
         public RelationshipsBuilder(
             IdMapping idMapping,
@@ -151,11 +177,32 @@ public final class HugeGraphUtil {
             Aggregation aggregation,
             ExecutorService executorService,
             AllocationTracker tracker
+        ) {
+            this(
+                idMapping,
+                orientation,
+                loadRelationshipProperty,
+                aggregation,
+                executorService,
+                tracker,
+                AdjacencyEncoding.VAR_LONG
+            );
+        }
+
+        public RelationshipsBuilder(
+            IdMapping idMapping,
+            Orientation orientation,
+            boolean loadRelationshipProperty,
+            Aggregation aggregation,
+            ExecutorService executorService,
+            AllocationTracker tracker,
+            AdjacencyEncoding adjacencyEncoding
         ) {
             this.orientation = orientation;
             this.loadRelationshipProperty = loadRelationshipProperty;
             this.executorService = executorService;
             this.idMapping = idMapping;
+            this.tracker = tracker;
 
             ImportSizing importSizing = ImportSizing.of(1, idMapping.nodeCount());
             int pageSize = importSizing.pageSize();
@@ -166,7 +213,8 @@ public final class HugeGraphUtil {
             this.relationshipsBuilder = new org.neo4j.graphalgo.core.loading.RelationshipsBuilder(
                 new Aggregation[]{aggregation},
                 tracker,
-                loadRelationshipProperty ? 1 : 0
+                loadRelationshipProperty ? 1 : 0,
+                adjacencyEncoding
             );
 
             AdjacencyBuilder adjacencyBuilder = AdjacencyBuilder.compressing(
@@ -228,23 +276,67 @@ public final class HugeGraphUtil {
             flushBuffer();
 
             ParallelUtil.run(relationshipImporter.flushTasks(), executorService);
+            AdjacencyList adjacencyList = relationshipsBuilder.adjacencyList();
+            AdjacencyOffsets adjacencyOffsets = relationshipsBuilder.globalAdjacencyOffsets();
             return HugeGraph.Relationships.of(
-                importedRelationships,
+                importedRelationships.sum(),
                 orientation,
-                relationshipsBuilder.adjacencyList(),
-                relationshipsBuilder.globalAdjacencyOffsets(),
+                adjacencyList,
+                adjacencyOffsets,
+                AdjacencySkipIndex.build(idMapping.nodeCount(), adjacencyList, adjacencyOffsets, tracker),
                 loadRelationshipProperty ? relationshipsBuilder.properties() : null,
                 loadRelationshipProperty ? relationshipsBuilder.globalPropertyOffsets() : null,
                 Double.NaN
             );
         }
 
+        /**
+         * Returns a builder with its own batch buffer.
+         * Different thread local builders can add relationships concurrently,
+         * each of them must only be used by a single thread and has to be
+         * {@link ThreadLocalBuilder#flush() flushed} before calling {@link #build()}.
+         */
+        public ThreadLocalBuilder threadLocalBuilder() {
+            return new ThreadLocalBuilder();
+        }
+
         private void flushBuffer() {
+            flushBuffer(relationshipBuffer);
+        }
+
+        private void flushBuffer(RelationshipsBatchBuffer buffer) {
             RelationshipImporter.PropertyReader propertyReader = loadRelationshipProperty ? RelationshipImporter.preLoadedPropertyReader() : null;
 
-            long newImportedInOut = imports.importRelationships(relationshipBuffer, propertyReader);
-            importedRelationships += RawValues.getHead(newImportedInOut);
-            relationshipBuffer.reset();
+            long newImportedInOut = imports.importRelationships(buffer, propertyReader);
+            importedRelationships.add(RawValues.getHead(newImportedInOut));
+            buffer.reset();
+        }
+
+        public final class ThreadLocalBuilder {
+
+            private final RelationshipsBatchBuffer buffer;
+
+            private ThreadLocalBuilder() {
+                this.buffer = new RelationshipsBatchBuffer(idMapping, -1, ParallelUtil.DEFAULT_BATCH_SIZE);
+            }
+
+            public void addFromInternal(long source, long target) {
+                buffer.add(source, target, -1L, -1L);
+                if (buffer.isFull()) {
+                    flush();
+                }
+            }
+
+            public void addFromInternal(long source, long target, double relationshipPropertyValue) {
+                buffer.add(source, target, -1L, Double.doubleToLongBits(relationshipPropertyValue));
+                if (buffer.isFull()) {
+                    flush();
+                }
+            }
+
+            public void flush() {
+                flushBuffer(buffer);
+            }
         }
     }
 
@@ -63,6 +63,10 @@ public final class IdMap implements IdMapping, NodeIterator, BatchNodeIterable {
         this.nodeToGraphIds = nodeToGraphIds;
     }
 
+    HugeLongArray graphIds() {
+        return graphIds;
+    }
+
     @Override
     public long toMappedNodeId(long nodeId) {
         return nodeToGraphIds.get(nodeId);
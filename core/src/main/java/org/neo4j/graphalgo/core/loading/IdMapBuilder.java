@@ -66,6 +66,18 @@ public final class IdMapBuilder {
         return build(idMapBuilder.build(), idMapBuilder.size(), highestNodeId, concurrency, tracker);
     }
 
+    /**
+     * Builds an {@link IdMap} from already assigned internal ids,
+     * where {@code graphIds[internalId]} holds the original id of each node.
+     */
+    public static IdMap build(
+            HugeLongArray graphIds,
+            long highestNodeId,
+            int concurrency,
+            AllocationTracker tracker) {
+        return build(graphIds, graphIds.size(), highestNodeId, concurrency, tracker);
+    }
+
 
     private IdMapBuilder() {
     }
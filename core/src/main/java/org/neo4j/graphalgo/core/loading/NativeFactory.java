@@ -26,10 +26,13 @@ import org.neo4j.graphalgo.RelationshipProjectionMapping;
 import org.neo4j.graphalgo.ResolvedPropertyMapping;
 import org.neo4j.graphalgo.api.GraphSetup;
 import org.neo4j.graphalgo.api.GraphStoreFactory;
+import org.neo4j.graphalgo.core.AdjacencyEncoding;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.RelationshipPropertyEncoding;
 import org.neo4j.graphalgo.core.huge.AdjacencyList;
 import org.neo4j.graphalgo.core.huge.AdjacencyOffsets;
+import org.neo4j.graphalgo.core.huge.AdjacencySkipIndex;
 import org.neo4j.graphalgo.core.huge.HugeGraph;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
@@ -58,10 +61,14 @@ public final class NativeFactory extends GraphStoreFactory {
 
     @Override
     public MemoryEstimation memoryEstimation(GraphDimensions dimensions) {
-        return getMemoryEstimation(dimensions);
+        return getMemoryEstimation(dimensions, setup.adjacencyEncoding());
     }
 
     public static MemoryEstimation getMemoryEstimation(GraphDimensions dimensions) {
+        return getMemoryEstimation(dimensions, AdjacencyEncoding.VAR_LONG);
+    }
+
+    public static MemoryEstimation getMemoryEstimation(GraphDimensions dimensions, AdjacencyEncoding adjacencyEncoding) {
         MemoryEstimations.Builder builder = MemoryEstimations
             .builder(HugeGraph.class)
             .add("nodeIdMap", IdMap.memoryEstimation());
@@ -72,7 +79,7 @@ public final class NativeFactory extends GraphStoreFactory {
 
         // node properties
         for (ResolvedPropertyMapping resolvedPropertyMapping : dimensions.nodeProperties()) {
-            builder.add(resolvedPropertyMapping.propertyKey(), NodePropertyMap.memoryEstimation());
+            builder.add(resolvedPropertyMapping.propertyKey(), NodePropertiesBuilder.memoryEstimation());
         }
 
         // relationships
@@ -87,17 +94,21 @@ public final class NativeFactory extends GraphStoreFactory {
             // adjacency list
             builder.add(
                 String.format("adjacency list for '%s'", elementIdentifier),
-                AdjacencyList.compressedMemoryEstimation(neoType, undirected)
+                AdjacencyList.compressedMemoryEstimation(neoType, undirected, adjacencyEncoding)
             );
             builder.add(
                 String.format("adjacency offsets for '%s'", elementIdentifier),
                 AdjacencyOffsets.memoryEstimation()
             );
+            builder.add(
+                String.format("adjacency skip index for '%s'", elementIdentifier),
+                AdjacencySkipIndex.memoryEstimation(neoType, undirected)
+            );
             // all properties per projection
             dimensions.relationshipProperties().mappings().forEach(resolvedPropertyMapping -> {
                 builder.add(
                     String.format("property '%s.%s", elementIdentifier, resolvedPropertyMapping.propertyKey()),
-                    AdjacencyList.uncompressedMemoryEstimation(neoType, undirected)
+                    AdjacencyList.uncompressedMemoryEstimation(neoType, undirected, resolvedPropertyMapping.encoding())
                 );
                 builder.add(
                     String.format("property offset '%s.%s", elementIdentifier, resolvedPropertyMapping.propertyKey()),
@@ -165,13 +176,18 @@ public final class NativeFactory extends GraphStoreFactory {
         int concurrency
     ) {
         Aggregation[] aggregations = dimensions.aggregations(setup.aggregation());
-        int propertyCount = setup.relationshipPropertyMappings().numberOfMappings();
+        RelationshipPropertyEncoding[] propertyEncodings = dimensions.relationshipPropertyEncodings();
         Map<RelationshipProjectionMapping, RelationshipsBuilder> allBuilders = dimensions
             .relationshipProjectionMappings()
             .stream()
             .collect(Collectors.toMap(
                 Function.identity(),
-                mapping -> new RelationshipsBuilder(aggregations, tracker, propertyCount)
+                mapping -> new RelationshipsBuilder(
+                    aggregations,
+                    tracker,
+                    propertyEncodings,
+                    setup.adjacencyEncoding()
+                )
             ));
 
         ObjectLongMap<RelationshipProjectionMapping> relationshipCounts = new ScanningRelationshipsImporter(
@@ -20,6 +20,9 @@
 package org.neo4j.graphalgo.core.loading;
 
 import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.PagedLongDoubleMap;
 
@@ -27,11 +30,33 @@ import static org.neo4j.graphalgo.compat.StatementConstantsProxy.NO_SUCH_PROPERT
 
 public final class NodePropertiesBuilder {
 
+    /**
+     * Properties that are defined for at least this ratio of nodes are stored in a {@link DenseNodePropertyMap}.
+     * Above this ratio, the buffers of the hash maps in {@link NodePropertyMap} take more memory than an array.
+     */
+    static final double DENSE_FILL_RATIO = 0.5;
+
+    private final long numberOfNodes;
+    private final AllocationTracker tracker;
     private final double defaultValue;
     private final int propertyId;
     private final PagedLongDoubleMap properties;
     private final String propertyKey;
 
+    /**
+     * Estimates the node properties while they are built. All values are buffered in the sparse map,
+     * which can be completely filled. Dense properties are copied from the map into the dense array,
+     * so both are allocated at the same time.
+     */
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.andThen(
+            NodePropertyMap.memoryEstimation(1.0),
+            (sparseRange, dimensions, concurrency) -> sparseRange.union(
+                MemoryRange.of(sparseRange.max + DenseNodePropertyMap.memoryEstimation(dimensions.nodeCount()))
+            )
+        );
+    }
+
     public static NodePropertiesBuilder of(
         long numberOfNodes,
         AllocationTracker tracker,
@@ -42,14 +67,18 @@ public final class NodePropertiesBuilder {
     ) {
         assert propertyId != NO_SUCH_PROPERTY_KEY;
         PagedLongDoubleMap properties = PagedLongDoubleMap.of(numberOfNodes, tracker, concurrency);
-        return new NodePropertiesBuilder(defaultValue, propertyId, properties, propertyKey);
+        return new NodePropertiesBuilder(numberOfNodes, tracker, defaultValue, propertyId, properties, propertyKey);
     }
 
     private NodePropertiesBuilder(
+            final long numberOfNodes,
+            final AllocationTracker tracker,
             final double defaultValue,
             final int propertyId,
             final PagedLongDoubleMap properties,
             final String propertyKey) {
+        this.numberOfNodes = numberOfNodes;
+        this.tracker = tracker;
         this.defaultValue = defaultValue;
         this.propertyId = propertyId;
         this.properties = properties;
@@ -73,6 +102,10 @@ public final class NodePropertiesBuilder {
     }
 
     public NodeProperties build() {
+        long size = properties.size();
+        if (size > 0 && size >= numberOfNodes * DENSE_FILL_RATIO) {
+            return DenseNodePropertyMap.of(properties, numberOfNodes, defaultValue, tracker);
+        }
         return new NodePropertyMap(properties, defaultValue);
     }
 }
@@ -28,16 +28,17 @@ import java.util.OptionalLong;
 
 public final class NodePropertyMap implements NodeProperties {
 
-    private static final MemoryEstimation MEMORY_ESTIMATION = MemoryEstimations
-            .builder(NodePropertyMap.class)
-            .add("properties", PagedLongDoubleMap.memoryEstimation())
-            .build();
-
     private PagedLongDoubleMap properties;
     private final double defaultValue;
 
-    static MemoryEstimation memoryEstimation() {
-        return MEMORY_ESTIMATION;
+    /**
+     * Estimates a map that holds values for at most {@code maxFillRatio} of the nodes.
+     */
+    static MemoryEstimation memoryEstimation(double maxFillRatio) {
+        return MemoryEstimations
+            .builder(NodePropertyMap.class)
+            .add("properties", PagedLongDoubleMap.memoryEstimation(maxFillRatio))
+            .build();
     }
 
     public NodePropertyMap(PagedLongDoubleMap properties, double defaultValue) {
@@ -30,7 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-class NodeRowVisitor implements Result.ResultVisitor<RuntimeException> {
+class NodeRowVisitor implements CypherRecordLoader.RowVisitor {
     private static final String ID_COLUMN = "id";
     static final Set<String> RESERVED_COLUMNS = Sets.newHashSet(ID_COLUMN);
     static final Set<String> REQUIRED_COLUMNS = RESERVED_COLUMNS;
@@ -83,6 +83,12 @@ class NodeRowVisitor implements Result.ResultVisitor<RuntimeException> {
         return true;
     }
 
+    @Override
+    public BatchLoadResult finish() {
+        flush();
+        return new BatchLoadResult(rows, maxNeoId, rows);
+    }
+
     void flush() {
         importer.importCypherNodes(buffer, cypherNodeProperties);
     }
@@ -83,6 +83,69 @@ public final class RadixSort {
         }
     }
 
+    /**
+     * Sorts the first {@code length} non-negative {@code values} and applies the same permutation
+     * to the first {@code length} entries of every array in {@code properties}.
+     * The sort is stable and only uses the given buffers, which must hold at least {@code length} entries.
+     * The histogram must hold at least {@code 1 + 256} entries.
+     */
+    public static void radixSort(
+        long[] values,
+        long[][] properties,
+        long[] copy,
+        long[][] propertiesCopy,
+        int[] histogram,
+        int length
+    ) {
+        if (length < 2) {
+            return;
+        }
+        long allBits = 0L;
+        for (int i = 0; i < length; ++i) {
+            allBits |= values[i];
+        }
+
+        long[] in = values, out = copy;
+        long[][] propertiesIn = properties, propertiesOut = propertiesCopy;
+        for (int shift = 0; shift < Long.SIZE && (allBits >>> shift) != 0L; shift += RADIX) {
+            Arrays.fill(histogram, 0, 1 + HIST_SIZE, 0);
+            for (int i = 0; i < length; ++i) {
+                ++histogram[1 + (int) ((in[i] >>> shift) & 0xFFL)];
+            }
+
+            // all values share the same digit, nothing to move in this pass
+            if (histogram[1 + (int) ((in[0] >>> shift) & 0xFFL)] == length) {
+                continue;
+            }
+
+            for (int i = 0; i < HIST_SIZE; ++i) {
+                histogram[i + 1] += histogram[i];
+            }
+
+            for (int i = 0; i < length; ++i) {
+                int target = histogram[(int) ((in[i] >>> shift) & 0xFFL)]++;
+                out[target] = in[i];
+                for (int p = 0; p < propertiesIn.length; ++p) {
+                    propertiesOut[p][target] = propertiesIn[p][i];
+                }
+            }
+
+            long[] swap = in;
+            in = out;
+            out = swap;
+            long[][] propertiesSwap = propertiesIn;
+            propertiesIn = propertiesOut;
+            propertiesOut = propertiesSwap;
+        }
+
+        if (in != values) {
+            System.arraycopy(in, 0, values, 0, length);
+            for (int p = 0; p < properties.length; ++p) {
+                System.arraycopy(propertiesIn[p], 0, properties[p], 0, length);
+            }
+        }
+    }
+
     public static void radixSort2(long[] data, long[] copy, int[] histogram, int length) {
         radixSort2(data, copy, histogram, length, 0);
     }
@@ -0,0 +1,470 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.cursors.LongCursor;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipProjection;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.RelationshipPropertyEncoding;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.huge.AdjacencyList;
+import org.neo4j.graphalgo.core.huge.AdjacencyOffsets;
+import org.neo4j.graphalgo.core.huge.AdjacencySkipIndex;
+import org.neo4j.graphalgo.core.huge.HugeGraph;
+import org.neo4j.graphalgo.core.huge.ImmutablePropertyCSR;
+import org.neo4j.graphalgo.core.huge.ImmutableTopologyCSR;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.neo4j.graphalgo.core.loading.RelationshipsBatchBuffer.BATCH_ENTRY_SHIFT_SIZE;
+
+/**
+ * Pending additions and removals for a single relationship type of a {@link GraphStore}.
+ *
+ * The changes are kept beside the compressed adjacency lists of the type and are merged
+ * into newly compressed adjacency and property lists by {@link #compact}.
+ * The existing lists are never modified, graphs that have been created before the
+ * compaction keep seeing the state they have been created from.
+ *
+ * Node ids are mapped ids. Relationships are given in their natural direction and recorded
+ * in the stored direction, i.e. reversed for reverse types and in both directions for undirected types.
+ * Removing a relationship removes all parallel relationships between the two nodes,
+ * including additions that have been recorded before the removal.
+ */
+final class RelationshipDelta {
+
+    private final IdMap nodes;
+    private final boolean undirected;
+    private final boolean reverse;
+    private final String[] propertyKeys;
+    private final double[] defaultValues;
+
+    private final LongObjectHashMap<Additions> additions;
+    private final LongObjectHashMap<LongHashSet> removals;
+
+    RelationshipDelta(
+        IdMap nodes,
+        HugeGraph.TopologyCSR topology,
+        Map<String, HugeGraph.PropertyCSR> properties
+    ) {
+        this.nodes = nodes;
+        this.undirected = topology.orientation() == Orientation.UNDIRECTED;
+        this.reverse = topology.orientation() == Orientation.REVERSE;
+        this.propertyKeys = properties.keySet().stream().sorted().toArray(String[]::new);
+        this.defaultValues = Arrays.stream(propertyKeys)
+            .mapToDouble(propertyKey -> properties.get(propertyKey).defaultPropertyValue())
+            .toArray();
+        this.additions = new LongObjectHashMap<>();
+        this.removals = new LongObjectHashMap<>();
+    }
+
+    boolean isEmpty() {
+        return additions.isEmpty() && removals.isEmpty();
+    }
+
+    /**
+     * Returns the number of relationships that are stored for the type once the changes have been compacted.
+     * Only the lists of nodes with changes are read.
+     */
+    long relationshipCount(HugeGraph.TopologyCSR topology, Optional<RelationshipProjection> projection) {
+        boolean aggregated = aggregations(projection)[0] != Aggregation.NONE;
+        HugeGraph graph = HugeGraph.create(
+            nodes,
+            Collections.emptyMap(),
+            topology,
+            Optional.empty(),
+            AllocationTracker.EMPTY
+        );
+
+        LongHashSet changedNodes = new LongHashSet();
+        changedNodes.addAll(additions.keys());
+        changedNodes.addAll(removals.keys());
+
+        long relationshipCount = topology.elementCount();
+        LongArrayList targets = new LongArrayList();
+        for (LongCursor cursor : changedNodes) {
+            long nodeId = cursor.value;
+            targets.elementsCount = 0;
+            graph.forEachRelationship(nodeId, (source, target) -> {
+                targets.add(target);
+                return true;
+            });
+            relationshipCount -= targets.size();
+
+            LongHashSet removed = removals.get(nodeId);
+            if (removed != null) {
+                int kept = 0;
+                for (int i = 0; i < targets.size(); i++) {
+                    if (!removed.contains(targets.get(i))) {
+                        targets.set(kept++, targets.get(i));
+                    }
+                }
+                targets.elementsCount = kept;
+            }
+            Additions added = additions.get(nodeId);
+            if (added != null) {
+                targets.addAll(added.targets);
+            }
+            relationshipCount += aggregated ? new LongHashSet(targets).size() : targets.size();
+        }
+        return relationshipCount;
+    }
+
+    /**
+     * Records a new relationship. Property keys that are not given
+     * are stored with the default value of their property.
+     */
+    void add(long sourceNodeId, long targetNodeId, Map<String, Double> properties) {
+        double[] values = defaultValues.clone();
+        properties.forEach((propertyKey, value) -> {
+            int index = Arrays.binarySearch(propertyKeys, propertyKey);
+            if (index < 0) {
+                throw new IllegalArgumentException(String.format(
+                    "Unknown relationship property '%s', expected one of %s",
+                    propertyKey,
+                    Arrays.toString(propertyKeys)
+                ));
+            }
+            values[index] = value == null || Double.isNaN(value) ? defaultValues[index] : value;
+        });
+
+        if (reverse) {
+            addDirected(targetNodeId, sourceNodeId, values);
+        } else {
+            addDirected(sourceNodeId, targetNodeId, values);
+        }
+        if (undirected) {
+            addDirected(targetNodeId, sourceNodeId, values);
+        }
+    }
+
+    /**
+     * Records the removal of all relationships between the two nodes.
+     */
+    void remove(long sourceNodeId, long targetNodeId) {
+        if (reverse) {
+            removeDirected(targetNodeId, sourceNodeId);
+        } else {
+            removeDirected(sourceNodeId, targetNodeId);
+        }
+        if (undirected) {
+            removeDirected(targetNodeId, sourceNodeId);
+        }
+    }
+
+    private void addDirected(long sourceNodeId, long targetNodeId, double[] values) {
+        Additions additionsForSource = additions.get(sourceNodeId);
+        if (additionsForSource == null) {
+            additionsForSource = new Additions(propertyKeys.length);
+            additions.put(sourceNodeId, additionsForSource);
+        }
+        additionsForSource.add(targetNodeId, values);
+    }
+
+    private void removeDirected(long sourceNodeId, long targetNodeId) {
+        LongHashSet removalsForSource = removals.get(sourceNodeId);
+        if (removalsForSource == null) {
+            removalsForSource = new LongHashSet();
+            removals.put(sourceNodeId, removalsForSource);
+        }
+        removalsForSource.add(targetNodeId);
+
+        Additions additionsForSource = additions.get(sourceNodeId);
+        if (additionsForSource != null) {
+            additionsForSource.remove(targetNodeId);
+        }
+    }
+
+    /**
+     * Merges the existing relationships with the recorded changes into new adjacency and property lists.
+     * Parallel relationships are aggregated as configured by the projection the type has been loaded with.
+     * The delta must not be modified while the compaction is running.
+     */
+    Pair<HugeGraph.TopologyCSR, Map<String, HugeGraph.PropertyCSR>> compact(
+        HugeGraph.TopologyCSR topology,
+        Map<String, HugeGraph.PropertyCSR> properties,
+        Optional<RelationshipProjection> projection,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        int propertyCount = propertyKeys.length;
+        long nodeCount = nodes.nodeCount();
+
+        Aggregation[] aggregations = aggregations(projection);
+        int[] propertyKeyIds = new int[propertyCount];
+        Arrays.setAll(propertyKeyIds, i -> i);
+
+        RelationshipPropertyEncoding[] propertyEncodings = new RelationshipPropertyEncoding[propertyCount];
+        Arrays.setAll(propertyEncodings, i -> properties.get(propertyKeys[i]).encoding());
+
+        RelationshipsBuilder builder = new RelationshipsBuilder(
+            aggregations,
+            tracker,
+            propertyEncodings,
+            topology.list().encoding()
+        );
+        ImportSizing importSizing = ImportSizing.of(concurrency, nodeCount);
+        LongAdder relationshipCounter = new LongAdder();
+        AdjacencyBuilder adjacencyBuilder = AdjacencyBuilder.compressing(
+            builder,
+            importSizing.numberOfPages(),
+            importSizing.pageSize(),
+            tracker,
+            relationshipCounter,
+            propertyKeyIds,
+            defaultValues
+        );
+        RelationshipImporter importer = new RelationshipImporter(tracker, adjacencyBuilder);
+        // the existing lists are already in the stored direction, so they are copied as they are
+        RelationshipImporter.Imports imports = importer.imports(Orientation.NATURAL, propertyCount > 0);
+
+        long batchSize = ParallelUtil.adjustedBatchSize(nodeCount, concurrency, ParallelUtil.DEFAULT_BATCH_SIZE);
+        List<Runnable> tasks = new ArrayList<>();
+        for (long start = 0; start < nodeCount; start += batchSize) {
+            tasks.add(new CompactionTask(
+                start,
+                Math.min(nodeCount, start + batchSize),
+                topology,
+                properties,
+                imports,
+                tracker
+            ));
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+        ParallelUtil.run(importer.flushTasks(), executor);
+
+        long relationshipCount = relationshipCounter.sum();
+        AdjacencyList adjacencyList = builder.adjacencyList();
+        AdjacencyOffsets adjacencyOffsets = builder.globalAdjacencyOffsets();
+        HugeGraph.TopologyCSR compactedTopology = ImmutableTopologyCSR.of(
+            adjacencyList,
+            adjacencyOffsets,
+            relationshipCount,
+            topology.orientation(),
+            AdjacencySkipIndex.build(nodeCount, adjacencyList, adjacencyOffsets, tracker)
+        );
+
+        Map<String, HugeGraph.PropertyCSR> compactedProperties = new HashMap<>();
+        for (int i = 0; i < propertyCount; i++) {
+            compactedProperties.put(propertyKeys[i], ImmutablePropertyCSR.of(
+                builder.properties(i),
+                builder.globalPropertyOffsets(i),
+                relationshipCount,
+                topology.orientation(),
+                defaultValues[i]
+            ).withEncoding(propertyEncodings[i]));
+        }
+
+        return Tuples.pair(compactedTopology, compactedProperties);
+    }
+
+    /**
+     * Resolves the aggregation of every property in the same way as {@link org.neo4j.graphalgo.core.GraphDimensions#aggregations}:
+     * the aggregation of the property, falling back to the one of the projection and finally to {@link Aggregation#NONE}.
+     */
+    private Aggregation[] aggregations(Optional<RelationshipProjection> projection) {
+        Aggregation relationshipAggregation = projection
+            .map(RelationshipProjection::aggregation)
+            .orElse(Aggregation.DEFAULT);
+        Map<String, Aggregation> propertyAggregations = new HashMap<>();
+        projection.ifPresent(p -> p.properties().stream().forEach(mapping -> propertyAggregations.put(
+            mapping.propertyKey(),
+            mapping.aggregation()
+        )));
+
+        if (propertyKeys.length == 0) {
+            return new Aggregation[]{resolve(relationshipAggregation)};
+        }
+        Aggregation[] aggregations = new Aggregation[propertyKeys.length];
+        Arrays.setAll(aggregations, i -> {
+            Aggregation aggregation = propertyAggregations.getOrDefault(propertyKeys[i], Aggregation.DEFAULT);
+            return resolve(aggregation == Aggregation.DEFAULT ? relationshipAggregation : aggregation);
+        });
+        return aggregations;
+    }
+
+    private static Aggregation resolve(Aggregation aggregation) {
+        return aggregation == Aggregation.DEFAULT ? Aggregation.NONE : aggregation;
+    }
+
+    private final class CompactionTask implements Runnable {
+
+        private final long startNode;
+        private final long endNode;
+        private final HugeGraph[] graphs;
+        private final RelationshipImporter.Imports imports;
+
+        private final RelationshipsBatchBuffer buffer;
+        private final RelationshipPropertiesBatchBuffer propertyBuffer;
+
+        private final LongArrayList targets;
+        private final DoubleArrayList[] values;
+
+        CompactionTask(
+            long startNode,
+            long endNode,
+            HugeGraph.TopologyCSR topology,
+            Map<String, HugeGraph.PropertyCSR> properties,
+            RelationshipImporter.Imports imports,
+            AllocationTracker tracker
+        ) {
+            this.startNode = startNode;
+            this.endNode = endNode;
+            this.imports = imports;
+
+            int propertyCount = propertyKeys.length;
+            // every property list is read through its own graph, they all follow the order of the topology
+            this.graphs = new HugeGraph[Math.max(1, propertyCount)];
+            Arrays.setAll(graphs, i -> HugeGraph.create(
+                nodes,
+                Collections.emptyMap(),
+                topology,
+                propertyCount > 0 ? Optional.of(properties.get(propertyKeys[i])) : Optional.empty(),
+                tracker
+            ));
+
+            this.buffer = new RelationshipsBatchBuffer(nodes, -1, ParallelUtil.DEFAULT_BATCH_SIZE);
+            this.propertyBuffer = propertyCount > 0
+                ? new RelationshipPropertiesBatchBuffer(ParallelUtil.DEFAULT_BATCH_SIZE, propertyCount)
+                : null;
+
+            this.targets = new LongArrayList();
+            this.values = new DoubleArrayList[propertyCount];
+            Arrays.setAll(values, i -> new DoubleArrayList());
+        }
+
+        @Override
+        public void run() {
+            for (long nodeId = startNode; nodeId < endNode; nodeId++) {
+                readExisting(nodeId);
+
+                LongHashSet removed = removals.get(nodeId);
+                for (int i = 0; i < targets.size(); i++) {
+                    long target = targets.get(i);
+                    if (removed == null || !removed.contains(target)) {
+                        int relationshipIndex = emit(nodeId, target);
+                        for (int k = 0; k < values.length; k++) {
+                            propertyBuffer.add(relationshipIndex, k, values[k].get(i));
+                        }
+                    }
+                }
+
+                Additions added = additions.get(nodeId);
+                if (added != null) {
+                    for (int i = 0; i < added.targets.size(); i++) {
+                        int relationshipIndex = emit(nodeId, added.targets.get(i));
+                        for (int k = 0; k < values.length; k++) {
+                            propertyBuffer.add(relationshipIndex, k, added.values.get(i * values.length + k));
+                        }
+                    }
+                }
+            }
+            flush();
+        }
+
+        private void readExisting(long nodeId) {
+            targets.elementsCount = 0;
+            if (values.length == 0) {
+                graphs[0].forEachRelationship(nodeId, (source, target) -> {
+                    targets.add(target);
+                    return true;
+                });
+                return;
+            }
+            for (int k = 0; k < values.length; k++) {
+                DoubleArrayList valuesForProperty = values[k];
+                valuesForProperty.elementsCount = 0;
+                boolean collectTargets = k == 0;
+                graphs[k].forEachRelationship(nodeId, defaultValues[k], (source, target, value) -> {
+                    if (collectTargets) {
+                        targets.add(target);
+                    }
+                    valuesForProperty.add(value);
+                    return true;
+                });
+            }
+        }
+
+        private int emit(long source, long target) {
+            if (buffer.isFull()) {
+                flush();
+            }
+            int relationshipIndex = buffer.length >>> BATCH_ENTRY_SHIFT_SIZE;
+            buffer.add(source, target, -1L, relationshipIndex);
+            return relationshipIndex;
+        }
+
+        private void flush() {
+            if (buffer.length > 0) {
+                imports.importRelationships(buffer, propertyBuffer);
+                buffer.reset();
+            }
+        }
+    }
+
+    private static final class Additions {
+        private final int propertyCount;
+        private final LongArrayList targets;
+        private final DoubleArrayList values;
+
+        Additions(int propertyCount) {
+            this.propertyCount = propertyCount;
+            this.targets = new LongArrayList();
+            this.values = new DoubleArrayList();
+        }
+
+        void add(long target, double[] propertyValues) {
+            targets.add(target);
+            values.add(propertyValues);
+        }
+
+        void remove(long target) {
+            int kept = 0;
+            for (int i = 0; i < targets.size(); i++) {
+                if (targets.get(i) != target) {
+                    targets.set(kept, targets.get(i));
+                    for (int k = 0; k < propertyCount; k++) {
+                        values.set(kept * propertyCount + k, values.get(i * propertyCount + k));
+                    }
+                    kept++;
+                }
+            }
+            targets.elementsCount = kept;
+            values.elementsCount = kept * propertyCount;
+        }
+    }
+}
@@ -30,7 +30,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
-class RelationshipRowVisitor implements Result.ResultVisitor<RuntimeException> {
+class RelationshipRowVisitor implements CypherRecordLoader.RowVisitor {
 
     private static final long NO_RELATIONSHIP_REFERENCE = -1L;
     private static final String SOURCE_COLUMN = "source";
@@ -219,6 +219,12 @@ class RelationshipRowVisitor implements Result.ResultVisitor<RuntimeException> {
         localRelationshipIds.put(relationshipType, 0);
     }
 
+    @Override
+    public BatchLoadResult finish() {
+        flushAll();
+        return new BatchLoadResult(rows, -1L, relationshipCount);
+    }
+
     void flushAll() {
         relationshipCount += localImporters.values().stream()
             .mapToLong(SingleTypeRelationshipImporter::importRelationships)
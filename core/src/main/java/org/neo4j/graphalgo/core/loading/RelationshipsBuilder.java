@@ -20,7 +20,9 @@
 package org.neo4j.graphalgo.core.loading;
 
 
+import org.neo4j.graphalgo.core.AdjacencyEncoding;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.RelationshipPropertyEncoding;
 import org.neo4j.graphalgo.core.huge.AdjacencyList;
 import org.neo4j.graphalgo.core.huge.AdjacencyOffsets;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
@@ -32,6 +34,8 @@ public class RelationshipsBuilder {
     private static final AdjacencyListBuilder[] EMPTY_WEIGHTS = new AdjacencyListBuilder[0];
 
     private final Aggregation[] aggregations;
+    private final RelationshipPropertyEncoding[] propertyEncodings;
+    private final AdjacencyEncoding adjacencyEncoding;
     final AdjacencyListBuilder adjacencyListBuilder;
     final AdjacencyListBuilder[] propertyBuilders;
 
@@ -43,6 +47,33 @@ public class RelationshipsBuilder {
         AllocationTracker tracker,
         int numberOfRelationshipProperties
     ) {
+        this(aggregations, tracker, doubleEncodings(numberOfRelationshipProperties));
+    }
+
+    public RelationshipsBuilder(
+        Aggregation[] aggregations,
+        AllocationTracker tracker,
+        int numberOfRelationshipProperties,
+        AdjacencyEncoding adjacencyEncoding
+    ) {
+        this(aggregations, tracker, doubleEncodings(numberOfRelationshipProperties), adjacencyEncoding);
+    }
+
+    public RelationshipsBuilder(
+        Aggregation[] aggregations,
+        AllocationTracker tracker,
+        RelationshipPropertyEncoding[] propertyEncodings
+    ) {
+        this(aggregations, tracker, propertyEncodings, AdjacencyEncoding.VAR_LONG);
+    }
+
+    public RelationshipsBuilder(
+        Aggregation[] aggregations,
+        AllocationTracker tracker,
+        RelationshipPropertyEncoding[] propertyEncodings,
+        AdjacencyEncoding adjacencyEncoding
+    ) {
+        int numberOfRelationshipProperties = propertyEncodings.length;
         if (Arrays.stream(aggregations).anyMatch(d -> d == Aggregation.DEFAULT)) {
             throw new IllegalArgumentException(String.format(
                 "Needs an explicit aggregation, but got %s",
@@ -50,7 +81,9 @@ public class RelationshipsBuilder {
             ));
         }
         this.aggregations = aggregations;
-        adjacencyListBuilder = AdjacencyListBuilder.newBuilder(tracker);
+        this.propertyEncodings = propertyEncodings;
+        this.adjacencyEncoding = adjacencyEncoding;
+        adjacencyListBuilder = AdjacencyListBuilder.newBuilder(tracker, adjacencyEncoding);
         if (numberOfRelationshipProperties > 0) {
             propertyBuilders = new AdjacencyListBuilder[numberOfRelationshipProperties];
             // TODO: can we avoid to create an allocator/complete adjacency list
@@ -71,7 +104,19 @@ public class RelationshipsBuilder {
                         .map(AdjacencyListBuilder::newAllocator)
                         .toArray(AdjacencyListBuilder.Allocator[]::new),
                 adjacencyOffsets,
-                weightOffsets);
+                weightOffsets,
+                propertyEncodings,
+                adjacencyEncoding);
+    }
+
+    private static RelationshipPropertyEncoding[] doubleEncodings(int numberOfRelationshipProperties) {
+        RelationshipPropertyEncoding[] encodings = new RelationshipPropertyEncoding[numberOfRelationshipProperties];
+        Arrays.fill(encodings, RelationshipPropertyEncoding.DOUBLE);
+        return encodings;
+    }
+
+    public RelationshipPropertyEncoding propertyEncoding(int propertyIndex) {
+        return propertyEncodings[propertyIndex];
     }
 
     final void setGlobalAdjacencyOffsets(AdjacencyOffsets globalAdjacencyOffsets) {
@@ -21,19 +21,21 @@ package org.neo4j.graphalgo.core.loading;
 
 import org.neo4j.graphdb.Result;
 
-class ResultCountingVisitor implements Result.ResultVisitor<RuntimeException> {
+class ResultCountingVisitor implements CypherRecordLoader.RowVisitor {
     private long rows = 0;
 
-
     @Override
     public boolean visit(Result.ResultRow row) throws RuntimeException {
         rows++;
         return true;
     }
 
+    @Override
+    public BatchLoadResult finish() {
+        return new BatchLoadResult(rows, -1L, -1L);
+    }
+
     public long rows() {
         return rows;
     }
-
-
 }
@@ -96,10 +96,14 @@ abstract class ScanningRecordsImporter<Record extends AbstractBaseRecord, T> {
                 humanReadable(bytesPerSecond / numberOfThreads),
                 bytesPerSecond / numberOfThreads
         );
+        logImportStatistics(log);
 
         return build();
     }
 
+    void logImportStatistics(Log log) {
+    }
+
     abstract InternalImporter.CreateScanner creator(
             long nodeCount,
             ImportSizing sizing,
@@ -28,7 +28,9 @@ import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.kernel.impl.store.record.RelationshipRecord;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.logging.Log;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +47,7 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
     private final IdMapping idMap;
     private final Map<RelationshipProjectionMapping, RelationshipsBuilder> allBuilders;
     private final Map<RelationshipProjectionMapping, LongAdder> allRelationshipCounters;
+    private final List<AdjacencyBuilder> allAdjacencyBuilders;
 
     ScanningRelationshipsImporter(
             GraphSetup setup,
@@ -69,6 +72,7 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
         this.idMap = idMap;
         this.allBuilders = allBuilders;
         this.allRelationshipCounters = new HashMap<>();
+        this.allAdjacencyBuilders = new ArrayList<>();
     }
 
     @Override
@@ -122,11 +126,31 @@ final class ScanningRelationshipsImporter extends ScanningRecordsImporter<Relati
                 propertyKeyIds,
                 defaultValues
         );
+        allAdjacencyBuilders.add(adjacencyBuilder);
 
         RelationshipImporter importer = new RelationshipImporter(setup.tracker(), adjacencyBuilder);
         return new SingleTypeRelationshipImporter.Builder(mapping, importer, relationshipCounter);
     }
 
+    @Override
+    void logImportStatistics(Log log) {
+        long pageRuns = 0L;
+        long contendedPageRuns = 0L;
+        long deferredRelationships = 0L;
+        for (AdjacencyBuilder adjacencyBuilder : allAdjacencyBuilders) {
+            pageRuns += adjacencyBuilder.pageRuns();
+            contendedPageRuns += adjacencyBuilder.contendedPageRuns();
+            deferredRelationships += adjacencyBuilder.deferredRelationships();
+        }
+        log.info(
+                "Relationship Store Scan: %,d of %,d page runs (%.2f%%) were contended, %,d relationships have been deferred",
+                contendedPageRuns,
+                pageRuns,
+                pageRuns == 0L ? 0.0 : 100.0 * contendedPageRuns / pageRuns,
+                deferredRelationships
+        );
+    }
+
     @Override
     ObjectLongMap<RelationshipProjectionMapping> build() {
         ObjectLongMap<RelationshipProjectionMapping> relationshipCounters = new ObjectLongHashMap<>(allRelationshipCounters.size());
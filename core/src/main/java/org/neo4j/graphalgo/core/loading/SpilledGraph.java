@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+
+/**
+ * Describes a graph that has been evicted from the {@link GraphStoreCatalog} and written to a spill file,
+ * so that it can be listed or dropped without loading it back.
+ */
+@ValueClass
+public interface SpilledGraph {
+
+    GraphCreateConfig config();
+
+    long nodeCount();
+
+    long relationshipCount();
+
+    /**
+     * The usage statistics of the graph at the time it has been evicted.
+     */
+    GraphStoreAccessStats accessStats();
+}
@@ -20,31 +20,42 @@
 package org.neo4j.graphalgo.core.loading;
 
 import org.apache.lucene.util.LongsRef;
+import org.neo4j.graphalgo.core.AdjacencyEncoding;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.RelationshipPropertyEncoding;
+import org.neo4j.graphalgo.core.huge.EncodedPropertyList;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Arrays;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.neo4j.graphalgo.core.loading.AdjacencyCompression.writeDegree;
 
 class ThreadLocalRelationshipsBuilder {
 
-    private final ReentrantLock lock;
+    private final AtomicBoolean acquired;
     private final Aggregation[] aggregations;
     private final AdjacencyListBuilder.Allocator adjacencyAllocator;
     private final AdjacencyListBuilder.Allocator[] propertiesAllocators;
     private final long[] adjacencyOffsets;
     private final long[][] weightOffsets;
     private final boolean noAggregation;
+    private final AdjacencyCompression.SortBuffer sortBuffer;
+    private final boolean blockPacked;
+    private byte[] blockBuffer;
+    // null for properties that are stored as plain doubles
+    private final EncodedPropertyList.Encoder[] propertyEncoders;
+    private byte[] encodingBuffer;
 
     ThreadLocalRelationshipsBuilder(
             Aggregation[] aggregations,
             AdjacencyListBuilder.Allocator adjacencyAllocator,
             final AdjacencyListBuilder.Allocator[] propertiesAllocators,
             long[] adjacencyOffsets,
-            final long[][] weightOffsets) {
+            final long[][] weightOffsets,
+            RelationshipPropertyEncoding[] propertyEncodings,
+            AdjacencyEncoding adjacencyEncoding) {
         if (aggregations.length == 0) {
             throw new IllegalArgumentException("Needs at least one aggregation");
         }
@@ -54,7 +65,15 @@ class ThreadLocalRelationshipsBuilder {
         this.propertiesAllocators = propertiesAllocators;
         this.adjacencyOffsets = adjacencyOffsets;
         this.weightOffsets = weightOffsets;
-        this.lock = new ReentrantLock();
+        this.sortBuffer = new AdjacencyCompression.SortBuffer();
+        this.propertyEncoders = new EncodedPropertyList.Encoder[propertiesAllocators.length];
+        Arrays.setAll(propertyEncoders, i -> propertyEncodings[i] == RelationshipPropertyEncoding.DOUBLE
+            ? null
+            : new EncodedPropertyList.Encoder(propertyEncodings[i]));
+        this.encodingBuffer = new byte[0];
+        this.blockPacked = adjacencyEncoding == AdjacencyEncoding.BLOCK_PACKED;
+        this.blockBuffer = new byte[0];
+        this.acquired = new AtomicBoolean();
     }
 
     final void prepare() {
@@ -67,12 +86,17 @@ class ThreadLocalRelationshipsBuilder {
         }
     }
 
-    final void lock() {
-        lock.lock();
+    /**
+     * Tries to get exclusive access to the page of this builder without waiting for it.
+     * Importer threads that fail to acquire a page hand their relationships over to the
+     * current owner instead, see {@link AdjacencyBuilder}.
+     */
+    final boolean tryAcquire() {
+        return !acquired.get() && acquired.compareAndSet(false, true);
     }
 
-    final void unlock() {
-        lock.unlock();
+    final void release() {
+        acquired.set(false);
     }
 
     int applyVariableDeltaEncoding(
@@ -94,8 +118,7 @@ class ThreadLocalRelationshipsBuilder {
         byte[] storage = array.storage();
         AdjacencyCompression.copyFrom(buffer, array);
         int degree = AdjacencyCompression.applyDeltaEncoding(buffer, aggregations[0]);
-        int requiredBytes = AdjacencyCompression.compress(buffer, storage);
-        long address = copyIds(storage, requiredBytes, degree);
+        long address = compressIds(buffer, storage, degree);
         adjacencyOffsets[localId] = address;
         array.release();
         return degree;
@@ -108,16 +131,35 @@ class ThreadLocalRelationshipsBuilder {
         byte[] storage = array.storage();
         long[][] weights = array.weights();
         AdjacencyCompression.copyFrom(buffer, array);
-        int degree = AdjacencyCompression.applyDeltaEncoding(buffer, weights, aggregations, noAggregation);
-        int requiredBytes = AdjacencyCompression.compress(buffer, storage);
-
-        adjacencyOffsets[localId] = copyIds(storage, requiredBytes, degree);
+        int degree = AdjacencyCompression.applyDeltaEncoding(
+            buffer,
+            weights,
+            aggregations,
+            noAggregation,
+            sortBuffer
+        );
+
+        adjacencyOffsets[localId] = compressIds(buffer, storage, degree);
         copyProperties(weights, degree, localId, weightOffsets);
 
         array.release();
         return degree;
     }
 
+    private long compressIds(LongsRef deltas, byte[] storage, int degree) {
+        if (blockPacked) {
+            // block packing can need more space than the vlongs that the storage was sized for
+            int maxBytes = BlockPackedEncoding.maxEncodedSize(degree);
+            if (blockBuffer.length < maxBytes) {
+                blockBuffer = new byte[maxBytes];
+            }
+            int requiredBytes = BlockPackedEncoding.encodeBlocks(deltas.longs, degree, blockBuffer, 0);
+            return copyIds(blockBuffer, requiredBytes, degree);
+        }
+        int requiredBytes = AdjacencyCompression.compress(deltas, storage);
+        return copyIds(storage, requiredBytes, degree);
+    }
+
     private long copyIds(byte[] targets, int requiredBytes, int degree) {
         // sizeOf(degree) + compression bytes
         long address = adjacencyAllocator.allocate(Integer.BYTES + requiredBytes);
@@ -132,7 +174,10 @@ class ThreadLocalRelationshipsBuilder {
         for (int i = 0; i < properties.length; i++) {
             long[] property = properties[i];
             AdjacencyListBuilder.Allocator propertiesAllocator = propertiesAllocators[i];
-            long address = copyProperties(property, degree, propertiesAllocator);
+            EncodedPropertyList.Encoder encoder = propertyEncoders[i];
+            long address = encoder == null
+                ? copyProperties(property, degree, propertiesAllocator)
+                : copyEncodedProperties(property, degree, encoder, propertiesAllocator);
             offsets[i][localId] = address;
         }
     }
@@ -150,4 +195,22 @@ class ThreadLocalRelationshipsBuilder {
         propertiesAllocator.offset = (offset + requiredBytes);
         return address;
     }
+
+    private long copyEncodedProperties(
+            long[] properties,
+            int degree,
+            EncodedPropertyList.Encoder encoder,
+            AdjacencyListBuilder.Allocator propertiesAllocator) {
+        int maxBytes = EncodedPropertyList.maxEncodedSize(degree);
+        if (encodingBuffer.length < maxBytes) {
+            encodingBuffer = new byte[maxBytes];
+        }
+        int requiredBytes = encoder.encode(properties, degree, encodingBuffer);
+        long address = propertiesAllocator.allocate(Integer.BYTES /* degree */ + requiredBytes);
+        int offset = propertiesAllocator.offset;
+        offset = writeDegree(propertiesAllocator.page, offset, degree);
+        System.arraycopy(encodingBuffer, 0, propertiesAllocator.page, offset, requiredBytes);
+        propertiesAllocator.offset = (offset + requiredBytes);
+        return address;
+    }
 }
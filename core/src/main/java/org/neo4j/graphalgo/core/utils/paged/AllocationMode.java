@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Decides where the pages of {@link HugeLongArray}s, {@link HugeDoubleArray}s and {@link HugeIntArray}s
+ * are stored. The mode is a property of the {@link AllocationTracker} that is passed when creating an array,
+ * so that all arrays of one graph projection share the same mode.
+ * <p>
+ * Off-heap and mapped pages are not subject to garbage collection pauses, but every access
+ * goes through a {@link java.nio.Buffer} instead of a primitive array.
+ * Their memory is freed once the pages are garbage collected after the array has been released.
+ */
+public enum AllocationMode {
+
+    /**
+     * Pages are primitive arrays on the Java heap.
+     */
+    HEAP(null),
+
+    /**
+     * Pages are direct byte buffers outside of the Java heap,
+     * limited by {@code -XX:MaxDirectMemorySize}.
+     */
+    OFF_HEAP(ByteBuffer::allocateDirect),
+
+    /**
+     * Pages are memory mapped from temporary files, which allows
+     * the operating system to page out data that does not fit into memory.
+     * The files are deleted immediately after mapping, their storage is
+     * reclaimed once the mappings have been garbage collected.
+     */
+    MAPPED(AllocationMode::mapChunk);
+
+    private static final int MAX_CHUNK_SIZE = 1 << 30;
+
+    // allocates the chunks that off-heap pages are sliced from, heap pages are allocated by the arrays themselves
+    private final @Nullable IntFunction<ByteBuffer> chunkAllocator;
+
+    AllocationMode(@Nullable IntFunction<ByteBuffer> chunkAllocator) {
+        this.chunkAllocator = chunkAllocator;
+    }
+
+    public boolean isOffHeap() {
+        return chunkAllocator != null;
+    }
+
+    /**
+     * Allocates {@code numberOfPages} zeroed pages of {@code bytesPerPage} bytes each, in native byte order.
+     * Consecutive pages are sliced from shared chunks of up to 1 GiB, to keep the
+     * number of direct buffers and file mappings low.
+     */
+    ByteBuffer[] allocatePages(int numberOfPages, int bytesPerPage, AllocationTracker tracker) {
+        if (chunkAllocator == null) {
+            throw new IllegalStateException(String.format("Pages of allocation mode %s are not stored in buffers.", this));
+        }
+        ByteBuffer[] pages = new ByteBuffer[numberOfPages];
+        int pagesPerChunk = Math.max(1, MAX_CHUNK_SIZE / bytesPerPage);
+        for (int chunkStart = 0; chunkStart < numberOfPages; chunkStart += pagesPerChunk) {
+            int chunkPages = Math.min(pagesPerChunk, numberOfPages - chunkStart);
+            ByteBuffer chunk = chunkAllocator.apply(chunkPages * bytesPerPage);
+            tracker.add((long) chunkPages * bytesPerPage);
+            for (int page = 0; page < chunkPages; page++) {
+                chunk.limit((page + 1) * bytesPerPage).position(page * bytesPerPage);
+                pages[chunkStart + page] = chunk.slice().order(ByteOrder.nativeOrder());
+            }
+        }
+        return pages;
+    }
+
+    private static ByteBuffer mapChunk(int bytes) {
+        try {
+            Path file = Files.createTempFile("gds-", ".pages");
+            try (FileChannel channel = FileChannel.open(
+                file,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE
+            )) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0L, bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map pages of " + bytes + " bytes", e);
+        }
+    }
+
+    public static AllocationMode of(String value) {
+        try {
+            return AllocationMode.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            String availableModes = Arrays
+                .stream(AllocationMode.values())
+                .map(AllocationMode::name)
+                .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException(String.format(
+                "Allocation mode `%s` is not supported. Must be one of: %s.",
+                value,
+                availableModes));
+        }
+    }
+
+    public static AllocationMode parse(Object object) {
+        if (object == null) {
+            return null;
+        }
+        if (object instanceof String) {
+            return of((String) object);
+        }
+        if (object instanceof AllocationMode) {
+            return (AllocationMode) object;
+        }
+        return null;
+    }
+}
@@ -56,6 +56,15 @@ public class AllocationTracker implements Supplier<String> {
     };
 
     private final AtomicLong count = new AtomicLong();
+    private final AllocationMode allocationMode;
+
+    private AllocationTracker() {
+        this(AllocationMode.HEAP);
+    }
+
+    private AllocationTracker(AllocationMode allocationMode) {
+        this.allocationMode = allocationMode;
+    }
 
     public void add(long delta) {
         count.addAndGet(delta);
@@ -69,6 +78,13 @@ public class AllocationTracker implements Supplier<String> {
         return count.get();
     }
 
+    /**
+     * @return where Huge arrays that are tracked by this tracker are allocated
+     */
+    public AllocationMode allocationMode() {
+        return allocationMode;
+    }
+
     public String getUsageString() {
         return humanReadable(tracked());
     }
@@ -86,6 +102,10 @@ public class AllocationTracker implements Supplier<String> {
         return new AllocationTracker();
     }
 
+    public static AllocationTracker create(AllocationMode allocationMode) {
+        return new AllocationTracker(allocationMode);
+    }
+
     public static boolean isTracking(AllocationTracker tracker) {
         return tracker != null && tracker != EMPTY;
     }
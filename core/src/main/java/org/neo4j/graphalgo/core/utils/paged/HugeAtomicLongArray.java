@@ -90,6 +90,15 @@ public abstract class HugeAtomicLongArray {
      */
     public abstract boolean compareAndSet(long index, long expect, long update);
 
+    /**
+     * Atomically adds the given delta to the element at index {@code index}.
+     *
+     * @param index the index
+     * @param delta the value to add
+     * @return the previous value
+     */
+    public abstract long getAndAdd(long index, long delta);
+
     /**
      * Atomically updates the element at index {@code index} with the results
      * of applying the given function, returning the updated value. The
@@ -247,6 +256,17 @@ public abstract class HugeAtomicLongArray {
             return compareAndSetRaw(memoryOffset((int) index), expect, update);
         }
 
+        @Override
+        public long getAndAdd(long index, long delta) {
+            assert index < size;
+            long offset = memoryOffset((int) index);
+            long prev;
+            do {
+                prev = getRaw(offset);
+            } while (!compareAndSetRaw(offset, prev, prev + delta));
+            return prev;
+        }
+
         @Override
         public void update(long index, LongUnaryOperator updateFunction) {
             assert index < size;
@@ -355,6 +375,20 @@ public abstract class HugeAtomicLongArray {
             return compareAndSetRaw(pages[pageIndex], memoryOffset(indexInPage), expect, update);
         }
 
+        @Override
+        public long getAndAdd(long index, long delta) {
+            assert index < size && index >= 0;
+            int pageIndex = pageIndex(index);
+            int indexInPage = indexInPage(index);
+            long[] page = pages[pageIndex];
+            long offset = memoryOffset(indexInPage);
+            long prev;
+            do {
+                prev = getRaw(page, offset);
+            } while (!compareAndSetRaw(page, offset, prev, prev + delta));
+            return prev;
+        }
+
         @Override
         public void update(long index, LongUnaryOperator updateFunction) {
             assert index < size && index >= 0;
@@ -186,4 +186,97 @@ public abstract class HugeCursor<Array> implements AutoCloseable {
             pageIndex = -1;
         }
     }
+
+    /**
+     * Cursor over pages that are not backed by primitive arrays.
+     * The current slice is copied into a primitive array when the cursor advances,
+     * and copied back into its page once the cursor advances again or is closed.
+     * Modifications of the slice are therefore visible in the underlying array after
+     * {@link #next()} or {@link #close()} has been called.
+     */
+    static final class OffHeapCursor<Array> extends HugeCursor<Array> {
+
+        interface Pages<Array> {
+            /**
+             * Copies {@code length} values starting at {@code offset} from the given page into
+             * the same range of {@code array}.
+             */
+            void read(int pageIndex, Array array, int offset, int length);
+
+            /**
+             * Copies {@code length} values starting at {@code offset} from {@code array} into
+             * the same range of the given page.
+             */
+            void write(int pageIndex, Array array, int offset, int length);
+        }
+
+        private Pages<Array> pages;
+        private int pageIndex;
+        private int fromPage;
+        private int maxPage;
+        private long capacity;
+        private long end;
+        private int startOffset;
+        private boolean loaded;
+
+        OffHeapCursor(final long capacity, final Pages<Array> pages, final Array buffer) {
+            super();
+            this.capacity = capacity;
+            this.pages = pages;
+            this.array = buffer;
+        }
+
+        @Override
+        void setRange() {
+            setRange(0L, capacity);
+        }
+
+        @Override
+        void setRange(long start, long end) {
+            writeBack();
+            fromPage = pageIndex(start);
+            maxPage = pageIndex(end - 1L);
+            pageIndex = fromPage - 1;
+            this.end = end;
+            startOffset = indexInPage(start);
+        }
+
+        @Override
+        public final boolean next() {
+            writeBack();
+            int current = ++pageIndex;
+            if (current > maxPage) {
+                return false;
+            }
+            base = (long) current << PAGE_SHIFT;
+            offset = current == fromPage ? startOffset : 0;
+            limit = current == maxPage ? exclusiveIndexOfPage(end) : PAGE_SIZE;
+            pages.read(current, array, offset, limit - offset);
+            loaded = true;
+            return true;
+        }
+
+        private void writeBack() {
+            if (loaded) {
+                pages.write(pageIndex, array, offset, limit - offset);
+                loaded = false;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (pages != null) {
+                writeBack();
+            }
+            array = null;
+            pages = null;
+            base = 0L;
+            end = 0L;
+            limit = 0;
+            capacity = 0L;
+            maxPage = -1;
+            fromPage = -1;
+            pageIndex = -1;
+        }
+    }
 }
@@ -22,11 +22,14 @@ package org.neo4j.graphalgo.core.utils.paged;
 import org.neo4j.graphalgo.core.utils.ArrayUtil;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
 import java.util.Arrays;
 import java.util.function.IntToDoubleFunction;
 import java.util.function.LongFunction;
 import java.util.function.LongToDoubleFunction;
 import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
 
 import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
 import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
@@ -141,6 +144,24 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
         return copy;
     }
 
+    /**
+     * Copies element by element, used if the destination has a different page layout than this array.
+     */
+    final void copyElements(final HugeDoubleArray dest, long length) {
+        if (length > size()) {
+            length = size();
+        }
+        if (length > dest.size()) {
+            length = dest.size();
+        }
+        for (long i = 0L; i < length; i++) {
+            dest.set(i, get(i));
+        }
+        for (long i = length; i < dest.size(); i++) {
+            dest.set(i, 0D);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -184,8 +205,12 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
     /**
      * Creates a new array of the given size, tracking the memory requirements into the given {@link AllocationTracker}.
      * The tracker is no longer referenced, as the arrays do not dynamically change their size.
+     * Arrays of at least one page in size are allocated according to the {@link AllocationTracker#allocationMode()}.
      */
     public static HugeDoubleArray newArray(long size, AllocationTracker tracker) {
+        if (size >= PAGE_SIZE && tracker.allocationMode().isOffHeap()) {
+            return OffHeapHugeDoubleArray.of(size, tracker);
+        }
         if (size <= ArrayUtil.MAX_ARRAY_LENGTH) {
             return SingleHugeDoubleArray.of(size, tracker);
         }
@@ -313,6 +338,8 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
                         remaining -= toCopy;
                     }
                 }
+            } else {
+                copyElements(dest, length);
             }
         }
 
@@ -465,6 +492,8 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
                 for (int i = pageLen; i < dst.pages.length; i++) {
                     Arrays.fill(dst.pages[i], 0D);
                 }
+            } else {
+                copyElements(dest, length);
             }
         }
 
@@ -497,4 +526,127 @@ public abstract class HugeDoubleArray extends HugeArray<double[], Double, HugeDo
             return Arrays.stream(pages).flatMapToDouble(Arrays::stream);
         }
     }
+
+    private static final class OffHeapHugeDoubleArray extends HugeDoubleArray {
+
+        private static HugeDoubleArray of(long size, AllocationTracker tracker) {
+            int numPages = numberOfPages(size);
+            ByteBuffer[] buffers = tracker.allocationMode().allocatePages(numPages, PAGE_SIZE * Double.BYTES, tracker);
+            DoubleBuffer[] pages = new DoubleBuffer[numPages];
+            for (int i = 0; i < numPages; i++) {
+                pages[i] = buffers[i].asDoubleBuffer();
+            }
+            long memoryUsed = sizeOfObjectArray(numPages) + (long) numPages * PAGE_SIZE * Double.BYTES;
+            tracker.add(sizeOfObjectArray(numPages));
+
+            return new OffHeapHugeDoubleArray(size, pages, memoryUsed);
+        }
+
+        private final long size;
+        private DoubleBuffer[] pages;
+        private final long memoryUsed;
+
+        private OffHeapHugeDoubleArray(long size, DoubleBuffer[] pages, long memoryUsed) {
+            this.size = size;
+            this.pages = pages;
+            this.memoryUsed = memoryUsed;
+        }
+
+        @Override
+        public double get(long index) {
+            assert index < size;
+            return pages[pageIndex(index)].get(indexInPage(index));
+        }
+
+        @Override
+        public void set(long index, double value) {
+            assert index < size;
+            pages[pageIndex(index)].put(indexInPage(index), value);
+        }
+
+        @Override
+        public void addTo(long index, double value) {
+            assert index < size;
+            final DoubleBuffer page = pages[pageIndex(index)];
+            final int indexInPage = indexInPage(index);
+            page.put(indexInPage, page.get(indexInPage) + value);
+        }
+
+        @Override
+        public void setAll(LongToDoubleFunction gen) {
+            for (int i = 0; i < pages.length; i++) {
+                final long t = ((long) i) << PAGE_SHIFT;
+                final DoubleBuffer page = pages[i];
+                final int pageLength = pageLength(i);
+                for (int j = 0; j < pageLength; j++) {
+                    page.put(j, gen.applyAsDouble(t + j));
+                }
+            }
+        }
+
+        @Override
+        public void fill(double value) {
+            for (int i = 0; i < pages.length; i++) {
+                final DoubleBuffer page = pages[i];
+                final int pageLength = pageLength(i);
+                for (int j = 0; j < pageLength; j++) {
+                    page.put(j, value);
+                }
+            }
+        }
+
+        // the last page is allocated with the full page size, but only holds the remaining elements
+        private int pageLength(int pageIndex) {
+            return pageIndex == pages.length - 1 ? exclusiveIndexOfPage(size) : PAGE_SIZE;
+        }
+
+        @Override
+        public void copyTo(HugeDoubleArray dest, long length) {
+            copyElements(dest, length);
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long sizeOf() {
+            return memoryUsed;
+        }
+
+        @Override
+        public long release() {
+            if (pages != null) {
+                pages = null;
+                return memoryUsed;
+            }
+            return 0L;
+        }
+
+        @Override
+        public HugeCursor<double[]> newCursor() {
+            final DoubleBuffer[] pages = this.pages;
+            return new HugeCursor.OffHeapCursor<>(size, new HugeCursor.OffHeapCursor.Pages<double[]>() {
+                @Override
+                public void read(int pageIndex, double[] array, int offset, int length) {
+                    DoubleBuffer page = pages[pageIndex].duplicate();
+                    page.position(offset);
+                    page.get(array, offset, length);
+                }
+
+                @Override
+                public void write(int pageIndex, double[] array, int offset, int length) {
+                    DoubleBuffer page = pages[pageIndex].duplicate();
+                    page.position(offset);
+                    page.put(array, offset, length);
+                }
+            }, new double[PAGE_SIZE]);
+        }
+
+        @Override
+        public DoubleStream stream() {
+            return LongStream.range(0L, size).mapToDouble(this::get);
+        }
+    }
 }
@@ -23,6 +23,8 @@ import org.neo4j.graphalgo.core.loading.SparseNodeMapping;
 import org.neo4j.graphalgo.core.utils.ArrayUtil;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
 
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
 import java.util.Arrays;
 import java.util.function.LongFunction;
 import java.util.function.LongToIntFunction;
@@ -154,6 +156,24 @@ public abstract class HugeIntArray extends HugeArray<int[], Integer, HugeIntArra
         return copy;
     }
 
+    /**
+     * Copies element by element, used if the destination has a different page layout than this array.
+     */
+    final void copyElements(final HugeIntArray dest, long length) {
+        if (length > size()) {
+            length = size();
+        }
+        if (length > dest.size()) {
+            length = dest.size();
+        }
+        for (long i = 0L; i < length; i++) {
+            dest.set(i, get(i));
+        }
+        for (long i = length; i < dest.size(); i++) {
+            dest.set(i, 0);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -197,8 +217,12 @@ public abstract class HugeIntArray extends HugeArray<int[], Integer, HugeIntArra
     /**
      * Creates a new array of the given size, tracking the memory requirements into the given {@link AllocationTracker}.
      * The tracker is no longer referenced, as the arrays do not dynamically change their size.
+     * Arrays of at least one page in size are allocated according to the {@link AllocationTracker#allocationMode()}.
      */
     public static HugeIntArray newArray(long size, AllocationTracker tracker) {
+        if (size >= PAGE_SIZE && tracker.allocationMode().isOffHeap()) {
+            return OffHeapHugeIntArray.of(size, tracker);
+        }
         if (size <= ArrayUtil.MAX_ARRAY_LENGTH) {
             return SingleHugeIntArray.of(size, tracker);
         }
@@ -320,6 +344,8 @@ public abstract class HugeIntArray extends HugeArray<int[], Integer, HugeIntArra
                         remaining -= toCopy;
                     }
                 }
+            } else {
+                copyElements(dest, length);
             }
         }
 
@@ -483,6 +509,8 @@ public abstract class HugeIntArray extends HugeArray<int[], Integer, HugeIntArra
                 for (int i = pageLen; i < dst.pages.length; i++) {
                     Arrays.fill(dst.pages[i], 0);
                 }
+            } else {
+                copyElements(dest, length);
             }
         }
 
@@ -510,4 +538,140 @@ public abstract class HugeIntArray extends HugeArray<int[], Integer, HugeIntArra
             return new HugeCursor.PagedCursor<>(size, pages);
         }
     }
+
+    private static final class OffHeapHugeIntArray extends HugeIntArray {
+
+        private static HugeIntArray of(long size, AllocationTracker tracker) {
+            int numPages = numberOfPages(size);
+            ByteBuffer[] buffers = tracker.allocationMode().allocatePages(numPages, PAGE_SIZE * Integer.BYTES, tracker);
+            IntBuffer[] pages = new IntBuffer[numPages];
+            for (int i = 0; i < numPages; i++) {
+                pages[i] = buffers[i].asIntBuffer();
+            }
+            long memoryUsed = sizeOfObjectArray(numPages) + (long) numPages * PAGE_SIZE * Integer.BYTES;
+            tracker.add(sizeOfObjectArray(numPages));
+
+            return new OffHeapHugeIntArray(size, pages, memoryUsed);
+        }
+
+        private final long size;
+        private IntBuffer[] pages;
+        private final long memoryUsed;
+
+        private OffHeapHugeIntArray(long size, IntBuffer[] pages, long memoryUsed) {
+            this.size = size;
+            this.pages = pages;
+            this.memoryUsed = memoryUsed;
+        }
+
+        @Override
+        public int get(long index) {
+            assert index < size;
+            return pages[pageIndex(index)].get(indexInPage(index));
+        }
+
+        @Override
+        public void set(long index, int value) {
+            assert index < size;
+            pages[pageIndex(index)].put(indexInPage(index), value);
+        }
+
+        @Override
+        public void or(long index, final int value) {
+            assert index < size;
+            final IntBuffer page = pages[pageIndex(index)];
+            final int indexInPage = indexInPage(index);
+            page.put(indexInPage, page.get(indexInPage) | value);
+        }
+
+        @Override
+        public int and(long index, final int value) {
+            assert index < size;
+            final IntBuffer page = pages[pageIndex(index)];
+            final int indexInPage = indexInPage(index);
+            final int result = page.get(indexInPage) & value;
+            page.put(indexInPage, result);
+            return result;
+        }
+
+        @Override
+        public void addTo(long index, int value) {
+            assert index < size;
+            final IntBuffer page = pages[pageIndex(index)];
+            final int indexInPage = indexInPage(index);
+            page.put(indexInPage, page.get(indexInPage) + value);
+        }
+
+        @Override
+        public void setAll(LongToIntFunction gen) {
+            for (int i = 0; i < pages.length; i++) {
+                final long t = ((long) i) << PAGE_SHIFT;
+                final IntBuffer page = pages[i];
+                final int pageLength = pageLength(i);
+                for (int j = 0; j < pageLength; j++) {
+                    page.put(j, gen.applyAsInt(t + j));
+                }
+            }
+        }
+
+        @Override
+        public void fill(int value) {
+            for (int i = 0; i < pages.length; i++) {
+                final IntBuffer page = pages[i];
+                final int pageLength = pageLength(i);
+                for (int j = 0; j < pageLength; j++) {
+                    page.put(j, value);
+                }
+            }
+        }
+
+        // the last page is allocated with the full page size, but only holds the remaining elements
+        private int pageLength(int pageIndex) {
+            return pageIndex == pages.length - 1 ? exclusiveIndexOfPage(size) : PAGE_SIZE;
+        }
+
+        @Override
+        public void copyTo(HugeIntArray dest, long length) {
+            copyElements(dest, length);
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long sizeOf() {
+            return memoryUsed;
+        }
+
+        @Override
+        public long release() {
+            if (pages != null) {
+                pages = null;
+                return memoryUsed;
+            }
+            return 0L;
+        }
+
+        @Override
+        public HugeCursor<int[]> newCursor() {
+            final IntBuffer[] pages = this.pages;
+            return new HugeCursor.OffHeapCursor<>(size, new HugeCursor.OffHeapCursor.Pages<int[]>() {
+                @Override
+                public void read(int pageIndex, int[] array, int offset, int length) {
+                    IntBuffer page = pages[pageIndex].duplicate();
+                    page.position(offset);
+                    page.get(array, offset, length);
+                }
+
+                @Override
+                public void write(int pageIndex, int[] array, int offset, int length) {
+                    IntBuffer page = pages[pageIndex].duplicate();
+                    page.position(offset);
+                    page.put(array, offset, length);
+                }
+            }, new int[PAGE_SIZE]);
+        }
+    }
 }
@@ -23,6 +23,8 @@ import org.neo4j.graphalgo.core.loading.SparseNodeMapping;
 import org.neo4j.graphalgo.core.utils.ArrayUtil;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
 
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
 import java.util.Arrays;
 import java.util.function.IntToLongFunction;
 import java.util.function.LongFunction;
@@ -156,6 +158,24 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
         return copy;
     }
 
+    /**
+     * Copies element by element, used if the destination has a different page layout than this array.
+     */
+    final void copyElements(final HugeLongArray dest, long length) {
+        if (length > size()) {
+            length = size();
+        }
+        if (length > dest.size()) {
+            length = dest.size();
+        }
+        for (long i = 0L; i < length; i++) {
+            dest.set(i, get(i));
+        }
+        for (long i = length; i < dest.size(); i++) {
+            dest.set(i, 0L);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -199,8 +219,12 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
     /**
      * Creates a new array of the given size, tracking the memory requirements into the given {@link AllocationTracker}.
      * The tracker is no longer referenced, as the arrays do not dynamically change their size.
+     * Arrays of at least one page in size are allocated according to the {@link AllocationTracker#allocationMode()}.
      */
     public static HugeLongArray newArray(long size, AllocationTracker tracker) {
+        if (size >= PAGE_SIZE && tracker.allocationMode().isOffHeap()) {
+            return OffHeapHugeLongArray.of(size, tracker);
+        }
         if (size <= ArrayUtil.MAX_ARRAY_LENGTH) {
             return SingleHugeLongArray.of(size, tracker);
         }
@@ -340,6 +364,8 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
                         remaining -= toCopy;
                     }
                 }
+            } else {
+                copyElements(dest, length);
             }
         }
 
@@ -503,6 +529,8 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
                 for (int i = pageLen; i < dst.pages.length; i++) {
                     Arrays.fill(dst.pages[i], 0L);
                 }
+            } else {
+                copyElements(dest, length);
             }
         }
 
@@ -530,4 +558,140 @@ public abstract class HugeLongArray extends HugeArray<long[], Long, HugeLongArra
             return new HugeCursor.PagedCursor<>(size, pages);
         }
     }
+
+    private static final class OffHeapHugeLongArray extends HugeLongArray {
+
+        private static HugeLongArray of(long size, AllocationTracker tracker) {
+            int numPages = numberOfPages(size);
+            ByteBuffer[] buffers = tracker.allocationMode().allocatePages(numPages, PAGE_SIZE * Long.BYTES, tracker);
+            LongBuffer[] pages = new LongBuffer[numPages];
+            for (int i = 0; i < numPages; i++) {
+                pages[i] = buffers[i].asLongBuffer();
+            }
+            long memoryUsed = sizeOfObjectArray(numPages) + (long) numPages * PAGE_SIZE * Long.BYTES;
+            tracker.add(sizeOfObjectArray(numPages));
+
+            return new OffHeapHugeLongArray(size, pages, memoryUsed);
+        }
+
+        private final long size;
+        private LongBuffer[] pages;
+        private final long memoryUsed;
+
+        private OffHeapHugeLongArray(long size, LongBuffer[] pages, long memoryUsed) {
+            this.size = size;
+            this.pages = pages;
+            this.memoryUsed = memoryUsed;
+        }
+
+        @Override
+        public long get(long index) {
+            assert index < size;
+            return pages[pageIndex(index)].get(indexInPage(index));
+        }
+
+        @Override
+        public void set(long index, long value) {
+            assert index < size;
+            pages[pageIndex(index)].put(indexInPage(index), value);
+        }
+
+        @Override
+        public void or(long index, final long value) {
+            assert index < size;
+            final LongBuffer page = pages[pageIndex(index)];
+            final int indexInPage = indexInPage(index);
+            page.put(indexInPage, page.get(indexInPage) | value);
+        }
+
+        @Override
+        public long and(long index, final long value) {
+            assert index < size;
+            final LongBuffer page = pages[pageIndex(index)];
+            final int indexInPage = indexInPage(index);
+            final long result = page.get(indexInPage) & value;
+            page.put(indexInPage, result);
+            return result;
+        }
+
+        @Override
+        public void addTo(long index, long value) {
+            assert index < size;
+            final LongBuffer page = pages[pageIndex(index)];
+            final int indexInPage = indexInPage(index);
+            page.put(indexInPage, page.get(indexInPage) + value);
+        }
+
+        @Override
+        public void setAll(LongUnaryOperator gen) {
+            for (int i = 0; i < pages.length; i++) {
+                final long t = ((long) i) << PAGE_SHIFT;
+                final LongBuffer page = pages[i];
+                final int pageLength = pageLength(i);
+                for (int j = 0; j < pageLength; j++) {
+                    page.put(j, gen.applyAsLong(t + j));
+                }
+            }
+        }
+
+        @Override
+        public void fill(long value) {
+            for (int i = 0; i < pages.length; i++) {
+                final LongBuffer page = pages[i];
+                final int pageLength = pageLength(i);
+                for (int j = 0; j < pageLength; j++) {
+                    page.put(j, value);
+                }
+            }
+        }
+
+        // the last page is allocated with the full page size, but only holds the remaining elements
+        private int pageLength(int pageIndex) {
+            return pageIndex == pages.length - 1 ? exclusiveIndexOfPage(size) : PAGE_SIZE;
+        }
+
+        @Override
+        public void copyTo(HugeLongArray dest, long length) {
+            copyElements(dest, length);
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long sizeOf() {
+            return memoryUsed;
+        }
+
+        @Override
+        public long release() {
+            if (pages != null) {
+                pages = null;
+                return memoryUsed;
+            }
+            return 0L;
+        }
+
+        @Override
+        public HugeCursor<long[]> newCursor() {
+            final LongBuffer[] pages = this.pages;
+            return new HugeCursor.OffHeapCursor<>(size, new HugeCursor.OffHeapCursor.Pages<long[]>() {
+                @Override
+                public void read(int pageIndex, long[] array, int offset, int length) {
+                    LongBuffer page = pages[pageIndex].duplicate();
+                    page.position(offset);
+                    page.get(array, offset, length);
+                }
+
+                @Override
+                public void write(int pageIndex, long[] array, int offset, int length) {
+                    LongBuffer page = pages[pageIndex].duplicate();
+                    page.position(offset);
+                    page.put(array, offset, length);
+                }
+            }, new long[PAGE_SIZE]);
+        }
+    }
 }
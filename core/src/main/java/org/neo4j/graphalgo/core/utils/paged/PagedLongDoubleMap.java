@@ -20,6 +20,8 @@
 package org.neo4j.graphalgo.core.utils.paged;
 
 import com.carrotsearch.hppc.IntDoubleMap;
+import com.carrotsearch.hppc.procedures.IntDoubleProcedure;
+import com.carrotsearch.hppc.procedures.LongDoubleProcedure;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
@@ -37,19 +39,7 @@ public final class PagedLongDoubleMap {
     static final int PAGE_SIZE = 1 << PAGE_SHIFT;
     private static final long PAGE_MASK = PAGE_SIZE - 1;
 
-    private static final MemoryEstimation MEMORY_REQUIREMENTS = MemoryEstimations
-            .builder(PagedLongDoubleMap.class)
-            .add(MemoryEstimations.setup("pages[]", dimensions -> {
-                int numPages = PageUtil.numPagesFor(dimensions.nodeCount(), PAGE_SHIFT, PAGE_MASK);
-                long pagesArraySize = sizeOfObjectArray(numPages);
-                MemoryEstimation pagesSize = MemoryEstimations.andThen(
-                        TrackingIntDoubleHashMap.memoryEstimation(),
-                        range -> range.times(numPages).union(MemoryRange.empty()));
-                return MemoryEstimations.builder()
-                        .add(pagesSize)
-                        .fixed("pages wrapper", pagesArraySize)
-                        .build();
-            })).build();
+    private static final MemoryEstimation MEMORY_REQUIREMENTS = memoryEstimation(1.0);
 
 
     public static PagedLongDoubleMap of(long size, AllocationTracker tracker, int concurrency) {
@@ -63,6 +53,25 @@ public final class PagedLongDoubleMap {
         return MEMORY_REQUIREMENTS;
     }
 
+    /**
+     * Estimates a map that holds at most {@code maxFillRatio} of the keys per page.
+     */
+    public static MemoryEstimation memoryEstimation(double maxFillRatio) {
+        return MemoryEstimations
+            .builder(PagedLongDoubleMap.class)
+            .add(MemoryEstimations.setup("pages[]", dimensions -> {
+                int numPages = PageUtil.numPagesFor(dimensions.nodeCount(), PAGE_SHIFT, PAGE_MASK);
+                long pagesArraySize = sizeOfObjectArray(numPages);
+                MemoryEstimation pagesSize = MemoryEstimations.andThen(
+                        TrackingIntDoubleHashMap.memoryEstimation(maxFillRatio),
+                        range -> range.times(numPages).union(MemoryRange.empty()));
+                return MemoryEstimations.builder()
+                        .add(pagesSize)
+                        .fixed("pages wrapper", pagesArraySize)
+                        .build();
+            })).build();
+    }
+
     private final AllocationTracker tracker;
     private TrackingIntDoubleHashMap[] pages;
     private final int concurrency;
@@ -132,6 +141,38 @@ public final class PagedLongDoubleMap {
         return subMap;
     }
 
+    /**
+     * Returns an exclusive upper bound for all keys of this map. This is {@code expectedSize},
+     * unless keys beyond the pages that were allocated for {@code expectedSize} have been put into the map.
+     */
+    public long keyBound(long expectedSize) {
+        int expectedPages = PageUtil.numPagesFor(expectedSize, PAGE_SHIFT, PAGE_MASK);
+        return pages.length > expectedPages ? (long) pages.length << PAGE_SHIFT : expectedSize;
+    }
+
+    /**
+     * Calls the procedure for every entry of the map and releases each page right after it has been visited.
+     * The map is not usable afterwards.
+     */
+    public void forEachAndRelease(LongDoubleProcedure procedure) {
+        if (pages == null) {
+            return;
+        }
+        TrackingIntDoubleHashMap[] pages = this.pages;
+        this.pages = null;
+        long released = sizeOfObjectArray(pages.length);
+        for (int pageIndex = 0; pageIndex < pages.length; pageIndex++) {
+            TrackingIntDoubleHashMap page = pages[pageIndex];
+            if (page != null) {
+                long base = (long) pageIndex << PAGE_SHIFT;
+                page.forEach((IntDoubleProcedure) (key, value) -> procedure.apply(base + key, value));
+                released += page.instanceSize();
+                pages[pageIndex] = null;
+            }
+        }
+        tracker.remove(released);
+    }
+
     public OptionalLong getMaxValue() {
         return parallelStream(Arrays.stream(pages), concurrency, stream -> stream
                 .filter(Objects::nonNull)
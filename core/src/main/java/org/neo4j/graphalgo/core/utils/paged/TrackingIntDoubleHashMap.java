@@ -38,22 +38,30 @@ import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfIntArray;
 
 final class TrackingIntDoubleHashMap extends IntDoubleHashMap {
 
-    private static final MemoryEstimation MEMORY_ESTIMATION = MemoryEstimations
+    private static final MemoryEstimation MEMORY_ESTIMATION = memoryEstimation(1.0);
+
+    private final AllocationTracker tracker;
+    private final LongAdder instanceSize;
+
+    static MemoryEstimation memoryEstimation() {
+        return MEMORY_ESTIMATION;
+    }
+
+    /**
+     * Estimates a map that holds at most {@code maxFillRatio} of the keys of its page.
+     */
+    static MemoryEstimation memoryEstimation(double maxFillRatio) {
+        return MemoryEstimations
             .builder(TrackingIntDoubleHashMap.class)
             .rangePerNode("map buffers", nodeCount -> {
+                long maxElements = (long) Math.ceil(Math.min(PagedLongDoubleMap.PAGE_SIZE, nodeCount) * maxFillRatio);
                 long minBufferSize = MemoryUsage.sizeOfEmptyOpenHashContainer();
-                long maxBufferSize = MemoryUsage.sizeOfOpenHashContainer(Math.min(PagedLongDoubleMap.PAGE_SIZE, nodeCount));
+                long maxBufferSize = MemoryUsage.sizeOfOpenHashContainer(maxElements);
                 long min = sizeOfIntArray(minBufferSize) + sizeOfDoubleArray(minBufferSize);
                 long max = sizeOfIntArray(maxBufferSize) + sizeOfDoubleArray(maxBufferSize);
                 return MemoryRange.of(min, max);
             })
             .build();
-
-    private final AllocationTracker tracker;
-    private final LongAdder instanceSize;
-
-    static MemoryEstimation memoryEstimation() {
-        return MEMORY_ESTIMATION;
     }
 
     public TrackingIntDoubleHashMap(AllocationTracker tracker) {
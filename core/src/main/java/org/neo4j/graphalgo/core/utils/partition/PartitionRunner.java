@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.partition;
+
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs a list of work chunks, e.g. {@link Partition}s, on a fixed number of workers.
+ * <p>
+ * Instead of assigning chunks to threads upfront, every worker claims the next unprocessed
+ * chunk from a shared cursor once it is done with its current one. Threads that finish early
+ * thereby take over chunks that would otherwise queue up behind a slow chunk.
+ * Workers are created once per run, so per-thread state, like a concurrent copy of the graph,
+ * is shared between all chunks a worker processes.
+ */
+public final class PartitionRunner {
+
+    private PartitionRunner() {}
+
+    /**
+     * Processes all chunks with at most {@code concurrency} workers and waits until all chunks are done.
+     *
+     * @return the workers that have been created, which can be used to collect per-worker results
+     */
+    public static <P, W extends Consumer<P>> List<W> run(
+        List<P> chunks,
+        int concurrency,
+        Supplier<W> newWorker,
+        ExecutorService executor
+    ) {
+        int workerCount = ParallelUtil.canRunInParallel(executor)
+            ? Math.max(1, Math.min(concurrency, chunks.size()))
+            : 1;
+
+        AtomicInteger nextChunk = new AtomicInteger();
+        List<W> workers = new ArrayList<>(workerCount);
+        Collection<Runnable> tasks = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            W worker = newWorker.get();
+            workers.add(worker);
+            tasks.add(() -> {
+                int chunk;
+                while ((chunk = nextChunk.getAndIncrement()) < chunks.size()) {
+                    worker.accept(chunks.get(chunk));
+                }
+            });
+        }
+
+        ParallelUtil.run(tasks, executor);
+        return workers;
+    }
+}
@@ -19,18 +19,25 @@
  */
 package org.neo4j.graphalgo.core.utils.partition;
 
+import com.carrotsearch.hppc.LongArrayList;
 import org.neo4j.collection.primitive.PrimitiveLongIterator;
 import org.neo4j.graphalgo.api.Degrees;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.BitUtil;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import static org.neo4j.graphalgo.core.utils.partition.Partition.MAX_NODE_COUNT;
 
 public final class PartitionUtils {
 
+    // Number of partitions per thread created by the relationship-balanced partitioning,
+    // so that threads which finish early can pick up remaining partitions.
+    static final int PARTITIONS_PER_THREAD = 4;
+
     private PartitionUtils() {}
 
     public static List<Partition> numberAlignedPartitioning(
@@ -77,4 +84,97 @@ public final class PartitionUtils {
         return partitions;
     }
 
+    public static List<Partition> relationshipBalancedPartitioning(
+        Graph graph,
+        int concurrency,
+        long minPartitionWeight,
+        ExecutorService executor
+    ) {
+        return relationshipBalancedPartitioning(graph.nodeCount(), graph, concurrency, minPartitionWeight, executor);
+    }
+
+    /**
+     * Creates contiguous node partitions which all have roughly the same weight,
+     * where the weight of a node is its degree plus one.
+     * Compared to partitions of equal node count, no single partition
+     * holding a few high-degree nodes dominates the runtime of an iteration.
+     * <p>
+     * The node range is scanned twice in parallel: the first pass computes the weight
+     * of {@code concurrency} equally sized chunks, the second pass uses the prefix sum
+     * over those weights to find the partition boundaries within each chunk.
+     * There are about {@link #PARTITIONS_PER_THREAD} partitions per thread,
+     * each weighing at least {@code minPartitionWeight}, unless it is the last one.
+     */
+    public static List<Partition> relationshipBalancedPartitioning(
+        long nodeCount,
+        Degrees degrees,
+        int concurrency,
+        long minPartitionWeight,
+        ExecutorService executor
+    ) {
+        List<Partition> partitions = new ArrayList<>();
+        if (nodeCount == 0L) {
+            return partitions;
+        }
+
+        int chunkConcurrency = Math.toIntExact(Math.min(Math.max(1, concurrency), nodeCount));
+        long chunkSize = BitUtil.ceilDiv(nodeCount, chunkConcurrency);
+        int chunkCount = Math.toIntExact(BitUtil.ceilDiv(nodeCount, chunkSize));
+
+        long[] chunkWeights = new long[chunkCount];
+        ParallelUtil.readParallel(chunkConcurrency, nodeCount, executor, (start, end) -> {
+            long weight = 0L;
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                weight += degrees.degree(nodeId) + 1L;
+            }
+            chunkWeights[(int) (start / chunkSize)] = weight;
+        });
+
+        long[] chunkOffsets = new long[chunkCount];
+        long totalWeight = 0L;
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            chunkOffsets[chunk] = totalWeight;
+            totalWeight += chunkWeights[chunk];
+        }
+
+        long partitionWeight = Math.max(
+            Math.max(1L, minPartitionWeight),
+            BitUtil.ceilDiv(totalWeight, (long) chunkConcurrency * PARTITIONS_PER_THREAD)
+        );
+
+        // A node starts a new partition if the weight of all nodes
+        // before it crosses a multiple of the partition weight.
+        LongArrayList[] chunkBoundaries = new LongArrayList[chunkCount];
+        ParallelUtil.readParallel(chunkConcurrency, nodeCount, executor, (start, end) -> {
+            int chunk = (int) (start / chunkSize);
+            LongArrayList boundaries = new LongArrayList();
+            long weightBefore = chunkOffsets[chunk];
+            long currentPartition = start == 0L
+                ? -1L
+                : (weightBefore - degrees.degree(start - 1L) - 1L) / partitionWeight;
+            for (long nodeId = start; nodeId < end; nodeId++) {
+                long partition = weightBefore / partitionWeight;
+                if (partition != currentPartition) {
+                    boundaries.add(nodeId);
+                    currentPartition = partition;
+                }
+                weightBefore += degrees.degree(nodeId) + 1L;
+            }
+            chunkBoundaries[chunk] = boundaries;
+        });
+
+        long previousStart = -1L;
+        for (LongArrayList boundaries : chunkBoundaries) {
+            for (int i = 0; i < boundaries.size(); i++) {
+                long start = boundaries.get(i);
+                if (previousStart != -1L) {
+                    partitions.add(new Partition(previousStart, start - previousStart));
+                }
+                previousStart = start;
+            }
+        }
+        partitions.add(new Partition(previousStart, nodeCount - previousStart));
+
+        return partitions;
+    }
 }
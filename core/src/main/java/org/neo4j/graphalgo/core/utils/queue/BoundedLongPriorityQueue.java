@@ -75,24 +75,45 @@ public abstract class BoundedLongPriorityQueue {
         return elementCount;
     }
 
+    /**
+     * Elements with equal priorities are ordered by ascending element, so the retained
+     * elements do not depend on the order in which they were offered.
+     */
     protected boolean add(long element, double priority) {
-        if (elementCount < bound || Double.isNaN(minValue) || priority < minValue) {
-            int idx = Arrays.binarySearch(priorities, 0, elementCount, priority);
-            idx = (idx < 0) ? -idx : idx + 1;
-            int length = bound - idx;
-            if (length > 0 && idx < bound) {
-                System.arraycopy(priorities, idx - 1, priorities, idx, length);
-                System.arraycopy(elements, idx - 1, elements, idx, length);
-            }
-            priorities[idx - 1] = priority;
-            elements[idx - 1] = element;
-            if (elementCount < bound) {
-                elementCount++;
+        if (elementCount == bound && !precedes(element, priority, elementCount - 1)) {
+            return false;
+        }
+        int low = 0;
+        int high = elementCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (precedes(elements[mid], priorities[mid], element, priority)) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
-            minValue = priorities[elementCount - 1];
-            return true;
         }
-        return false;
+        int idx = low;
+        int length = Math.min(elementCount, bound - 1) - idx;
+        if (length > 0) {
+            System.arraycopy(priorities, idx, priorities, idx + 1, length);
+            System.arraycopy(elements, idx, elements, idx + 1, length);
+        }
+        priorities[idx] = priority;
+        elements[idx] = element;
+        if (elementCount < bound) {
+            elementCount++;
+        }
+        minValue = priorities[elementCount - 1];
+        return true;
+    }
+
+    private boolean precedes(long element, double priority, int index) {
+        return precedes(element, priority, elements[index], priorities[index]);
+    }
+
+    private static boolean precedes(long element1, double priority1, long element2, double priority2) {
+        return priority1 < priority2 || (priority1 == priority2 && element1 < element2);
     }
 
     public static BoundedLongPriorityQueue max(int bound) {
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.write;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.core.write.NodePropertyExporter.ResolvedNodeProperty;
+import org.neo4j.internal.kernel.api.Write;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
+
+import java.util.List;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * A range of nodes together with the translated values of all properties that are written for them.
+ * Values of the primitive {@link PropertyTranslator} types are kept in primitive columns
+ * and only boxed into a {@link Value} right before they are written.
+ * Batches are filled and written by different threads, but never concurrently.
+ */
+final class NodePropertyBatch {
+
+    private final long[] originalIds;
+    private final Column[] columns;
+    private int length;
+
+    NodePropertyBatch(List<ResolvedNodeProperty> nodeProperties, int capacity) {
+        this.originalIds = new long[capacity];
+        this.columns = nodeProperties.stream().map(p -> Column.of(p, capacity)).toArray(Column[]::new);
+    }
+
+    int length() {
+        return length;
+    }
+
+    void fill(long start, int length, LongUnaryOperator toOriginalId) {
+        this.length = length;
+        for (int i = 0; i < length; i++) {
+            originalIds[i] = toOriginalId.applyAsLong(start + i);
+        }
+        for (Column column : columns) {
+            column.fill(start, length);
+        }
+    }
+
+    /**
+     * Writes all properties of a node before moving on to the next node.
+     *
+     * @return the number of written properties
+     */
+    long write(Write ops) throws Exception {
+        long propertiesWritten = 0L;
+        for (int i = 0; i < length; i++) {
+            long originalId = originalIds[i];
+            for (Column column : columns) {
+                Value value = column.value(i);
+                if (value != null) {
+                    ops.nodeSetProperty(originalId, column.propertyToken, value);
+                    propertiesWritten++;
+                }
+            }
+        }
+        return propertiesWritten;
+    }
+
+    private abstract static class Column {
+
+        final int propertyToken;
+
+        Column(int propertyToken) {
+            this.propertyToken = propertyToken;
+        }
+
+        static Column of(ResolvedNodeProperty property, int capacity) {
+            PropertyTranslator<Object> translator = property.translator();
+            if (translator.isColumnar()) {
+                if (translator instanceof PropertyTranslator.OfDouble) {
+                    return new DoubleColumn(property, capacity);
+                }
+                if (translator instanceof PropertyTranslator.OfLong) {
+                    return new LongColumn(property, capacity);
+                }
+                if (translator instanceof PropertyTranslator.OfInt) {
+                    return new IntColumn(property, capacity);
+                }
+            }
+            return new ValueColumn(property, capacity);
+        }
+
+        abstract void fill(long start, int length);
+
+        abstract @Nullable Value value(int index);
+    }
+
+    private static final class DoubleColumn extends Column {
+
+        private final Object data;
+        private final PropertyTranslator.OfDouble<Object> translator;
+        private final double[] values;
+
+        DoubleColumn(ResolvedNodeProperty property, int capacity) {
+            super(property.propertyToken());
+            this.data = property.data();
+            this.translator = (PropertyTranslator.OfDouble<Object>) property.translator();
+            this.values = new double[capacity];
+        }
+
+        @Override
+        void fill(long start, int length) {
+            for (int i = 0; i < length; i++) {
+                values[i] = translator.toDouble(data, start + i);
+            }
+        }
+
+        @Override
+        Value value(int index) {
+            return Values.doubleValue(values[index]);
+        }
+    }
+
+    private static final class LongColumn extends Column {
+
+        private final Object data;
+        private final PropertyTranslator.OfLong<Object> translator;
+        private final long[] values;
+
+        LongColumn(ResolvedNodeProperty property, int capacity) {
+            super(property.propertyToken());
+            this.data = property.data();
+            this.translator = (PropertyTranslator.OfLong<Object>) property.translator();
+            this.values = new long[capacity];
+        }
+
+        @Override
+        void fill(long start, int length) {
+            for (int i = 0; i < length; i++) {
+                values[i] = translator.toLong(data, start + i);
+            }
+        }
+
+        @Override
+        Value value(int index) {
+            return Values.longValue(values[index]);
+        }
+    }
+
+    private static final class IntColumn extends Column {
+
+        private final Object data;
+        private final PropertyTranslator.OfInt<Object> translator;
+        private final int[] values;
+
+        IntColumn(ResolvedNodeProperty property, int capacity) {
+            super(property.propertyToken());
+            this.data = property.data();
+            this.translator = (PropertyTranslator.OfInt<Object>) property.translator();
+            this.values = new int[capacity];
+        }
+
+        @Override
+        void fill(long start, int length) {
+            for (int i = 0; i < length; i++) {
+                values[i] = translator.toInt(data, start + i);
+            }
+        }
+
+        @Override
+        Value value(int index) {
+            return Values.intValue(values[index]);
+        }
+    }
+
+    private static final class ValueColumn extends Column {
+
+        private final Object data;
+        private final PropertyTranslator<Object> translator;
+        private final Value[] values;
+
+        ValueColumn(ResolvedNodeProperty property, int capacity) {
+            super(property.propertyToken());
+            this.data = property.data();
+            this.translator = property.translator();
+            this.values = new Value[capacity];
+        }
+
+        @Override
+        void fill(long start, int length) {
+            for (int i = 0; i < length; i++) {
+                values[i] = translator.toProperty(propertyToken, data, start + i);
+            }
+        }
+
+        @Override
+        @Nullable Value value(int index) {
+            return values[index];
+        }
+    }
+}
@@ -19,10 +19,10 @@
  */
 package org.neo4j.graphalgo.core.write;
 
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.IdMapping;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
-import org.neo4j.graphalgo.core.utils.LazyBatchCollection;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.utils.StatementApi;
@@ -30,9 +30,14 @@ import org.neo4j.internal.kernel.api.Write;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.values.storable.Value;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -163,8 +168,43 @@ public final class NodePropertyExporter extends StatementApi {
         writeSequential((ops, nodeId) -> doWrite(nodeProperties, ops, nodeId));
     }
 
-    private void writeParallel(Iterable<ResolvedNodeProperty> nodeProperties) {
-        writeParallel((ops, offset) -> doWrite(nodeProperties, ops, offset));
+    /**
+     * Writes all properties in a pipeline of producer and writer tasks.
+     *
+     * Producers translate the values of a batch of nodes into a {@link NodePropertyBatch}
+     * and hand it over to the writers, which commit every batch in its own transaction.
+     * Writers that run out of batches produce the next batch themselves, producers write
+     * their batch themselves if the writers fall behind, so the pipeline never waits on
+     * tasks that are still queued in the executor.
+     */
+    private void writeParallel(List<ResolvedNodeProperty> nodeProperties) {
+        long batchSize = ParallelUtil.adjustedBatchSize(
+            nodeCount,
+            concurrency,
+            MIN_BATCH_SIZE,
+            MAX_BATCH_SIZE
+        );
+        // translating values is a lot cheaper than writing them
+        int producers = concurrency / 4;
+        int writers = Math.max(1, concurrency - producers);
+
+        WritePipeline pipeline = new WritePipeline(nodeProperties, batchSize, writers);
+        List<Runnable> tasks = new ArrayList<>(writers + producers);
+        for (int i = 0; i < writers; i++) {
+            tasks.add(pipeline::runWriter);
+        }
+        for (int i = 0; i < producers; i++) {
+            tasks.add(pipeline::runProducer);
+        }
+        ParallelUtil.runWithConcurrency(
+            writers + producers,
+            tasks,
+            Integer.MAX_VALUE,
+            10L,
+            TimeUnit.MICROSECONDS,
+            terminationFlag,
+            executorService
+        );
     }
 
     private void writeSequential(WriteConsumer writer) {
@@ -187,55 +227,6 @@ public final class NodePropertyExporter extends StatementApi {
         });
     }
 
-    private void writeParallel(WriteConsumer writer) {
-        final long batchSize = ParallelUtil.adjustedBatchSize(
-            nodeCount,
-            concurrency,
-            MIN_BATCH_SIZE,
-            MAX_BATCH_SIZE
-        );
-        final AtomicLong progress = new AtomicLong(0L);
-        final Collection<Runnable> runnables = LazyBatchCollection.of(
-            nodeCount,
-            batchSize,
-            (start, len) -> () -> {
-                acceptInTransaction(stmt -> {
-                    terminationFlag.assertRunning();
-                    long end = start + len;
-                    Write ops = stmt.dataWrite();
-                    for (long currentNode = start; currentNode < end; currentNode++) {
-                        writer.accept(ops, currentNode);
-
-                        // Only log every 10_000 written nodes
-                        if ((currentNode - start) % TerminationFlag.RUN_CHECK_NODE_COUNT == 0) {
-                            long currentProgress = progress.addAndGet(TerminationFlag.RUN_CHECK_NODE_COUNT);
-                            progressLogger.logProgress(
-                                currentProgress,
-                                nodeCount
-                            );
-                            terminationFlag.assertRunning();
-                        }
-                    }
-
-                    // log progress for the last batch of written nodes
-                    progressLogger.logProgress(
-                        progress.addAndGet((end - start + 1) % TerminationFlag.RUN_CHECK_NODE_COUNT),
-                        nodeCount
-                    );
-                });
-            }
-        );
-        ParallelUtil.runWithConcurrency(
-            concurrency,
-            runnables,
-            Integer.MAX_VALUE,
-            10L,
-            TimeUnit.MICROSECONDS,
-            terminationFlag,
-            executorService
-        );
-    }
-
     private void doWrite(Iterable<ResolvedNodeProperty> nodeProperties, Write ops, long nodeId) throws Exception {
         for (ResolvedNodeProperty nodeProperty : nodeProperties) {
             int propertyId = nodeProperty.propertyToken();
@@ -250,4 +241,96 @@ public final class NodePropertyExporter extends StatementApi {
             }
         }
     }
+
+    private final class WritePipeline {
+
+        private static final long POLL_TIMEOUT_MILLIS = 10L;
+
+        private final List<ResolvedNodeProperty> nodeProperties;
+        private final long batchSize;
+        private final long batchCount;
+        private final AtomicLong nextBatch;
+        private final AtomicLong unwrittenBatches;
+        private final AtomicLong progress;
+        private final BlockingQueue<NodePropertyBatch> producedBatches;
+        private final Queue<NodePropertyBatch> freeBatches;
+        private volatile boolean failed;
+
+        WritePipeline(List<ResolvedNodeProperty> nodeProperties, long batchSize, int writers) {
+            this.nodeProperties = nodeProperties;
+            this.batchSize = batchSize;
+            this.batchCount = ParallelUtil.threadCount(batchSize, nodeCount);
+            this.nextBatch = new AtomicLong(0L);
+            this.unwrittenBatches = new AtomicLong(batchCount);
+            this.progress = new AtomicLong(0L);
+            // allows every writer to have the next batch ready while writing the current one
+            this.producedBatches = new ArrayBlockingQueue<>(writers);
+            this.freeBatches = new ConcurrentLinkedQueue<>();
+        }
+
+        void runWriter() {
+            try {
+                while (!failed && unwrittenBatches.get() > 0) {
+                    NodePropertyBatch batch = producedBatches.poll();
+                    if (batch == null) {
+                        batch = produceNext();
+                    }
+                    if (batch == null) {
+                        // the remaining batches are produced or written by other tasks
+                        batch = producedBatches.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    }
+                    if (batch != null) {
+                        write(batch);
+                    }
+                }
+            } catch (InterruptedException e) {
+                failed = true;
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (RuntimeException | Error e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        void runProducer() {
+            try {
+                NodePropertyBatch batch;
+                while (!failed && (batch = produceNext()) != null) {
+                    if (!producedBatches.offer(batch)) {
+                        write(batch);
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                failed = true;
+                throw e;
+            }
+        }
+
+        private @Nullable NodePropertyBatch produceNext() {
+            terminationFlag.assertRunning();
+            long batchIndex = nextBatch.getAndIncrement();
+            if (batchIndex >= batchCount) {
+                return null;
+            }
+            long start = batchIndex * batchSize;
+            int length = (int) Math.min(batchSize, nodeCount - start);
+            NodePropertyBatch batch = freeBatches.poll();
+            if (batch == null) {
+                batch = new NodePropertyBatch(nodeProperties, (int) batchSize);
+            }
+            batch.fill(start, length, toOriginalId);
+            return batch;
+        }
+
+        private void write(NodePropertyBatch batch) {
+            acceptInTransaction(stmt -> {
+                terminationFlag.assertRunning();
+                propertiesWritten.add(batch.write(stmt.dataWrite()));
+            });
+            progressLogger.logProgress(progress.addAndGet(batch.length()), nodeCount);
+            unwrittenBatches.decrementAndGet();
+            freeBatches.offer(batch);
+        }
+    }
 }
@@ -29,9 +29,23 @@ public interface PropertyTranslator<T> {
 
     double toDouble(final T data, final long nodeId);
 
+    /**
+     * Whether {@link #toProperty(int, Object, long)} always writes the primitive value of the translator,
+     * so that batched writes can read the values into primitive columns and skip the translation to a {@link Value}.
+     * Implementations that customize {@code toProperty} must return {@code false}.
+     */
+    default boolean isColumnar() {
+        return false;
+    }
+
     interface OfDouble<T> extends PropertyTranslator<T> {
         double toDouble(final T data, final long nodeId);
 
+        @Override
+        default boolean isColumnar() {
+            return true;
+        }
+
         @Override
         default Value toProperty(
                 int propertyId,
@@ -44,6 +58,11 @@ public interface PropertyTranslator<T> {
     interface OfInt<T> extends PropertyTranslator<T> {
         int toInt(final T data, final long nodeId);
 
+        @Override
+        default boolean isColumnar() {
+            return true;
+        }
+
         @Override
         default double toDouble(final T data, final long nodeId) {
             return toInt(data, nodeId);
@@ -62,6 +81,11 @@ public interface PropertyTranslator<T> {
     interface OfLong<T> extends PropertyTranslator<T> {
         long toLong(final T data, final long nodeId);
 
+        @Override
+        default boolean isColumnar() {
+            return true;
+        }
+
         @Override
         default double toDouble(final T data, final long nodeId) {
             return toLong(data, nodeId);
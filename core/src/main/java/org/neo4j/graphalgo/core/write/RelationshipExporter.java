@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.core.write;
 
+import org.apache.commons.lang3.mutable.MutableLong;
 import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.IdMapping;
@@ -28,25 +29,41 @@ import org.neo4j.graphalgo.utils.StatementApi;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.partition.Partition;
 import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+import org.neo4j.graphdb.TransientFailureException;
 import org.neo4j.internal.kernel.api.Write;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.values.storable.Values;
 
+import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
 
 import static org.neo4j.graphalgo.utils.ExceptionUtil.throwIfUnchecked;
 import static org.neo4j.graphalgo.core.concurrency.Pools.DEFAULT_SINGLE_THREAD_POOL;
+import static org.neo4j.graphalgo.core.write.NodePropertyExporter.MAX_BATCH_SIZE;
 import static org.neo4j.graphalgo.core.write.NodePropertyExporter.MIN_BATCH_SIZE;
 
 public final class RelationshipExporter extends StatementApi {
 
+    // A batch is written in one transaction and retried as a whole
+    // if the transaction fails with a transient error, e.g. a deadlock.
+    static final int MAX_WRITE_ATTEMPTS = 10;
+    private static final long RETRY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
     private final Graph graph;
     private final long nodeCount;
     private final TerminationFlag terminationFlag;
     private final ProgressLogger progressLogger;
     private final ExecutorService executorService;
+    private final int writeConcurrency;
+    private final LongAdder relationshipsWritten;
+    private final LongAdder writeRetries;
 
     public static RelationshipExporter.Builder of(GraphDatabaseAPI db, Graph graph, TerminationFlag terminationFlag) {
         return new RelationshipExporter.Builder(
@@ -75,7 +92,9 @@ public final class RelationshipExporter extends StatementApi {
                 db,
                 graph,
                 terminationFlag,
-                progressLogger
+                progressLogger,
+                writeConcurrency,
+                executorService
             );
         }
     }
@@ -84,20 +103,45 @@ public final class RelationshipExporter extends StatementApi {
         GraphDatabaseAPI db,
         Graph graph,
         TerminationFlag terminationFlag,
-        ProgressLogger progressLogger
+        ProgressLogger progressLogger,
+        int writeConcurrency,
+        @Nullable ExecutorService executorService
     ) {
         super(db);
         this.nodeCount = graph.nodeCount();
         this.graph = graph;
         this.terminationFlag = terminationFlag;
         this.progressLogger = progressLogger;
-        this.executorService = DEFAULT_SINGLE_THREAD_POOL;
+        // Each batch needs its own top-level transaction, so that it can be
+        // rolled back and retried. Without a parallel executor, we still
+        // write from a separate thread, as the calling thread is usually
+        // bound to the transaction of the procedure call.
+        if (writeConcurrency > 1 && ParallelUtil.canRunInParallel(executorService)) {
+            this.executorService = executorService;
+            this.writeConcurrency = writeConcurrency;
+        } else {
+            this.executorService = DEFAULT_SINGLE_THREAD_POOL;
+            this.writeConcurrency = 1;
+        }
+        this.relationshipsWritten = new LongAdder();
+        this.writeRetries = new LongAdder();
     }
 
     public void write(String relationshipType, String propertyKey) {
         write(relationshipType, propertyKey, null);
     }
 
+    /**
+     * Writes all relationships of the graph.
+     *
+     * Batches of source nodes are written in separate transactions.
+     * With a {@code writeConcurrency} greater than one, batches are written in parallel.
+     * Since every batch covers a distinct range of source nodes, concurrent
+     * transactions only compete for the locks of shared target nodes.
+     *
+     * @param afterWriteConsumer called for every relationship of a batch once that batch has been committed;
+     *                           it is never called concurrently
+     */
     public void write(
         String relationshipType,
         String propertyKey,
@@ -109,58 +153,122 @@ public final class RelationshipExporter extends StatementApi {
         final int relationshipToken = getOrCreateRelationshipToken(relationshipType);
         final int propertyToken = getOrCreatePropertyToken(propertyKey);
 
-        // We use MIN_BATCH_SIZE since writing relationships
-        // is performed batch-wise, but single-threaded.
-        PartitionUtils.degreePartition(graph, MIN_BATCH_SIZE)
+        // Sequential writes use MIN_BATCH_SIZE, parallel writes use larger
+        // transactions to spread the relationships over all threads.
+        long batchSize = writeConcurrency == 1
+            ? MIN_BATCH_SIZE
+            : ParallelUtil.adjustedBatchSize(graph.relationshipCount(), writeConcurrency, MIN_BATCH_SIZE, MAX_BATCH_SIZE);
+
+        List<Runnable> tasks = PartitionUtils.degreePartition(graph, batchSize)
             .stream()
             .map(partition -> createBatchRunnable(
                 progress,
                 relationshipToken,
                 propertyToken,
-                partition.startNode,
-                partition.nodeCount,
+                partition,
                 afterWriteConsumer
             ))
-            .forEach(runnable -> ParallelUtil.run(runnable, executorService));
+            .collect(Collectors.toList());
+
+        if (writeConcurrency == 1) {
+            tasks.forEach(runnable -> ParallelUtil.run(runnable, executorService));
+        } else {
+            ParallelUtil.runWithConcurrency(writeConcurrency, tasks, terminationFlag, executorService);
+        }
+    }
+
+    public long relationshipsWritten() {
+        return relationshipsWritten.sum();
+    }
+
+    /**
+     * The number of batches that were retried after a transient failure, e.g. a deadlock.
+     */
+    public long writeRetries() {
+        return writeRetries.sum();
     }
 
     private Runnable createBatchRunnable(
         AtomicLong progress,
         int relationshipToken,
         int propertyToken,
-        long start,
-        long length,
+        Partition partition,
         @Nullable RelationshipWithPropertyConsumer afterWrite
     ) {
-        return () -> acceptInTransaction(stmt -> {
-            terminationFlag.assertRunning();
-            long end = start + length;
-            Write ops = stmt.dataWrite();
-            RelationshipWithPropertyConsumer writeConsumer = new WriteConsumer(graph, ops, relationshipToken, propertyToken);
+        return () -> {
+            long start = partition.startNode;
+            long end = start + partition.nodeCount;
+            RelationshipIterator relationshipIterator = graph.concurrentCopy();
+
+            long written = writeWithRetries(relationshipIterator, relationshipToken, propertyToken, start, end);
+            relationshipsWritten.add(written);
+
             if (afterWrite != null) {
-                writeConsumer = writeConsumer.andThen(afterWrite);
+                synchronized (afterWrite) {
+                    for (long currentNode = start; currentNode < end; currentNode++) {
+                        relationshipIterator.forEachRelationship(currentNode, Double.NaN, afterWrite);
+                    }
+                }
             }
-            RelationshipIterator relationshipIterator = graph.concurrentCopy();
+
+            progressLogger.logProgress(
+                progress.addAndGet(end - start),
+                nodeCount
+            );
+        };
+    }
+
+    private long writeWithRetries(
+        RelationshipIterator relationshipIterator,
+        int relationshipToken,
+        int propertyToken,
+        long start,
+        long end
+    ) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return writeBatch(relationshipIterator, relationshipToken, propertyToken, start, end);
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_WRITE_ATTEMPTS || !isTransient(e)) {
+                    throw e;
+                }
+                writeRetries.increment();
+                LockSupport.parkNanos(RETRY_BACKOFF_NANOS * attempt);
+            }
+        }
+    }
+
+    private long writeBatch(
+        RelationshipIterator relationshipIterator,
+        int relationshipToken,
+        int propertyToken,
+        long start,
+        long end
+    ) {
+        MutableLong written = new MutableLong();
+        acceptInTransactionOrRollback(stmt -> {
+            terminationFlag.assertRunning();
+            Write ops = stmt.dataWrite();
+            WriteConsumer writeConsumer = new WriteConsumer(graph, ops, relationshipToken, propertyToken);
             for (long currentNode = start; currentNode < end; currentNode++) {
                 relationshipIterator.forEachRelationship(currentNode, Double.NaN, writeConsumer);
 
-                // Only log after writing relationships for 10_000 nodes
                 if ((currentNode - start) % TerminationFlag.RUN_CHECK_NODE_COUNT == 0) {
-                    long currentProgress = progress.addAndGet(TerminationFlag.RUN_CHECK_NODE_COUNT);
-                    progressLogger.logProgress(
-                        currentProgress,
-                        nodeCount
-                    );
                     terminationFlag.assertRunning();
                 }
             }
-
-            // log progress for the last batch of written relationships
-            progressLogger.logProgress(
-                progress.addAndGet((end - start + 1) % TerminationFlag.RUN_CHECK_NODE_COUNT),
-                nodeCount
-            );
+            written.setValue(writeConsumer.relationshipsWritten);
         });
+        return written.longValue();
+    }
+
+    private static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientFailureException) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private static class WriteConsumer implements RelationshipWithPropertyConsumer {
@@ -169,6 +277,7 @@ public final class RelationshipExporter extends StatementApi {
         private final Write ops;
         private final int relTypeToken;
         private final int propertyToken;
+        private long relationshipsWritten;
 
         WriteConsumer(IdMapping idMapping, Write ops, int relTypeToken, int propertyToken) {
             this.idMapping = idMapping;
@@ -192,6 +301,7 @@ public final class RelationshipExporter extends StatementApi {
                         Values.doubleValue(property)
                     );
                 }
+                relationshipsWritten++;
             } catch (Exception e) {
                 throwIfUnchecked(e);
                 throw new RuntimeException(e);
@@ -24,6 +24,7 @@ import org.neo4j.kernel.api.KernelTransaction;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.newKernelTransaction;
+import static org.neo4j.graphalgo.compat.Transactions.fail;
 import static org.neo4j.graphalgo.utils.ExceptionUtil.throwIfUnchecked;
 
 public abstract class StatementApi {
@@ -60,6 +61,25 @@ public abstract class StatementApi {
         }
     }
 
+    /**
+     * Like {@link #acceptInTransaction(TxConsumer)}, but rolls back the transaction if {@code fun} fails,
+     * so that it can be retried without leaving partial writes behind.
+     * Only transactions started on a thread without an outer transaction can be rolled back on their own.
+     */
+    protected final void acceptInTransactionOrRollback(TxConsumer fun) {
+        try (Transactions transactions = newKernelTransaction(api)) {
+            try {
+                fun.accept(transactions.ktx());
+            } catch (Exception e) {
+                fail(transactions.tx());
+                throw e;
+            }
+        } catch (Exception e) {
+            throwIfUnchecked(e);
+            throw new RuntimeException(e);
+        }
+    }
+
     protected final int getOrCreatePropertyToken(String propertyKey) {
         return applyInTransaction(stmt -> stmt
             .tokenWrite()
@@ -22,6 +22,7 @@ package org.neo4j.graphalgo;
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.compat.MapUtil;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.RelationshipPropertyEncoding;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -67,6 +68,31 @@ class PropertyMappingTest {
         assertEquals(propertyMapping.defaultValue(), 42.0);
     }
 
+    @Test
+    void testFromObjectWithEncoding() {
+        PropertyMapping propertyMapping = PropertyMapping.fromObject(
+            "weight",
+            MapUtil.map(
+                "property", "cost",
+                "encoding", "quantized"
+        ));
+        assertEquals(RelationshipPropertyEncoding.QUANTIZED, propertyMapping.encoding());
+        assertEquals(RelationshipPropertyEncoding.QUANTIZED, propertyMapping.resolveWith(0).encoding());
+        assertEquals(
+            MapUtil.map("property", "cost", "defaultValue", Double.NaN, "aggregation", "DEFAULT", "encoding", "QUANTIZED"),
+            propertyMapping.toObject(true).getValue()
+        );
+    }
+
+    @Test
+    void failsOnUnknownEncoding() {
+        IllegalArgumentException ex = assertThrows(
+            IllegalArgumentException.class, () -> PropertyMapping.fromObject("weight", MapUtil.map(
+                "encoding", "zip"
+            )));
+        assertThat(ex.getMessage(), containsString("Property encoding `zip` is not supported."));
+    }
+
     @Test
     void failsOnWrongKeyType() {
         IllegalArgumentException ex = assertThrows(
@@ -20,17 +20,23 @@
 package org.neo4j.graphalgo.core.huge;
 
 import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.AdjacencyEncoding;
 import org.neo4j.graphalgo.core.GraphDimensions;
 import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.RelationshipPropertyEncoding;
 import org.neo4j.graphalgo.core.utils.BitUtil;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.mem.MemoryTree;
 import org.neo4j.graphalgo.core.utils.paged.PageUtil;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.core.huge.AdjacencyList.PAGE_MASK;
 import static org.neo4j.graphalgo.core.huge.AdjacencyList.PAGE_SHIFT;
 import static org.neo4j.graphalgo.core.huge.AdjacencyList.computeAdjacencyByteSize;
+import static org.neo4j.graphalgo.core.huge.AdjacencyList.computeBlockPackedAdjacencyByteSize;
 import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
 
 class AdjacencyListTest {
@@ -126,6 +132,34 @@ class AdjacencyListTest {
         assertEquals(expected, memRec.memoryUsage());
     }
 
+    @Test
+    void shouldComputeEncodedMemoryEstimation() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000_000L)
+            .maxRelCount(100_000_000_000L)
+            .build();
+
+        MemoryTree memRec = AdjacencyList
+            .uncompressedMemoryEstimation(Optional.empty(), false, RelationshipPropertyEncoding.FLOAT)
+            .estimate(dimensions, 1);
+
+        long classSize = 24;
+        // all lists are constant: degree, header and a single value per node
+        long bestCaseAdjacencySize = 1_300_000_000L;
+        // degree and header per node, 4 bytes per relationship
+        long worstCaseAdjacencySize = 400_500_000_000L;
+
+        int minPages = PageUtil.numPagesFor(bestCaseAdjacencySize, PAGE_SHIFT, PAGE_MASK);
+        int maxPages = PageUtil.numPagesFor(worstCaseAdjacencySize, PAGE_SHIFT, PAGE_MASK);
+        long bytesPerPage = BitUtil.align(16 + 262144L, 8);
+        long minMemoryReqs = minPages * bytesPerPage + BitUtil.align(16 + minPages * 4, 8);
+        long maxMemoryReqs = maxPages * bytesPerPage + BitUtil.align(16 + maxPages * 4, 8);
+
+        MemoryRange expected = MemoryRange.of(minMemoryReqs + classSize, maxMemoryReqs + classSize);
+
+        assertEquals(expected, memRec.memoryUsage());
+    }
+
     @Test
     void shouldComputeAdjacencyByteSize() {
         long avgDegree = 1000;
@@ -142,6 +176,44 @@ class AdjacencyListTest {
         assertEquals(expected, computeAdjacencyByteSize(avgDegree, nodeCount, delta));
     }
 
+    @Test
+    void shouldComputeBlockPackedAdjacencyByteSize() {
+        long avgDegree = 1000;
+        long nodeCount = 100_000_000;
+        long delta = 100_000;
+        long firstAdjacencyIdAvgByteSize = ceilDiv(ceilDiv(64 - Long.numberOfLeadingZeros(nodeCount - 1), 7), 2);
+        long blocks = ceilDiv(avgDegree, 64);
+        // bit width per block and first delta of every but the first block as vlong
+        long blockHeaderByteSize = blocks + (blocks - 1) * ceilDiv(64 - Long.numberOfLeadingZeros(delta - 1), 7);
+        // all remaining deltas are packed with 17 bits
+        long packedAdjacencyByteSize = ceilDiv((avgDegree - blocks) * 17, 8);
+        int degreeByteSize = 4;
+        long expected = (degreeByteSize + firstAdjacencyIdAvgByteSize + blockHeaderByteSize + packedAdjacencyByteSize) * nodeCount;
+
+        assertEquals(expected, computeBlockPackedAdjacencyByteSize(avgDegree, nodeCount, delta));
+        assertTrue(expected < computeAdjacencyByteSize(avgDegree, nodeCount, delta));
+    }
+
+    @Test
+    void shouldComputeBlockPackedMemoryEstimation() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder()
+            .nodeCount(100_000)
+            .maxRelCount(10_000_000)
+            .build();
+
+        MemoryRange varLong = AdjacencyList
+            .compressedMemoryEstimation(Optional.empty(), false, AdjacencyEncoding.VAR_LONG)
+            .estimate(dimensions, 1)
+            .memoryUsage();
+        MemoryRange blockPacked = AdjacencyList
+            .compressedMemoryEstimation(Optional.empty(), false, AdjacencyEncoding.BLOCK_PACKED)
+            .estimate(dimensions, 1)
+            .memoryUsage();
+
+        assertTrue(blockPacked.min <= varLong.min);
+        assertTrue(blockPacked.max <= varLong.max);
+    }
+
     @Test
     void shouldComputeAdjacencyByteSizeNoNodes() {
         long avgDegree = 0;
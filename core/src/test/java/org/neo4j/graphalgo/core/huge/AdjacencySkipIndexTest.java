@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.HugeGraphUtil;
+import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdjacencySkipIndexTest {
+
+    private static final int NODE_COUNT = 3 * AdjacencySkipIndex.MIN_DEGREE * 4;
+    private static final long HUB = 0L;
+    private static final long LEAF = 1L;
+
+    @Test
+    void shouldOnlyIndexHighDegreeNodes() {
+        HugeGraph graph = graph();
+
+        assertEquals(1L, graph.relationships().topology().skipIndex().indexedNodeCount());
+    }
+
+    @Test
+    void shouldFindExistingRelationships() {
+        HugeGraph graph = graph();
+
+        for (long target = 0; target < NODE_COUNT; target++) {
+            assertEquals(isHubTarget(target), graph.exists(HUB, target), "target " + target);
+            assertEquals(target == HUB, graph.exists(LEAF, target), "target " + target);
+        }
+    }
+
+    @Test
+    void shouldGetTargetsByIndex() {
+        HugeGraph graph = graph();
+
+        List<Long> targets = new ArrayList<>();
+        graph.forEachRelationship(HUB, (source, target) -> targets.add(target));
+
+        for (int i = 0; i < targets.size(); i++) {
+            assertEquals((long) targets.get(i), graph.getTarget(HUB, i));
+        }
+        assertEquals(HugeGraph.GetTargetConsumer.TARGET_NOT_FOUND, graph.getTarget(HUB, targets.size()));
+        assertEquals(HUB, graph.getTarget(LEAF, 0));
+    }
+
+    @Test
+    void shouldFindRelationshipProperties() {
+        HugeGraph graph = graph();
+
+        for (long target = 0; target < NODE_COUNT; target++) {
+            if (isHubTarget(target)) {
+                assertEquals(property(target), graph.relationshipProperty(HUB, target, 0.0), "target " + target);
+            } else {
+                assertTrue(Double.isNaN(graph.relationshipProperty(HUB, target)), "target " + target);
+            }
+        }
+        assertEquals(property(HUB), graph.relationshipProperty(LEAF, HUB, 0.0));
+    }
+
+    @Test
+    void shouldNotFindTargetsOfEmptyNodes() {
+        HugeGraph graph = graph();
+
+        assertFalse(graph.exists(NODE_COUNT - 1, HUB));
+        assertEquals(HugeGraph.GetTargetConsumer.TARGET_NOT_FOUND, graph.getTarget(NODE_COUNT - 1, 0));
+    }
+
+    private static boolean isHubTarget(long target) {
+        return target > LEAF && target % 3 == 2;
+    }
+
+    private static double property(long target) {
+        return target / 2.0;
+    }
+
+    private static HugeGraph graph() {
+        HugeGraphUtil.IdMapBuilder idMapBuilder = HugeGraphUtil.idMapBuilder(
+            NODE_COUNT,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+        for (int i = 0; i < NODE_COUNT; i++) {
+            idMapBuilder.addNode(i);
+        }
+        IdMap idMap = idMapBuilder.build();
+
+        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = HugeGraphUtil.createRelImporter(
+            idMap,
+            Orientation.NATURAL,
+            true,
+            Aggregation.NONE,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+        // add targets in descending order to make sure the index does not depend on the insertion order
+        for (long target = NODE_COUNT - 1; target > LEAF; target--) {
+            if (isHubTarget(target)) {
+                relationshipsBuilder.add(HUB, target, property(target));
+            }
+        }
+        relationshipsBuilder.add(LEAF, HUB, property(HUB));
+
+        return HugeGraphUtil.create(idMap, relationshipsBuilder.build(), AllocationTracker.EMPTY);
+    }
+}
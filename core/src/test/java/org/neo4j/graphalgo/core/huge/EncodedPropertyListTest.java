@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.huge;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.neo4j.graphalgo.core.RelationshipPropertyEncoding;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EncodedPropertyListTest {
+
+    @ParameterizedTest
+    @EnumSource(value = RelationshipPropertyEncoding.class, names = "DOUBLE", mode = EnumSource.Mode.EXCLUDE)
+    void shouldStoreConstantListsOnce(RelationshipPropertyEncoding encoding) {
+        double[] values = new double[100];
+        Arrays.fill(values, 42.1337);
+
+        byte[] page = encode(encoding, values);
+
+        assertEquals(Integer.BYTES + 1 + Long.BYTES, page.length);
+        assertDecodes(values, page, 0.0);
+    }
+
+    @Test
+    void shouldStoreFloats() {
+        double[] values = {1.0, 0.5, 1337.25, -42.0, Double.NaN};
+
+        byte[] page = encode(RelationshipPropertyEncoding.FLOAT, values);
+
+        assertEquals(Integer.BYTES + 1 + values.length * Float.BYTES, page.length);
+        assertDecodes(values, page, 0.0);
+    }
+
+    @Test
+    void shouldStoreQuantizedValues() {
+        double[] values = {1.0, 2.0, 3.3, 4.0, Double.NaN, 1.7};
+
+        byte[] page = encode(RelationshipPropertyEncoding.QUANTIZED, values);
+
+        assertEquals(Integer.BYTES + 1 + 2 * Long.BYTES + values.length * Short.BYTES, page.length);
+        assertDecodes(values, page, 3.0 / 0xFFFE);
+    }
+
+    @Test
+    void shouldStoreValuesWithAnOverflowingRangeAsDoubles() {
+        double[] values = {-Double.MAX_VALUE, 0.0, Double.MAX_VALUE};
+
+        byte[] page = encode(RelationshipPropertyEncoding.QUANTIZED, values);
+
+        assertEquals(Integer.BYTES + 1 + values.length * Long.BYTES, page.length);
+        assertDecodes(values, page, 0.0);
+    }
+
+    @Test
+    void shouldStoreDictionary() {
+        double[] values = new double[64];
+        Arrays.setAll(values, i -> i % 3);
+
+        byte[] page = encode(RelationshipPropertyEncoding.DICTIONARY, values);
+
+        assertEquals(Integer.BYTES + 2 + 3 * Long.BYTES + values.length, page.length);
+        assertDecodes(values, page, 0.0);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = RelationshipPropertyEncoding.class, names = {"QUANTIZED", "DICTIONARY"})
+    void shouldFallBackToDoublesIfEncodingDoesNotSaveMemory(RelationshipPropertyEncoding encoding) {
+        double[] values = {1.0, Double.POSITIVE_INFINITY};
+
+        byte[] page = encode(encoding, values);
+
+        assertEquals(Integer.BYTES + 1 + values.length * Long.BYTES, page.length);
+        assertDecodes(values, page, 0.0);
+    }
+
+    private static byte[] encode(RelationshipPropertyEncoding encoding, double[] values) {
+        long[] bits = Arrays.stream(values).mapToLong(Double::doubleToLongBits).toArray();
+        byte[] buffer = new byte[EncodedPropertyList.maxEncodedSize(values.length)];
+        int length = new EncodedPropertyList.Encoder(encoding).encode(bits, values.length, buffer);
+
+        byte[] page = new byte[Integer.BYTES + length];
+        page[0] = (byte) values.length;
+        System.arraycopy(buffer, 0, page, Integer.BYTES, length);
+        return page;
+    }
+
+    private static void assertDecodes(double[] expected, byte[] page, double delta) {
+        EncodedPropertyList.Cursor cursor = new EncodedPropertyList.Cursor().init(page, 0);
+        for (int i = 0; i < expected.length; i++) {
+            assertTrue(cursor.hasNextProperty());
+            double value = cursor.nextProperty();
+            assertEquals(expected[i], value, delta);
+            assertEquals(value, EncodedPropertyList.valueAt(page, 0, i));
+        }
+        assertFalse(cursor.hasNextProperty());
+    }
+}
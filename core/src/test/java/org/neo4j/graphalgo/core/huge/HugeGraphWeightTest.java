@@ -23,10 +23,13 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.TestDatabaseCreator;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.RelationshipPropertyEncoding;
 import org.neo4j.graphalgo.core.loading.NativeFactory;
 import org.neo4j.graphalgo.compat.GraphDbApi;
 import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
@@ -38,9 +41,11 @@ import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.QueryRunner.runQuery;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.createNode;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.getNodeById;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.runInTransaction;
+import static org.neo4j.graphalgo.compat.MapUtil.map;
 
 final class HugeGraphWeightTest {
 
@@ -88,6 +93,43 @@ final class HugeGraphWeightTest {
         loadGraph(db);
     }
 
+    @ParameterizedTest
+    @EnumSource(RelationshipPropertyEncoding.class)
+    void shouldLoadEncodedWeights(RelationshipPropertyEncoding encoding) {
+        runQuery(db, "CREATE" +
+                     "  (a)-[:TYPE {weight: 1.0}]->(b)" +
+                     ", (a)-[:TYPE {weight: 2.0}]->(c)" +
+                     ", (a)-[:TYPE {weight: 4.0}]->(d)" +
+                     ", (a)-[:TYPE {weight: 4.0}]->(e)" +
+                     ", (b)-[:TYPE {weight: 1.5}]->(c)" +
+                     ", (b)-[:TYPE {weight: 1.5}]->(d)" +
+                     ", (c)-[:TYPE]->(d)");
+
+        Graph graph = new StoreLoaderBuilder()
+            .api(db)
+            .loadAnyLabel()
+            .loadAnyRelationshipType()
+            .addRelationshipProperty(PropertyMapping.fromObject("weight", map(
+                "property", "weight",
+                "defaultValue", 3.0,
+                "encoding", encoding.name()
+            )))
+            .build()
+            .load(NativeFactory.class);
+
+        double[] expectedWeights = {11.0, 3.0, 3.0, 0.0, 0.0};
+        graph.forEachNode(node -> {
+            double[] weightSum = {0.0};
+            graph.forEachRelationship(node, Double.NaN, (src, tgt, weight) -> {
+                assertEquals(weight, graph.relationshipProperty(src, tgt, Double.NaN));
+                weightSum[0] += weight;
+                return true;
+            });
+            assertEquals(expectedWeights[(int) node], weightSum[0], 1E-4);
+            return true;
+        });
+    }
+
     private void mkDb(int nodes, int relsPerNode) {
         long[] nodeIds = new long[nodes];
 
@@ -37,11 +37,17 @@ import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.neo4j.graphalgo.QueryRunner.runQuery;
@@ -244,6 +250,69 @@ class CypherFactoryTest {
         loadAndTestGraph(nodeStatement, relStatement, Aggregation.SINGLE, parallel);
     }
 
+    @ParameterizedTest(name = "parallel={0}")
+    @ValueSource(booleans = {true, false})
+    void failOnNonNumericNodeProperties(boolean parallel) {
+        CypherLoaderBuilder builder = new CypherLoaderBuilder()
+            .api(db)
+            .nodeQuery("MATCH (n) RETURN id(n) AS id, 'foo' + n.id AS prop")
+            .relationshipQuery("MATCH (n)-[r:REL]->(m) RETURN id(n) AS source, id(m) AS target")
+            .addNodeProperty(PropertyMapping.of("prop", 0D));
+        if (!parallel) {
+            builder.executorService(Pools.DEFAULT_SINGLE_THREAD_POOL);
+        }
+
+        IllegalArgumentException ex = assertThrows(
+            IllegalArgumentException.class,
+            () -> builder.build().load(CypherFactory.class)
+        );
+
+        assertTrue(ex.getMessage().contains("Unsupported type [TEXT] of value foo"));
+    }
+
+    @Test
+    void loadInParallelWithSaturatedPool() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        // one busy thread and a full queue, every further task is run by the submitting thread
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+            1,
+            1,
+            0L,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1),
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        pool.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        pool.execute(() -> {});
+
+        try {
+            CypherLoaderBuilder builder = new CypherLoaderBuilder()
+                .api(db)
+                .nodeQuery("MATCH (n) RETURN id(n) AS id")
+                .relationshipQuery("MATCH (n)-[r:REL]->(m) RETURN id(n) AS source, id(m) AS target")
+                .executorService(pool)
+                .concurrency(4);
+
+            Graph graph = assertTimeoutPreemptively(
+                Duration.ofMinutes(1),
+                () -> applyInTransaction(db, tx -> builder.build().load(CypherFactory.class))
+            );
+
+            assertEquals(COUNT, graph.nodeCount());
+            assertEquals(COUNT, graph.relationshipCount());
+        } finally {
+            release.countDown();
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
     @Test
     void testInitNodePropertiesFromQuery() {
         GraphDatabaseAPI db = TestDatabaseCreator.createTestDatabase();
@@ -345,7 +414,7 @@ class CypherFactoryTest {
             .globalAggregation(aggregation)
             .addRelationshipProperty(PropertyMapping.of("weight", 0D));
         if (!parallel) {
-            builder.executorService(Pools.createDefaultSingleThreadPool());
+            builder.executorService(Pools.DEFAULT_SINGLE_THREAD_POOL);
         }
 
         Graph graph = applyInTransaction(db, tx -> builder.build().load(CypherFactory.class));
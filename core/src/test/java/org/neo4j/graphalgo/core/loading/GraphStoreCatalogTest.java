@@ -22,6 +22,8 @@ package org.neo4j.graphalgo.core.loading;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -35,14 +37,28 @@ import org.neo4j.graphalgo.compat.GraphDbApi;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.GraphLoader;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 import static org.neo4j.graphalgo.QueryRunner.runQuery;
 import static org.neo4j.graphalgo.TestGraph.Builder.fromGdl;
 import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
@@ -65,6 +81,184 @@ class GraphStoreCatalogTest {
     void tearDown() {
         db.shutdown();
         GraphStoreCatalog.removeAllLoadedGraphs();
+        GraphStoreCatalog.setMemoryBudget(Long.MAX_VALUE);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedGraphsWhenExceedingTheMemoryBudget() {
+        long graphSize = 0L;
+        for (String graphName : Arrays.asList("g1", "g2", "g3")) {
+            GraphLoader graphLoader = new StoreLoaderBuilder()
+                .api(db)
+                .graphName(graphName)
+                .tracker(AllocationTracker.create())
+                .build();
+            GraphStore graphStore = graphLoader.graphStore(NativeFactory.class);
+            graphSize = graphStore.sizeInBytes();
+            GraphStoreCatalog.set(graphLoader.createConfig(), graphStore);
+        }
+        assertTrue(graphSize > 0);
+        assertEquals(3 * graphSize, GraphStoreCatalog.memoryUsage());
+
+        GraphStoreCatalog.get("", "g1");
+        GraphStoreCatalog.setMemoryBudget(2 * graphSize);
+
+        assertTrue(GraphStoreCatalog.exists("", "g1"));
+        assertFalse(GraphStoreCatalog.exists("", "g2"));
+        assertTrue(GraphStoreCatalog.exists("", "g3"));
+        assertEquals(1L, GraphStoreCatalog.accessStats("", "g1").get().accessCount());
+
+        NoSuchElementException exception = assertThrows(
+            NoSuchElementException.class,
+            () -> GraphStoreCatalog.get("", "g2")
+        );
+        assertThat(exception.getMessage(), containsString("has been evicted"));
+    }
+
+    @Test
+    void shouldCountGrowingGraphsTowardsTheMemoryBudget() {
+        AllocationTracker growingTracker = AllocationTracker.create();
+        GraphStore growingGraphStore = null;
+        for (String graphName : Arrays.asList("g1", "g2")) {
+            GraphLoader graphLoader = new StoreLoaderBuilder()
+                .api(db)
+                .graphName(graphName)
+                .tracker(graphName.equals("g1") ? growingTracker : AllocationTracker.create())
+                .build();
+            GraphStore graphStore = graphLoader.graphStore(NativeFactory.class);
+            if (growingGraphStore == null) {
+                growingGraphStore = graphStore;
+            }
+            GraphStoreCatalog.set(graphLoader.createConfig(), graphStore);
+        }
+        long graphSize = growingGraphStore.sizeInBytes();
+        GraphStoreCatalog.setMemoryBudget(2 * graphSize);
+
+        // e.g. compacting relationship deltas allocates new adjacency lists
+        growingTracker.add(graphSize);
+        assertEquals(3 * graphSize, GraphStoreCatalog.memoryUsage());
+        assertEquals(2 * graphSize, GraphStoreCatalog.accessStats("", "g1").get().sizeInBytes());
+
+        GraphStoreCatalog.graphStoreChanged(growingGraphStore);
+        assertTrue(GraphStoreCatalog.exists("", "g1"));
+        assertFalse(GraphStoreCatalog.exists("", "g2"));
+    }
+
+    @Test
+    void shouldNotReleaseEvictedGraphsThatAreStillInUse() {
+        GraphLoader graphLoader = new StoreLoaderBuilder()
+            .api(db)
+            .graphName("g1")
+            .tracker(AllocationTracker.create())
+            .build();
+        GraphStoreCatalog.set(graphLoader.createConfig(), graphLoader.graphStore(NativeFactory.class));
+        Graph expected = new StoreLoaderBuilder().api(db).build().graph(NativeFactory.class);
+
+        // an algorithm holds on to the graph while it is being evicted
+        Graph graph = GraphStoreCatalog.get("", "g1").getGraph();
+        GraphStoreCatalog.setMemoryBudget(1);
+        assertFalse(GraphStoreCatalog.exists("", "g1"));
+
+        graph.release();
+        assertGraphEquals(expected, graph);
+    }
+
+    @Test
+    void shouldRestoreSpilledGraphsOnAccess(@TempDir Path spillDirectory) {
+        Path previousDirectory = GraphStoreCatalog.spillDirectory();
+        GraphStoreCatalog.setSpillDirectory(spillDirectory);
+        GraphStoreCatalog.setSpillEvictedGraphs(true);
+        try {
+            loadGraphs("g1", "g2");
+            Graph expected = new StoreLoaderBuilder().api(db).build().graph(NativeFactory.class);
+
+            // spills all graphs, as each one of them exceeds the budget
+            GraphStoreCatalog.setMemoryBudget(1);
+            assertEquals(0, GraphStoreCatalog.getLoadedGraphs("").size());
+            assertTrue(GraphStoreCatalog.exists("", "g1"));
+            assertTrue(Files.exists(GraphStoreSnapshot.file(spillDirectory, "", "g1")));
+            assertTrue(Files.exists(GraphStoreSnapshot.file(spillDirectory, "", "g2")));
+
+            assertGraphEquals(expected, GraphStoreCatalog.get("", "g1").getGraph());
+            assertFalse(Files.exists(GraphStoreSnapshot.file(spillDirectory, "", "g1")));
+            assertEquals(1, GraphStoreCatalog.getLoadedGraphs("").size());
+
+            // restoring g2 spills g1 again
+            assertGraphEquals(expected, GraphStoreCatalog.get("", "g2").getGraph());
+            assertTrue(Files.exists(GraphStoreSnapshot.file(spillDirectory, "", "g1")));
+            assertFalse(Files.exists(GraphStoreSnapshot.file(spillDirectory, "", "g2")));
+            assertEquals(1, GraphStoreCatalog.getLoadedGraphs("").size());
+        } finally {
+            GraphStoreCatalog.setSpillEvictedGraphs(false);
+            GraphStoreCatalog.setSpillDirectory(previousDirectory);
+        }
+    }
+
+    @Test
+    void shouldNotSpillOverPersistedSnapshots(@TempDir Path snapshotDirectory, @TempDir Path spillDirectory) throws IOException {
+        Path previousSnapshotDirectory = GraphStoreSnapshot.directory();
+        Path previousSpillDirectory = GraphStoreCatalog.spillDirectory();
+        GraphStoreSnapshot.setDirectory(snapshotDirectory);
+        GraphStoreCatalog.setSpillDirectory(spillDirectory);
+        GraphStoreCatalog.setSpillEvictedGraphs(true);
+        try {
+            loadGraphs("g1");
+            Path snapshot = GraphStoreSnapshot.file("", "g1");
+            GraphStoreSnapshot.write(GraphStoreCatalog.get("", "g1"), snapshot);
+            byte[] persisted = Files.readAllBytes(snapshot);
+
+            GraphStoreCatalog.setMemoryBudget(1);
+            GraphStoreCatalog.get("", "g1");
+
+            assertArrayEquals(persisted, Files.readAllBytes(snapshot));
+        } finally {
+            GraphStoreCatalog.setSpillEvictedGraphs(false);
+            GraphStoreCatalog.setSpillDirectory(previousSpillDirectory);
+            GraphStoreSnapshot.setDirectory(previousSnapshotDirectory);
+        }
+    }
+
+    @Test
+    void shouldDropSpilledGraphsWithoutRestoringThem(@TempDir Path spillDirectory) {
+        Path previousDirectory = GraphStoreCatalog.spillDirectory();
+        GraphStoreCatalog.setSpillDirectory(spillDirectory);
+        GraphStoreCatalog.setSpillEvictedGraphs(true);
+        try {
+            loadGraphs("g1", "g2", "g3");
+            GraphStoreCatalog.setMemoryBudget(1);
+
+            AtomicReference<SpilledGraph> removed = new AtomicReference<>();
+            GraphStoreCatalog.remove(
+                "",
+                "g1",
+                graph -> fail("The spilled graph must not be restored"),
+                removed::set
+            );
+            assertEquals("g1", removed.get().config().graphName());
+            assertEquals(2, removed.get().nodeCount());
+            assertEquals(3, removed.get().relationshipCount());
+            assertFalse(GraphStoreCatalog.exists("", "g1"));
+            assertFalse(Files.exists(GraphStoreSnapshot.file(spillDirectory, "", "g1")));
+            assertEquals(0, GraphStoreCatalog.getLoadedGraphs("").size());
+
+            GraphStoreCatalog.removeAllLoadedGraphs();
+            assertFalse(Files.exists(GraphStoreSnapshot.file(spillDirectory, "", "g2")));
+            assertFalse(Files.exists(GraphStoreSnapshot.file(spillDirectory, "", "g3")));
+        } finally {
+            GraphStoreCatalog.setSpillEvictedGraphs(false);
+            GraphStoreCatalog.setSpillDirectory(previousDirectory);
+        }
+    }
+
+    private void loadGraphs(String... graphNames) {
+        for (String graphName : graphNames) {
+            GraphLoader graphLoader = new StoreLoaderBuilder()
+                .api(db)
+                .graphName(graphName)
+                .tracker(AllocationTracker.create())
+                .build();
+            GraphStoreCatalog.set(graphLoader.createConfig(), graphLoader.graphStore(NativeFactory.class));
+        }
     }
 
     @ParameterizedTest(name = "{0}")
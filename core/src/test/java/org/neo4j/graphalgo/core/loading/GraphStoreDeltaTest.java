@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.ElementIdentifier;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.RelationshipProjection;
+import org.neo4j.graphalgo.RelationshipProjections;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.compat.GraphDbApi;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.QueryRunner.runQuery;
+import static org.neo4j.graphalgo.TestGraph.Builder.fromGdl;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+class GraphStoreDeltaTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a {id: 0})" +
+        ", (b {id: 1})" +
+        ", (c {id: 2})" +
+        ", (a)-[:T {w: 1.0, q: 10.0}]->(b)" +
+        ", (b)-[:T {w: 2.0, q: 20.0}]->(c)";
+
+    private GraphDbApi db;
+
+    @BeforeEach
+    void setup() {
+        db = TestDatabaseCreator.createTestDatabase();
+        runQuery(db, DB_CYPHER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    @Test
+    void shouldApplyAdditionsAndRemovals() {
+        GraphStore graphStore = loadGraphStore(Orientation.NATURAL);
+        Graph before = graphStore.getGraph("T", Optional.of("w"));
+
+        graphStore.addRelationship("T", originalId(graphStore, 2), originalId(graphStore, 0), singletonMap("w", 3.0));
+        graphStore.removeRelationship("T", originalId(graphStore, 0), originalId(graphStore, 1));
+        assertTrue(graphStore.hasPendingChanges());
+        assertEquals(2L, graphStore.relationshipCount("T"));
+
+        assertGraphEquals(
+            fromGdl("(a {id: 0}), (b {id: 1})-[{w: 2.0}]->(c {id: 2})-[{w: 3.0}]->(a)"),
+            graphStore.getGraph("T", Optional.of("w"))
+        );
+        assertFalse(graphStore.hasPendingChanges());
+        assertGraphEquals(
+            fromGdl("(a {id: 0}), (b {id: 1})-[{q: 20.0}]->(c {id: 2})-[{q: 0.0}]->(a)"),
+            graphStore.getGraph("T", Optional.of("q"))
+        );
+        assertEquals(2L, graphStore.relationshipCount("T"));
+
+        // graphs that have been created before the changes are not affected
+        assertGraphEquals(
+            fromGdl("(a {id: 0})-[{w: 1.0}]->(b {id: 1})-[{w: 2.0}]->(c {id: 2})"),
+            before
+        );
+    }
+
+    @Test
+    void shouldApplyChangesInBothDirectionsForUndirectedTypes() {
+        GraphStore graphStore = loadGraphStore(Orientation.UNDIRECTED);
+
+        graphStore.addRelationship("T", originalId(graphStore, 0), originalId(graphStore, 2), singletonMap("w", 3.0));
+        graphStore.removeRelationship("T", originalId(graphStore, 1), originalId(graphStore, 0));
+        graphStore.compact(4);
+
+        assertFalse(graphStore.hasPendingChanges());
+        assertGraphEquals(
+            fromGdl(
+                "  (a {id: 0}), (b {id: 1}), (c {id: 2})" +
+                ", (b)-[{w: 2.0}]->(c), (c)-[{w: 2.0}]->(b)" +
+                ", (a)-[{w: 3.0}]->(c), (c)-[{w: 3.0}]->(a)"
+            ),
+            graphStore.getGraph("T", Optional.of("w"))
+        );
+        assertEquals(4L, graphStore.relationshipCount("T"));
+    }
+
+    @Test
+    void shouldApplyChangesInStoredDirectionForReverseTypes() {
+        GraphStore graphStore = loadGraphStore(Orientation.REVERSE);
+
+        graphStore.addRelationship("T", originalId(graphStore, 2), originalId(graphStore, 0), singletonMap("w", 3.0));
+        graphStore.removeRelationship("T", originalId(graphStore, 0), originalId(graphStore, 1));
+        assertEquals(2L, graphStore.relationshipCount("T"));
+        graphStore.compact(4);
+
+        assertGraphEquals(
+            fromGdl("(a {id: 0})-[{w: 3.0}]->(c {id: 2})-[{w: 2.0}]->(b {id: 1})"),
+            graphStore.getGraph("T", Optional.of("w"))
+        );
+        assertEquals(2L, graphStore.relationshipCount("T"));
+    }
+
+    @Test
+    void shouldAggregateParallelRelationshipsLikeTheProjection() {
+        RelationshipProjection projection = RelationshipProjection.builder()
+            .type("T")
+            .aggregation(Aggregation.MAX)
+            .build();
+        GraphStore graphStore = loadGraphStore(projection, AllocationTracker.EMPTY);
+        graphStore.setRelationshipProjections(RelationshipProjections.single(ElementIdentifier.of("T"), projection));
+
+        graphStore.addRelationship("T", originalId(graphStore, 0), originalId(graphStore, 1), singletonMap("w", 5.0));
+        graphStore.addRelationship("T", originalId(graphStore, 1), originalId(graphStore, 2), singletonMap("w", 0.5));
+        assertEquals(2L, graphStore.relationshipCount("T"));
+
+        assertGraphEquals(
+            fromGdl("(a {id: 0})-[{w: 5.0}]->(b {id: 1})-[{w: 2.0}]->(c {id: 2})"),
+            graphStore.getGraph("T", Optional.of("w"))
+        );
+        assertEquals(2L, graphStore.relationshipCount("T"));
+    }
+
+    @Test
+    void shouldNotTrackReplacedListsAfterCompaction() {
+        GraphStore graphStore = loadGraphStore(
+            RelationshipProjection.of("T", Orientation.NATURAL),
+            AllocationTracker.create()
+        );
+        long a = originalId(graphStore, 0);
+        long c = originalId(graphStore, 2);
+
+        graphStore.addRelationship("T", a, c, singletonMap("w", 3.0));
+        graphStore.compact(4);
+        long sizeAfterFirstCompaction = graphStore.sizeInBytes();
+
+        for (int i = 0; i < 10; i++) {
+            graphStore.removeRelationship("T", a, c);
+            graphStore.addRelationship("T", a, c, singletonMap("w", 3.0));
+            graphStore.compact(4);
+        }
+
+        assertEquals(sizeAfterFirstCompaction, graphStore.sizeInBytes());
+    }
+
+    @Test
+    void shouldRemovePreviouslyAddedRelationships() {
+        GraphStore graphStore = loadGraphStore(Orientation.NATURAL);
+        long a = originalId(graphStore, 0);
+        long c = originalId(graphStore, 2);
+
+        graphStore.addRelationship("T", a, c, singletonMap("w", 3.0));
+        graphStore.addRelationship("T", a, c, singletonMap("w", 3.0));
+        graphStore.removeRelationship("T", a, c);
+        graphStore.addRelationship("T", a, c, singletonMap("w", 4.0));
+
+        assertGraphEquals(
+            fromGdl("(a {id: 0})-[{w: 1.0}]->(b {id: 1})-[{w: 2.0}]->(c {id: 2}), (a)-[{w: 4.0}]->(c)"),
+            graphStore.getGraph("T", Optional.of("w"))
+        );
+    }
+
+    @Test
+    void shouldFailForUnknownNodesTypesAndProperties() {
+        GraphStore graphStore = loadGraphStore(Orientation.NATURAL);
+        long a = originalId(graphStore, 0);
+
+        IllegalArgumentException unknownNode = assertThrows(
+            IllegalArgumentException.class,
+            () -> graphStore.addRelationship("T", a, 1337L, Collections.emptyMap())
+        );
+        assertThat(unknownNode.getMessage(), containsString("Node with id 1337 is not part of the graph"));
+
+        IllegalArgumentException unknownType = assertThrows(
+            IllegalArgumentException.class,
+            () -> graphStore.removeRelationship("X", a, a)
+        );
+        assertThat(unknownType.getMessage(), containsString("No relationships have been loaded for relationship type 'X'"));
+
+        IllegalArgumentException unknownProperty = assertThrows(
+            IllegalArgumentException.class,
+            () -> graphStore.addRelationship("T", a, a, singletonMap("x", 1.0))
+        );
+        assertThat(unknownProperty.getMessage(), containsString("Unknown relationship property 'x'"));
+    }
+
+    private GraphStore loadGraphStore(Orientation orientation) {
+        return loadGraphStore(RelationshipProjection.of("T", orientation), AllocationTracker.EMPTY);
+    }
+
+    private GraphStore loadGraphStore(RelationshipProjection projection, AllocationTracker tracker) {
+        return new StoreLoaderBuilder()
+            .api(db)
+            .tracker(tracker)
+            .putRelationshipProjectionsWithIdentifier("T", projection)
+            .addNodeProperty(PropertyMapping.of("id", -1.0))
+            .addRelationshipProperty(PropertyMapping.of("w", 0.0))
+            .addRelationshipProperty(PropertyMapping.of("q", 0.0))
+            .build()
+            .graphStore(NativeFactory.class);
+    }
+
+    private static long originalId(GraphStore graphStore, double id) {
+        NodeProperties ids = graphStore.nodeProperty("id");
+        for (long nodeId = 0; nodeId < graphStore.nodeCount(); nodeId++) {
+            if (ids.nodeProperty(nodeId) == id) {
+                return graphStore.nodes().toOriginalNodeId(nodeId);
+            }
+        }
+        throw new IllegalArgumentException("No node with id " + id);
+    }
+}
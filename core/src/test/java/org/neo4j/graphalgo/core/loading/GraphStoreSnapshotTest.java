@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.compat.GraphDbApi;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.config.ImmutableGraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.utils.paged.AllocationMode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.graphalgo.QueryRunner.runQuery;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+
+class GraphStoreSnapshotTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:A {p: 1.5})" +
+        ", (b:A)" +
+        ", (c:B {p: 42.0})" +
+        ", (a)-[:T1 {w: 2.0}]->(b)" +
+        ", (b)-[:T1 {w: 3.0}]->(c)" +
+        ", (a)-[:T2 {w: 4.0}]->(c)";
+
+    @TempDir
+    Path tempDir;
+
+    private GraphDbApi db;
+
+    @BeforeEach
+    void setup() {
+        db = TestDatabaseCreator.createTestDatabase();
+        runQuery(db, DB_CYPHER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    @Test
+    void shouldLoadPersistedGraph() {
+        GraphStoreWithConfig original = loadGraph();
+        Path file = tempDir.resolve("g" + GraphStoreSnapshot.FILE_EXTENSION);
+
+        long sizeInBytes = GraphStoreSnapshot.write(original, file);
+        assertEquals(Files.size(file), sizeInBytes);
+
+        GraphStoreWithConfig loaded = GraphStoreSnapshot.read(file, "alice", 4);
+        GraphStore expectedStore = original.graphStore();
+        GraphStore actualStore = loaded.graphStore();
+
+        assertEquals("alice", loaded.config().username());
+        assertEquals(original.config().graphName(), loaded.config().graphName());
+        assertEquals(original.config().nodeProjections(), loaded.config().nodeProjections());
+        assertEquals(original.config().relationshipProjections(), loaded.config().relationshipProjections());
+        assertEquals(AllocationMode.HEAP, loaded.config().allocationMode());
+
+        assertEquals(expectedStore.nodeCount(), actualStore.nodeCount());
+        assertEquals(expectedStore.relationshipTypes(), actualStore.relationshipTypes());
+        assertEquals(expectedStore.relationshipCount(), actualStore.relationshipCount());
+        assertEquals(expectedStore.relationshipPropertyKeys(), actualStore.relationshipPropertyKeys());
+        assertEquals(expectedStore.nodePropertyKeys(), actualStore.nodePropertyKeys());
+
+        for (String relationshipType : expectedStore.relationshipTypes()) {
+            assertGraphEquals(
+                expectedStore.getGraph(relationshipType, Optional.of("w")),
+                actualStore.getGraph(relationshipType, Optional.of("w"))
+            );
+        }
+
+        Graph expected = expectedStore.getUnion();
+        Graph actual = actualStore.getUnion();
+        NodeProperties expectedProperties = expectedStore.nodeProperty("p");
+        NodeProperties actualProperties = actualStore.nodeProperty("p");
+        for (long nodeId = 0; nodeId < expected.nodeCount(); nodeId++) {
+            long originalId = expected.toOriginalNodeId(nodeId);
+            assertEquals(originalId, actual.toOriginalNodeId(nodeId));
+            assertEquals(nodeId, actual.toMappedNodeId(originalId));
+            assertEquals(expectedProperties.nodeProperty(nodeId), actualProperties.nodeProperty(nodeId));
+            assertEquals(expectedProperties.nodeProperty(nodeId, -1.0), actualProperties.nodeProperty(nodeId, -1.0));
+        }
+    }
+
+    @Test
+    void shouldLoadGraphWithPersistedAllocationMode() {
+        GraphStoreWithConfig original = loadGraph();
+        GraphCreateConfig offHeapConfig = ImmutableGraphCreateFromStoreConfig
+            .builder()
+            .from((GraphCreateFromStoreConfig) original.config())
+            .allocationMode(AllocationMode.OFF_HEAP)
+            .build();
+        Path file = tempDir.resolve("g" + GraphStoreSnapshot.FILE_EXTENSION);
+        GraphStoreSnapshot.write(ImmutableGraphStoreWithConfig.of(original.graphStore(), offHeapConfig), file);
+
+        GraphStoreWithConfig loaded = GraphStoreSnapshot.read(file, "alice", 4);
+
+        assertEquals(AllocationMode.OFF_HEAP, loaded.config().allocationMode());
+        assertEquals(original.graphStore().nodeCount(), loaded.graphStore().nodeCount());
+        assertGraphEquals(original.graphStore().getUnion(), loaded.graphStore().getUnion());
+        NodeProperties expectedProperties = original.graphStore().nodeProperty("p");
+        NodeProperties actualProperties = loaded.graphStore().nodeProperty("p");
+        for (long nodeId = 0; nodeId < original.graphStore().nodeCount(); nodeId++) {
+            assertEquals(expectedProperties.nodeProperty(nodeId), actualProperties.nodeProperty(nodeId));
+        }
+    }
+
+    @Test
+    void shouldDeleteTemporaryFileWhenWriteFails() throws IOException {
+        // a non-empty directory cannot be replaced by the snapshot
+        Path file = tempDir.resolve("g" + GraphStoreSnapshot.FILE_EXTENSION);
+        Files.createDirectories(file.resolve("occupied"));
+
+        assertThrows(UncheckedIOException.class, () -> GraphStoreSnapshot.write(loadGraph(), file));
+        assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".tmp")));
+    }
+
+    @Test
+    void shouldFailOnCorruptedSnapshot() throws IOException {
+        Path file = tempDir.resolve("g" + GraphStoreSnapshot.FILE_EXTENSION);
+        GraphStoreSnapshot.write(loadGraph(), file);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+
+        IllegalStateException exception = assertThrows(
+            IllegalStateException.class,
+            () -> GraphStoreSnapshot.read(file, "", 1)
+        );
+        assertThat(exception.getMessage(), containsString("invalid checksum"));
+    }
+
+    @Test
+    void shouldFailOnTruncatedSnapshot() throws IOException {
+        Path file = tempDir.resolve("g" + GraphStoreSnapshot.FILE_EXTENSION);
+        GraphStoreSnapshot.write(loadGraph(), file);
+
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+        IllegalStateException exception = assertThrows(
+            IllegalStateException.class,
+            () -> GraphStoreSnapshot.read(file, "", 1)
+        );
+        assertThat(exception.getMessage(), containsString("is truncated"));
+    }
+
+    @Test
+    void shouldFailOnFilesThatAreNoSnapshots() throws IOException {
+        Path file = tempDir.resolve("foo" + GraphStoreSnapshot.FILE_EXTENSION);
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> GraphStoreSnapshot.read(file, "", 1)
+        );
+        assertThat(exception.getMessage(), containsString("is not a graph snapshot"));
+    }
+
+    @Test
+    void shouldNotResolveFilesOutsideOfTheSnapshotDirectory() {
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> GraphStoreSnapshot.file("alice", "../bob/g")
+        );
+        assertThat(exception.getMessage(), containsString("Cannot store a snapshot for the graph with name '../bob/g'."));
+    }
+
+    private GraphStoreWithConfig loadGraph() {
+        GraphLoader graphLoader = new StoreLoaderBuilder()
+            .api(db)
+            .graphName("g")
+            .addRelationshipType("T1")
+            .addRelationshipType("T2")
+            .addNodeProperty(PropertyMapping.of("p", 0.0))
+            .addRelationshipProperty(PropertyMapping.of("w", 1.0))
+            .build();
+        GraphStore graphStore = graphLoader.graphStore(NativeFactory.class);
+        return ImmutableGraphStoreWithConfig.of(graphStore, graphLoader.createConfig());
+    }
+}
@@ -30,14 +30,22 @@ import org.neo4j.graphalgo.TestDatabaseCreator;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.compat.GraphDbApi;
+import org.neo4j.graphalgo.config.GraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.config.ImmutableGraphCreateFromStoreConfig;
+import org.neo4j.graphalgo.core.AdjacencyEncoding;
+import org.neo4j.graphalgo.core.GraphLoader;
+import org.neo4j.graphalgo.core.ImmutableGraphLoader;
 import org.neo4j.graphdb.Label;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.RelationshipType;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.QueryRunner.runQuery;
 import static org.neo4j.graphalgo.TestGraph.Builder.fromGdl;
 import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
@@ -169,6 +177,48 @@ final class HugeGraphLoadingTest {
         assertEquals(11, graph.relationshipCount());
     }
 
+    @Test
+    void testBlockPackedAdjacencyLoading() {
+        // every node gets more neighbours than fit into a single block
+        runQuery(db, "UNWIND range(0, 299) AS i CREATE (:Node {id: i})");
+        runQuery(db, "MATCH (a:Node), (b:Node) WHERE (a.id * 7 + b.id * 13) % 3 = 0 " +
+                     "CREATE (a)-[:REL {weight: a.id * 0.5 + b.id}]->(b)");
+
+        GraphLoader loader = new StoreLoaderBuilder()
+            .api(db)
+            .loadAnyLabel()
+            .loadAnyRelationshipType()
+            .addRelationshipProperty(PropertyMapping.of("weight", 1.0))
+            .build();
+        GraphCreateFromStoreConfig blockPackedConfig = ImmutableGraphCreateFromStoreConfig
+            .copyOf((GraphCreateFromStoreConfig) loader.createConfig())
+            .withAdjacencyEncoding(AdjacencyEncoding.BLOCK_PACKED);
+
+        Graph expected = loader.graph(NativeFactory.class);
+        Graph actual = ImmutableGraphLoader.copyOf(loader)
+            .withCreateConfig(blockPackedConfig)
+            .graph(NativeFactory.class);
+
+        assertEquals(expected.relationshipCount(), actual.relationshipCount());
+        for (long nodeId = 0; nodeId < expected.nodeCount(); nodeId++) {
+            assertEquals(relationships(expected, nodeId), relationships(actual, nodeId));
+            assertEquals(expected.degree(nodeId), actual.degree(nodeId));
+            expected.forEachRelationship(nodeId, (source, target) -> {
+                assertTrue(actual.exists(source, target));
+                return true;
+            });
+        }
+    }
+
+    private static List<String> relationships(Graph graph, long nodeId) {
+        List<String> relationships = new ArrayList<>();
+        graph.forEachRelationship(nodeId, Double.NaN, (source, target, weight) -> {
+            relationships.add(target + ":" + weight);
+            return true;
+        });
+        return relationships;
+    }
+
     @Test
     void testMultipleRelationshipProjectionsOnTheSameType() {
         runQuery(db, "CREATE" +
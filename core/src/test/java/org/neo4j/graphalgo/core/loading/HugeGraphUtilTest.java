@@ -25,9 +25,12 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -129,6 +132,101 @@ class HugeGraphUtilTest {
         assertGraphEquals(expectedWithoutAggregation(Orientation.UNDIRECTED), graph);
     }
 
+    @Test
+    void concurrentThreadLocalBuilders() {
+        int nodeCount = 4;
+        HugeGraphUtil.IdMapBuilder idMapBuilder = HugeGraphUtil.idMapBuilder(
+            nodeCount,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+
+        for (int i = 0; i < nodeCount; i++) {
+            idMapBuilder.addNode(i);
+        }
+
+        IdMap idMap = idMapBuilder.build();
+        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = HugeGraphUtil.createRelImporter(
+            idMap,
+            Orientation.NATURAL,
+            true,
+            Aggregation.SUM,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+
+        Collection<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < nodeCount; i++) {
+            long source = i;
+            HugeGraphUtil.RelationshipsBuilder.ThreadLocalBuilder threadLocalBuilder = relationshipsBuilder.threadLocalBuilder();
+            tasks.add(() -> {
+                threadLocalBuilder.addFromInternal(source, (source + 1) % nodeCount, source);
+                threadLocalBuilder.addFromInternal(source, (source + 1) % nodeCount, source);
+                threadLocalBuilder.flush();
+            });
+        }
+        ParallelUtil.run(tasks, Pools.DEFAULT);
+
+        Graph graph = HugeGraphUtil.create(idMap, relationshipsBuilder.build(), AllocationTracker.EMPTY);
+        assertGraphEquals(expectedWithAggregation(Orientation.NATURAL), graph);
+    }
+
+    @Test
+    void concurrentThreadLocalBuildersOnTheSamePage() {
+        int nodeCount = 100;
+        int concurrency = 8;
+        int rounds = 200;
+        HugeGraphUtil.IdMapBuilder idMapBuilder = HugeGraphUtil.idMapBuilder(
+            nodeCount,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+
+        for (int i = 0; i < nodeCount; i++) {
+            idMapBuilder.addNode(i);
+        }
+
+        IdMap idMap = idMapBuilder.build();
+        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = HugeGraphUtil.createRelImporter(
+            idMap,
+            Orientation.NATURAL,
+            true,
+            Aggregation.NONE,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+
+        // all threads add small batches to the same page
+        Collection<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            HugeGraphUtil.RelationshipsBuilder.ThreadLocalBuilder threadLocalBuilder = relationshipsBuilder.threadLocalBuilder();
+            tasks.add(() -> {
+                for (int round = 0; round < rounds; round++) {
+                    for (long source = 0; source < nodeCount; source++) {
+                        threadLocalBuilder.addFromInternal(source, (source + round) % nodeCount, round);
+                    }
+                    threadLocalBuilder.flush();
+                }
+            });
+        }
+        ParallelUtil.run(tasks, Pools.DEFAULT);
+
+        Graph graph = HugeGraphUtil.create(idMap, relationshipsBuilder.build(), AllocationTracker.EMPTY);
+        assertEquals((long) nodeCount * concurrency * rounds, graph.relationshipCount());
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            assertEquals(concurrency * rounds, graph.degree(nodeId));
+            long[] targetCounts = new long[nodeCount];
+            graph.forEachRelationship(nodeId, Double.NaN, (source, target, property) -> {
+                assertEquals((target - source + nodeCount) % nodeCount, (long) property % nodeCount);
+                targetCounts[(int) target]++;
+                return true;
+            });
+            for (long targetCount : targetCounts) {
+                assertEquals(concurrency * rounds / nodeCount, targetCount);
+            }
+        }
+    }
+
     private Graph generateGraph(Orientation orientation, Aggregation aggregation) {
         int nodeCount = 4;
 
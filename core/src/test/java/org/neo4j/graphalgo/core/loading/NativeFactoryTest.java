@@ -42,8 +42,8 @@ class NativeFactoryTest {
 
         MemoryEstimation memoryEstimation = NativeFactory.getMemoryEstimation(dimensions);
         MemoryTree estimate = memoryEstimation.estimate(dimensions, 1);
-        assertEquals(3_405_981_448L, estimate.memoryUsage().min);
-        assertEquals(4_606_168_240L, estimate.memoryUsage().max);
+        assertEquals(3_405_981_456L, estimate.memoryUsage().min);
+        assertEquals(4_762_418_416L, estimate.memoryUsage().max);
     }
 
     @Test
@@ -60,9 +60,9 @@ class NativeFactoryTest {
 
         MemoryTree estimate = NativeFactory.getMemoryEstimation(dimensions).estimate(dimensions, 1);
         long idMapMemoryUsage = IdMap.memoryEstimation().estimate(dimensions, 1).memoryUsage().min;
-        int instanceSize = 72;
+        int instanceSize = 80;
 
-        assertEquals(3_205_950_312L * 2 - idMapMemoryUsage - instanceSize, estimate.memoryUsage().min);
-        assertEquals(6_011_568_216L, estimate.memoryUsage().max);
+        assertEquals(3_205_950_320L * 2 - idMapMemoryUsage - instanceSize, estimate.memoryUsage().min);
+        assertEquals(6_167_818_480L, estimate.memoryUsage().max);
     }
 }
\ No newline at end of file
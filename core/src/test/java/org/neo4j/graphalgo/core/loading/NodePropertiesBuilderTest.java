@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.loading;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.ImmutableGraphDimensions;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NodePropertiesBuilderTest {
+
+    private static final int NODE_COUNT = 100;
+    private static final double DEFAULT_VALUE = 42.0;
+
+    @Test
+    void shouldStoreSparsePropertiesInMap() {
+        NodeProperties properties = build(NODE_COUNT / 4);
+
+        assertTrue(properties instanceof NodePropertyMap);
+        assertProperties(properties, NODE_COUNT / 4);
+    }
+
+    @Test
+    void shouldStoreDensePropertiesInArray() {
+        NodeProperties properties = build(NODE_COUNT / 2);
+
+        assertTrue(properties instanceof DenseNodePropertyMap);
+        assertProperties(properties, NODE_COUNT / 2);
+    }
+
+    @Test
+    void shouldEstimateFilledMapAndDenseArrayAsMaximum() {
+        GraphDimensions dimensions = ImmutableGraphDimensions.builder().nodeCount(NODE_COUNT).build();
+
+        MemoryRange estimate = NodePropertiesBuilder.memoryEstimation().estimate(dimensions, 1).memoryUsage();
+        MemoryRange filledMap = NodePropertyMap.memoryEstimation(1.0).estimate(dimensions, 1).memoryUsage();
+
+        assertEquals(filledMap.min, estimate.min);
+        assertEquals(filledMap.max + DenseNodePropertyMap.memoryEstimation(NODE_COUNT), estimate.max);
+    }
+
+    @Test
+    void shouldReleaseTrackedMemoryOfDenseProperties() {
+        AllocationTracker tracker = AllocationTracker.create();
+        NodePropertiesBuilder builder = NodePropertiesBuilder.of(NODE_COUNT, tracker, DEFAULT_VALUE, 0, "prop", 1);
+        for (int nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+            builder.set(nodeId, nodeId);
+        }
+
+        NodeProperties properties = builder.build();
+        assertTrue(properties instanceof DenseNodePropertyMap);
+
+        tracker.remove(properties.release());
+        assertEquals(0L, tracker.tracked());
+    }
+
+    private static NodeProperties build(int propertyCount) {
+        NodePropertiesBuilder builder = NodePropertiesBuilder.of(
+            NODE_COUNT,
+            AllocationTracker.EMPTY,
+            DEFAULT_VALUE,
+            0,
+            "prop",
+            1
+        );
+        // every other node has a property
+        for (int i = 0; i < propertyCount; i++) {
+            builder.set(2 * i, i);
+        }
+        return builder.build();
+    }
+
+    private static void assertProperties(NodeProperties properties, int propertyCount) {
+        assertEquals(propertyCount, properties.size());
+        assertEquals(OptionalLong.of(propertyCount - 1), properties.getMaxPropertyValue());
+        for (int nodeId = 0; nodeId < NODE_COUNT; nodeId++) {
+            boolean hasProperty = nodeId % 2 == 0 && nodeId / 2 < propertyCount;
+            double expected = hasProperty ? nodeId / 2 : DEFAULT_VALUE;
+            assertEquals(expected, properties.nodeProperty(nodeId));
+            assertEquals(hasProperty ? expected : Double.NaN, properties.nodeProperty(nodeId, Double.NaN));
+        }
+    }
+}
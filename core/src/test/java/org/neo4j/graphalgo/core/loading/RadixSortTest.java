@@ -20,8 +20,16 @@
 package org.neo4j.graphalgo.core.loading;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 final class RadixSortTest {
 
@@ -97,6 +105,35 @@ final class RadixSortTest {
         assertArrayEquals(expected, testcase);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 31, 1000, 100_000})
+    void sortValuesWithProperties(int length) {
+        Random random = new Random(42L);
+        long[] values = new long[length];
+        long[][] properties = new long[2][length];
+        for (int i = 0; i < length; i++) {
+            // few distinct values, spread over the higher digits, to check that the sort is stable
+            values[i] = (long) random.nextInt(64) << (8 * random.nextInt(6));
+            properties[0][i] = i;
+            properties[1][i] = -i;
+        }
+
+        Integer[] expectedOrder = IntStream.range(0, length).boxed().toArray(Integer[]::new);
+        Arrays.sort(expectedOrder, Comparator.comparingLong(i -> values[i]));
+        long[] expectedValues = values.clone();
+        Arrays.sort(expectedValues);
+
+        long[] copy = new long[length];
+        long[][] propertiesCopy = new long[][]{new long[length], new long[length]};
+        RadixSort.radixSort(values, properties, copy, propertiesCopy, RadixSort.newHistogram(0), length);
+
+        assertArrayEquals(expectedValues, values);
+        for (int i = 0; i < length; i++) {
+            assertEquals(expectedOrder[i].longValue(), properties[0][i]);
+            assertEquals(-expectedOrder[i].longValue(), properties[1][i]);
+        }
+    }
+
     private static long[] testData() {
         //@formatter:off
         return new long[]{
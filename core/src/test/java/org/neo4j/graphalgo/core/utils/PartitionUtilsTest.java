@@ -22,11 +22,16 @@ package org.neo4j.graphalgo.core.utils;
 import com.carrotsearch.hppc.BitSet;
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.TestGraph;
+import org.neo4j.graphalgo.api.Degrees;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.partition.Partition;
+import org.neo4j.graphalgo.core.utils.partition.PartitionRunner;
 import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -120,4 +125,120 @@ class PartitionUtilsTest {
         assertEquals(3, partitions.get(0).nodeCount);
     }
 
-}
\ No newline at end of file
+    @Test
+    void testRelationshipBalancedPartitioning() {
+        long nodeCount = 10_000L;
+        Degrees degrees = nodeId -> nodeId == 0L ? 100_000 : 1;
+
+        List<Partition> partitions = PartitionUtils.relationshipBalancedPartitioning(
+            nodeCount,
+            degrees,
+            4,
+            1L,
+            Pools.DEFAULT
+        );
+
+        // the high-degree node is not batched together with other nodes
+        assertEquals(0L, partitions.get(0).startNode);
+        assertEquals(1L, partitions.get(0).nodeCount);
+
+        long totalWeight = 100_001L + (nodeCount - 1L) * 2L;
+        long partitionWeight = BitUtil.ceilDiv(totalWeight, 16L);
+        long expectedStart = 0L;
+        for (Partition partition : partitions) {
+            assertEquals(expectedStart, partition.startNode);
+            assertTrue(partition.nodeCount > 0L);
+            if (partition.startNode > 0L) {
+                assertTrue(partition.nodeCount * 2L <= partitionWeight + 1L);
+            }
+            expectedStart += partition.nodeCount;
+        }
+        assertEquals(nodeCount, expectedStart);
+    }
+
+    @Test
+    void testRelationshipBalancedPartitioningMatchesSequentialScan() {
+        long nodeCount = 1000L;
+        Degrees degrees = nodeId -> (int) (nodeId % 7L) * (int) (nodeId % 13L);
+
+        long totalWeight = 0L;
+        for (long nodeId = 0L; nodeId < nodeCount; nodeId++) {
+            totalWeight += degrees.degree(nodeId) + 1L;
+        }
+        long partitionWeight = BitUtil.ceilDiv(totalWeight, 16L);
+
+        StringBuilder expected = new StringBuilder();
+        long weightBefore = 0L;
+        long start = 0L;
+        for (long nodeId = 1L; nodeId < nodeCount; nodeId++) {
+            long previousWeightBefore = weightBefore;
+            weightBefore += degrees.degree(nodeId - 1L) + 1L;
+            if (weightBefore / partitionWeight != previousWeightBefore / partitionWeight) {
+                expected.append(String.format("(%d, %d), ", start, nodeId - start));
+                start = nodeId;
+            }
+        }
+        expected.append(String.format("(%d, %d)", start, nodeCount - start));
+
+        List<Partition> partitions = PartitionUtils.relationshipBalancedPartitioning(
+            nodeCount,
+            degrees,
+            4,
+            1L,
+            Pools.DEFAULT
+        );
+        assertEquals(expected.toString(), toString(partitions));
+    }
+
+    @Test
+    void testRelationshipBalancedPartitioningRespectsMinPartitionWeight() {
+        List<Partition> partitions = PartitionUtils.relationshipBalancedPartitioning(
+            100L,
+            nodeId -> 0,
+            4,
+            50L,
+            Pools.DEFAULT
+        );
+
+        assertEquals(2, partitions.size());
+        assertEquals(0L, partitions.get(0).startNode);
+        assertEquals(50L, partitions.get(0).nodeCount);
+        assertEquals(50L, partitions.get(1).startNode);
+        assertEquals(50L, partitions.get(1).nodeCount);
+    }
+
+    @Test
+    void testPartitionRunnerProcessesEveryPartitionOnce() {
+        List<Partition> partitions = PartitionUtils.relationshipBalancedPartitioning(
+            1000L,
+            nodeId -> (int) (nodeId % 10L),
+            4,
+            1L,
+            Pools.DEFAULT
+        );
+        AtomicIntegerArray visits = new AtomicIntegerArray(1000);
+
+        List<Consumer<Partition>> workers = PartitionRunner.run(
+            partitions,
+            4,
+            () -> partition -> {
+                for (long nodeId = partition.startNode; nodeId < partition.startNode + partition.nodeCount; nodeId++) {
+                    visits.incrementAndGet((int) nodeId);
+                }
+            },
+            Pools.DEFAULT
+        );
+
+        assertTrue(workers.size() <= 4);
+        for (int nodeId = 0; nodeId < 1000; nodeId++) {
+            assertEquals(1, visits.get(nodeId));
+        }
+    }
+
+    private static String toString(List<Partition> partitions) {
+        return partitions
+            .stream()
+            .map(partition -> String.format("(%d, %d)", partition.startNode, partition.nodeCount))
+            .collect(Collectors.joining(", "));
+    }
+}
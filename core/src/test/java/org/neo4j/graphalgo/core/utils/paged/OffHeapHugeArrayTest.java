@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.core.utils.paged.HugeArrays.PAGE_SIZE;
+
+class OffHeapHugeArrayTest {
+
+    private static final int SIZE = 3 * PAGE_SIZE + 42;
+
+    @ParameterizedTest
+    @EnumSource(value = AllocationMode.class, names = {"OFF_HEAP", "MAPPED"})
+    void shouldSetAndGetLongs(AllocationMode allocationMode) {
+        AllocationTracker tracker = AllocationTracker.create(allocationMode);
+        HugeLongArray array = HugeLongArray.newArray(SIZE, tracker);
+
+        array.setAll(index -> index * 2);
+        array.addTo(PAGE_SIZE, 1L);
+        array.or(2 * PAGE_SIZE + 1, 1L);
+
+        assertEquals(SIZE, array.size());
+        assertEquals(0L, array.get(0));
+        assertEquals(2L * PAGE_SIZE + 1, array.get(PAGE_SIZE));
+        assertEquals(4L * PAGE_SIZE + 3, array.get(2 * PAGE_SIZE + 1));
+        assertEquals(2L * (SIZE - 1), array.get(SIZE - 1));
+        assertEquals(array.sizeOf(), tracker.tracked());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = AllocationMode.class, names = {"OFF_HEAP", "MAPPED"})
+    void shouldSetAndGetDoubles(AllocationMode allocationMode) {
+        HugeDoubleArray array = HugeDoubleArray.newArray(SIZE, AllocationTracker.create(allocationMode));
+
+        array.fill(0.5);
+        array.set(SIZE - 1, 42.0);
+
+        assertEquals(0.5, array.get(PAGE_SIZE));
+        assertEquals(42.0, array.get(SIZE - 1));
+        assertEquals((SIZE - 1) * 0.5 + 42.0, array.stream().sum());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = AllocationMode.class, names = {"OFF_HEAP", "MAPPED"})
+    void shouldSetAndGetInts(AllocationMode allocationMode) {
+        HugeIntArray array = HugeIntArray.newArray(SIZE, AllocationTracker.create(allocationMode));
+
+        array.setAll(index -> (int) index);
+        array.and(PAGE_SIZE + 3, 1);
+
+        assertEquals(1, array.get(PAGE_SIZE + 3));
+        assertEquals(SIZE - 1, array.get(SIZE - 1));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = AllocationMode.class, names = {"OFF_HEAP", "MAPPED"})
+    void shouldNotSetValuesBeyondTheSize(AllocationMode allocationMode) {
+        AllocationTracker tracker = AllocationTracker.create(allocationMode);
+        long[] maxIndex = {-1L};
+        HugeLongArray longs = HugeLongArray.newArray(SIZE, tracker);
+        longs.setAll(index -> maxIndex[0] = Math.max(maxIndex[0], index));
+        assertEquals(SIZE - 1, maxIndex[0]);
+
+        maxIndex[0] = -1L;
+        HugeIntArray ints = HugeIntArray.newArray(SIZE, tracker);
+        ints.setAll(index -> (int) (maxIndex[0] = Math.max(maxIndex[0], index)));
+        assertEquals(SIZE - 1, maxIndex[0]);
+
+        maxIndex[0] = -1L;
+        HugeDoubleArray doubles = HugeDoubleArray.newArray(SIZE, tracker);
+        doubles.setAll(index -> maxIndex[0] = Math.max(maxIndex[0], index));
+        assertEquals(SIZE - 1, maxIndex[0]);
+
+        doubles.fill(1.0);
+        assertEquals(SIZE, doubles.stream().sum());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = AllocationMode.class, names = {"OFF_HEAP", "MAPPED"})
+    void shouldWriteThroughCursor(AllocationMode allocationMode) {
+        HugeLongArray array = HugeLongArray.newArray(SIZE, AllocationTracker.create(allocationMode));
+        long[] values = new long[PAGE_SIZE + 2];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i + 1;
+        }
+
+        long start = PAGE_SIZE - 1;
+        int copied = array.copyFromArrayIntoSlice(values, start, start + values.length);
+
+        assertEquals(values.length, copied);
+        assertEquals(0L, array.get(start - 1));
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(values[i], array.get(start + i));
+        }
+        assertEquals(0L, array.get(start + values.length));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = AllocationMode.class, names = {"OFF_HEAP", "MAPPED"})
+    void shouldCopyBetweenHeapAndOffHeap(AllocationMode allocationMode) {
+        HugeLongArray offHeap = HugeLongArray.newArray(SIZE, AllocationTracker.create(allocationMode));
+        offHeap.setAll(index -> index + 1);
+
+        HugeLongArray onHeap = offHeap.copyOf(SIZE, AllocationTracker.EMPTY);
+        assertArrayEquals(offHeap.toArray(), onHeap.toArray());
+
+        HugeLongArray backToOffHeap = onHeap.copyOf(SIZE + 1, AllocationTracker.create(allocationMode));
+        assertEquals(SIZE, backToOffHeap.get(SIZE - 1));
+        assertEquals(0L, backToOffHeap.get(SIZE));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = AllocationMode.class, names = {"OFF_HEAP", "MAPPED"})
+    void shouldKeepSmallArraysOnHeap(AllocationMode allocationMode) {
+        AllocationTracker tracker = AllocationTracker.create(allocationMode);
+        HugeLongArray array = HugeLongArray.newArray(42, tracker);
+
+        assertEquals(MemoryUsage.sizeOfLongArray(42), array.sizeOf());
+        assertEquals(MemoryUsage.sizeOfLongArray(42), tracker.tracked());
+    }
+}
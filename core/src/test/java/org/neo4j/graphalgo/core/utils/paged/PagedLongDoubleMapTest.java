@@ -21,6 +21,8 @@ package org.neo4j.graphalgo.core.utils.paged;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.OptionalLong;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -136,4 +138,25 @@ final class PagedLongDoubleMapTest {
         assertEquals(tracked, map.release());
         assertEquals(0L, tracker.tracked());
     }
+
+    @Test
+    void visitsAllEntriesAndReleasesMemory() {
+        AllocationTracker tracker = AllocationTracker.create();
+        PagedLongDoubleMap map = PagedLongDoubleMap.of(4, tracker, 4);
+
+        Map<Long, Double> expected = new HashMap<>();
+        for (long i = 0L; i < 20L; i++) {
+            long key = i * 1337L;
+            map.put(key, (double) i);
+            expected.put(key, (double) i);
+        }
+        assertEquals(19L * 1337L + 1L, map.keyBound(19L * 1337L + 1L));
+        assertEquals(2L << 14, map.keyBound(4L));
+
+        Map<Long, Double> actual = new HashMap<>();
+        map.forEachAndRelease(actual::put);
+
+        assertEquals(expected, actual);
+        assertEquals(0L, tracker.tracked());
+    }
 }
@@ -73,6 +73,25 @@ class BoundedLongPriorityQueueTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void shouldBreakTiesBySmallerElement() {
+        List<Long> expected = new ArrayList<>();
+        expected.add(7L);
+        expected.add(1L);
+        expected.add(2L);
+
+        BoundedLongPriorityQueue queue = BoundedLongPriorityQueue.max(3);
+
+        assertTrue(queue.offer(3, 1.0));
+        assertTrue(queue.offer(2, 1.0));
+        assertTrue(queue.offer(7, 2.0));
+        assertFalse(queue.offer(4, 1.0));
+        assertTrue(queue.offer(1, 1.0));
+
+        List<Long> actual = queue.elements().boxed().collect(Collectors.toList());
+        assertEquals(expected, actual);
+    }
+
     @Test
     void shouldLimitReturnWhenNotFull() {
         List<Long> expected = new ArrayList<>();
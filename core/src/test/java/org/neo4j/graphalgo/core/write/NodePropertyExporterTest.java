@@ -25,12 +25,15 @@ import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.TestDatabaseCreator;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.IdMapping;
 import org.neo4j.graphalgo.compat.GraphDbApi;
 import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.huge.DirectIdMapping;
 import org.neo4j.graphalgo.core.loading.NativeFactory;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.values.storable.Value;
+import org.neo4j.values.storable.Values;
 
 import java.util.Arrays;
 import java.util.List;
@@ -144,6 +147,72 @@ class NodePropertyExporterTest {
         );
     }
 
+    @Test
+    void exportMultipleNodePropertiesInParallelBatches() {
+        // enough nodes for several batches
+        int nodeCount = 3 * (int) NodePropertyExporter.MIN_BATCH_SIZE + 42;
+        GraphDbApi db = TestDatabaseCreator.createUnlimitedConcurrencyTestDatabase();
+        try {
+            runQuery(db, "UNWIND range(1, " + nodeCount + ") AS i CREATE (:Node)");
+            Graph graph = new StoreLoaderBuilder().api(db)
+                .loadAnyLabel()
+                .loadAnyRelationshipType()
+                .build()
+                .graph(NativeFactory.class);
+
+            double[] doubles = new double[nodeCount];
+            int[] ints = new int[nodeCount];
+            for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+                doubles[nodeId] = graph.toOriginalNodeId(nodeId) * 0.5;
+                ints[nodeId] = (int) graph.toOriginalNodeId(nodeId);
+            }
+            // only writes a value for every even neo id
+            PropertyTranslator<IdMapping> evenIds = new PropertyTranslator<IdMapping>() {
+                @Override
+                public Value toProperty(int propertyId, IdMapping data, long nodeId) {
+                    long neoId = data.toOriginalNodeId(nodeId);
+                    return neoId % 2 == 0 ? Values.longValue(neoId) : null;
+                }
+
+                @Override
+                public double toDouble(IdMapping data, long nodeId) {
+                    return data.toOriginalNodeId(nodeId);
+                }
+            };
+
+            NodePropertyExporter exporter = NodePropertyExporter.of(db, graph, TerminationFlag.RUNNING_TRUE)
+                .parallel(Pools.DEFAULT, 4)
+                .build();
+
+            exporter.write(Arrays.asList(
+                ImmutableNodeProperty.of("double", doubles, Translators.DOUBLE_ARRAY_TRANSLATOR),
+                ImmutableNodeProperty.of("int", ints, Translators.INT_ARRAY_TRANSLATOR),
+                ImmutableNodeProperty.of("even", graph, evenIds)
+            ));
+
+            long evenCount = (nodeCount + 1) / 2;
+            assertEquals(2L * nodeCount + evenCount, exporter.propertiesWritten());
+
+            runQueryWithRowConsumer(
+                db,
+                "MATCH (n) " +
+                "RETURN" +
+                "  sum(CASE WHEN n.double = id(n) * 0.5 THEN 1 ELSE 0 END) AS doubles," +
+                "  sum(CASE WHEN n.int = id(n) THEN 1 ELSE 0 END) AS ints," +
+                "  sum(CASE WHEN n.even = id(n) THEN 1 ELSE 0 END) AS evens," +
+                "  count(n.even) AS evenCount",
+                row -> {
+                    assertEquals(nodeCount, row.getNumber("doubles").intValue());
+                    assertEquals(nodeCount, row.getNumber("ints").intValue());
+                    assertEquals(evenCount, row.getNumber("evens").longValue());
+                    assertEquals(evenCount, row.getNumber("evenCount").longValue());
+                }
+            );
+        } finally {
+            db.shutdown();
+        }
+    }
+
     @Test
     void stopsExportingWhenTransactionHasBeenTerminated() {
         transactionTerminationTest(null);
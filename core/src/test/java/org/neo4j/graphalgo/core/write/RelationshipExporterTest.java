@@ -28,10 +28,16 @@ import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.TestDatabaseCreator;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.loading.NativeFactory;
 import org.neo4j.graphalgo.compat.GraphDbApi;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.partition.PartitionUtils;
+import org.neo4j.graphdb.TransientTransactionFailureException;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.neo4j.graphalgo.QueryRunner.runQuery;
 import static org.neo4j.graphalgo.TestGraph.Builder.fromGdl;
 import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
@@ -108,10 +114,105 @@ class RelationshipExporterTest {
         validateWrittenGraphWithoutProperties();
     }
 
+    @Test
+    void exportRelationshipsInParallel() {
+        RelationshipExporter exporter = setupExportTest(/* includeProperties */ true, 4);
+        MutableInt count = new MutableInt();
+        exporter.write("FOOBAR", "weight", (sourceNodeId, targetNodeId, property) -> {
+            count.increment();
+            return true;
+        });
+        Assertions.assertEquals(4, count.getValue());
+        Assertions.assertEquals(4, exporter.relationshipsWritten());
+        Assertions.assertEquals(0, exporter.writeRetries());
+        validateWrittenGraph();
+    }
+
+    @Test
+    void exportRelationshipsOfSeveralPartitionsInParallel() {
+        // 1000 nodes with 40 relationships each, written in batches of about MIN_BATCH_SIZE relationships
+        runQuery(db, "UNWIND range(4, 999) AS id CREATE ()");
+        Graph fromGraph = loadGraph(
+            "UNWIND range(0, 999) AS id CREATE (:Node {id: id})" +
+            " WITH count(*) AS ignored" +
+            " MATCH (a:Node), (b:Node) WHERE b.id < 40" +
+            " CREATE (a)-[:BARFOO {weight: a.id}]->(b)",
+            /* includeProperties */ true
+        );
+        Assertions.assertEquals(40_000, fromGraph.relationshipCount());
+        Assertions.assertTrue(PartitionUtils.degreePartition(fromGraph, NodePropertyExporter.MIN_BATCH_SIZE).size() > 1);
+
+        RelationshipExporter exporter = RelationshipExporter
+            .of(db, fromGraph, RUNNING_TRUE)
+            .parallel(Pools.DEFAULT, 4)
+            .build();
+        MutableInt count = new MutableInt();
+        exporter.write("FOOBAR", "weight", (sourceNodeId, targetNodeId, property) -> {
+            count.increment();
+            return true;
+        });
+
+        Assertions.assertEquals(40_000, count.getValue());
+        Assertions.assertEquals(40_000, exporter.relationshipsWritten());
+        long writtenInDb = runQuery(
+            db,
+            "MATCH (a)-[r:FOOBAR]->(b) WHERE r.weight = id(a) AND id(b) < 40 RETURN count(r) AS count",
+            result -> (Long) result.next().get("count")
+        );
+        Assertions.assertEquals(40_000L, writtenInDb);
+    }
+
+    @Test
+    void retryBatchesAfterTransientFailures() {
+        // fails once, after the relationships of the first node have been written in the transaction
+        AtomicInteger checks = new AtomicInteger();
+        TerminationFlag failingOnce = new TerminationFlag() {
+            @Override
+            public boolean running() {
+                return true;
+            }
+
+            @Override
+            public void assertRunning() {
+                if (checks.incrementAndGet() == 2) {
+                    throw new TransientTransactionFailureException("Injected transient failure");
+                }
+            }
+        };
+
+        RelationshipExporter exporter = RelationshipExporter
+            .of(db, loadGraph(NODE_QUERY_PART + RELS_QUERY_PART, /* includeProperties */ true), failingOnce)
+            .build();
+        MutableInt count = new MutableInt();
+        exporter.write("FOOBAR", "weight", (sourceNodeId, targetNodeId, property) -> {
+            count.increment();
+            return true;
+        });
+
+        Assertions.assertEquals(1, exporter.writeRetries());
+        Assertions.assertEquals(4, exporter.relationshipsWritten());
+        Assertions.assertEquals(4, count.getValue());
+        validateWrittenGraph();
+    }
+
     private RelationshipExporter setupExportTest(boolean includeProperties) {
+        return setupExportTest(includeProperties, 1);
+    }
+
+    private RelationshipExporter setupExportTest(boolean includeProperties, int writeConcurrency) {
         // create graph to export
+        Graph fromGraph = loadGraph(NODE_QUERY_PART + RELS_QUERY_PART, includeProperties);
+
+        // export into new database
+        return RelationshipExporter
+            .of(db, fromGraph, RUNNING_TRUE)
+            .parallel(Pools.DEFAULT, writeConcurrency)
+            .build();
+    }
+
+    private Graph loadGraph(String cypher, boolean includeProperties) {
         GraphDatabaseAPI fromDb = TestDatabaseCreator.createTestDatabase();
-        runQuery(fromDb, NODE_QUERY_PART + RELS_QUERY_PART);
+        runQuery(fromDb, cypher);
 
         StoreLoaderBuilder storeLoaderBuilder = new StoreLoaderBuilder()
             .api(fromDb)
@@ -121,15 +222,11 @@ class RelationshipExporterTest {
             storeLoaderBuilder.addRelationshipProperty(PropertyMapping.of("weight", PROPERTY_VALUE_IF_MISSING));
         }
 
-        Graph fromGraph = storeLoaderBuilder
+        Graph graph = storeLoaderBuilder
             .build()
             .graph(NativeFactory.class);
-
-
-        // export into new database
-        return RelationshipExporter
-            .of(db, fromGraph, RUNNING_TRUE)
-            .build();
+        fromDb.shutdown();
+        return graph;
     }
 
     private void validateWrittenGraph() {
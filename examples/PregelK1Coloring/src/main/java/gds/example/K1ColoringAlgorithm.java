@@ -41,7 +41,6 @@ public class K1ColoringAlgorithm extends Algorithm<K1ColoringAlgorithm, HugeDoub
     @Override
     public HugeDoubleArray compute() {
         PregelConfig config = new PregelConfig.Builder()
-                .isAsynchronous(true)
                 .build();
 
         Pregel pregelJob = Pregel.withDefaultNodeValues(
@@ -82,7 +82,6 @@ final class K1ColoringTest extends AlgoTestBase {
         int maxIterations = 10;
 
         PregelConfig config = new PregelConfig.Builder()
-            .isAsynchronous(true)
             .build();
 
         Pregel pregelJob = Pregel.withDefaultNodeValues(
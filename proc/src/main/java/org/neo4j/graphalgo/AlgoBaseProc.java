@@ -207,7 +207,7 @@ public abstract class AlgoBaseProc<A extends Algorithm<A, RESULT>, RESULT, CONFI
             graphCandidate = GraphStoreCatalog.get(getUsername(), maybeGraphName.get());
         } else if (config.implicitCreateConfig().isPresent()) {
             GraphCreateConfig createConfig = config.implicitCreateConfig().get();
-            GraphLoader loader = newLoader(createConfig, AllocationTracker.EMPTY);
+            GraphLoader loader = newLoader(createConfig);
             GraphStore graphStore = loader.build(createConfig.getGraphImpl()).build().graphStore();
 
             graphCandidate = ImmutableGraphStoreWithConfig.of(graphStore, createConfig);
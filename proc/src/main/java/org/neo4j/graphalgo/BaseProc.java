@@ -56,6 +56,15 @@ public abstract class BaseProc {
         return transaction.subjectOrAnonymous().username();
     }
 
+    /**
+     * Creates a loader for a graph that is going to be projected.
+     * Its memory is tracked, so that it can be accounted for in the graph catalog,
+     * and it is allocated according to {@link GraphCreateConfig#allocationMode()}.
+     */
+    protected final GraphLoader newLoader(GraphCreateConfig createConfig) {
+        return newLoader(createConfig, AllocationTracker.create(createConfig.allocationMode()));
+    }
+
     protected final GraphLoader newLoader(GraphCreateConfig createConfig, AllocationTracker tracker) {
         return ImmutableGraphLoader
             .builder()
@@ -122,6 +122,7 @@ public class K1ColoringWriteProc extends K1ColoringBaseProc<K1ColoringWriteConfi
                 createMillis,
                 computeMillis,
                 writeMillis,
+                nodePropertiesWrittenPerSecond(),
                 nodePropertiesWritten,
                 colorCount,
                 ranIterations,
@@ -141,6 +142,7 @@ public class K1ColoringWriteProc extends K1ColoringBaseProc<K1ColoringWriteConfi
             0,
             0,
             0,
+            0,
             false,
             null
         );
@@ -148,6 +150,7 @@ public class K1ColoringWriteProc extends K1ColoringBaseProc<K1ColoringWriteConfi
         public final long createMillis;
         public final long computeMillis;
         public final long writeMillis;
+        public final long nodePropertiesWrittenPerSecond;
 
         public final long nodes;
         public final long colorCount;
@@ -160,6 +163,7 @@ public class K1ColoringWriteProc extends K1ColoringBaseProc<K1ColoringWriteConfi
             long createMillis,
             long computeMillis,
             long writeMillis,
+            long nodePropertiesWrittenPerSecond,
             long nodes,
             long colorCount,
             long ranIterations,
@@ -169,6 +173,7 @@ public class K1ColoringWriteProc extends K1ColoringBaseProc<K1ColoringWriteConfi
             this.createMillis = createMillis;
             this.computeMillis = computeMillis;
             this.writeMillis = writeMillis;
+            this.nodePropertiesWrittenPerSecond = nodePropertiesWrittenPerSecond;
             this.nodes = nodes;
             this.colorCount = colorCount;
             this.ranIterations = ranIterations;
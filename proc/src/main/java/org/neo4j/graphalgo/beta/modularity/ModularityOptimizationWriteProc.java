@@ -121,6 +121,7 @@ public class ModularityOptimizationWriteProc extends ModularityOptimizationBaseP
         public final long createMillis;
         public final long computeMillis;
         public final long writeMillis;
+        public final long nodePropertiesWrittenPerSecond;
         public final long postProcessingMillis;
         public final long nodes;
         public boolean didConverge;
@@ -135,6 +136,7 @@ public class ModularityOptimizationWriteProc extends ModularityOptimizationBaseP
             long computeMillis,
             long postProcessingMillis,
             long writeMillis,
+            long nodePropertiesWrittenPerSecond,
             long nodes,
             boolean didConverge,
             long ranIterations,
@@ -146,6 +148,7 @@ public class ModularityOptimizationWriteProc extends ModularityOptimizationBaseP
             this.createMillis = createMillis;
             this.computeMillis = computeMillis;
             this.writeMillis = writeMillis;
+            this.nodePropertiesWrittenPerSecond = nodePropertiesWrittenPerSecond;
             this.postProcessingMillis = postProcessingMillis;
             this.nodes = nodes;
             this.didConverge = didConverge;
@@ -192,6 +195,7 @@ public class ModularityOptimizationWriteProc extends ModularityOptimizationBaseP
                 computeMillis,
                 postProcessingDuration,
                 writeMillis,
+                nodePropertiesWrittenPerSecond(),
                 nodePropertiesWritten,
                 didConverge,
                 ranIterations,
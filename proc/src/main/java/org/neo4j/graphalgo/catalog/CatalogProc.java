@@ -20,7 +20,11 @@
 package org.neo4j.graphalgo.catalog;
 
 import org.neo4j.graphalgo.BaseProc;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphStoreAccessStats;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.loading.ImmutableGraphStoreAccessStats;
 
 abstract class CatalogProc extends BaseProc {
     private static final String DEGREE_DISTRIBUTION_FIELD_NAME = "degreeDistribution";
@@ -40,6 +44,12 @@ abstract class CatalogProc extends BaseProc {
         return callContext.outputFields().anyMatch(DEGREE_DISTRIBUTION_FIELD_NAME::equals);
     }
 
+    GraphStoreAccessStats accessStats(GraphCreateConfig config) {
+        return GraphStoreCatalog
+            .accessStats(getUsername(), config.graphName())
+            .orElseGet(() -> ImmutableGraphStoreAccessStats.of(0L, 0L, config.creationTime()));
+    }
+
     void validateGraphName(String graphName) {
         CypherMapWrapper.failOnBlank("graphName", graphName);
     }
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphStore;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphdb.Result;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Collections.emptyMap;
+import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.runQueryWithoutClosingTheResult;
+import static org.neo4j.graphalgo.config.AlgoBaseConfig.DEFAULT_CONCURRENCY;
+import static org.neo4j.procedure.Mode.READ;
+
+public class GraphApplyDeltaProc extends CatalogProc {
+
+    private static final String DESCRIPTION = "Adds and removes relationships of a named graph from the rows of a Cypher query.";
+
+    private static final String SOURCE_KEY = "source";
+    private static final String TARGET_KEY = "target";
+    private static final String TYPE_KEY = "type";
+    private static final String DELETED_KEY = "deleted";
+
+    private static final String COMPACT_KEY = "compact";
+    private static final String CONCURRENCY_KEY = "concurrency";
+    private static final Collection<String> RESERVED_COLUMNS = Arrays.asList(SOURCE_KEY, TARGET_KEY, TYPE_KEY, DELETED_KEY);
+
+    @Procedure(name = "gds.graph.applyDelta", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<GraphApplyDeltaResult> applyDelta(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "relationshipQuery") String relationshipQuery,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        validateGraphName(graphName);
+        CypherMapWrapper config = CypherMapWrapper.create(configuration);
+        config.requireOnlyKeysFrom(Arrays.asList(COMPACT_KEY, CONCURRENCY_KEY));
+        boolean compact = config.getBool(COMPACT_KEY, true);
+        int concurrency = config.getInt(CONCURRENCY_KEY, DEFAULT_CONCURRENCY);
+
+        GraphApplyDeltaResult result = runWithExceptionLogging("Graph delta failed", () -> {
+            GraphStore graphStore = GraphStoreCatalog.get(getUsername(), graphName).graphStore();
+
+            ProgressTimer timer = ProgressTimer.start();
+            DeltaVisitor visitor;
+            try (Result queryResult = runQueryWithoutClosingTheResult(api, transaction, relationshipQuery, emptyMap())) {
+                visitor = new DeltaVisitor(graphStore, queryResult.columns());
+                queryResult.accept(visitor);
+            }
+            if (compact) {
+                graphStore.compact(concurrency);
+                GraphStoreCatalog.graphStoreChanged(graphStore);
+            }
+            timer.stop();
+
+            return new GraphApplyDeltaResult(
+                graphName,
+                visitor.relationshipsAdded,
+                visitor.relationshipsRemoved,
+                graphStore.relationshipCount(),
+                timer.getDuration()
+            );
+        });
+
+        return Stream.of(result);
+    }
+
+    private static final class DeltaVisitor implements Result.ResultVisitor<RuntimeException> {
+
+        private final GraphStore graphStore;
+        private final List<String> propertyColumns;
+        private final boolean hasTypeColumn;
+        private final boolean hasDeletedColumn;
+        private final String defaultType;
+        private final Map<String, Double> properties;
+
+        long relationshipsAdded;
+        long relationshipsRemoved;
+
+        DeltaVisitor(GraphStore graphStore, List<String> columns) {
+            if (!columns.contains(SOURCE_KEY) || !columns.contains(TARGET_KEY)) {
+                throw new IllegalArgumentException(String.format(
+                    "The relationship query must return the columns '%s' and '%s', but returned %s.",
+                    SOURCE_KEY,
+                    TARGET_KEY,
+                    columns
+                ));
+            }
+            this.hasTypeColumn = columns.contains(TYPE_KEY);
+            if (!hasTypeColumn && graphStore.relationshipTypes().size() != 1) {
+                throw new IllegalArgumentException(String.format(
+                    "The relationship query must return a '%s' column for graphs with more than one relationship type.",
+                    TYPE_KEY
+                ));
+            }
+            this.graphStore = graphStore;
+            this.propertyColumns = columns.stream()
+                .filter(column -> !RESERVED_COLUMNS.contains(column))
+                .collect(Collectors.toList());
+            this.hasDeletedColumn = columns.contains(DELETED_KEY);
+            this.defaultType = hasTypeColumn ? null : graphStore.relationshipTypes().iterator().next();
+            this.properties = new HashMap<>();
+        }
+
+        @Override
+        public boolean visit(Result.ResultRow row) {
+            long source = nodeId(row, SOURCE_KEY);
+            long target = nodeId(row, TARGET_KEY);
+            String type = hasTypeColumn ? row.getString(TYPE_KEY) : defaultType;
+
+            if (hasDeletedColumn && Boolean.TRUE.equals(row.getBoolean(DELETED_KEY))) {
+                graphStore.removeRelationship(type, source, target);
+                relationshipsRemoved++;
+            } else {
+                properties.clear();
+                for (String propertyColumn : propertyColumns) {
+                    Number value = row.getNumber(propertyColumn);
+                    if (value != null) {
+                        properties.put(propertyColumn, value.doubleValue());
+                    }
+                }
+                graphStore.addRelationship(type, source, target, properties);
+                relationshipsAdded++;
+            }
+            return true;
+        }
+
+        private static long nodeId(Result.ResultRow row, String column) {
+            Number nodeId = row.getNumber(column);
+            if (nodeId == null) {
+                throw new IllegalArgumentException(String.format(
+                    "The relationship query returned a null value for '%s'.",
+                    column
+                ));
+            }
+            return nodeId.longValue();
+        }
+    }
+
+    public static class GraphApplyDeltaResult {
+        public final String graphName;
+        public final long relationshipsAdded;
+        public final long relationshipsRemoved;
+        public final long relationshipCount;
+        public final long applyMillis;
+
+        GraphApplyDeltaResult(
+            String graphName,
+            long relationshipsAdded,
+            long relationshipsRemoved,
+            long relationshipCount,
+            long applyMillis
+        ) {
+            this.graphName = graphName;
+            this.relationshipsAdded = relationshipsAdded;
+            this.relationshipsRemoved = relationshipsRemoved;
+            this.relationshipCount = relationshipCount;
+            this.applyMillis = applyMillis;
+        }
+    }
+}
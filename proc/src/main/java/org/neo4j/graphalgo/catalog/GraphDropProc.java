@@ -19,11 +19,13 @@
  */
 package org.neo4j.graphalgo.catalog;
 
+import org.neo4j.graphalgo.core.loading.GraphStoreAccessStats;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
 import org.neo4j.procedure.Description;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
 
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
@@ -38,10 +40,21 @@ public class GraphDropProc extends CatalogProc {
     public Stream<GraphInfo> drop(@Name(value = "graphName") String graphName) {
         validateGraphName(graphName);
 
+        // the statistics are no longer available once the graph has been removed
+        Optional<GraphStoreAccessStats> accessStats = GraphStoreCatalog.accessStats(getUsername(), graphName);
+
         AtomicReference<GraphInfo> result = new AtomicReference<>();
-        GraphStoreCatalog.remove(getUsername(), graphName, (removedGraph) -> {
-            result.set(new GraphInfo(removedGraph.config(), removedGraph.getGraph(), computeHistogram()));
-        });
+        GraphStoreCatalog.remove(
+            getUsername(),
+            graphName,
+            (removedGraph) -> result.set(new GraphInfo(
+                removedGraph.config(),
+                removedGraph.getGraph(),
+                accessStats.orElseGet(() -> accessStats(removedGraph.config())),
+                computeHistogram()
+            )),
+            (removedSpilledGraph) -> result.set(new GraphInfo(removedSpilledGraph))
+        );
 
         return Stream.of(result.get());
     }
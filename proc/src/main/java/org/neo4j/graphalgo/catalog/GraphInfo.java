@@ -28,6 +28,8 @@ import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.config.GraphCreateFromCypherConfig;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.GraphStoreAccessStats;
+import org.neo4j.graphalgo.core.loading.SpilledGraph;
 
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -46,8 +48,40 @@ public class GraphInfo {
     public final long relationshipCount;
     public final Map<String, Object> degreeDistribution;
     public final LocalDateTime creationTime;
+    public final long sizeInBytes;
+    public final long accessCount;
+    public final LocalDateTime lastAccessTime;
 
-    GraphInfo(GraphCreateConfig config, Graph graph, boolean computeHistogram) {
+    GraphInfo(GraphCreateConfig config, Graph graph, GraphStoreAccessStats accessStats, boolean computeHistogram) {
+        this(
+            config,
+            graph.nodeCount(),
+            graph.relationshipCount(),
+            computeHistogram ? computeHistogram(graph) : emptyMap(),
+            accessStats
+        );
+    }
+
+    /**
+     * Describes a graph that has been spilled by the catalog, whose degree distribution is not available without loading it.
+     */
+    GraphInfo(SpilledGraph spilledGraph) {
+        this(
+            spilledGraph.config(),
+            spilledGraph.nodeCount(),
+            spilledGraph.relationshipCount(),
+            emptyMap(),
+            spilledGraph.accessStats()
+        );
+    }
+
+    private GraphInfo(
+        GraphCreateConfig config,
+        long nodeCount,
+        long relationshipCount,
+        Map<String, Object> degreeDistribution,
+        GraphStoreAccessStats accessStats
+    ) {
         this.graphName = config.graphName();
         this.nodeProjection = config.nodeProjections().toObject();
         this.relationshipProjection = config.relationshipProjections().toObject();
@@ -58,12 +92,15 @@ public class GraphInfo {
         this.relationshipQuery = config instanceof GraphCreateFromCypherConfig
             ? ((GraphCreateFromCypherConfig) config).relationshipQuery()
             : null;
-        this.nodeCount = graph.nodeCount();
-        this.relationshipCount = graph.relationshipCount();
-        this.degreeDistribution = computeHistogram ? computeHistogram(graph) : emptyMap();
+        this.nodeCount = nodeCount;
+        this.relationshipCount = relationshipCount;
+        this.degreeDistribution = degreeDistribution;
+        this.sizeInBytes = accessStats.sizeInBytes();
+        this.accessCount = accessStats.accessCount();
+        this.lastAccessTime = accessStats.lastAccessTime();
     }
 
-    private Map<String, Object> computeHistogram(Graph graph) {
+    private static Map<String, Object> computeHistogram(Graph graph) {
         int batchSize = Math.toIntExact(ParallelUtil.adjustedBatchSize(
             graph.nodeCount(),
             AlgoBaseConfig.DEFAULT_CONCURRENCY,
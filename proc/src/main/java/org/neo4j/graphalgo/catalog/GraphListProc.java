@@ -51,7 +51,7 @@ public class GraphListProc extends CatalogProc {
             graphEntries = graphEntries.filter(e -> e.getKey().graphName().equals(graphName));
         }
 
-        return graphEntries.map(e -> new GraphInfo(e.getKey(), e.getValue(), computeHistogram()));
+        return graphEntries.map(e -> new GraphInfo(e.getKey(), e.getValue(), accessStats(e.getKey()), computeHistogram()));
     }
 
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.loading.GraphStoreSnapshot;
+import org.neo4j.graphalgo.core.loading.GraphStoreWithConfig;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static java.util.Collections.singletonList;
+import static org.neo4j.procedure.Mode.READ;
+
+public class GraphLoadProc extends CatalogProc {
+
+    private static final String DESCRIPTION = "Loads a named graph into the catalog from a snapshot that has been written by gds.graph.persist.";
+    private static final String CONCURRENCY_KEY = "concurrency";
+
+    @Procedure(name = "gds.graph.load", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<GraphLoadResult> load(
+        @Name(value = "graphName") String graphName,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        validateGraphName(getUsername(), graphName);
+        CypherMapWrapper config = CypherMapWrapper.create(configuration);
+        config.requireOnlyKeysFrom(singletonList(CONCURRENCY_KEY));
+        int concurrency = config.getInt(CONCURRENCY_KEY, AlgoBaseConfig.DEFAULT_CONCURRENCY);
+
+        Path file = GraphStoreSnapshot.file(getUsername(), graphName);
+        if (!Files.exists(file)) {
+            throw new IllegalArgumentException(String.format(
+                "No snapshot has been persisted for the graph with name '%s'.",
+                graphName
+            ));
+        }
+
+        GraphLoadResult result = runWithExceptionLogging("Graph load failed", () -> {
+            ProgressTimer timer = ProgressTimer.start();
+            GraphStoreWithConfig graphStoreWithConfig = GraphStoreSnapshot.read(file, getUsername(), concurrency);
+            timer.stop();
+
+            GraphStoreCatalog.set(graphStoreWithConfig.config(), graphStoreWithConfig.graphStore());
+
+            return new GraphLoadResult(
+                graphName,
+                graphStoreWithConfig.config().nodeProjections().toObject(),
+                graphStoreWithConfig.config().relationshipProjections().toObject(),
+                graphStoreWithConfig.graphStore().nodeCount(),
+                graphStoreWithConfig.graphStore().relationshipCount(),
+                timer.getDuration()
+            );
+        });
+
+        return Stream.of(result);
+    }
+
+    public static class GraphLoadResult {
+        public final String graphName;
+        public final Map<String, Object> nodeProjection;
+        public final Map<String, Object> relationshipProjection;
+        public final long nodeCount;
+        public final long relationshipCount;
+        public final long loadMillis;
+
+        GraphLoadResult(
+            String graphName,
+            Map<String, Object> nodeProjection,
+            Map<String, Object> relationshipProjection,
+            long nodeCount,
+            long relationshipCount,
+            long loadMillis
+        ) {
+            this.graphName = graphName;
+            this.nodeProjection = nodeProjection;
+            this.relationshipProjection = relationshipProjection;
+            this.nodeCount = nodeCount;
+            this.relationshipCount = relationshipCount;
+            this.loadMillis = loadMillis;
+        }
+    }
+}
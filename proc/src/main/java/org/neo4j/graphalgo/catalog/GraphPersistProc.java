@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.loading.GraphStoreSnapshot;
+import org.neo4j.graphalgo.core.loading.GraphStoreWithConfig;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class GraphPersistProc extends CatalogProc {
+
+    private static final String DESCRIPTION = "Writes a named graph from the catalog into a snapshot on disk.";
+
+    @Procedure(name = "gds.graph.persist", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<GraphPersistResult> persist(@Name(value = "graphName") String graphName) {
+        validateGraphName(graphName);
+
+        GraphPersistResult result = runWithExceptionLogging("Graph persist failed", () -> {
+            GraphStoreWithConfig graphStoreWithConfig = GraphStoreCatalog.get(getUsername(), graphName);
+            Path file = GraphStoreSnapshot.file(getUsername(), graphName);
+
+            ProgressTimer timer = ProgressTimer.start();
+            long sizeInBytes = GraphStoreSnapshot.write(graphStoreWithConfig, file);
+            timer.stop();
+
+            return new GraphPersistResult(
+                graphName,
+                file.toString(),
+                graphStoreWithConfig.graphStore().nodeCount(),
+                graphStoreWithConfig.graphStore().relationshipCount(),
+                sizeInBytes,
+                timer.getDuration()
+            );
+        });
+
+        return Stream.of(result);
+    }
+
+    public static class GraphPersistResult {
+        public final String graphName;
+        public final String file;
+        public final long nodeCount;
+        public final long relationshipCount;
+        public final long sizeInBytes;
+        public final long writeMillis;
+
+        GraphPersistResult(
+            String graphName,
+            String file,
+            long nodeCount,
+            long relationshipCount,
+            long sizeInBytes,
+            long writeMillis
+        ) {
+            this.graphName = graphName;
+            this.file = file;
+            this.nodeCount = nodeCount;
+            this.relationshipCount = relationshipCount;
+            this.sizeInBytes = sizeInBytes;
+            this.writeMillis = writeMillis;
+        }
+    }
+}
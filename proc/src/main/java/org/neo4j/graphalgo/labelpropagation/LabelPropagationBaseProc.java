@@ -76,6 +76,7 @@ public abstract class LabelPropagationBaseProc<CONFIG extends LabelPropagationBa
         public long createMillis;
         public long computeMillis;
         public long writeMillis;
+        public long nodePropertiesWrittenPerSecond;
         public long postProcessingMillis;
         public long communityCount;
         public long ranIterations;
@@ -88,6 +89,7 @@ public abstract class LabelPropagationBaseProc<CONFIG extends LabelPropagationBa
             long createMillis,
             long computeMillis,
             long writeMillis,
+            long nodePropertiesWrittenPerSecond,
             long postProcessingMillis,
             long communityCount,
             long ranIterations,
@@ -99,6 +101,7 @@ public abstract class LabelPropagationBaseProc<CONFIG extends LabelPropagationBa
             this.createMillis = createMillis;
             this.computeMillis = computeMillis;
             this.writeMillis = writeMillis;
+            this.nodePropertiesWrittenPerSecond = nodePropertiesWrittenPerSecond;
             this.postProcessingMillis = postProcessingMillis;
             this.communityCount = communityCount;
             this.ranIterations = ranIterations;
@@ -187,6 +190,7 @@ public abstract class LabelPropagationBaseProc<CONFIG extends LabelPropagationBa
                 createMillis,
                 computeMillis,
                 writeMillis,
+                nodePropertiesWrittenPerSecond(),
                 postProcessingDuration,
                 maybeCommunityCount.orElse(-1L),
                 ranIterations,
@@ -54,7 +54,7 @@ abstract class LouvainBaseProc<CONFIG extends LouvainBaseConfig> extends AlgoBas
             return Stream.of(
                 new WriteResult(
                     0, computeResult.createMillis(),
-                    0, 0, 0, 0, 0, 0,
+                    0, 0, 0, 0, 0, 0, 0,
                     new double[0], Collections.emptyMap(),
                     config.toMap()
                 )
@@ -93,6 +93,7 @@ abstract class LouvainBaseProc<CONFIG extends LouvainBaseConfig> extends AlgoBas
         public long createMillis;
         public long computeMillis;
         public long writeMillis;
+        public long nodePropertiesWrittenPerSecond;
         public long postProcessingMillis;
         public long ranLevels;
         public long communityCount;
@@ -106,6 +107,7 @@ abstract class LouvainBaseProc<CONFIG extends LouvainBaseConfig> extends AlgoBas
             long createMillis,
             long computeMillis,
             long writeMillis,
+            long nodePropertiesWrittenPerSecond,
             long postProcessingMillis,
             long ranLevels,
             long communityCount,
@@ -120,6 +122,7 @@ abstract class LouvainBaseProc<CONFIG extends LouvainBaseConfig> extends AlgoBas
             this.createMillis = createMillis;
             this.computeMillis = computeMillis;
             this.writeMillis = writeMillis;
+            this.nodePropertiesWrittenPerSecond = nodePropertiesWrittenPerSecond;
             this.postProcessingMillis = postProcessingMillis;
             this.ranLevels = ranLevels;
             this.communityCount = communityCount;
@@ -220,6 +223,7 @@ abstract class LouvainBaseProc<CONFIG extends LouvainBaseConfig> extends AlgoBas
                 createMillis,
                 computeMillis,
                 writeMillis,
+                nodePropertiesWrittenPerSecond(),
                 postProcessingDuration,
                 levels,
                 maybeCommunityCount.orElse(-1L),
@@ -85,6 +85,8 @@ public class NodeSimilarityMutateProc extends NodeSimilarityWriteProc {
                     0,
                     0,
                     0,
+                    0,
+                    0,
                     Collections.emptyMap(),
                     config.toMap()
                 )
@@ -23,6 +23,7 @@ import org.HdrHistogram.DoubleHistogram;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.compat.MapUtil;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
 import org.neo4j.graphalgo.core.write.RelationshipExporter;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
@@ -86,6 +87,8 @@ public class NodeSimilarityWriteProc extends NodeSimilarityBaseProc<NodeSimilari
                     0,
                     0,
                     0,
+                    0,
+                    0,
                     Collections.emptyMap(),
                     config.toMap()
                 )
@@ -116,6 +119,7 @@ public class NodeSimilarityWriteProc extends NodeSimilarityBaseProc<NodeSimilari
                         RelationshipExporter exporter = RelationshipExporter
                             .of(api, similarityGraph, algorithm.getTerminationFlag())
                             .withLog(log)
+                            .parallel(Pools.DEFAULT, config.writeConcurrency())
                             .build();
                         if (shouldComputeHistogram()) {
                             DoubleHistogram histogram = new DoubleHistogram(5);
@@ -131,6 +135,7 @@ public class NodeSimilarityWriteProc extends NodeSimilarityBaseProc<NodeSimilari
                         } else {
                             exporter.write(writeRelationshipType, writeProperty);
                         }
+                        resultBuilder.withWriteRetries(exporter.writeRetries());
                     }
                 }
             );
@@ -146,6 +151,8 @@ public class NodeSimilarityWriteProc extends NodeSimilarityBaseProc<NodeSimilari
 
         public final long nodesCompared;
         public final long relationshipsWritten;
+        public final long relationshipsWrittenPerSecond;
+        public final long writeRetries;
 
         public final Map<String, Object> similarityDistribution;
         public final Map<String, Object> configuration;
@@ -157,6 +164,8 @@ public class NodeSimilarityWriteProc extends NodeSimilarityBaseProc<NodeSimilari
             long postProcessingMillis,
             long nodesCompared,
             long relationshipsWritten,
+            long relationshipsWrittenPerSecond,
+            long writeRetries,
             Map<String, Object> similarityDistribution,
             Map<String, Object> configuration
         ) {
@@ -166,6 +175,8 @@ public class NodeSimilarityWriteProc extends NodeSimilarityBaseProc<NodeSimilari
             this.postProcessingMillis = postProcessingMillis;
             this.nodesCompared = nodesCompared;
             this.relationshipsWritten = relationshipsWritten;
+            this.relationshipsWrittenPerSecond = relationshipsWrittenPerSecond;
+            this.writeRetries = writeRetries;
             this.similarityDistribution = similarityDistribution;
             this.configuration = configuration;
         }
@@ -177,6 +188,8 @@ public class NodeSimilarityWriteProc extends NodeSimilarityBaseProc<NodeSimilari
 
         private long postProcessingMillis = -1L;
 
+        private long writeRetries = 0L;
+
         private Optional<DoubleHistogram> maybeHistogram = Optional.empty();
 
         public WriteResultBuilder withNodesCompared(long nodesCompared) {
@@ -184,6 +197,11 @@ public class NodeSimilarityWriteProc extends NodeSimilarityBaseProc<NodeSimilari
             return this;
         }
 
+        WriteResultBuilder withWriteRetries(long writeRetries) {
+            this.writeRetries = writeRetries;
+            return this;
+        }
+
         WriteResultBuilder withHistogram(DoubleHistogram histogram) {
             this.maybeHistogram = Optional.of(histogram);
             return this;
@@ -229,6 +247,8 @@ public class NodeSimilarityWriteProc extends NodeSimilarityBaseProc<NodeSimilari
                 postProcessingMillis,
                 nodesCompared,
                 relationshipsWritten,
+                relationshipsWrittenPerSecond(),
+                writeRetries,
                 distribution(),
                 config.toMap()
             );
@@ -68,6 +68,7 @@ abstract class PageRankBaseProc<CONFIG extends PageRankBaseConfig> extends AlgoB
                     0,
                     0,
                     0,
+                    0,
                     false,
                     config.toMap()
                 )
@@ -99,6 +100,7 @@ abstract class PageRankBaseProc<CONFIG extends PageRankBaseConfig> extends AlgoB
         public long createMillis;
         public long computeMillis;
         public long writeMillis;
+        public long nodePropertiesWrittenPerSecond;
         public long ranIterations;
         public boolean didConverge;
         public Map<String, Object> configuration;
@@ -108,6 +110,7 @@ abstract class PageRankBaseProc<CONFIG extends PageRankBaseConfig> extends AlgoB
             long createMillis,
             long computeMillis,
             long writeMillis,
+            long nodePropertiesWrittenPerSecond,
             long ranIterations,
             boolean didConverge,
             Map<String, Object> configuration
@@ -116,6 +119,7 @@ abstract class PageRankBaseProc<CONFIG extends PageRankBaseConfig> extends AlgoB
             this.createMillis = createMillis;
             this.computeMillis = computeMillis;
             this.writeMillis = writeMillis;
+            this.nodePropertiesWrittenPerSecond = nodePropertiesWrittenPerSecond;
             this.ranIterations = ranIterations;
             this.didConverge = didConverge;
             this.configuration = configuration;
@@ -177,6 +181,7 @@ abstract class PageRankBaseProc<CONFIG extends PageRankBaseConfig> extends AlgoB
                 createMillis,
                 computeMillis,
                 writeMillis,
+                nodePropertiesWrittenPerSecond(),
                 ranIterations,
                 didConverge,
                 config.toMap()
@@ -60,5 +60,29 @@ public abstract class AbstractResultBuilder<WRITE_RESULT> {
         return this;
     }
 
+    /**
+     * The throughput of writing node properties, or 0 if nothing has been written.
+     */
+    protected long nodePropertiesWrittenPerSecond() {
+        return perSecond(nodePropertiesWritten, writeMillis);
+    }
+
+    /**
+     * The throughput of writing relationships, or 0 if nothing has been written.
+     */
+    protected long relationshipsWrittenPerSecond() {
+        return perSecond(relationshipsWritten, writeMillis);
+    }
+
+    /**
+     * @return the number of items per second, or 0 if no time has been measured
+     */
+    static long perSecond(long count, long millis) {
+        if (millis <= 0L) {
+            return 0L;
+        }
+        return count * 1000L / millis;
+    }
+
     public abstract WRITE_RESULT build();
 }
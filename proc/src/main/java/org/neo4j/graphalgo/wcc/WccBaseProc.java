@@ -129,6 +129,7 @@ public abstract class WccBaseProc<CONFIG extends WccBaseConfig> extends AlgoBase
         public final long createMillis;
         public final long computeMillis;
         public final long writeMillis;
+        public final long nodePropertiesWrittenPerSecond;
         public final long postProcessingMillis;
         public final long componentCount;
         public final Map<String, Object> componentDistribution;
@@ -138,7 +139,7 @@ public abstract class WccBaseProc<CONFIG extends WccBaseConfig> extends AlgoBase
             return new WriteResult(
                 0,
                 createMillis,
-                0, 0, 0, 0,
+                0, 0, 0, 0, 0,
                 Collections.emptyMap(),
                 configuration
             );
@@ -149,6 +150,7 @@ public abstract class WccBaseProc<CONFIG extends WccBaseConfig> extends AlgoBase
             long createMillis,
             long computeMillis,
             long writeMillis,
+            long nodePropertiesWrittenPerSecond,
             long postProcessingMillis,
             long componentCount,
             Map<String, Object> componentDistribution,
@@ -159,6 +161,7 @@ public abstract class WccBaseProc<CONFIG extends WccBaseConfig> extends AlgoBase
             this.createMillis = createMillis;
             this.computeMillis = computeMillis;
             this.writeMillis = writeMillis;
+            this.nodePropertiesWrittenPerSecond = nodePropertiesWrittenPerSecond;
             this.postProcessingMillis = postProcessingMillis;
             this.componentCount = componentCount;
             this.componentDistribution = componentDistribution;
@@ -225,6 +228,7 @@ public abstract class WccBaseProc<CONFIG extends WccBaseConfig> extends AlgoBase
                 createMillis,
                 computeMillis,
                 writeMillis,
+                nodePropertiesWrittenPerSecond(),
                 postProcessingDuration,
                 maybeCommunityCount.orElse(-1L),
                 communityHistogramOrNull(),
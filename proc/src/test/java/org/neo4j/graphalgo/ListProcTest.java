@@ -34,10 +34,13 @@ import org.neo4j.graphalgo.labelpropagation.LabelPropagationStreamProc;
 import org.neo4j.graphalgo.labelpropagation.LabelPropagationWriteProc;
 import org.neo4j.graphalgo.louvain.LouvainStreamProc;
 import org.neo4j.graphalgo.louvain.LouvainWriteProc;
+import org.neo4j.graphalgo.catalog.GraphApplyDeltaProc;
 import org.neo4j.graphalgo.catalog.GraphCreateProc;
 import org.neo4j.graphalgo.catalog.GraphDropProc;
 import org.neo4j.graphalgo.catalog.GraphExistsProc;
 import org.neo4j.graphalgo.catalog.GraphListProc;
+import org.neo4j.graphalgo.catalog.GraphLoadProc;
+import org.neo4j.graphalgo.catalog.GraphPersistProc;
 import org.neo4j.graphalgo.nodesim.NodeSimilarityMutateProc;
 import org.neo4j.graphalgo.nodesim.NodeSimilarityStatsProc;
 import org.neo4j.graphalgo.nodesim.NodeSimilarityStreamProc;
@@ -78,6 +81,7 @@ class ListProcTest extends BaseProcTest {
         "gds.beta.wcc.mutate",
         "gds.beta.wcc.mutate.estimate",
 
+        "gds.graph.applyDelta",
         "gds.graph.create",
         "gds.graph.create.cypher",
         "gds.graph.create.cypher.estimate",
@@ -85,6 +89,8 @@ class ListProcTest extends BaseProcTest {
         "gds.graph.drop",
         "gds.graph.exists",
         "gds.graph.list",
+        "gds.graph.load",
+        "gds.graph.persist",
 
         "gds.labelPropagation.stats",
         "gds.labelPropagation.stats.estimate",
@@ -145,10 +151,13 @@ class ListProcTest extends BaseProcTest {
     void setUp() throws Exception {
         db = TestDatabaseCreator.createTestDatabase();
         registerProcedures(
+            GraphApplyDeltaProc.class,
             GraphCreateProc.class,
             GraphDropProc.class,
             GraphExistsProc.class,
             GraphListProc.class,
+            GraphLoadProc.class,
+            GraphPersistProc.class,
             GraphGenerateProc.class,
             K1ColoringWriteProc.class,
             K1ColoringStreamProc.class,
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.Optional;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.neo4j.graphalgo.TestGraph.Builder.fromGdl;
+import static org.neo4j.graphalgo.TestSupport.assertGraphEquals;
+import static org.neo4j.graphalgo.compat.MapUtil.map;
+
+class GraphApplyDeltaProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:A {id: 0})" +
+        ", (b:A {id: 1})" +
+        ", (c:A {id: 2})" +
+        ", (a)-[:REL {w: 1.0}]->(b)" +
+        ", (b)-[:REL {w: 2.0}]->(c)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        db = TestDatabaseCreator.createTestDatabase();
+        registerProcedures(GraphCreateProc.class, GraphApplyDeltaProc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('g', {A: {properties: 'id'}}, {REL: {properties: 'w'}})");
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldApplyDeltaFromQuery() {
+        String query =
+            "MATCH (a:A {id: 0}), (b:A {id: 1}), (c:A {id: 2}) " +
+            "RETURN id(c) AS source, id(a) AS target, 3.0 AS w, false AS deleted " +
+            "UNION ALL " +
+            "MATCH (a:A {id: 0}), (b:A {id: 1}), (c:A {id: 2}) " +
+            "RETURN id(a) AS source, id(b) AS target, null AS w, true AS deleted";
+
+        assertCypherResult(
+            "CALL gds.graph.applyDelta('g', $query)",
+            map("query", query),
+            singletonList(map(
+                "graphName", "g",
+                "relationshipsAdded", 1L,
+                "relationshipsRemoved", 1L,
+                "relationshipCount", 2L,
+                "applyMillis", greaterThanOrEqualTo(0L)
+            ))
+        );
+
+        Graph graph = GraphStoreCatalog.get("", "g").graphStore().getGraph("REL", Optional.of("w"));
+        assertGraphEquals(fromGdl("(a {id: 0}), (b {id: 1})-[{w: 2.0}]->(c {id: 2})-[{w: 3.0}]->(a)"), graph);
+    }
+
+    @Test
+    void shouldFailWithoutSourceAndTargetColumns() {
+        assertError(
+            "CALL gds.graph.applyDelta('g', 'MATCH (a:A) RETURN id(a) AS source')",
+            "The relationship query must return the columns 'source' and 'target'"
+        );
+    }
+
+    @Test
+    void shouldFailForMissingGraph() {
+        assertError(
+            "CALL gds.graph.applyDelta('h', 'MATCH (a:A) RETURN id(a) AS source, id(a) AS target')",
+            "Cannot find graph with name 'h'."
+        );
+    }
+}
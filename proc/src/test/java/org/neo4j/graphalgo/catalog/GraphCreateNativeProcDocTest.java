@@ -93,7 +93,7 @@ class GraphCreateNativeProcDocTest extends BaseProcTest {
         String expected = "+-------------------------------------------------------------------------------+\n" +
                            "| requiredMemory          | bytesMin | bytesMax | nodeCount | relationshipCount |\n" +
                            "+-------------------------------------------------------------------------------+\n" +
-                           "| \"[561 KiB ... 564 KiB]\" | 574712   | 577896   | 100       | 1000              |\n" +
+                           "| \"[561 KiB ... 565 KiB]\" | 574720   | 579248   | 100       | 1000              |\n" +
                            "+-------------------------------------------------------------------------------+\n" +
                            "1 row\n";
 
@@ -808,14 +808,14 @@ class GraphCreateProcTest extends BaseProcTest {
             map("type", "REL")
         );
         String query = "CALL gds.graph.create.estimate('*', $relProjection)";
-        double expectedPercentage = BigDecimal.valueOf(303504)
+        double expectedPercentage = BigDecimal.valueOf(303512)
             .divide(BigDecimal.valueOf(Runtime.getRuntime().maxMemory()), 1, RoundingMode.UP)
             .doubleValue();
 
         runQueryWithRowConsumer(localDb, query, map("relProjection", relProjection),
             row -> {
-                assertEquals(303504, row.getNumber("bytesMax").longValue());
-                assertEquals(303504, row.getNumber("bytesMin").longValue());
+                assertEquals(303512, row.getNumber("bytesMax").longValue());
+                assertEquals(303512, row.getNumber("bytesMin").longValue());
                 assertEquals(expectedPercentage, row.getNumber("heapPercentageMin").doubleValue());
                 assertEquals(expectedPercentage, row.getNumber("heapPercentageMax").doubleValue());
             }
@@ -834,14 +834,14 @@ class GraphCreateProcTest extends BaseProcTest {
         );
         String query = "CALL gds.graph.create.estimate('*', $relProjection, {nodeCount: 1000000})";
 
-        double expectedPercentage = BigDecimal.valueOf(30190200L)
+        double expectedPercentage = BigDecimal.valueOf(30190208L)
             .divide(BigDecimal.valueOf(Runtime.getRuntime().maxMemory()), 1, RoundingMode.UP)
             .doubleValue();
 
         runQueryWithRowConsumer(localDb, query, map("relProjection", relProjection),
             row -> {
-                assertEquals(30190200, row.getNumber("bytesMin").longValue());
-                assertEquals(30190200, row.getNumber("bytesMax").longValue());
+                assertEquals(30190208, row.getNumber("bytesMin").longValue());
+                assertEquals(30190208, row.getNumber("bytesMax").longValue());
                 assertEquals(expectedPercentage, row.getNumber("heapPercentageMin").doubleValue());
                 assertEquals(expectedPercentage, row.getNumber("heapPercentageMax").doubleValue());
             }
@@ -862,8 +862,8 @@ class GraphCreateProcTest extends BaseProcTest {
 
         runQueryWithRowConsumer(localDb, query, map("relProjection", relProjection),
             row -> {
-                assertEquals(573936, row.getNumber("bytesMin").longValue());
-                assertEquals(573936, row.getNumber("bytesMax").longValue());
+                assertEquals(573944, row.getNumber("bytesMin").longValue());
+                assertEquals(573944, row.getNumber("bytesMax").longValue());
             }
         );
     }
@@ -881,8 +881,8 @@ class GraphCreateProcTest extends BaseProcTest {
             query,
             map("nodeQuery", nodeQuery, "relationshipQuery", relationshipQuery),
             row -> {
-                assertEquals(303504, row.getNumber("bytesMin").longValue());
-                assertEquals(303504, row.getNumber("bytesMax").longValue());
+                assertEquals(303512, row.getNumber("bytesMin").longValue());
+                assertEquals(303512, row.getNumber("bytesMax").longValue());
             }
         );
     }
@@ -900,8 +900,8 @@ class GraphCreateProcTest extends BaseProcTest {
             query,
             map("nodeQuery", nodeQuery, "relationshipQuery", relationshipQuery),
             row -> {
-                assertEquals(573936, row.getNumber("bytesMin").longValue());
-                assertEquals(573936, row.getNumber("bytesMax").longValue());
+                assertEquals(573944, row.getNumber("bytesMin").longValue());
+                assertEquals(573944, row.getNumber("bytesMax").longValue());
             }
         );
     }
@@ -914,8 +914,8 @@ class GraphCreateProcTest extends BaseProcTest {
         String query = "CALL gds.graph.create.estimate('*', '*', {nodeCount: 42, relationshipCount: 1337})";
         runQueryWithRowConsumer(localDb, query,
             row -> {
-                assertEquals(303744, row.getNumber("bytesMin").longValue());
-                assertEquals(303744, row.getNumber("bytesMax").longValue());
+                assertEquals(303752, row.getNumber("bytesMin").longValue());
+                assertEquals(304320, row.getNumber("bytesMax").longValue());
                 assertEquals(42, row.getNumber("nodeCount").longValue());
                 assertEquals(1337, row.getNumber("relationshipCount").longValue());
             }
@@ -931,8 +931,8 @@ class GraphCreateProcTest extends BaseProcTest {
         String query = "CALL gds.graph.create.estimate('*', '*', {nodeCount: 42, relationshipCount: 1337})";
         runQueryWithRowConsumer(localDb, query,
             row -> {
-                assertEquals(303744, row.getNumber("bytesMin").longValue());
-                assertEquals(303744, row.getNumber("bytesMax").longValue());
+                assertEquals(303752, row.getNumber("bytesMin").longValue());
+                assertEquals(304320, row.getNumber("bytesMax").longValue());
                 assertEquals(42, row.getNumber("nodeCount").longValue());
                 assertEquals(1337, row.getNumber("relationshipCount").longValue());
             }
@@ -947,8 +947,8 @@ class GraphCreateProcTest extends BaseProcTest {
         String query = "CALL gds.graph.create.estimate('*', {`*`: {type: '', properties: 'weight'}}, {nodeCount: 42, relationshipCount: 1337})";
         runQueryWithRowConsumer(localDb, query,
             row -> {
-                assertEquals(574176, row.getNumber("bytesMin").longValue());
-                assertEquals(574176, row.getNumber("bytesMax").longValue());
+                assertEquals(574184, row.getNumber("bytesMin").longValue());
+                assertEquals(574752, row.getNumber("bytesMax").longValue());
             }
         );
     }
@@ -962,8 +962,8 @@ class GraphCreateProcTest extends BaseProcTest {
         String query = "CALL gds.graph.create.estimate('*', '*', {nodeCount: 5000000000, relationshipCount: 20000000000})";
         runQueryWithRowConsumer(localDb, query,
             row -> {
-                assertEquals(170836586792L, row.getNumber("bytesMin").longValue());
-                assertEquals(230841207440L, row.getNumber("bytesMax").longValue());
+                assertEquals(170836586800L, row.getNumber("bytesMin").longValue());
+                assertEquals(237091970592L, row.getNumber("bytesMax").longValue());
                 assertEquals(5000000000L, row.getNumber("nodeCount").longValue());
                 assertEquals(20000000000L, row.getNumber("relationshipCount").longValue());
             }
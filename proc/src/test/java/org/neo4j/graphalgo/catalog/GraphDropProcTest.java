@@ -36,6 +36,7 @@ import java.util.Map;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.core.Is.isA;
 import static org.neo4j.graphalgo.compat.MapUtil.map;
 
@@ -108,7 +109,10 @@ class GraphDropProcTest extends BaseProcTest {
                         "p99", 1L,
                         "p999", 1L
                     ),
-                    "creationTime", isA(LocalDateTime.class)
+                    "creationTime", isA(LocalDateTime.class),
+                    "sizeInBytes", greaterThan(0L),
+                    "accessCount", 0L,
+                    "lastAccessTime", isA(LocalDateTime.class)
                 )
             )
         );
@@ -30,6 +30,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.BaseProcTest;
 import org.neo4j.graphalgo.TestDatabaseCreator;
 import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.wcc.WccStreamProc;
 import org.neo4j.graphdb.Result;
 
 import java.time.LocalDateTime;
@@ -45,6 +46,7 @@ import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isA;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -110,7 +112,10 @@ class GraphListProcTest extends BaseProcTest {
                     "p99", 1L,
                     "p999", 1L
                 ),
-                "creationTime", isA(LocalDateTime.class)
+                "creationTime", isA(LocalDateTime.class),
+                "sizeInBytes", greaterThan(0L),
+                "accessCount", 0L,
+                "lastAccessTime", isA(LocalDateTime.class)
             )
         ));
     }
@@ -154,7 +159,10 @@ class GraphListProcTest extends BaseProcTest {
                     "p99", 1L,
                     "p999", 1L
                 ),
-                "creationTime", isA(LocalDateTime.class)
+                "creationTime", isA(LocalDateTime.class),
+                "sizeInBytes", greaterThan(0L),
+                "accessCount", 0L,
+                "lastAccessTime", isA(LocalDateTime.class)
             )
         ));
     }
@@ -367,6 +375,26 @@ class GraphListProcTest extends BaseProcTest {
         assertNotEquals(creationTimeAlice.get(), creationTimeBob.get());
     }
 
+    @Test
+    void shouldCountAccessesToTheGraph() throws Exception {
+        registerProcedures(WccStreamProc.class);
+        runQuery("CALL gds.graph.create('g', '*', '*')");
+
+        String listQuery = "CALL gds.graph.list('g') YIELD creationTime, accessCount, lastAccessTime";
+        runQueryWithRowConsumer(listQuery, resultRow -> {
+            assertEquals(0L, resultRow.getNumber("accessCount"));
+            assertEquals(resultRow.get("creationTime"), resultRow.get("lastAccessTime"));
+        });
+
+        runQuery("CALL gds.wcc.stream('g') YIELD nodeId RETURN count(nodeId)");
+        runQuery("CALL gds.wcc.stream('g') YIELD nodeId RETURN count(nodeId)");
+
+        runQueryWithRowConsumer(
+            listQuery,
+            resultRow -> assertEquals(2L, resultRow.getNumber("accessCount"))
+        );
+    }
+
     @ParameterizedTest
     @MethodSource("org.neo4j.graphalgo.catalog.GraphCreateProcTest#invalidGraphNames")
     void failsOnInvalidGraphName(String invalidName) {
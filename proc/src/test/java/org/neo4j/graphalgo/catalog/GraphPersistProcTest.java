@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.catalog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.TestDatabaseCreator;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.core.loading.GraphStoreSnapshot;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.compat.MapUtil.map;
+
+class GraphPersistProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER = "CREATE (:A {p: 1.0})-[:REL {w: 2.0}]->(:A {p: 3.0})";
+
+    @TempDir
+    Path snapshotDirectory;
+
+    private Path previousDirectory;
+
+    @BeforeEach
+    void setup() throws Exception {
+        db = TestDatabaseCreator.createTestDatabase();
+        registerProcedures(
+            GraphCreateProc.class,
+            GraphDropProc.class,
+            GraphListProc.class,
+            GraphLoadProc.class,
+            GraphPersistProc.class
+        );
+        runQuery(DB_CYPHER);
+        previousDirectory = GraphStoreSnapshot.directory();
+        GraphStoreSnapshot.setDirectory(snapshotDirectory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+        GraphStoreCatalog.removeAllLoadedGraphs();
+        GraphStoreSnapshot.setDirectory(previousDirectory);
+    }
+
+    @Test
+    void shouldPersistAndLoadGraph() {
+        Map<String, Object> projections = new HashMap<>();
+        runQueryWithRowConsumer(
+            "CALL gds.graph.create('g', {A: {properties: 'p'}}, {REL: {properties: 'w'}})",
+            row -> {
+                projections.put("nodeProjection", row.get("nodeProjection"));
+                projections.put("relationshipProjection", row.get("relationshipProjection"));
+            }
+        );
+
+        Path file = GraphStoreSnapshot.file("", "g");
+        assertCypherResult(
+            "CALL gds.graph.persist('g')",
+            singletonList(map(
+                "graphName", "g",
+                "file", file.toString(),
+                "nodeCount", 2L,
+                "relationshipCount", 1L,
+                "sizeInBytes", greaterThan(0L),
+                "writeMillis", greaterThanOrEqualTo(0L)
+            ))
+        );
+        assertTrue(Files.exists(file));
+
+        runQuery("CALL gds.graph.drop('g')");
+
+        assertCypherResult(
+            "CALL gds.graph.load('g', {concurrency: 2})",
+            singletonList(map(
+                "graphName", "g",
+                "nodeProjection", projections.get("nodeProjection"),
+                "relationshipProjection", projections.get("relationshipProjection"),
+                "nodeCount", 2L,
+                "relationshipCount", 1L,
+                "loadMillis", greaterThanOrEqualTo(0L)
+            ))
+        );
+
+        assertCypherResult(
+            "CALL gds.graph.list('g') YIELD graphName, nodeCount, relationshipCount",
+            singletonList(map("graphName", "g", "nodeCount", 2L, "relationshipCount", 1L))
+        );
+    }
+
+    @Test
+    void shouldFailToLoadGraphWithoutSnapshot() {
+        assertError("CALL gds.graph.load('g')", "No snapshot has been persisted for the graph with name 'g'.");
+    }
+
+    @Test
+    void shouldFailToLoadGraphThatAlreadyExists() {
+        runQuery("CALL gds.graph.create('g', 'A', 'REL')");
+        runQuery("CALL gds.graph.persist('g')");
+        assertError("CALL gds.graph.load('g')", "A graph with name 'g' already exists.");
+    }
+
+    @Test
+    void shouldFailToPersistMissingGraph() {
+        assertError("CALL gds.graph.persist('g')", "Cannot find graph with name 'g'.");
+    }
+}
@@ -210,6 +210,22 @@ abstract class NodeSimilarityBaseProcTest<CONFIG extends NodeSimilarityBaseConfi
         assertThat(illegalArgumentException.getMessage(), is(expectedMessage));
     }
 
+    @Test
+    void shouldThrowIfMinHashSignatureLengthIsNotAMultipleOfBands() {
+        CypherMapWrapper input = baseUserInput()
+            .withNumber("minHashSignatureLength", 100)
+            .withNumber("minHashBands", 16);
+
+        IllegalArgumentException illegalArgumentException = assertThrows(
+            IllegalArgumentException.class,
+            () -> config(input)
+        );
+        assertThat(
+            illegalArgumentException.getMessage(),
+            is("Invalid parameter combination: minHashSignatureLength must be a multiple of minHashBands, got 100 and 16")
+        );
+    }
+
     @Test
     void shouldThrowIfDegreeCutoffSetToZero() {
         CypherMapWrapper input = baseUserInput().withNumber("degreeCutoff", 0);
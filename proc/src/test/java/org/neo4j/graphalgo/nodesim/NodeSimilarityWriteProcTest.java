@@ -71,6 +71,8 @@ public class NodeSimilarityWriteProcTest extends NodeSimilarityBaseProcTest<Node
                 "nodesCompared ",
                 "relationshipsWritten",
                 "writeMillis",
+                "relationshipsWrittenPerSecond",
+                "writeRetries",
                 "similarityDistribution",
                 "postProcessingMillis",
                 "configuration"
@@ -84,6 +86,8 @@ public class NodeSimilarityWriteProcTest extends NodeSimilarityBaseProcTest<Node
             assertThat("Missing computeMillis", -1L, lessThan(row.getNumber("computeMillis").longValue()));
             assertThat("Missing createMillis", -1L, lessThan(row.getNumber("createMillis").longValue()));
             assertThat("Missing writeMillis", -1L, lessThan(row.getNumber("writeMillis").longValue()));
+            assertThat("Missing relationshipsWrittenPerSecond", -1L, lessThan(row.getNumber("relationshipsWrittenPerSecond").longValue()));
+            assertEquals(0, row.getNumber("writeRetries").longValue());
 
             Map<String, Double> distribution = (Map<String, Double>) row.get("similarityDistribution");
             assertThat("Missing min", -1.0, lessThan(distribution.get("min")));
@@ -72,6 +72,7 @@ class WccWriteProcTest extends WccBaseProcTest<WccWriteConfig> {
                 "createMillis",
                 "computeMillis",
                 "writeMillis",
+                "nodePropertiesWrittenPerSecond",
                 "postProcessingMillis",
                 "componentCount",
                 "componentDistribution",
@@ -90,6 +91,7 @@ class WccWriteProcTest extends WccBaseProcTest<WccWriteConfig> {
                 assertNotEquals(-1L, row.getNumber("createMillis"));
                 assertNotEquals(-1L, row.getNumber("computeMillis"));
                 assertNotEquals(-1L, row.getNumber("writeMillis"));
+                assertTrue(row.getNumber("nodePropertiesWrittenPerSecond").longValue() >= 0L);
                 assertNotEquals(-1L, row.getNumber("postProcessingMillis"));
 
                 assertEquals(3L, row.getNumber("componentCount"));